@@ -0,0 +1,95 @@
+#!/usr/bin/env bash
+#
+# Benchmark de arranque: mide el tiempo hasta la primera petición (desde `docker run` hasta el
+# primer 200 de GET /api/rooms) y la memoria residente tras esa petición de cada imagen:
+#   baseline   fat jar con `java -jar` (--target baseline)
+#   optimized  jar por capas + archivo CDS + Spring AOT (imagen por defecto)
+#   native     binario nativo de GraalVM (--target native)
+#
+# Cada imagen se arranca una vez para crear el esquema y calentar Docker, y después RUNS veces
+# con los mismos límites de CPU y memoria contra la misma base de datos PostgreSQL.
+#
+# Uso: ./scripts/startup-benchmark.sh [RUNS]        (5 por defecto)
+#      CPUS=1 MEMORY=768m ./scripts/startup-benchmark.sh 10
+#      VARIANTS="optimized native" ./scripts/startup-benchmark.sh
+set -euo pipefail
+
+RUNS=${1:-5}
+CPUS=${CPUS:-2}
+MEMORY=${MEMORY:-1g}
+PORT=${PORT:-18080}
+VARIANTS=${VARIANTS:-baseline optimized}
+NETWORK=hotel-startup-bench
+DB_CONTAINER=hotel-startup-bench-db
+API_CONTAINER=hotel-startup-bench-api
+
+cd "$(dirname "$0")/.."
+
+cleanup() {
+    docker rm -f "$API_CONTAINER" "$DB_CONTAINER" >/dev/null 2>&1 || true
+    docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+echo "Construyendo imágenes ($VARIANTS)..."
+for variant in $VARIANTS; do
+    case "$variant" in
+        optimized) target_args=() ;;
+        baseline | native) target_args=(--target "$variant") ;;
+        *) echo "Variante desconocida: $variant" >&2; exit 1 ;;
+    esac
+    docker build -q "${target_args[@]}" -t "hotel-booking-api:startup-$variant" . >/dev/null
+done
+
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$DB_CONTAINER" --network "$NETWORK" \
+    -e POSTGRES_DB=hotel_booking -e POSTGRES_USER=hotel_admin -e POSTGRES_PASSWORD=hotel_password \
+    postgres:16-alpine >/dev/null
+until docker exec "$DB_CONTAINER" pg_isready -U hotel_admin -d hotel_booking >/dev/null 2>&1; do
+    sleep 0.5
+done
+
+# Imprime "<ms hasta la primera respuesta correcta> <MiB residentes tras ella>"
+time_to_first_request() {
+    local image=$1
+    local start end rss
+    start=$(date +%s%N)
+    docker run -d --name "$API_CONTAINER" --network "$NETWORK" \
+        --cpus "$CPUS" --memory "$MEMORY" -p "$PORT:8080" \
+        -e SPRING_DATASOURCE_URL="jdbc:postgresql://$DB_CONTAINER:5432/hotel_booking" \
+        -e SPRING_DATASOURCE_USERNAME=hotel_admin \
+        -e SPRING_DATASOURCE_PASSWORD=hotel_password \
+        -e HOTEL_TRACING_FILE_ENABLED=false \
+        "$image" >/dev/null
+    until curl -fs -o /dev/null "http://localhost:$PORT/api/rooms"; do
+        if [ "$(( ($(date +%s%N) - start) / 1000000000 ))" -gt 120 ]; then
+            docker logs "$API_CONTAINER" >&2
+            echo "La API no respondió en 120 s" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    end=$(date +%s%N)
+    rss=$(docker stats --no-stream --format '{{.MemUsage}}' "$API_CONTAINER" \
+        | awk '{ v = $1; if (v ~ /GiB$/) { sub(/GiB$/, "", v); v *= 1024 } else { sub(/MiB$/, "", v) }; printf "%d", v }')
+    docker rm -f "$API_CONTAINER" >/dev/null
+    echo "$(( (end - start) / 1000000 )) $rss"
+}
+
+printf "\n%-10s %8s %8s %8s %10s   (%s ejecuciones, %s CPU, %s)\n" \
+    "imagen" "min ms" "med ms" "max ms" "med MiB" "$RUNS" "$CPUS" "$MEMORY"
+for variant in $VARIANTS; do
+    image="hotel-booking-api:startup-$variant"
+    time_to_first_request "$image" >/dev/null
+    times=()
+    rss=()
+    for _ in $(seq "$RUNS"); do
+        result=$(time_to_first_request "$image")
+        times+=("${result% *}")
+        rss+=("${result#* }")
+    done
+    sorted_times=($(printf "%s\n" "${times[@]}" | sort -n))
+    sorted_rss=($(printf "%s\n" "${rss[@]}" | sort -n))
+    printf "%-10s %8s %8s %8s %10s\n" "$variant" "${sorted_times[0]}" \
+        "${sorted_times[$(( RUNS / 2 ))]}" "${sorted_times[$(( RUNS - 1 ))]}" "${sorted_rss[$(( RUNS / 2 ))]}"
+done
@@ -0,0 +1,68 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomRestriction;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRestrictionRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Repositorios en memoria para los benchmarks: aíslan el coste de los servicios
+ * del acceso a base de datos. Solo implementan los métodos que usan los benchmarks;
+ * el resto lanza {@link UnsupportedOperationException}.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    /**
+     * Repositorio de habitaciones respaldado por una lista fija.
+     */
+    static RoomRepository rooms(List<Room> rooms) {
+        return repository(RoomRepository.class, Map.of(
+                "findAll/0", args -> rooms,
+                "count/0", args -> (long) rooms.size()
+        ));
+    }
+
+    /**
+     * Repositorio de restricciones de venta respaldado por una lista fija ordenada por noche.
+     */
+    static RoomRestrictionRepository roomRestrictions(List<RoomRestriction> restrictions) {
+        return repository(RoomRestrictionRepository.class, Map.of(
+                "findFrom/2", args -> restrictions.stream()
+                        .filter(restriction -> restriction.getRoomType() == args[0]
+                                && !restriction.getStayDate().isBefore((LocalDate) args[1]))
+                        .toList()
+        ));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "InMemory" + type.getSimpleName();
+                default:
+                    break;
+            }
+            Function<Object[], Object> implementation =
+                    methods.get(method.getName() + "/" + method.getParameterCount());
+            if (implementation == null) {
+                throw new UnsupportedOperationException(
+                        type.getSimpleName() + "." + method.getName() + " no está disponible en memoria");
+            }
+            return implementation.apply(args);
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomRate;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Benchmarks de las rutas críticas de creación y cancelación de reservas:
+ * política de reembolso (RN-001), conversión a DTO, número de reserva y precio de la estadía con el
+ * calendario de tarifas (RN-008).
+ */
+@State(Scope.Benchmark)
+public class ReservationHotPathBenchmark {
+
+    // Una reserva por tramo de la política de reembolso (0%, 50% y 100%)
+    private static final int[] DAYS_UNTIL_CHECK_IN = {1, 4, 10};
+
+    private Reservation[] reservations;
+    private Room room;
+    private NightlyRates rates;
+    private long roomPrice;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        room = new Room("301", RoomType.SUITE, 4, new BigDecimal("250.00"));
+        room.setId(1L);
+        Guest guest = new Guest("Juan", "Pérez", "12345678", "juan@email.com", "+57 300 1234567");
+        guest.setId(1L);
+        guest.setCreatedAt(LocalDateTime.now());
+
+        // Un año de tarifas con recargo de fin de semana; una noche de cada diez sin tarifa
+        LocalDate today = LocalDate.now();
+        rates = NightlyRates.of(today.datesUntil(today.plusDays(365))
+                .filter(night -> night.getDayOfYear() % 10 != 0)
+                .map(night -> new RoomRate(RoomType.SUITE, night, night.getDayOfWeek().compareTo(DayOfWeek.FRIDAY) >= 0
+                        ? Money.ofMinor(32_000) : Money.ofMinor(25_000)))
+                .toList());
+        roomPrice = Money.of(room.getPricePerNight()).minorUnits();
+
+        reservations = new Reservation[DAYS_UNTIL_CHECK_IN.length];
+        for (int i = 0; i < DAYS_UNTIL_CHECK_IN.length; i++) {
+            LocalDate checkIn = LocalDate.now().plusDays(DAYS_UNTIL_CHECK_IN[i]);
+            Reservation reservation = new Reservation("RES-2026-BENCH" + i, guest, room,
+                    checkIn, checkIn.plusDays(3), 2, Money.of(new BigDecimal("750.00")));
+            reservation.setId((long) i + 1);
+            reservations[i] = reservation;
+        }
+    }
+
+    private Reservation nextReservation() {
+        next = (next + 1) % reservations.length;
+        return reservations[next];
+    }
+
+    @Benchmark
+    public int calculateRefundPercentage() {
+        return nextReservation().calculateRefundPercentage();
+    }
+
+    @Benchmark
+    public ReservationResponse reservationResponseFromEntity() {
+        return ReservationResponse.fromEntity(nextReservation());
+    }
+
+    @Benchmark
+    public String generateReservationNumber() {
+        return ReservationService.generateReservationNumber();
+    }
+
+    @Benchmark
+    public Money priceStay() {
+        Reservation reservation = nextReservation();
+        return Money.ofMinor(rates.sumStay(reservation.getCheckInDate(), reservation.getCheckOutDate(), roomPrice));
+    }
+}
@@ -0,0 +1,65 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomResponse;
+import com.sofka.hotel_booking_api.infrastructure.seed.SyntheticDatasetGenerator;
+import com.sofka.hotel_booking_api.infrastructure.seed.SyntheticDatasetGenerator.RoomRow;
+import com.sofka.hotel_booking_api.infrastructure.seed.SyntheticDatasetSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de la búsqueda de habitaciones disponibles sobre un repositorio en memoria,
+ * con y sin filtro por tipo de habitación. Las habitaciones salen del generador sintético
+ * con semilla fija.
+ */
+@State(Scope.Benchmark)
+public class RoomAvailabilityBenchmark {
+
+    @Param({"50", "500"})
+    private int roomCount;
+
+    private RoomService roomService;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticDatasetSpec spec = new SyntheticDatasetSpec(42L, roomCount, 1, 0, 200, LocalDate.now());
+        List<Room> rooms = new ArrayList<>(roomCount);
+        for (RoomRow row : new SyntheticDatasetGenerator(spec).rooms()) {
+            Room room = new Room(row.roomNumber(), row.roomType(), row.capacity(), row.pricePerNight());
+            room.setId(row.id());
+            // Una de cada cuatro habitaciones fuera de servicio
+            room.setIsAvailable(row.id() % 4 != 0);
+            rooms.add(room);
+        }
+
+        // getAvailableRooms no usa el inventario por tipo; sin restricciones de venta todos los tipos quedan abiertos
+        RestrictionCalendar restrictions = new RestrictionCalendar(
+                InMemoryRepositories.roomRestrictions(List.of()), null, new ConcurrentMapCacheManager(), null);
+        roomService = new RoomService(InMemoryRepositories.rooms(rooms), null, restrictions);
+        checkIn = LocalDate.now().plusDays(1);
+        checkOut = checkIn.plusDays(3);
+    }
+
+    @Benchmark
+    public List<RoomResponse> getAvailableRooms() {
+        return roomService.getAvailableRooms(checkIn, checkOut, null);
+    }
+
+    @Benchmark
+    public List<RoomResponse> getAvailableRoomsByType() {
+        return roomService.getAvailableRooms(checkIn, checkOut, RoomType.SUITE);
+    }
+}
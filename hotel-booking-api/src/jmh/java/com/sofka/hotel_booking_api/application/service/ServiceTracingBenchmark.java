@@ -0,0 +1,95 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomResponse;
+import com.sofka.hotel_booking_api.infrastructure.tracing.SpanRingBuffer;
+import com.sofka.hotel_booking_api.infrastructure.tracing.TracingAspect;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coste de las trazas sobre una llamada de servicio con su repositorio (dos spans por llamada)
+ * según la probabilidad de muestreo. {@code none} es la línea base sin aspecto; {@code 0.0}
+ * mide el coste de las observaciones cuando no se muestrea ninguna traza.
+ */
+@State(Scope.Benchmark)
+public class ServiceTracingBenchmark {
+
+    @Param({"none", "0.0", "0.1", "1.0"})
+    private String sampling;
+
+    private SdkTracerProvider tracerProvider;
+    private RoomService roomService;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Room> rooms = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            Room room = new Room(String.valueOf(100 + id), RoomType.values()[(int) (id % RoomType.values().length)],
+                    2, new BigDecimal("120.00"));
+            room.setId(id);
+            rooms.add(room);
+        }
+        RoomRepository roomRepository = InMemoryRepositories.rooms(rooms);
+        RestrictionCalendar restrictions = new RestrictionCalendar(
+                InMemoryRepositories.roomRestrictions(List.of()), null, new ConcurrentMapCacheManager(), null);
+        checkIn = LocalDate.now().plusDays(1);
+        checkOut = checkIn.plusDays(3);
+
+        if ("none".equals(sampling)) {
+            roomService = new RoomService(roomRepository, null, restrictions);
+            return;
+        }
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(Double.parseDouble(sampling))))
+                .addSpanProcessor(new SpanRingBuffer(2000))
+                .build();
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("benchmark"), new OtelCurrentTraceContext(), event -> { });
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+        TracingAspect aspect = new TracingAspect(registry);
+
+        AspectJProxyFactory repositoryProxy = new AspectJProxyFactory(roomRepository);
+        repositoryProxy.addInterface(RoomRepository.class);
+        repositoryProxy.addAspect(aspect);
+        AspectJProxyFactory serviceProxy = new AspectJProxyFactory(
+                new RoomService(repositoryProxy.getProxy(), null, restrictions));
+        serviceProxy.setProxyTargetClass(true);
+        serviceProxy.addAspect(aspect);
+        roomService = serviceProxy.getProxy();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (tracerProvider != null) {
+            tracerProvider.close();
+        }
+    }
+
+    @Benchmark
+    public List<RoomResponse> getAvailableRooms() {
+        return roomService.getAvailableRooms(checkIn, checkOut, null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Compara {@link Money} con {@link BigDecimal} en las operaciones de precios y reembolsos:
+ * suma de las tarifas de una estadía, reembolso por porcentaje y comparación del monto pagado.
+ */
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    // Estadía de 7 noches con tarifas distintas y los tramos de la política de reembolso
+    private static final int NIGHTS = 7;
+    private static final int[] REFUND_PERCENTAGES = {0, 50, 100, 33};
+
+    private long[] nightlyMinor;
+    private BigDecimal[] nightlyDecimal;
+    private Money total;
+    private BigDecimal totalDecimal;
+    private BigDecimal paidAmount;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        nightlyMinor = new long[NIGHTS];
+        nightlyDecimal = new BigDecimal[NIGHTS];
+        for (int i = 0; i < NIGHTS; i++) {
+            nightlyMinor[i] = 25_000 + i * 1_075L;
+            nightlyDecimal[i] = BigDecimal.valueOf(nightlyMinor[i], 2);
+        }
+        total = Money.ofMinor(187_575);
+        totalDecimal = total.toBigDecimal();
+        paidAmount = new BigDecimal("1875.75");
+    }
+
+    private int nextPercentage() {
+        next = (next + 1) % REFUND_PERCENTAGES.length;
+        return REFUND_PERCENTAGES[next];
+    }
+
+    @Benchmark
+    public long sumStayMoney() {
+        Money sum = Money.ZERO;
+        for (long night : nightlyMinor) {
+            sum = sum.plus(Money.ofMinor(night));
+        }
+        return sum.minorUnits();
+    }
+
+    @Benchmark
+    public BigDecimal sumStayBigDecimal() {
+        BigDecimal sum = BigDecimal.ZERO.setScale(2);
+        for (BigDecimal night : nightlyDecimal) {
+            sum = sum.add(night);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Money refundMoney() {
+        Money refund = total.percent(nextPercentage(), RoundingMode.HALF_UP);
+        return total.minus(refund);
+    }
+
+    @Benchmark
+    public BigDecimal refundBigDecimal() {
+        BigDecimal refund = totalDecimal.multiply(BigDecimal.valueOf(nextPercentage()))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        return totalDecimal.subtract(refund);
+    }
+
+    @Benchmark
+    public boolean paymentMatchesMoney() {
+        return Money.of(paidAmount).equals(total);
+    }
+
+    @Benchmark
+    public boolean paymentMatchesBigDecimal() {
+        return paidAmount.compareTo(totalDecimal) == 0;
+    }
+}
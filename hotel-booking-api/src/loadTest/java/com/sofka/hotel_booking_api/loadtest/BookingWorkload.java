@@ -0,0 +1,190 @@
+package com.sofka.hotel_booking_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Peticiones HTTP de cada operación y estado compartido entre ellas: las reservas creadas
+ * esperan el pago y las confirmadas con entrada hoy esperan el check-in.
+ */
+public class BookingWorkload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] ROOM_TYPES = {"STANDARD", "SUPERIOR", "DELUXE", "SUITE"};
+    private static final String[] LAST_NAMES = {
+            "García", "Rodríguez", "Martínez", "López", "González", "Pérez", "Sánchez", "Ramírez", "Torres", "Flores"
+    };
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final double sameDayShare;
+    private final List<Long> roomIds = new ArrayList<>();
+    private final AtomicLong guestSequence = new AtomicLong();
+    private final Queue<CreatedReservation> awaitingPayment = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> readyForCheckIn = new ConcurrentLinkedQueue<>();
+
+    private record CreatedReservation(long id, BigDecimal totalAmount, boolean arrivesToday) {
+    }
+
+    public BookingWorkload(HttpClient httpClient, String baseUrl, ObjectMapper objectMapper, double sameDayShare) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.sameDayShare = sameDayShare;
+    }
+
+    /**
+     * Crea las habitaciones del escenario de forma síncrona antes de empezar la carga.
+     *
+     * @param rooms número de habitaciones
+     */
+    public void seedRooms(int rooms) throws IOException, InterruptedException {
+        String prefix = "LT" + Long.toString(System.currentTimeMillis() % 100_000, 36).toUpperCase();
+        for (int i = 0; i < rooms; i++) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("roomNumber", String.format("%s-%04d", prefix, i + 1));
+            body.put("roomType", ROOM_TYPES[i % ROOM_TYPES.length]);
+            body.put("capacity", 2 + i % 3);
+            body.put("pricePerNight", new BigDecimal(100 + (i % ROOM_TYPES.length) * 60));
+            HttpResponse<String> response = httpClient.send(post("/api/rooms", body),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("No se pudo crear la habitación de carga: " + response.body());
+            }
+            roomIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    /**
+     * Lanza la petición de una operación.
+     *
+     * @param operation operación a ejecutar
+     * @return la respuesta futura, o null si la operación no tiene reserva candidata
+     */
+    public CompletableFuture<HttpResponse<String>> execute(Operation operation) {
+        return switch (operation) {
+            case CREATE -> createReservation();
+            case CONFIRM_PAYMENT -> confirmPayment();
+            case CHECK_IN -> checkIn();
+            case SEARCH -> send(HttpRequest.newBuilder(uri("/api/reservations/search?guestName="
+                    + URLEncoder.encode(randomLastName(), StandardCharsets.UTF_8))).GET());
+            case AVAILABILITY -> {
+                LocalDate checkIn = LocalDate.now().plusDays(1 + ThreadLocalRandom.current().nextInt(60));
+                yield send(HttpRequest.newBuilder(uri("/api/rooms/available?checkIn=" + checkIn
+                        + "&checkOut=" + checkIn.plusDays(1 + ThreadLocalRandom.current().nextInt(4)))).GET());
+            }
+        };
+    }
+
+    private CompletableFuture<HttpResponse<String>> createReservation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean arrivesToday = random.nextDouble() < sameDayShare;
+        LocalDate checkIn = arrivesToday ? LocalDate.now() : LocalDate.now().plusDays(1 + random.nextInt(180));
+        long guestNumber = guestSequence.incrementAndGet();
+
+        Map<String, Object> guest = new LinkedHashMap<>();
+        guest.put("firstName", "Carga");
+        guest.put("lastName", randomLastName());
+        guest.put("documentNumber", String.format("LT%08d", guestNumber));
+        guest.put("email", "carga" + guestNumber + "@example.com");
+        guest.put("phone", "+57 300 0000000");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("guest", guest);
+        body.put("roomId", roomIds.get(random.nextInt(roomIds.size())));
+        body.put("checkInDate", checkIn.toString());
+        body.put("checkOutDate", checkIn.plusDays(1 + random.nextInt(4)).toString());
+        body.put("numberOfGuests", 1);
+
+        return send(post("/api/reservations", body)).thenApply(response -> {
+            if (response.statusCode() == 201) {
+                JsonNode created = readTree(response.body());
+                awaitingPayment.add(new CreatedReservation(created.get("id").asLong(),
+                        created.get("totalAmount").decimalValue(), arrivesToday));
+            }
+            return response;
+        });
+    }
+
+    private CompletableFuture<HttpResponse<String>> confirmPayment() {
+        CreatedReservation reservation = awaitingPayment.poll();
+        if (reservation == null) {
+            return null;
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("paymentMethod", "CASH");
+        body.put("amount", reservation.totalAmount());
+        return send(post("/api/reservations/" + reservation.id() + "/confirm-payment", body)).thenApply(response -> {
+            if (response.statusCode() == 200 && reservation.arrivesToday()) {
+                readyForCheckIn.add(reservation.id());
+            }
+            return response;
+        });
+    }
+
+    private CompletableFuture<HttpResponse<String>> checkIn() {
+        Long reservationId = readyForCheckIn.poll();
+        if (reservationId == null) {
+            return null;
+        }
+        return send(HttpRequest.newBuilder(uri("/api/reservations/" + reservationId + "/check-in"))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest.Builder request) {
+        return httpClient.sendAsync(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException ex) {
+            throw new IllegalStateException("No se pudo serializar la petición", ex);
+        }
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Respuesta JSON inválida: " + body, ex);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String randomLastName() {
+        return LAST_NAMES[ThreadLocalRandom.current().nextInt(LAST_NAMES.length)];
+    }
+}
@@ -0,0 +1,122 @@
+package com.sofka.hotel_booking_api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resultados de una operación durante la fase medida.
+ *
+ * <p>La latencia se mide desde el instante de llegada programado, no desde el envío real,
+ * para no ocultar las esperas cuando el cliente o el servidor se retrasan (omisión coordinada).
+ * Las llegadas anteriores al fin del calentamiento no se registran.</p>
+ */
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Operation operation;
+    private final long measureFromNanos;
+    private final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public EndpointStats(Operation operation, long measureFromNanos) {
+        this.operation = operation;
+        this.measureFromNanos = measureFromNanos;
+    }
+
+    /**
+     * Registra una respuesta HTTP.
+     *
+     * @param intendedNanos instante de llegada programado
+     * @param completedNanos instante de recepción de la respuesta
+     * @param status código HTTP
+     */
+    public void recordResponse(long intendedNanos, long completedNanos, int status) {
+        if (intendedNanos < measureFromNanos) {
+            return;
+        }
+        latencyMicros.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedNanos)));
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            successes.increment();
+        }
+    }
+
+    /**
+     * Registra un fallo de conexión o timeout.
+     */
+    public void recordTransportError(long intendedNanos, long completedNanos) {
+        if (intendedNanos < measureFromNanos) {
+            return;
+        }
+        latencyMicros.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedNanos)));
+        transportErrors.increment();
+    }
+
+    /**
+     * Registra una llegada descartada porque se alcanzó el máximo de peticiones simultáneas.
+     */
+    public void recordDropped(long intendedNanos) {
+        if (intendedNanos >= measureFromNanos) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Registra una llegada sin reserva candidata (por ejemplo, check-in sin reservas confirmadas para hoy).
+     */
+    public void recordSkipped(long intendedNanos) {
+        if (intendedNanos >= measureFromNanos) {
+            skipped.increment();
+        }
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Histogram getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public long getCompleted() {
+        return successes.sum() + clientErrors.sum() + serverErrors.sum() + transportErrors.sum();
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getClientErrors() {
+        return clientErrors.sum();
+    }
+
+    public long getServerErrors() {
+        return serverErrors.sum();
+    }
+
+    public long getTransportErrors() {
+        return transportErrors.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+}
@@ -0,0 +1,126 @@
+package com.sofka.hotel_booking_api.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Definición de un escenario de carga de modelo abierto: tasa de llegadas por operación,
+ * duración y datos iniciales.
+ *
+ * <p>Los escenarios se describen en ficheros {@code .properties} para reutilizarlos entre
+ * ejecuciones y entornos:</p>
+ * <pre>
+ * duration=PT60S
+ * warmup=PT10S
+ * rooms=200
+ * same-day-share=0.2
+ * rate.create=40
+ * rate.confirm-payment=30
+ * </pre>
+ *
+ * @param name nombre del escenario
+ * @param duration duración de la fase medida
+ * @param warmup calentamiento previo, no incluido en el informe
+ * @param rooms habitaciones que se crean antes de empezar
+ * @param sameDayShare fracción de reservas con entrada hoy, candidatas a check-in
+ * @param maxInFlight peticiones simultáneas máximas; las llegadas que lo superan se descartan
+ * @param rates llegadas por segundo de cada operación
+ */
+public record LoadScenario(
+        String name,
+        Duration duration,
+        Duration warmup,
+        int rooms,
+        double sameDayShare,
+        int maxInFlight,
+        Map<Operation, Double> rates
+) {
+
+    private static final String CLASSPATH_PREFIX = "/scenarios/";
+
+    public LoadScenario {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("La duración del escenario debe ser positiva");
+        }
+        if (rooms < 1) {
+            throw new IllegalArgumentException("El escenario necesita al menos una habitación");
+        }
+        if (sameDayShare < 0 || sameDayShare > 1) {
+            throw new IllegalArgumentException("same-day-share debe estar entre 0 y 1");
+        }
+        rates = Collections.unmodifiableMap(new EnumMap<>(rates));
+    }
+
+    /**
+     * Llegadas totales por segundo.
+     */
+    public double totalRate() {
+        return rates.values().stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    /**
+     * Carga un escenario por nombre desde {@code src/loadTest/resources/scenarios}
+     * o desde la ruta de un fichero.
+     *
+     * @param nameOrPath nombre del escenario (sin extensión) o ruta a un fichero .properties
+     * @return el escenario
+     */
+    public static LoadScenario load(String nameOrPath) {
+        Properties properties = new Properties();
+        Path path = Path.of(nameOrPath);
+        try {
+            if (Files.isRegularFile(path)) {
+                try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                String fileName = path.getFileName().toString();
+                return fromProperties(fileName.replaceFirst("\\.properties$", ""), properties);
+            }
+            try (InputStream input = LoadScenario.class.getResourceAsStream(
+                    CLASSPATH_PREFIX + nameOrPath + ".properties")) {
+                if (input == null) {
+                    throw new IllegalArgumentException("No existe el escenario de carga: " + nameOrPath);
+                }
+                properties.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return fromProperties(nameOrPath, properties);
+    }
+
+    /**
+     * Construye un escenario a partir de sus propiedades.
+     */
+    public static LoadScenario fromProperties(String name, Properties properties) {
+        Map<Operation, Double> rates = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            double rate = Double.parseDouble(properties.getProperty("rate." + operation.getKey(), "0"));
+            if (rate < 0) {
+                throw new IllegalArgumentException("Tasa negativa para " + operation.getKey());
+            }
+            if (rate > 0) {
+                rates.put(operation, rate);
+            }
+        }
+        return new LoadScenario(
+                name,
+                Duration.parse(properties.getProperty("duration", "PT60S")),
+                Duration.parse(properties.getProperty("warmup", "PT10S")),
+                Integer.parseInt(properties.getProperty("rooms", "100")),
+                Double.parseDouble(properties.getProperty("same-day-share", "0.2")),
+                Integer.parseInt(properties.getProperty("max-in-flight", "2000")),
+                rates);
+    }
+}
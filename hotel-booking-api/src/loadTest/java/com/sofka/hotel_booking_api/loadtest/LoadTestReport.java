@@ -0,0 +1,154 @@
+package com.sofka.hotel_booking_api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Informe de una ejecución: tabla en consola, resumen JSON comparable entre ejecuciones
+ * y la distribución completa de latencias de cada operación en formato {@code .hgrm}.
+ */
+public class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadScenario scenario;
+    private final String database;
+    private final Map<Operation, EndpointStats> results;
+
+    /**
+     * Resumen de una operación.
+     */
+    public record OperationSummary(
+            String operation,
+            double targetRate,
+            double throughput,
+            long completed,
+            long successes,
+            long clientErrors,
+            long serverErrors,
+            long transportErrors,
+            long dropped,
+            long skipped,
+            double errorRate,
+            double p50Ms,
+            double p90Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs
+    ) {
+    }
+
+    public LoadTestReport(LoadScenario scenario, String database, Map<Operation, EndpointStats> results) {
+        this.scenario = scenario;
+        this.database = database;
+        this.results = results;
+    }
+
+    public List<OperationSummary> summaries() {
+        double seconds = scenario.duration().toMillis() / 1000.0;
+        List<OperationSummary> summaries = new ArrayList<>();
+        for (EndpointStats stats : results.values()) {
+            Histogram histogram = stats.getLatencyMicros();
+            long completed = stats.getCompleted();
+            long failures = stats.getServerErrors() + stats.getTransportErrors() + stats.getDropped();
+            long attempts = completed + stats.getDropped();
+            summaries.add(new OperationSummary(
+                    stats.getOperation().getKey(),
+                    scenario.rates().get(stats.getOperation()),
+                    completed / seconds,
+                    completed,
+                    stats.getSuccesses(),
+                    stats.getClientErrors(),
+                    stats.getServerErrors(),
+                    stats.getTransportErrors(),
+                    stats.getDropped(),
+                    stats.getSkipped(),
+                    attempts == 0 ? 0 : (double) failures / attempts,
+                    millis(histogram, 50),
+                    millis(histogram, 90),
+                    millis(histogram, 99),
+                    millis(histogram, 99.9),
+                    histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / MICROS_PER_MILLI
+            ));
+        }
+        return summaries;
+    }
+
+    /**
+     * Fracción de llegadas con error del servidor, de transporte o descartadas, sobre todas las operaciones.
+     * Los 4xx no cuentan: son respuestas de negocio esperadas (por ejemplo, habitación ocupada).
+     */
+    public double overallErrorRate() {
+        long failures = 0;
+        long attempts = 0;
+        for (EndpointStats stats : results.values()) {
+            failures += stats.getServerErrors() + stats.getTransportErrors() + stats.getDropped();
+            attempts += stats.getCompleted() + stats.getDropped();
+        }
+        return attempts == 0 ? 0 : (double) failures / attempts;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nEscenario '%s' (%s): %d s medidos tras %d s de calentamiento, %.1f llegadas/s%n",
+                scenario.name(), database, scenario.duration().toSeconds(), scenario.warmup().toSeconds(),
+                scenario.totalRate());
+        out.printf("%-16s %8s %8s %8s %6s %6s %6s %8s %8s %9s %9s %9s %9s %9s%n",
+                "operación", "obj/s", "real/s", "total", "4xx", "5xx", "red", "descart", "omitidas",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms");
+        for (OperationSummary summary : summaries()) {
+            out.printf("%-16s %8.1f %8.1f %8d %6d %6d %6d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    summary.operation(), summary.targetRate(), summary.throughput(), summary.completed(),
+                    summary.clientErrors(), summary.serverErrors(), summary.transportErrors(), summary.dropped(),
+                    summary.skipped(), summary.p50Ms(), summary.p90Ms(), summary.p99Ms(), summary.p999Ms(),
+                    summary.maxMs());
+        }
+        out.printf("Tasa de error global: %.3f%%%n", overallErrorRate() * 100);
+    }
+
+    /**
+     * Escribe {@code <escenario>.json} y un {@code <escenario>-<operación>.hgrm} por operación.
+     *
+     * @param directory directorio de salida
+     * @return ruta del resumen JSON
+     */
+    public Path write(Path directory, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("scenario", scenario.name());
+        document.put("database", database);
+        document.put("finishedAt", LocalDateTime.now().toString());
+        document.put("durationSeconds", scenario.duration().toSeconds());
+        document.put("warmupSeconds", scenario.warmup().toSeconds());
+        document.put("rooms", scenario.rooms());
+        document.put("maxInFlight", scenario.maxInFlight());
+        document.put("errorRate", overallErrorRate());
+        document.put("operations", summaries());
+
+        Path json = directory.resolve(scenario.name() + ".json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), document);
+
+        for (EndpointStats stats : results.values()) {
+            Path hgrm = directory.resolve(scenario.name() + "-" + stats.getOperation().getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm), false, StandardCharsets.UTF_8)) {
+                stats.getLatencyMicros().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        return json;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,117 @@
+package com.sofka.hotel_booking_api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.HotelBookingApiApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prueba de carga de extremo a extremo: arranca la API en un puerto libre con H2 o un
+ * PostgreSQL embebido, crea las habitaciones del escenario, ejecuta la carga y escribe el informe.
+ *
+ * <p>Uso: {@code ./gradlew loadTest -Pscenario=booking-mix -Pdatabase=postgres}.
+ * Con {@code --baseUrl} se dirige la carga a un servidor ya desplegado sin arrancar ninguno.</p>
+ *
+ * <p>Argumentos ({@code --clave=valor}): {@code scenario} (por defecto {@code smoke}),
+ * {@code database} ({@code h2} o {@code postgres}), {@code baseUrl}, {@code reportDir}
+ * y {@code maxErrorRate}; si la tasa de error global la supera, el proceso termina con código 1.</p>
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        LoadScenario scenario = LoadScenario.load(options.getOrDefault("scenario", "smoke"));
+        String database = options.getOrDefault("database", "h2");
+        Path reportDir = Path.of(options.getOrDefault("reportDir", "build/reports/loadtest"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("maxErrorRate", "0.01"));
+
+        int exitCode = 0;
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext context = null;
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            String baseUrl = options.get("baseUrl");
+            if (baseUrl == null) {
+                List<String> springArgs = new ArrayList<>();
+                springArgs.add("--server.port=0");
+                if ("postgres".equals(database)) {
+                    postgres = EmbeddedPostgres.builder().start();
+                    springArgs.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                            + "&reWriteBatchedInserts=true");
+                    springArgs.add("--spring.datasource.username=postgres");
+                    springArgs.add("--spring.datasource.password=postgres");
+                    springArgs.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+                    springArgs.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+                    springArgs.add("--hotel.locking.mode=advisory");
+                    springArgs.add("--hotel.cache.invalidation.notify=true");
+                } else if (!"h2".equals(database)) {
+                    throw new IllegalArgumentException("Base de datos no soportada: " + database);
+                }
+                SpringApplication application = new SpringApplication(HotelBookingApiApplication.class);
+                application.setAdditionalProfiles("loadtest");
+                context = application.run(springArgs.toArray(String[]::new));
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            } else {
+                database = "externa";
+            }
+
+            ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(clientExecutor)
+                    .build();
+            BookingWorkload workload = new BookingWorkload(httpClient, baseUrl, objectMapper, scenario.sameDayShare());
+            workload.seedRooms(scenario.rooms());
+
+            LoadTestReport report = new LoadTestReport(scenario, database,
+                    new OpenModelDriver(scenario, workload).run());
+            report.print(System.out);
+            System.out.println("Informe: " + report.write(reportDir, objectMapper).toAbsolutePath());
+
+            if (report.overallErrorRate() > maxErrorRate) {
+                System.err.printf("La tasa de error supera el máximo permitido (%.3f%%)%n", maxErrorRate * 100);
+                exitCode = 1;
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+            if (context != null) {
+                context.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido (se espera --clave=valor): " + arg);
+            }
+            int separator = arg.indexOf('=');
+            String value = arg.substring(separator + 1);
+            if (!value.isBlank()) {
+                options.put(arg.substring(2, separator), value);
+            }
+        }
+        return options;
+    }
+}
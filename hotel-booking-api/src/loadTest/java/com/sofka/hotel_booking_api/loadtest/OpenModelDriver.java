@@ -0,0 +1,123 @@
+package com.sofka.hotel_booking_api.loadtest;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga en modelo abierto: cada operación tiene su propio hilo que programa
+ * llegadas de Poisson a la tasa del escenario, sin esperar a que terminen las anteriores.
+ *
+ * <p>Si el servidor se retrasa, las llegadas siguen produciéndose y la latencia registrada
+ * incluye la espera desde el instante programado. Para no agotar la memoria del cliente,
+ * las llegadas que superan {@code maxInFlight} se descartan y se cuentan aparte.</p>
+ */
+public class OpenModelDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadScenario scenario;
+    private final BookingWorkload workload;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenModelDriver(LoadScenario scenario, BookingWorkload workload) {
+        this.scenario = scenario;
+        this.workload = workload;
+    }
+
+    /**
+     * Ejecuta el calentamiento y la fase medida.
+     *
+     * @return resultados de la fase medida por operación
+     */
+    public Map<Operation, EndpointStats> run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+
+        Map<Operation, EndpointStats> results = new EnumMap<>(Operation.class);
+        List<Thread> dispatchers = new ArrayList<>();
+        long seed = 0x5EEDL;
+        for (Map.Entry<Operation, Double> rate : scenario.rates().entrySet()) {
+            EndpointStats stats = new EndpointStats(rate.getKey(), measureFrom);
+            results.put(rate.getKey(), stats);
+            SplittableRandom random = new SplittableRandom(seed++);
+            Thread dispatcher = new Thread(() -> dispatch(rate.getKey(), rate.getValue(), stats, random, start, end),
+                    "load-" + rate.getKey().getKey());
+            dispatchers.add(dispatcher);
+            dispatcher.start();
+        }
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.join();
+        }
+        awaitInFlight();
+        return results;
+    }
+
+    private void dispatch(Operation operation, double ratePerSecond, EndpointStats stats,
+                          SplittableRandom random, long start, long end) {
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long intended = start;
+        while (true) {
+            // Intervalos exponenciales entre llegadas: proceso de Poisson
+            intended += (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+            if (intended >= end) {
+                return;
+            }
+            parkUntil(intended);
+            fire(operation, stats, intended);
+        }
+    }
+
+    private void fire(Operation operation, EndpointStats stats, long intended) {
+        if (inFlight.incrementAndGet() > scenario.maxInFlight()) {
+            inFlight.decrementAndGet();
+            stats.recordDropped(intended);
+            return;
+        }
+        CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = workload.execute(operation);
+        } catch (RuntimeException ex) {
+            inFlight.decrementAndGet();
+            stats.recordTransportError(intended, System.nanoTime());
+            return;
+        }
+        if (response == null) {
+            inFlight.decrementAndGet();
+            stats.recordSkipped(intended);
+            return;
+        }
+        response.whenComplete((result, error) -> {
+            long completed = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (error != null) {
+                stats.recordTransportError(intended, completed);
+            } else {
+                stats.recordResponse(intended, completed, result.statusCode());
+            }
+        });
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
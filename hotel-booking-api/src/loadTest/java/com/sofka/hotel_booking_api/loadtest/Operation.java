@@ -0,0 +1,33 @@
+package com.sofka.hotel_booking_api.loadtest;
+
+/**
+ * Operaciones de la API que puede ejecutar un escenario de carga.
+ * El nombre es la clave usada en los ficheros de escenario ({@code rate.<nombre>}).
+ */
+public enum Operation {
+
+    /** POST /api/reservations */
+    CREATE("create"),
+
+    /** POST /api/reservations/{id}/confirm-payment sobre una reserva creada por el escenario */
+    CONFIRM_PAYMENT("confirm-payment"),
+
+    /** POST /api/reservations/{id}/check-in sobre una reserva confirmada que llega hoy */
+    CHECK_IN("check-in"),
+
+    /** GET /api/reservations/search por apellido */
+    SEARCH("search"),
+
+    /** GET /api/rooms/available para un rango de fechas */
+    AVAILABILITY("availability");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
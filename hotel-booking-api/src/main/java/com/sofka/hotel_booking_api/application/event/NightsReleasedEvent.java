@@ -0,0 +1,17 @@
+package com.sofka.hotel_booking_api.application.event;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+import java.time.LocalDate;
+
+/**
+ * Evento publicado cuando noches de un tipo de habitación vuelven al inventario
+ * (cancelación, expiración o salida anticipada).
+ *
+ * @param hotelId hotel al que pertenecen las noches
+ * @param roomType tipo de habitación liberado
+ * @param from primera noche liberada
+ * @param to fecha de salida (exclusive)
+ */
+public record NightsReleasedEvent(long hotelId, RoomType roomType, LocalDate from, LocalDate to) {
+}
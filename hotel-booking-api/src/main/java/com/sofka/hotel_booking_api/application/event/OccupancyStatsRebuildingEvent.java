@@ -0,0 +1,15 @@
+package com.sofka.hotel_booking_api.application.event;
+
+import java.time.LocalDate;
+
+/**
+ * Evento publicado, de forma síncrona, cuando la reconstrucción de las estadísticas de un hotel ya
+ * tiene su bloqueo y va a leer las reservas: los incrementos pendientes del rango corresponden a
+ * cambios que la reconstrucción va a contar.
+ *
+ * @param hotelId hotel que se reconstruye
+ * @param from primer día
+ * @param to último día (exclusive)
+ */
+public record OccupancyStatsRebuildingEvent(long hotelId, LocalDate from, LocalDate to) {
+}
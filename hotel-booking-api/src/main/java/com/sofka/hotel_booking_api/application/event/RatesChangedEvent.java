@@ -0,0 +1,13 @@
+package com.sofka.hotel_booking_api.application.event;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+/**
+ * Evento publicado cuando cambia el calendario de tarifas de un tipo de habitación,
+ * para que todas las instancias descarten su copia en memoria al confirmarse la transacción.
+ *
+ * @param hotelId hotel de las tarifas
+ * @param roomType tipo de habitación
+ */
+public record RatesChangedEvent(long hotelId, RoomType roomType) {
+}
@@ -0,0 +1,19 @@
+package com.sofka.hotel_booking_api.application.event;
+
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Evento publicado cuando se crean reservas fuera de JPA (reservas de grupo con batch JDBC),
+ * para que las cachés de lectura descarten ese rango de fechas y las estadísticas de ocupación
+ * cuenten las reservas.
+ *
+ * @param hotelId hotel de las reservas
+ * @param from primera fecha de entrada
+ * @param to última fecha de salida
+ * @param stays datos de estadísticas de cada reserva creada
+ */
+public record ReservationsBookedEvent(long hotelId, LocalDate from, LocalDate to, List<StaySnapshot> stays) {
+}
@@ -0,0 +1,14 @@
+package com.sofka.hotel_booking_api.application.event;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+/**
+ * Evento publicado cuando cambian las restricciones de venta de un tipo de habitación, para que
+ * todas las instancias descarten su copia en memoria y las búsquedas de disponibilidad del hotel
+ * al confirmarse la transacción.
+ *
+ * @param hotelId hotel de las restricciones
+ * @param roomType tipo de habitación
+ */
+public record RestrictionsChangedEvent(long hotelId, RoomType roomType) {
+}
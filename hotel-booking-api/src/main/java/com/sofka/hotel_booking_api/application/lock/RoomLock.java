@@ -0,0 +1,57 @@
+package com.sofka.hotel_booking_api.application.lock;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bloqueo de habitaciones compartido por todas las instancias de la API.
+ *
+ * <p>Serializa las operaciones que comprueban y modifican la ocupación de una habitación
+ * (crear, asignar, hacer check-in o cancelar reservas). Los bloqueos duran hasta el final de
+ * la transacción en curso, por lo que los métodos deben llamarse dentro de una transacción.</p>
+ *
+ * <p>Una estadía bloquea solo las noches que ocupa (agrupadas por tramos de fechas), así que
+ * dos reservas de la misma habitación en fechas lejanas no se esperan entre sí. Bloquear la
+ * habitación completa excluye a cualquier estadía de esa habitación.</p>
+ *
+ * <p>La implementación se elige con {@code hotel.locking.mode}.</p>
+ */
+public interface RoomLock {
+
+    /**
+     * Bloquea las noches de cada estadía. Las claves se adquieren siempre en el mismo orden
+     * para que dos operaciones con varias habitaciones no se interbloqueen.
+     *
+     * @param stays estadías a bloquear
+     * @throws com.sofka.hotel_booking_api.domain.exception.RoomLockTimeoutException si no se
+     *         obtiene el bloqueo dentro del tiempo de espera configurado
+     */
+    void lockStays(Collection<RoomStay> stays);
+
+    /**
+     * Bloquea habitaciones completas, para todas sus fechas.
+     *
+     * @param roomIds habitaciones a bloquear
+     * @throws com.sofka.hotel_booking_api.domain.exception.RoomLockTimeoutException si no se
+     *         obtiene el bloqueo dentro del tiempo de espera configurado
+     */
+    void lockRooms(Collection<Long> roomIds);
+
+    /**
+     * Bloquea las noches de una sola estadía.
+     */
+    default void lockStay(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        lockStays(List.of(new RoomStay(roomId, checkInDate, checkOutDate)));
+    }
+
+    /**
+     * Noches {@code [checkInDate, checkOutDate)} de una habitación.
+     *
+     * @param roomId ID de la habitación
+     * @param checkInDate primera noche
+     * @param checkOutDate fecha de salida (exclusive)
+     */
+    record RoomStay(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.sofka.hotel_booking_api.application.lock;
+
+/**
+ * Bloqueo por hotel de las estadísticas de ocupación.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ *
+ * <p>Serializa la reconstrucción de las estadísticas de un hotel con la escritura de sus
+ * incrementos: mientras se leen las reservas y se reemplazan las filas, ningún incremento del
+ * hotel se escribe, y la reconstrucción espera a las escrituras en curso. Los bloqueos duran
+ * hasta el final de la transacción en curso, por lo que los métodos deben llamarse dentro de
+ * una transacción.</p>
+ *
+ * <p>La implementación se elige con {@code hotel.locking.mode}.</p>
+ */
+public interface StatsLock {
+
+    /**
+     * Bloquea en exclusiva las estadísticas del hotel para reconstruirlas. Espera a que
+     * terminen las escrituras de incrementos en curso.
+     *
+     * @param hotelId hotel a reconstruir
+     */
+    void lockForRebuild(long hotelId);
+
+    /**
+     * Intenta bloquear, de forma compartida y sin esperar, las estadísticas del hotel para
+     * escribir incrementos.
+     *
+     * @param hotelId hotel de los incrementos
+     * @return false si el hotel se está reconstruyendo
+     */
+    boolean tryLockForApply(long hotelId);
+}
@@ -0,0 +1,250 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.event.ReservationsBookedEvent;
+import com.sofka.hotel_booking_api.application.lock.RoomLock;
+import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGroupReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.GroupReservationResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para reservas de grupo (tours y eventos que reservan muchas habitaciones a la vez).
+ *
+ * <p>Toda la operación se ejecuta en una única transacción con semántica todo-o-nada:
+ * las noches de cada habitación se bloquean en orden ascendente de ID, la disponibilidad
+ * de todas las líneas se valida con una sola consulta, el inventario por tipo se consume con
+ * un lote por tipo y los huéspedes nuevos y las reservas se insertan con batch JDBC.</p>
+ */
+@Service
+public class GroupReservationService {
+
+    private static final String INSERT_RESERVATION_SQL =
+            "INSERT INTO reservations (hotel_id, reservation_number, guest_id, room_id, room_type, check_in_date, " +
+            "check_out_date, number_of_guests, total_amount, status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final GuestService guestService;
+    private final RoomTypeInventoryService roomTypeInventoryService;
+    private final PricingService pricingService;
+    private final RestrictionCalendar restrictionCalendar;
+    private final JdbcTemplate jdbcTemplate;
+    private final RoomLock roomLock;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public GroupReservationService(ReservationRepository reservationRepository,
+                                   RoomRepository roomRepository,
+                                   GuestService guestService,
+                                   RoomTypeInventoryService roomTypeInventoryService,
+                                   PricingService pricingService,
+                                   RestrictionCalendar restrictionCalendar,
+                                   JdbcTemplate jdbcTemplate,
+                                   RoomLock roomLock,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.guestService = guestService;
+        this.roomTypeInventoryService = roomTypeInventoryService;
+        this.pricingService = pricingService;
+        this.restrictionCalendar = restrictionCalendar;
+        this.jdbcTemplate = jdbcTemplate;
+        this.roomLock = roomLock;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Crea todas las reservas de un grupo o ninguna.
+     *
+     * @param request líneas de habitación/fechas del grupo
+     * @return las reservas creadas en el orden de la solicitud
+     * @throws RoomNotFoundException si alguna habitación no existe
+     * @throws IllegalStateException si alguna habitación no está disponible
+     * @throws IllegalArgumentException si alguna línea excede la capacidad o incumple las restricciones de estadía
+     */
+    @Transactional
+    public GroupReservationResponse createGroupReservation(CreateGroupReservationRequest request) {
+        List<CreateReservationRequest> lines = request.reservations();
+
+        // 1. Validar fechas y duración de cada línea (RN-004)
+        for (CreateReservationRequest line : lines) {
+            ReservationService.validateDates(line.checkInDate(), line.checkOutDate());
+            ReservationService.validateStayLength(
+                    ChronoUnit.DAYS.between(line.checkInDate(), line.checkOutDate()));
+        }
+
+        // 2. Bloquear las noches de todas las líneas; RoomLock las adquiere en orden ascendente
+        // de habitación y fecha (evita interbloqueos)
+        roomLock.lockStays(lines.stream()
+                .map(line -> new RoomLock.RoomStay(line.roomId(), line.checkInDate(), line.checkOutDate()))
+                .toList());
+        Set<Long> roomIds = lines.stream()
+                .map(CreateReservationRequest::roomId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Room> roomsById = roomRepository.findAllById(roomIds).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        for (Long roomId : roomIds) {
+            if (!roomsById.containsKey(roomId)) {
+                throw new RoomNotFoundException(roomId);
+            }
+        }
+
+        // 3. Validar restricciones de venta del tipo y capacidad de cada habitación (RN-004, RN-005)
+        for (CreateReservationRequest line : lines) {
+            Room room = roomsById.get(line.roomId());
+            restrictionCalendar.check(room.getRoomType(), line.checkInDate(), line.checkOutDate());
+            if (line.numberOfGuests() > room.getCapacity()) {
+                throw new IllegalArgumentException(
+                        String.format("La habitación %s tiene capacidad para %d personas, se solicitaron %d",
+                                room.getRoomNumber(), room.getCapacity(), line.numberOfGuests()));
+            }
+        }
+
+        // 4. Verificar disponibilidad de todas las líneas con una sola consulta y consumir inventario
+        validateAvailability(lines, roomsById);
+        reserveInventory(lines, roomsById);
+
+        // 5. Registrar o actualizar los huéspedes en lote
+        Map<String, Guest> guestsByDocument = guestService.registerOrUpdateGuests(
+                lines.stream().map(CreateReservationRequest::guest).toList());
+
+        // 6. Insertar todas las reservas con un batch JDBC
+        List<String> reservationNumbers = insertReservations(lines, roomsById, guestsByDocument);
+
+        // 7. Recuperar las reservas creadas y retornarlas en el orden de la solicitud
+        Map<String, Reservation> created = reservationRepository.findByReservationNumberIn(reservationNumbers)
+                .stream()
+                .collect(Collectors.toMap(Reservation::getReservationNumber, Function.identity()));
+        List<Reservation> reservations = reservationNumbers.stream().map(created::get).toList();
+        // El batch JDBC no pasa por Hibernate: avisar a las cachés de lectura y a las estadísticas tras el commit
+        eventPublisher.publishEvent(new ReservationsBookedEvent(TenantContext.requireHotelId(),
+                lines.stream().map(CreateReservationRequest::checkInDate).min(Comparator.naturalOrder()).orElseThrow(),
+                lines.stream().map(CreateReservationRequest::checkOutDate).max(Comparator.naturalOrder()).orElseThrow(),
+                reservations.stream().map(StaySnapshot::of).toList()));
+        List<ReservationResponse> responses = reservations.stream()
+                .map(ReservationResponse::fromEntity)
+                .toList();
+        Money totalAmount = reservations.stream()
+                .map(Reservation::getTotalAmount)
+                .reduce(Money.ZERO, Money::plus);
+
+        return new GroupReservationResponse(responses, responses.size(), totalAmount.toBigDecimal());
+    }
+
+    /**
+     * Verifica que ninguna línea se solape con reservas existentes ni con otra línea del grupo.
+     */
+    private void validateAvailability(List<CreateReservationRequest> lines, Map<Long, Room> roomsById) {
+        LocalDate from = lines.stream()
+                .map(CreateReservationRequest::checkInDate)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDate to = lines.stream()
+                .map(CreateReservationRequest::checkOutDate)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+
+        Map<Long, List<Reservation>> existingByRoom = reservationRepository
+                .findOverlappingReservationsForRooms(roomsById.values(), from, to)
+                .stream()
+                .collect(Collectors.groupingBy(reservation -> reservation.getRoom().getId()));
+
+        List<CreateReservationRequest> accepted = new ArrayList<>(lines.size());
+        for (CreateReservationRequest line : lines) {
+            boolean overlapsExisting = existingByRoom.getOrDefault(line.roomId(), List.of()).stream()
+                    .anyMatch(existing -> overlaps(line, existing.getCheckInDate(), existing.getCheckOutDate()));
+            boolean overlapsGroup = accepted.stream()
+                    .anyMatch(other -> other.roomId().equals(line.roomId())
+                            && overlaps(line, other.checkInDate(), other.checkOutDate()));
+            if (overlapsExisting || overlapsGroup) {
+                throw new IllegalStateException(
+                        String.format("La habitación %s no está disponible para las fechas solicitadas",
+                                roomsById.get(line.roomId()).getRoomNumber()));
+            }
+            accepted.add(line);
+        }
+    }
+
+    /**
+     * Consume el inventario por tipo de todas las líneas a la vez: la demanda se suma por tipo y
+     * noche, y cada tipo se actualiza con un solo lote, en el mismo orden para todos los grupos.
+     */
+    private void reserveInventory(List<CreateReservationRequest> lines, Map<Long, Room> roomsById) {
+        roomTypeInventoryService.reserveAll(lines.stream()
+                .map(line -> new RoomTypeInventoryService.Stay(
+                        roomsById.get(line.roomId()).getRoomType(), line.checkInDate(), line.checkOutDate()))
+                .toList());
+    }
+
+    private boolean overlaps(CreateReservationRequest line, LocalDate checkInDate, LocalDate checkOutDate) {
+        return line.checkInDate().isBefore(checkOutDate) && line.checkOutDate().isAfter(checkInDate);
+    }
+
+    /**
+     * Inserta las reservas en lote y devuelve sus números en el orden de las líneas.
+     * El lote va por JDBC, así que el hotel se escribe aquí y no lo asigna Hibernate.
+     */
+    private List<String> insertReservations(List<CreateReservationRequest> lines,
+                                            Map<Long, Room> roomsById,
+                                            Map<String, Guest> guestsByDocument) {
+        LocalDateTime now = LocalDateTime.now();
+        long hotelId = TenantContext.requireHotelId();
+        Set<String> usedNumbers = new HashSet<>();
+        List<String> reservationNumbers = new ArrayList<>(lines.size());
+        List<Object[]> batchArgs = new ArrayList<>(lines.size());
+
+        for (CreateReservationRequest line : lines) {
+            Room room = roomsById.get(line.roomId());
+            Guest guest = guestsByDocument.get(line.guest().documentNumber());
+            String reservationNumber;
+            do {
+                reservationNumber = ReservationService.generateReservationNumber();
+            } while (!usedNumbers.add(reservationNumber));
+            reservationNumbers.add(reservationNumber);
+
+            batchArgs.add(new Object[]{
+                    hotelId,
+                    reservationNumber,
+                    guest.getId(),
+                    room.getId(),
+                    room.getRoomType().name(),
+                    line.checkInDate(),
+                    line.checkOutDate(),
+                    line.numberOfGuests(),
+                    pricingService.priceStay(room, line.checkInDate(), line.checkOutDate()).toBigDecimal(),
+                    ReservationStatus.PENDING.name(),
+                    now
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_RESERVATION_SQL, batchArgs);
+        return reservationNumbers;
+    }
+}
@@ -3,9 +3,19 @@ package com.sofka.hotel_booking_api.application.service;
 import com.sofka.hotel_booking_api.domain.model.Guest;
 import com.sofka.hotel_booking_api.domain.repository.GuestRepository;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Servicio para gestionar los huéspedes del hotel.
  * Historia 3.2: Registrar información completa del huésped
@@ -13,10 +23,16 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class GuestService {
 
+    private static final String INSERT_GUEST_SQL =
+            "INSERT INTO guests (hotel_id, first_name, last_name, document_number, email, phone, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
     private final GuestRepository guestRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public GuestService(GuestRepository guestRepository) {
+    public GuestService(GuestRepository guestRepository, JdbcTemplate jdbcTemplate) {
         this.guestRepository = guestRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     /**
@@ -49,4 +65,64 @@ public class GuestService {
                     return guestRepository.save(newGuest);
                 });
     }
+
+    /**
+     * Registra o actualiza varios huéspedes con una sola consulta de búsqueda.
+     * Si el mismo documento aparece varias veces, prevalecen los últimos datos recibidos.
+     * Los huéspedes se procesan ordenados por documento para mantener un orden de
+     * escritura estable entre transacciones concurrentes.
+     *
+     * <p>Los existentes se actualizan en la sesión y Hibernate los escribe en lote al hacer flush.
+     * Los nuevos se insertan con un batch JDBC, porque con IDs {@code IDENTITY} Hibernate inserta
+     * cada entidad por separado para conocer su ID, y se leen después con una consulta. Como en las
+     * reservas de grupo, el hotel se escribe aquí y no lo asigna Hibernate.</p>
+     *
+     * @param requests datos de los huéspedes
+     * @return huéspedes registrados o actualizados, indexados por número de documento
+     */
+    @Transactional
+    public Map<String, Guest> registerOrUpdateGuests(Collection<CreateGuestRequest> requests) {
+        // 1. Agrupar por documento (el último dato recibido prevalece)
+        Map<String, CreateGuestRequest> requestsByDocument = new TreeMap<>();
+        requests.forEach(request -> requestsByDocument.put(request.documentNumber(), request));
+
+        // 2. Buscar en una sola consulta los huéspedes ya registrados
+        Map<String, Guest> guestsByDocument = new HashMap<>();
+        guestRepository.findByDocumentNumberIn(requestsByDocument.keySet())
+                .forEach(guest -> guestsByDocument.put(guest.getDocumentNumber(), guest));
+
+        // 3. Actualizar existentes (se escriben al hacer flush) y preparar el lote de nuevos
+        long hotelId = TenantContext.requireHotelId();
+        LocalDateTime now = LocalDateTime.now();
+        List<String> newDocuments = new ArrayList<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+        requestsByDocument.forEach((documentNumber, request) -> {
+            Guest guest = guestsByDocument.get(documentNumber);
+            if (guest == null) {
+                newDocuments.add(documentNumber);
+                batchArgs.add(new Object[]{
+                        hotelId,
+                        request.firstName(),
+                        request.lastName(),
+                        request.documentNumber(),
+                        request.email(),
+                        request.phone(),
+                        now
+                });
+            } else {
+                guest.setFirstName(request.firstName());
+                guest.setLastName(request.lastName());
+                guest.setEmail(request.email());
+                guest.setPhone(request.phone());
+            }
+        });
+
+        // 4. Insertar los nuevos en lote y leerlos con sus IDs
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_GUEST_SQL, batchArgs);
+            guestRepository.findByDocumentNumberIn(newDocuments)
+                    .forEach(guest -> guestsByDocument.put(guest.getDocumentNumber(), guest));
+        }
+        return guestsByDocument;
+    }
 }
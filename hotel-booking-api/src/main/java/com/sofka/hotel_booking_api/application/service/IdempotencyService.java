@@ -0,0 +1,401 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.domain.exception.IdempotencyKeyConflictException;
+import com.sofka.hotel_booking_api.domain.exception.IdempotencyKeyInProgressException;
+import com.sofka.hotel_booking_api.domain.model.IdempotencyRecord;
+import com.sofka.hotel_booking_api.domain.repository.IdempotencyRecordRepository;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Servicio de idempotencia para operaciones POST reintentables.
+ *
+ * <p>Las respuestas exitosas se guardan en una caché LRU acotada en memoria y en la
+ * tabla {@code idempotency_keys} con un tiempo de vida configurable. Un reintento con
+ * la misma clave y la misma petición recibe la respuesta original sin volver a ejecutar
+ * la operación.</p>
+ *
+ * <p>Antes de ejecutar, la petición reclama la clave en la base de datos insertando su
+ * registro en curso ({@code INSERT ... ON CONFLICT DO NOTHING}, en una transacción propia).
+ * Solo quien la reclama ejecuta la operación, y su respuesta se registra en la misma
+ * transacción que la operación: o se confirman las dos o ninguna. Los duplicados, en este
+ * o en otro nodo, esperan a que el registro se complete y reciben su respuesta; si no se
+ * completa dentro de {@code hotel.idempotency.claim-timeout} reciben 409. Una reclamación
+ * que supera ese tiempo (por ejemplo, porque el nodo cayó) expira y otra petición puede
+ * tomar la clave; quien la perdió no puede registrar su respuesta y revierte la operación.
+ * Los duplicados del mismo nodo además se agrupan en memoria sin consultar la base de datos.</p>
+ *
+ * <p>Las operaciones que terminan en error liberan la clave, de modo que el cliente
+ * puede reintentarlas con la misma clave.</p>
+ *
+ * <p>Las claves se guardan por hotel ({@link TenantContext}): la misma clave y petición enviadas
+ * con otro {@code X-Hotel-Id} se ejecutan aparte y nunca reciben la respuesta de otro hotel.</p>
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    /**
+     * Longitud máxima aceptada para la clave enviada por el cliente.
+     */
+    static final int MAX_KEY_LENGTH = 100;
+
+    /**
+     * Espera inicial y máxima entre consultas de un duplicado a la clave en curso.
+     */
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(50);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(1);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final TransactionTemplate actionTransaction;
+    private final TransactionTemplate claimTransaction;
+    private final Map<String, StoredResponse> cache;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${hotel.idempotency.cache-size:1000}") int cacheSize,
+                              @Value("${hotel.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${hotel.idempotency.claim-timeout:PT30S}") Duration claimTimeout) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.actionTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, StoredResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una operación de forma idempotente. Con clave, la operación se ejecuta
+     * dentro de una transacción que también registra su respuesta.
+     *
+     * @param idempotencyKey clave enviada por el cliente (si es null se ejecuta sin idempotencia)
+     * @param operation nombre de la operación, usado para aislar claves entre endpoints
+     * @param request cuerpo de la petición, usado para detectar reutilización de la clave
+     * @param responseType tipo de la respuesta para reconstruirla en los reintentos
+     * @param action la operación a ejecutar
+     * @return la respuesta de la operación, original o repetida
+     * @throws IdempotencyKeyConflictException si la clave ya se usó con otra petición
+     * @throws IdempotencyKeyInProgressException si otra petición con la clave sigue en curso
+     * @throws IllegalArgumentException si la clave está vacía o es demasiado larga
+     */
+    public <T> T execute(String idempotencyKey, String operation, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        validateKey(idempotencyKey);
+
+        String storageKey = TenantContext.requireHotelId() + ":" + operation + ":" + idempotencyKey;
+        String requestHash = fingerprint(operation, request);
+
+        // 1. Reintento de una operación ya completada
+        StoredResponse stored = lookup(storageKey);
+        if (stored != null) {
+            return replay(idempotencyKey, stored, requestHash, responseType);
+        }
+
+        // 2. Duplicado concurrente en este nodo: esperar el resultado de la ejecución en curso
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(storageKey, execution);
+        if (running != null) {
+            return replay(idempotencyKey, awaitExecution(running), requestHash, responseType);
+        }
+
+        // 3. Reclamar la clave y ejecutar, o esperar a quien la reclamó
+        try {
+            Executed<T> executed = claimAndExecute(idempotencyKey, storageKey, requestHash, responseType, action);
+            execution.complete(executed.stored());
+            return executed.response();
+        } catch (RuntimeException ex) {
+            execution.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(storageKey, execution);
+        }
+    }
+
+    /**
+     * Elimina de la base de datos los registros expirados.
+     * Se ejecuta periódicamente según {@code hotel.idempotency.purge-interval}.
+     *
+     * @return número de registros eliminados
+     */
+    @Scheduled(initialDelayString = "${hotel.idempotency.purge-interval:PT1H}",
+               fixedDelayString = "${hotel.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public int purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Eliminados {} registros de idempotencia expirados", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Valida el formato de la clave enviada por el cliente.
+     */
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(String.format(
+                    "La cabecera Idempotency-Key debe tener entre 1 y %d caracteres", MAX_KEY_LENGTH));
+        }
+    }
+
+    /**
+     * Busca una respuesta registrada, primero en la caché LRU y luego en la base de datos.
+     * Los registros en curso no tienen respuesta todavía.
+     */
+    private StoredResponse lookup(String storageKey) {
+        LocalDateTime now = LocalDateTime.now();
+        StoredResponse cached = cache.get(storageKey);
+        if (cached != null) {
+            if (!cached.expiresAt().isBefore(now)) {
+                return cached;
+            }
+            cache.remove(storageKey);
+        }
+
+        return idempotencyRecordRepository.findById(storageKey)
+                .filter(record -> record.isCompleted() && !record.isExpired(now))
+                .map(record -> remember(storageKey, record))
+                .orElse(null);
+    }
+
+    /**
+     * Reclama la clave y ejecuta la operación. Si otra petición la tiene reclamada, espera
+     * con pausas crecientes a que complete su registro (y repite su respuesta), a que lo
+     * libere o expire (y la reclama), o hasta agotar {@code claimTimeout}.
+     */
+    private <T> Executed<T> claimAndExecute(String idempotencyKey, String storageKey, String requestHash,
+                                            Class<T> responseType, Supplier<T> action) {
+        long deadline = System.nanoTime() + claimTimeout.toNanos();
+        Duration backoff = INITIAL_BACKOFF;
+        while (true) {
+            String claimToken = UUID.randomUUID().toString();
+            ClaimAttempt attempt = claimTransaction.execute(status -> claim(storageKey, requestHash, claimToken));
+            if (attempt.claimed()) {
+                return executeClaimed(idempotencyKey, storageKey, claimToken, requestHash, action);
+            }
+
+            IdempotencyRecord holder = attempt.holder();
+            if (holder != null) {
+                if (!holder.getRequestHash().equals(requestHash)) {
+                    throw new IdempotencyKeyConflictException(idempotencyKey);
+                }
+                if (holder.isCompleted()) {
+                    StoredResponse stored = remember(storageKey, holder);
+                    return new Executed<>(replay(idempotencyKey, stored, requestHash, responseType), stored);
+                }
+            }
+
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IdempotencyKeyInProgressException(idempotencyKey);
+            }
+            pause(idempotencyKey, backoff);
+            Duration doubled = backoff.multipliedBy(2);
+            backoff = doubled.compareTo(MAX_BACKOFF) < 0 ? doubled : MAX_BACKOFF;
+        }
+    }
+
+    /**
+     * Inserta el registro en curso de la clave, tras eliminarlo si había expirado. Si la
+     * clave ya estaba registrada, devuelve el registro de quien la tiene.
+     */
+    private ClaimAttempt claim(String storageKey, String requestHash, String claimToken) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.deleteIfExpired(storageKey, now);
+        int inserted = idempotencyRecordRepository.claim(storageKey, TenantContext.requireHotelId(),
+                requestHash, claimToken, now, now.plus(claimTimeout));
+        if (inserted == 1) {
+            return new ClaimAttempt(true, null);
+        }
+        return new ClaimAttempt(false, idempotencyRecordRepository.findById(storageKey).orElse(null));
+    }
+
+    /**
+     * Ejecuta la operación de una clave reclamada y registra su respuesta en la misma
+     * transacción. Si la operación falla, libera la clave.
+     */
+    private <T> Executed<T> executeClaimed(String idempotencyKey, String storageKey, String claimToken,
+                                           String requestHash, Supplier<T> action) {
+        try {
+            return actionTransaction.execute(status -> {
+                T response = action.get();
+                StoredResponse stored = new StoredResponse(
+                        requestHash, serialize(response), LocalDateTime.now().plus(ttl));
+                if (idempotencyRecordRepository.complete(
+                        storageKey, claimToken, stored.body(), stored.expiresAt()) == 0) {
+                    // La reclamación expiró y otra petición tomó la clave: se revierte la operación
+                    throw new IdempotencyKeyInProgressException(idempotencyKey);
+                }
+                afterCommit(() -> cache.put(storageKey, stored));
+                return new Executed<>(response, stored);
+            });
+        } catch (RuntimeException ex) {
+            release(storageKey, claimToken);
+            throw ex;
+        }
+    }
+
+    /**
+     * Libera la clave reclamada. Si no se puede, la reclamación expira sola.
+     */
+    private void release(String storageKey, String claimToken) {
+        try {
+            claimTransaction.executeWithoutResult(status ->
+                    idempotencyRecordRepository.release(storageKey, claimToken));
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo liberar la clave de idempotencia {}: {}", storageKey, ex.getMessage());
+        }
+    }
+
+    /**
+     * Guarda en la caché la respuesta de un registro completado.
+     */
+    private StoredResponse remember(String storageKey, IdempotencyRecord record) {
+        StoredResponse response = new StoredResponse(
+                record.getRequestHash(), record.getResponseBody(), record.getExpiresAt());
+        cache.put(storageKey, response);
+        return response;
+    }
+
+    /**
+     * Reconstruye la respuesta original verificando que la petición sea la misma.
+     */
+    private <T> T replay(String idempotencyKey, StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(idempotencyKey);
+        }
+        if (stored.body() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo reconstruir la respuesta registrada", ex);
+        }
+    }
+
+    /**
+     * Espera a que termine la ejecución en curso y propaga su error si falló.
+     */
+    private StoredResponse awaitExecution(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static void pause(String idempotencyKey, Duration backoff) {
+        try {
+            Thread.sleep(backoff.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        }
+    }
+
+    /**
+     * Calcula la huella SHA-256 de la operación y su cuerpo.
+     */
+    String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo calcular la huella de la petición", ex);
+        }
+    }
+
+    private String serialize(Object response) {
+        if (response == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", ex);
+        }
+    }
+
+    /**
+     * Ejecuta la acción al confirmar la transacción actual, o de inmediato si no hay transacción.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Respuesta registrada en la caché en memoria.
+     */
+    private record StoredResponse(String requestHash, String body, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Resultado de reclamar una clave: reclamada, o el registro de quien la tiene (null si ya no existe).
+     */
+    private record ClaimAttempt(boolean claimed, IdempotencyRecord holder) {
+    }
+
+    /**
+     * Respuesta de la operación y lo que se registró de ella.
+     */
+    private record Executed<T>(T response, StoredResponse stored) {
+    }
+}
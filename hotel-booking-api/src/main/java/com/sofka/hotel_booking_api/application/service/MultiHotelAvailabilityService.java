@@ -0,0 +1,200 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.dto.MultiHotelAvailabilityResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.MultiHotelAvailabilityResponse.HotelResult;
+import com.sofka.hotel_booking_api.infrastructure.dto.MultiHotelAvailabilityResponse.HotelRoom;
+import com.sofka.hotel_booking_api.infrastructure.dto.MultiHotelAvailabilityResponse.Status;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomResponse;
+import com.sofka.hotel_booking_api.infrastructure.tenant.HotelDirectory;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Búsqueda de disponibilidad en varios hoteles para la central de reservas.
+ *
+ * <p>Cada hotel se consulta en paralelo con {@link RoomService#getAvailableRooms}, en su propio
+ * hilo y con su hotel ({@link TenantContext}), así que usa su caché, su transacción y, si lo tiene,
+ * su shard. En el mismo hilo se calcula con {@link PricingService} el precio total de la estadía en
+ * cada habitación, con las tarifas de ese hotel, y las habitaciones se ordenan por él.</p>
+ *
+ * <p>El pool crea un hilo por hotel consultado hasta {@code hotel.availability.search.parallelism}, que
+ * por defecto es el tamaño del pool de conexiones; los hoteles que pasan de ese límite esperan en cola.
+ * Cada hotel tiene {@code hotel.availability.search.timeout} desde que su consulta empieza, no desde
+ * que empieza la búsqueda, así que un hotel en cola no pierde el tiempo de los anteriores; si no llega
+ * a empezar en ese plazo, o no responde en él, se cancela y el resultado se devuelve parcial.</p>
+ */
+@Service
+public class MultiHotelAvailabilityService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiHotelAvailabilityService.class);
+
+    private static final Comparator<HotelRoom> BY_PRICE =
+            Comparator.comparing(HotelRoom::totalAmount)
+                    .thenComparing(HotelRoom::hotelId)
+                    .thenComparing(hotelRoom -> hotelRoom.room().getRoomNumber());
+
+    private final RoomService roomService;
+    private final PricingService pricingService;
+    private final HotelDirectory hotelDirectory;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+
+    public MultiHotelAvailabilityService(
+            RoomService roomService,
+            PricingService pricingService,
+            HotelDirectory hotelDirectory,
+            MeterRegistry meterRegistry,
+            @Value("${hotel.availability.search.parallelism:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int parallelism,
+            @Value("${hotel.availability.search.queue-capacity:200}") int queueCapacity,
+            @Value("${hotel.availability.search.timeout:PT2S}") Duration timeout) {
+        this.roomService = roomService;
+        this.pricingService = pricingService;
+        this.hotelDirectory = hotelDirectory;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("availability-search-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Busca habitaciones disponibles en varios hoteles.
+     *
+     * @param checkIn fecha de entrada
+     * @param checkOut fecha de salida
+     * @param roomType tipo de habitación (opcional)
+     * @param hotelIds hoteles a consultar; vacío o null para todos
+     * @return las habitaciones de todos los hoteles ordenadas por el precio total de la estadía y el
+     *         resultado de cada hotel
+     * @throws com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException si el rango es inválido
+     * @throws IllegalArgumentException si algún ID de hotel no es positivo
+     */
+    public MultiHotelAvailabilityResponse search(LocalDate checkIn, LocalDate checkOut, RoomType roomType,
+                                                 List<Long> hotelIds) {
+        ReservationService.validateDates(checkIn, checkOut);
+        List<Long> hotels = hotelIds == null || hotelIds.isEmpty()
+                ? hotelDirectory.hotelIds()
+                : hotelIds.stream().distinct().toList();
+        for (Long hotelId : hotels) {
+            if (hotelId == null || hotelId <= TenantContext.ALL_HOTELS) {
+                throw new IllegalArgumentException("ID de hotel inválido: " + hotelId);
+            }
+        }
+
+        long start = System.nanoTime();
+        Map<Long, Task> tasks = new LinkedHashMap<>();
+        for (Long hotelId : hotels) {
+            tasks.put(hotelId, submit(hotelId, checkIn, checkOut, roomType));
+        }
+
+        List<HotelRoom> rooms = new ArrayList<>();
+        List<HotelResult> results = new ArrayList<>(hotels.size());
+        for (Map.Entry<Long, Task> task : tasks.entrySet()) {
+            HotelResult result = await(task.getKey(), task.getValue(), start, rooms);
+            meterRegistry.counter("hotel.availability.search.hotels", "status", result.status().name()).increment();
+            results.add(result);
+        }
+
+        rooms.sort(BY_PRICE);
+        boolean complete = results.stream().allMatch(result -> result.status() == Status.OK);
+        return new MultiHotelAvailabilityResponse(checkIn, checkOut, roomType, complete, rooms, results);
+    }
+
+    private Task submit(Long hotelId, LocalDate checkIn, LocalDate checkOut, RoomType roomType) {
+        CompletableFuture<Long> started = new CompletableFuture<>();
+        try {
+            Future<Probe> future = executor.submit(() -> TenantContext.callAs(hotelId, () -> {
+                started.complete(System.nanoTime());
+                List<RoomResponse> available = roomService.getAvailableRooms(checkIn, checkOut, roomType);
+                List<Money> totals = pricingService.priceStays(available, checkIn, checkOut);
+                List<HotelRoom> rooms = new ArrayList<>(available.size());
+                for (int i = 0; i < available.size(); i++) {
+                    rooms.add(new HotelRoom(hotelId, available.get(i), totals.get(i).toBigDecimal()));
+                }
+                return new Probe(rooms, System.nanoTime() - started.join());
+            }));
+            return new Task(future, started);
+        } catch (RejectedExecutionException e) {
+            log.warn("Búsqueda de disponibilidad del hotel {} rechazada: pool lleno", hotelId);
+            return null;
+        }
+    }
+
+    /**
+     * Espera a que la consulta del hotel empiece y, desde entonces, como mucho {@code timeout}.
+     */
+    private HotelResult await(Long hotelId, Task task, long start, List<HotelRoom> rooms) {
+        if (task == null) {
+            return new HotelResult(hotelId, Status.FAILED, 0, 0);
+        }
+        Future<Probe> future = task.future();
+        try {
+            long started = task.started().get(remaining(start), TimeUnit.NANOSECONDS);
+            Probe probe = future.get(remaining(started), TimeUnit.NANOSECONDS);
+            rooms.addAll(probe.rooms());
+            return new HotelResult(hotelId, Status.OK, probe.rooms().size(), toMillis(probe.elapsedNanos()));
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("El hotel {} no respondió a la búsqueda de disponibilidad en {}", hotelId, timeout);
+            return new HotelResult(hotelId, Status.TIMEOUT, 0, toMillis(System.nanoTime() - start));
+        } catch (ExecutionException e) {
+            log.warn("Falló la búsqueda de disponibilidad del hotel {}: {}", hotelId, e.getCause().getMessage());
+            return new HotelResult(hotelId, Status.FAILED, 0, toMillis(System.nanoTime() - start));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return new HotelResult(hotelId, Status.FAILED, 0, toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private long remaining(long from) {
+        return Math.max(0, from + timeout.toNanos() - System.nanoTime());
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private record Probe(List<HotelRoom> rooms, long elapsedNanos) {
+    }
+
+    /**
+     * Consulta enviada al pool y el instante en que un hilo la empezó a ejecutar.
+     */
+    private record Task(Future<Probe> future, CompletableFuture<Long> started) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.RoomRate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tarifas de un tipo de habitación en un arreglo denso: una posición por noche desde {@code origin},
+ * en centavos, con {@link #NO_RATE} en las noches sin tarifa. Es inmutable, así que se comparte entre
+ * hilos sin sincronización y una estadía se suma recorriendo sus posiciones una sola vez.
+ */
+public final class NightlyRates {
+
+    /** Noche sin tarifa: se cobra el precio de la habitación. */
+    public static final long NO_RATE = -1;
+
+    static final NightlyRates EMPTY = new NightlyRates(null, new long[0]);
+
+    private final LocalDate origin;
+    private final long[] minorUnits;
+
+    private NightlyRates(LocalDate origin, long[] minorUnits) {
+        this.origin = origin;
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Construye el arreglo a partir de las tarifas de un tipo ordenadas por noche.
+     */
+    static NightlyRates of(List<RoomRate> rates) {
+        if (rates.isEmpty()) {
+            return EMPTY;
+        }
+        LocalDate origin = rates.get(0).getStayDate();
+        int length = Math.toIntExact(ChronoUnit.DAYS.between(origin, rates.get(rates.size() - 1).getStayDate()) + 1);
+        long[] minorUnits = new long[length];
+        Arrays.fill(minorUnits, NO_RATE);
+        for (RoomRate rate : rates) {
+            minorUnits[(int) ChronoUnit.DAYS.between(origin, rate.getStayDate())] = rate.getAmount().minorUnits();
+        }
+        return new NightlyRates(origin, minorUnits);
+    }
+
+    /**
+     * Tarifa de una noche en centavos, o {@link #NO_RATE} si no tiene.
+     */
+    public long rateOn(LocalDate night) {
+        if (origin == null) {
+            return NO_RATE;
+        }
+        long index = ChronoUnit.DAYS.between(origin, night);
+        return index >= 0 && index < minorUnits.length ? minorUnits[(int) index] : NO_RATE;
+    }
+
+    /**
+     * Suma las noches de [checkIn, checkOut) en centavos. Las noches sin tarifa se cobran a {@code fallback}.
+     *
+     * @param checkIn primera noche
+     * @param checkOut fecha de salida (exclusive)
+     * @param fallback precio por noche de la habitación, en centavos
+     * @return total de la estadía en centavos
+     */
+    public long sumStay(LocalDate checkIn, LocalDate checkOut, long fallback) {
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (origin == null) {
+            return Math.multiplyExact(fallback, nights);
+        }
+        long start = ChronoUnit.DAYS.between(origin, checkIn);
+        long from = Math.max(0, start);
+        long to = Math.min(minorUnits.length, start + nights);
+
+        long total = 0;
+        long fallbackNights = nights;
+        for (long index = from; index < to; index++) {
+            long rate = minorUnits[(int) index];
+            if (rate != NO_RATE) {
+                total += rate;
+                fallbackNights--;
+            }
+        }
+        return Math.addExact(total, Math.multiplyExact(fallback, fallbackNights));
+    }
+}
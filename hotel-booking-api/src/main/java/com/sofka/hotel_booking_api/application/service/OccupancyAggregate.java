@@ -0,0 +1,198 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.DailyRoomTypeStats;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Contadores de ocupación e ingresos por hotel, tipo de habitación y día, acumulados en memoria.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ *
+ * <p>Una reserva aporta, mientras está vendida ({@link StaySnapshot#isSold()}), una noche y su parte
+ * del importe a cada noche de la estadía, una llegada el día de entrada y una salida el día de salida
+ * efectivo; cancelada, aporta una cancelación el día en que llegaba. Un cambio de estado se aplica
+ * restando la aportación anterior y sumando la nueva, así que los mismos contadores sirven para los
+ * incrementos y para reconstruir desde cero. El importe se reparte en centavos enteros: el resto de
+ * la división va a las primeras noches y la suma de las noches coincide con el total.</p>
+ *
+ * <p>No es seguro para varios hilos; dos agregados se combinan con {@link #merge(OccupancyAggregate)}.</p>
+ */
+public final class OccupancyAggregate {
+
+    private static final int ROOM_NIGHTS = 0;
+    private static final int REVENUE = 1;
+    private static final int ARRIVALS = 2;
+    private static final int DEPARTURES = 3;
+    private static final int CANCELLATIONS = 4;
+    private static final int COUNTERS = 5;
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::date).thenComparing(Key::roomType);
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Map<Key, long[]> counters = new HashMap<>();
+
+    private OccupancyAggregate(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Agregado sin límite de fechas, para acumular cambios de estado.
+     */
+    public static OccupancyAggregate unbounded() {
+        return new OccupancyAggregate(null, null);
+    }
+
+    /**
+     * Agregado que solo cuenta los días del rango, para reconstruirlo.
+     *
+     * @param from primer día (inclusive)
+     * @param to último día (exclusive)
+     */
+    public static OccupancyAggregate between(LocalDate from, LocalDate to) {
+        return new OccupancyAggregate(from, to);
+    }
+
+    /**
+     * Suma ({@code sign = 1}) o resta ({@code sign = -1}) la aportación de una reserva.
+     */
+    public void add(StaySnapshot stay, int sign) {
+        if (stay.roomType() == null || stay.hotelId() == null) {
+            return;
+        }
+        if (stay.status() == ReservationStatus.CANCELLED) {
+            increment(stay, stay.checkInDate(), CANCELLATIONS, sign);
+        }
+        if (!stay.isSold()) {
+            return;
+        }
+        LocalDate departure = stay.departureDate();
+        long nights = ChronoUnit.DAYS.between(stay.checkInDate(), departure);
+        if (nights <= 0) {
+            return;
+        }
+        increment(stay, stay.checkInDate(), ARRIVALS, sign);
+        increment(stay, departure, DEPARTURES, sign);
+
+        long total = stay.totalAmount() == null ? 0 : stay.totalAmount().minorUnits();
+        long perNight = total / nights;
+        long remainder = total % nights;
+        LocalDate night = stay.checkInDate();
+        for (long i = 0; i < nights; i++, night = night.plusDays(1)) {
+            increment(stay, night, ROOM_NIGHTS, sign);
+            increment(stay, night, REVENUE, sign * (perNight + (i < remainder ? 1 : 0)));
+        }
+    }
+
+    /**
+     * Suma a este agregado los contadores de otro.
+     *
+     * @return este agregado
+     */
+    public OccupancyAggregate merge(OccupancyAggregate other) {
+        other.counters.forEach((key, values) -> {
+            long[] target = counters.computeIfAbsent(key, k -> new long[COUNTERS]);
+            for (int i = 0; i < COUNTERS; i++) {
+                target[i] += values[i];
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Copia con los contadores de un solo hotel.
+     */
+    public OccupancyAggregate forHotel(long hotelId) {
+        OccupancyAggregate copy = new OccupancyAggregate(from, to);
+        counters.forEach((key, values) -> {
+            if (key.hotelId() == hotelId) {
+                copy.counters.put(key, values.clone());
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * Descarta los contadores de un hotel en un rango de días.
+     *
+     * @param hotelId hotel
+     * @param from primer día (inclusive)
+     * @param to último día (exclusive)
+     */
+    public void discard(long hotelId, LocalDate from, LocalDate to) {
+        counters.keySet().removeIf(key -> key.hotelId() == hotelId
+                && !key.date().isBefore(from) && key.date().isBefore(to));
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    /**
+     * Hoteles con algún contador.
+     */
+    public Set<Long> hotelIds() {
+        Set<Long> hotelIds = new TreeSet<>();
+        counters.keySet().forEach(key -> hotelIds.add(key.hotelId()));
+        return hotelIds;
+    }
+
+    /**
+     * Filas de un hotel ordenadas por día y tipo, omitiendo las que quedaron a cero (por ejemplo, un
+     * cambio de estado que no altera la ocupación).
+     *
+     * @param hotelId hotel
+     * @return una fila por día y tipo con sus contadores (o sus incrementos)
+     */
+    public List<DailyRoomTypeStats> rows(long hotelId) {
+        List<Key> keys = new ArrayList<>();
+        counters.forEach((key, values) -> {
+            if (key.hotelId() == hotelId && !isZero(values)) {
+                keys.add(key);
+            }
+        });
+        keys.sort(ORDER);
+        List<DailyRoomTypeStats> rows = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            long[] values = counters.get(key);
+            rows.add(new DailyRoomTypeStats(key.roomType(), key.date(),
+                    Math.toIntExact(values[ROOM_NIGHTS]), Money.ofMinor(values[REVENUE]),
+                    Math.toIntExact(values[ARRIVALS]), Math.toIntExact(values[DEPARTURES]),
+                    Math.toIntExact(values[CANCELLATIONS])));
+        }
+        return rows;
+    }
+
+    private void increment(StaySnapshot stay, LocalDate date, int counter, long delta) {
+        if (delta == 0 || (from != null && date.isBefore(from)) || (to != null && !date.isBefore(to))) {
+            return;
+        }
+        counters.computeIfAbsent(new Key(stay.hotelId(), stay.roomType(), date), k -> new long[COUNTERS])[counter]
+                += delta;
+    }
+
+    private static boolean isZero(long[] values) {
+        for (long value : values) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Key(long hotelId, RoomType roomType, LocalDate date) {
+    }
+}
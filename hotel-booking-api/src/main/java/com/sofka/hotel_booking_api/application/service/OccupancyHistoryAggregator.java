@@ -0,0 +1,181 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Agrega en paralelo, por meses, las estadías de un rango largo del historial de reservas.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ *
+ * <p>El rango se parte en meses naturales y cada mes se recorre con un cursor
+ * ({@link ReservationRepository#streamStaySnapshotsBetween}) en su propio hilo, transacción de solo
+ * lectura y conexión, con el hotel del llamador. Cada mes produce un {@link OccupancyAggregate}
+ * recortado a sus días, que se combinan por mitades ({@link RecursiveTask}) hasta el del rango
+ * completo. La memoria no depende del número de reservas: un lote del cursor por hilo y un contador
+ * por día y tipo.</p>
+ *
+ * <p>Los hilos salen de un {@link ForkJoinPool} propio de {@code hotel.stats.rebuild-parallelism}
+ * hilos, que junto con la transacción del llamador debe quedar por debajo del pool de conexiones.
+ * Los hilos solo ven reservas confirmadas; con paralelismo 1 los meses se recorren en el hilo y la
+ * transacción del llamador.</p>
+ */
+@Service
+public class OccupancyHistoryAggregator implements DisposableBean {
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool pool;
+
+    public OccupancyHistoryAggregator(ReservationRepository reservationRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${hotel.stats.rebuild-parallelism:4}") int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("hotel.stats.rebuild-parallelism debe ser al menos 1");
+        }
+        this.reservationRepository = reservationRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pool = parallelism == 1 ? null : new ForkJoinPool(parallelism, OccupancyHistoryAggregator::newWorker,
+                null, false);
+    }
+
+    /**
+     * Agrega las estadías del hotel actual en un rango de días.
+     *
+     * @param from primer día
+     * @param to último día (exclusive)
+     * @return los contadores del rango y las reservas leídas
+     */
+    public History aggregate(LocalDate from, LocalDate to) {
+        List<Month> months = Month.split(from, to);
+        if (pool == null) {
+            History history = History.empty(from, to);
+            months.forEach(month -> history.merge(aggregateMonth(month)));
+            return history;
+        }
+        long hotelId = TenantContext.currentHotelId();
+        return pool.invoke(new MonthsTask(hotelId, months));
+    }
+
+    /**
+     * Una estadía que abarca varios meses se lee en cada uno, pero solo se cuenta como reserva en el
+     * primero del rango en que aparece.
+     */
+    private History aggregateMonth(Month month) {
+        return readOnlyTransaction.execute(status -> {
+            History history = History.empty(month.from(), month.to());
+            try (Stream<StaySnapshot> stays =
+                         reservationRepository.streamStaySnapshotsBetween(month.from(), month.to())) {
+                stays.forEach(stay -> {
+                    history.stats().add(stay, 1);
+                    if (month.first() || !stay.checkInDate().isBefore(month.from())) {
+                        history.reservations++;
+                    }
+                });
+            }
+            return history;
+        });
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("stats-rebuild-" + worker.getPoolIndex());
+        return worker;
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Contadores de un tramo del rango y reservas leídas en él. Se combinan con {@link #merge}.
+     */
+    public static final class History {
+
+        private final OccupancyAggregate stats;
+        private long reservations;
+
+        private History(OccupancyAggregate stats) {
+            this.stats = stats;
+        }
+
+        static History empty(LocalDate from, LocalDate to) {
+            return new History(OccupancyAggregate.between(from, to));
+        }
+
+        History merge(History other) {
+            stats.merge(other.stats);
+            reservations += other.reservations;
+            return this;
+        }
+
+        public OccupancyAggregate stats() {
+            return stats;
+        }
+
+        public long reservations() {
+            return reservations;
+        }
+    }
+
+    /**
+     * Mes natural recortado al rango; {@code first} marca el primero.
+     */
+    record Month(LocalDate from, LocalDate to, boolean first) {
+
+        static List<Month> split(LocalDate from, LocalDate to) {
+            List<Month> months = new ArrayList<>();
+            LocalDate start = from;
+            while (start.isBefore(to)) {
+                LocalDate nextMonth = start.withDayOfMonth(1).plusMonths(1);
+                LocalDate end = nextMonth.isBefore(to) ? nextMonth : to;
+                months.add(new Month(start, end, start.equals(from)));
+                start = end;
+            }
+            return months;
+        }
+    }
+
+    /**
+     * Divide los meses por mitades: una mitad se encola para otro hilo y la otra se calcula en este.
+     */
+    private final class MonthsTask extends RecursiveTask<History> {
+
+        private final long hotelId;
+        private final List<Month> months;
+
+        MonthsTask(long hotelId, List<Month> months) {
+            this.hotelId = hotelId;
+            this.months = months;
+        }
+
+        @Override
+        protected History compute() {
+            if (months.size() == 1) {
+                return TenantContext.callAs(hotelId, () -> aggregateMonth(months.get(0)));
+            }
+            int middle = months.size() / 2;
+            MonthsTask left = new MonthsTask(hotelId, months.subList(0, middle));
+            left.fork();
+            History right = new MonthsTask(hotelId, months.subList(middle, months.size())).compute();
+            return left.join().merge(right);
+        }
+    }
+}
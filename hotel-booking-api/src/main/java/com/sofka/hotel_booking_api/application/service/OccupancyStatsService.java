@@ -0,0 +1,264 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.event.OccupancyStatsRebuildingEvent;
+import com.sofka.hotel_booking_api.application.lock.StatsLock;
+import com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException;
+import com.sofka.hotel_booking_api.domain.model.DailyRoomTypeStats;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.DailyRoomTypeStatsRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.OccupancyReportResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.OccupancyReportResponse.Figures;
+import com.sofka.hotel_booking_api.infrastructure.dto.StatsRebuildResponse;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estadísticas de ocupación e ingresos por día y tipo de habitación: ocupación, ADR y RevPAR.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ *
+ * <p>Los informes leen la tabla de agregados diarios ({@link DailyRoomTypeStats}), una fila por día
+ * y tipo, en lugar de recorrer las reservas. Los agregados se mantienen con los incrementos que
+ * acumula {@link com.sofka.hotel_booking_api.infrastructure.metrics.OccupancyStatsRecorder} a partir
+ * de los cambios de estado confirmados ({@link #apply(List)}), y {@link #rebuild(LocalDate, LocalDate)}
+ * los recalcula desde las reservas para reparar incrementos perdidos (una caída de la instancia antes
+ * de escribirlos) o tras cambiar las reglas de cálculo. Una reconstrucción nocturna cubre el último
+ * mes y el próximo año; la lectura de las reservas se reparte por meses entre varios hilos
+ * ({@link OccupancyHistoryAggregator}), así que se puede recalcular el historial de varios años.</p>
+ *
+ * <p>La reconstrucción y la escritura de incrementos de un hotel no se solapan ({@link StatsLock}):
+ * la reconstrucción espera a las escrituras en curso y, mientras lee y reemplaza las filas, las
+ * escrituras del hotel se aplazan. Antes de leer avisa de que va a contar los incrementos pendientes
+ * del rango ({@link OccupancyStatsRebuildingEvent}) para que se descarten en lugar de sumarse dos veces.</p>
+ *
+ * <p>Las noches disponibles de cada tipo son las habitaciones que tiene hoy por los días del rango.</p>
+ */
+@Service
+public class OccupancyStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(OccupancyStatsService.class);
+
+    /**
+     * Máximo de días por consulta (dos años).
+     */
+    static final long MAX_RANGE_DAYS = 731;
+
+    /**
+     * Máximo de días por reconstrucción (veinte años).
+     */
+    static final long MAX_REBUILD_DAYS = 7_305;
+
+    static final int REBUILD_PAST_DAYS = 31;
+    static final int REBUILD_FUTURE_DAYS = 365;
+
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT INTO daily_room_type_stats (hotel_id, room_type, stay_date, room_nights, revenue, arrivals, "
+                    + "departures, cancellations) VALUES (?, ?, ?, 0, 0, 0, 0, 0) ON CONFLICT DO NOTHING";
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE daily_room_type_stats SET room_nights = room_nights + ?, revenue = revenue + ?, "
+                    + "arrivals = arrivals + ?, departures = departures + ?, cancellations = cancellations + ? "
+                    + "WHERE hotel_id = ? AND room_type = ? AND stay_date = ?";
+
+    private static final String INSERT_STATS_SQL =
+            "INSERT INTO daily_room_type_stats (hotel_id, room_type, stay_date, room_nights, revenue, arrivals, "
+                    + "departures, cancellations) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DailyRoomTypeStatsRepository statsRepository;
+    private final OccupancyHistoryAggregator historyAggregator;
+    private final RoomRepository roomRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final StatsLock statsLock;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OccupancyStatsService(DailyRoomTypeStatsRepository statsRepository,
+                                 OccupancyHistoryAggregator historyAggregator,
+                                 RoomRepository roomRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 StatsLock statsLock,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.statsRepository = statsRepository;
+        this.historyAggregator = historyAggregator;
+        this.roomRepository = roomRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.statsLock = statsLock;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Consulta la ocupación y los ingresos de un rango, por día y tipo de habitación.
+     * Sin tipo se incluyen los tipos con habitaciones o con alguna cifra en el rango.
+     *
+     * @param from primer día
+     * @param to último día (exclusive)
+     * @param roomType tipo de habitación, o {@code null} para todos
+     * @return las cifras de cada día y tipo y el total del rango
+     * @throws InvalidDateRangeException si el rango es inválido
+     * @throws IllegalArgumentException si el rango supera {@link #MAX_RANGE_DAYS} días
+     */
+    @Transactional(readOnly = true)
+    public OccupancyReportResponse getOccupancy(LocalDate from, LocalDate to, RoomType roomType) {
+        validateRange(from, to, MAX_RANGE_DAYS);
+        Map<RoomType, Map<LocalDate, DailyRoomTypeStats>> statsByType = new EnumMap<>(RoomType.class);
+        for (DailyRoomTypeStats stats : statsRepository.findBetween(from, to)) {
+            if (roomType == null || stats.getRoomType() == roomType) {
+                statsByType.computeIfAbsent(stats.getRoomType(), type -> new HashMap<>())
+                        .put(stats.getStayDate(), stats);
+            }
+        }
+        Map<RoomType, Long> roomsByType = new EnumMap<>(RoomType.class);
+        Set<RoomType> types = EnumSet.noneOf(RoomType.class);
+        for (RoomType type : roomType == null ? EnumSet.allOf(RoomType.class) : EnumSet.of(roomType)) {
+            long rooms = roomRepository.countByRoomType(type);
+            roomsByType.put(type, rooms);
+            if (rooms > 0 || statsByType.containsKey(type) || roomType != null) {
+                types.add(type);
+            }
+        }
+
+        List<Figures> days = new ArrayList<>();
+        long available = 0;
+        long sold = 0;
+        Money revenue = Money.ZERO;
+        long arrivals = 0;
+        long departures = 0;
+        long cancellations = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            for (RoomType type : types) {
+                DailyRoomTypeStats stats = statsByType.getOrDefault(type, Map.of()).get(day);
+                long rooms = roomsByType.get(type);
+                Figures figures = stats == null
+                        ? Figures.of(day, type, rooms, 0, Money.ZERO, 0, 0, 0)
+                        : Figures.of(day, type, rooms, stats.getRoomNights(), stats.getRevenue(),
+                                stats.getArrivals(), stats.getDepartures(), stats.getCancellations());
+                days.add(figures);
+                available += rooms;
+                if (stats != null) {
+                    sold += stats.getRoomNights();
+                    revenue = revenue.plus(stats.getRevenue());
+                    arrivals += stats.getArrivals();
+                    departures += stats.getDepartures();
+                    cancellations += stats.getCancellations();
+                }
+            }
+        }
+        Figures totals = Figures.of(null, roomType, available, sold, revenue, arrivals, departures, cancellations);
+        return new OccupancyReportResponse(from, to, roomType, days, totals);
+    }
+
+    /**
+     * Suma a los agregados del hotel actual los incrementos de cambios de estado ya confirmados.
+     * Crea las filas que falten y las actualiza en el orden recibido (por día y tipo), el mismo en
+     * todas las instancias, para no producir interbloqueos.
+     *
+     * <p>No espera a una reconstrucción del hotel en curso: devuelve {@code false} sin escribir y el
+     * llamador conserva los incrementos para el siguiente intento.</p>
+     *
+     * @param deltas incrementos por día y tipo
+     * @return false si el hotel se está reconstruyendo y no se escribió nada
+     * @throws IllegalStateException si alguna fila no se actualizó; la transacción se deshace entera
+     */
+    @Transactional
+    public boolean apply(List<DailyRoomTypeStats> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        long hotelId = TenantContext.requireHotelId();
+        if (!statsLock.tryLockForApply(hotelId)) {
+            return false;
+        }
+        jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, deltas.stream()
+                .map(delta -> new Object[]{hotelId, delta.getRoomType().name(), delta.getStayDate()})
+                .toList());
+        int[] updated = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, deltas.stream()
+                .map(delta -> new Object[]{delta.getRoomNights(), delta.getRevenue().toBigDecimal(),
+                        delta.getArrivals(), delta.getDepartures(), delta.getCancellations(),
+                        hotelId, delta.getRoomType().name(), delta.getStayDate()})
+                .toList());
+        // Statement.SUCCESS_NO_INFO (-2) indica que el driver no informa de las filas
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                DailyRoomTypeStats delta = deltas.get(i);
+                throw new IllegalStateException(String.format(
+                        "No existe la fila de estadísticas del %s para %s", delta.getStayDate(), delta.getRoomType()));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recalcula desde las reservas los agregados del hotel actual en un rango de días, reemplazando
+     * los que hubiera. Las reservas se leen y agregan en paralelo por meses; las filas se escriben
+     * en la transacción del llamador, que en la tarea nocturna es la de la instancia líder.
+     *
+     * <p>El bloqueo del hotel se toma antes de leer y se mantiene hasta que la transacción termina,
+     * así que ningún incremento del hotel se escribe entre la lectura y el reemplazo de las filas.
+     * Los incrementos pendientes en esta instancia se descartan; los pendientes en otras (como mucho
+     * un intervalo de escritura) y los cambios confirmados mientras se leen las reservas pueden
+     * contarse dos veces hasta la siguiente reconstrucción.</p>
+     *
+     * @param from primer día
+     * @param to último día (exclusive)
+     * @return reservas leídas y filas escritas
+     * @throws InvalidDateRangeException si el rango es inválido
+     * @throws IllegalArgumentException si el rango supera {@link #MAX_REBUILD_DAYS} días
+     */
+    @Transactional
+    public StatsRebuildResponse rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to, MAX_REBUILD_DAYS);
+        long hotelId = TenantContext.requireHotelId();
+        statsLock.lockForRebuild(hotelId);
+        eventPublisher.publishEvent(new OccupancyStatsRebuildingEvent(hotelId, from, to));
+
+        OccupancyHistoryAggregator.History history = historyAggregator.aggregate(from, to);
+
+        statsRepository.deleteBetween(from, to);
+        List<DailyRoomTypeStats> rows = history.stats().rows(hotelId);
+        jdbcTemplate.batchUpdate(INSERT_STATS_SQL, rows.stream()
+                .map(row -> new Object[]{hotelId, row.getRoomType().name(), row.getStayDate(), row.getRoomNights(),
+                        row.getRevenue().toBigDecimal(), row.getArrivals(), row.getDepartures(),
+                        row.getCancellations()})
+                .toList());
+        log.info("Estadísticas de ocupación reconstruidas del {} al {}: {} reservas, {} filas",
+                from, to, history.reservations(), rows.size());
+        return new StatsRebuildResponse(from, to, history.reservations(), rows.size());
+    }
+
+    /**
+     * Reconstruye cada noche los agregados del último mes y del próximo año, que son los que aún
+     * reciben cambios de estado.
+     */
+    @Scheduled(cron = "${hotel.stats.rebuild-cron:0 30 3 * * *}")
+    @Transactional
+    public StatsRebuildResponse rebuildRecent() {
+        LocalDate today = LocalDate.now();
+        return rebuild(today.minusDays(REBUILD_PAST_DAYS), today.plusDays(REBUILD_FUTURE_DAYS));
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to, long maxDays) {
+        if (!from.isBefore(to)) {
+            throw new InvalidDateRangeException("La fecha inicial de las estadísticas debe ser anterior a la final");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxDays) {
+            throw new IllegalArgumentException(String.format(
+                    "El rango de estadísticas no puede superar %d días", maxDays));
+        }
+    }
+}
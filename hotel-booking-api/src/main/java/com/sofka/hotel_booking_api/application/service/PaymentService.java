@@ -1,6 +1,7 @@
 package com.sofka.hotel_booking_api.application.service;
 
 import com.sofka.hotel_booking_api.domain.exception.ReservationNotFoundException;
+import com.sofka.hotel_booking_api.domain.model.Money;
 import com.sofka.hotel_booking_api.domain.model.Reservation;
 import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
 import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
@@ -57,7 +58,7 @@ public class PaymentService {
         }
         
         // 5. Validar que el monto coincida con el total de la reserva
-        if (amount.compareTo(reservation.getTotalAmount()) != 0) {
+        if (!Money.of(amount).equals(reservation.getTotalAmount())) {
             throw new IllegalArgumentException(
                     String.format("El monto pagado (%s) no coincide con el total de la reserva (%s)",
                             amount, reservation.getTotalAmount()));
@@ -0,0 +1,119 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.PriceQuoteRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.PriceQuoteResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.PriceQuoteResponse.StayQuote;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Motor de precios de estadías.
+ * RN-008: Cálculo de Tarifas
+ *
+ * <p>Cada noche se cobra a la tarifa de su tipo de habitación en el {@link RateCalendar} o, si no
+ * tiene, al precio por noche de la habitación. La suma se hace en centavos con {@link Money} recorriendo una sola vez
+ * las tarifas en memoria de la estadía, sin consultas por noche.</p>
+ */
+@Service
+public class PricingService {
+
+    private final RateCalendar rateCalendar;
+    private final RoomRepository roomRepository;
+
+    public PricingService(RateCalendar rateCalendar, RoomRepository roomRepository) {
+        this.rateCalendar = rateCalendar;
+        this.roomRepository = roomRepository;
+    }
+
+    /**
+     * Calcula el monto total de una estadía en una habitación.
+     *
+     * @param room habitación (su tipo elige las tarifas y su precio cubre las noches sin tarifa)
+     * @param checkInDate fecha de entrada
+     * @param checkOutDate fecha de salida
+     * @return el monto total de la estadía
+     */
+    public Money priceStay(Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+        return priceStay(rateCalendar.nightlyRates(room.getRoomType()), room.getPricePerNight(), checkInDate,
+                checkOutDate);
+    }
+
+    /**
+     * Calcula el monto total de la misma estadía en varias habitaciones del hotel actual, cargando
+     * las tarifas de cada tipo una vez.
+     *
+     * @param rooms habitaciones
+     * @param checkInDate fecha de entrada
+     * @param checkOutDate fecha de salida
+     * @return el monto total de cada habitación, en el orden recibido
+     */
+    public List<Money> priceStays(List<RoomResponse> rooms, LocalDate checkInDate, LocalDate checkOutDate) {
+        Map<RoomType, NightlyRates> ratesByType = new EnumMap<>(RoomType.class);
+        return rooms.stream()
+                .map(room -> priceStay(ratesByType.computeIfAbsent(room.getRoomType(), rateCalendar::nightlyRates),
+                        room.getPricePerNight(), checkInDate, checkOutDate))
+                .toList();
+    }
+
+    /**
+     * Cotiza varias estadías en una sola llamada: carga las habitaciones con una consulta y las
+     * tarifas de cada tipo una vez.
+     *
+     * @param request estadías a cotizar
+     * @return el precio de cada estadía, en el orden de la solicitud, y el total
+     * @throws RoomNotFoundException si alguna habitación no existe
+     * @throws com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException si alguna estadía es inválida
+     * @throws IllegalArgumentException si alguna estadía supera la duración máxima
+     */
+    @Transactional(readOnly = true)
+    public PriceQuoteResponse quote(PriceQuoteRequest request) {
+        for (PriceQuoteRequest.Stay stay : request.stays()) {
+            ReservationService.validateDates(stay.checkInDate(), stay.checkOutDate());
+            ReservationService.validateStayLength(ChronoUnit.DAYS.between(stay.checkInDate(), stay.checkOutDate()));
+        }
+
+        Map<Long, Room> roomsById = roomRepository.findAllById(
+                        request.stays().stream().map(PriceQuoteRequest.Stay::roomId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        Map<RoomType, NightlyRates> ratesByType = new EnumMap<>(RoomType.class);
+
+        List<StayQuote> quotes = new ArrayList<>(request.stays().size());
+        Money total = Money.ZERO;
+        for (PriceQuoteRequest.Stay stay : request.stays()) {
+            Room room = roomsById.get(stay.roomId());
+            if (room == null) {
+                throw new RoomNotFoundException(stay.roomId());
+            }
+            NightlyRates rates = ratesByType.computeIfAbsent(room.getRoomType(), rateCalendar::nightlyRates);
+            Money amount = priceStay(rates, room.getPricePerNight(), stay.checkInDate(), stay.checkOutDate());
+            quotes.add(new StayQuote(room.getId(), room.getRoomNumber(), room.getRoomType(),
+                    stay.checkInDate(), stay.checkOutDate(),
+                    ChronoUnit.DAYS.between(stay.checkInDate(), stay.checkOutDate()), amount.toBigDecimal()));
+            total = total.plus(amount);
+        }
+        return new PriceQuoteResponse(total.toBigDecimal(), quotes);
+    }
+
+    private static Money priceStay(NightlyRates rates, BigDecimal pricePerNight, LocalDate checkInDate,
+                                   LocalDate checkOutDate) {
+        long fallback = Money.of(pricePerNight).minorUnits();
+        return Money.ofMinor(rates.sumStay(checkInDate, checkOutDate, fallback));
+    }
+}
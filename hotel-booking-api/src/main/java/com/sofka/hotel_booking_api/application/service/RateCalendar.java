@@ -0,0 +1,148 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.event.RatesChangedEvent;
+import com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRateRepository;
+import com.sofka.hotel_booking_api.infrastructure.cache.CacheNames;
+import com.sofka.hotel_booking_api.infrastructure.cache.TenantKey;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomRateCalendarResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomRateCalendarResponse.NightRate;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Calendario de tarifas por tipo de habitación y noche.
+ *
+ * <p>Las tarifas de cada hotel y tipo se leen de la base de datos una vez y se guardan en la caché
+ * {@link CacheNames#RATES} como un {@link NightlyRates} denso desde hoy hasta la última noche con
+ * tarifa. Las escrituras van directamente a la base de datos en la transacción del llamador y, al
+ * confirmarse, {@link RatesChangedEvent} descarta la copia en memoria de ese tipo en todas las
+ * instancias; la siguiente consulta la reconstruye con una sola lectura.</p>
+ */
+@Component
+public class RateCalendar {
+
+    /**
+     * Máximo de noches por consulta o cambio de tarifas (dos años), para acotar el arreglo en memoria.
+     */
+    static final long MAX_RANGE_NIGHTS = 731;
+
+    private static final String INSERT_RATE_SQL =
+            "INSERT INTO room_rates (hotel_id, room_type, stay_date, amount) VALUES (?, ?, ?, ?)";
+
+    private final RoomRateRepository roomRateRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RateCalendar(RoomRateRepository roomRateRepository,
+                        JdbcTemplate jdbcTemplate,
+                        CacheManager cacheManager,
+                        ApplicationEventPublisher eventPublisher) {
+        this.roomRateRepository = roomRateRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Tarifas en memoria de un tipo de habitación del hotel actual, cargándolas si hace falta.
+     *
+     * @param roomType tipo de habitación
+     * @return las tarifas desde hoy
+     */
+    public NightlyRates nightlyRates(RoomType roomType) {
+        TenantKey key = new TenantKey(TenantContext.requireHotelId(), roomType);
+        Cache cache = cacheManager.getCache(CacheNames.RATES);
+        return cache == null ? load(roomType) : cache.get(key, () -> load(roomType));
+    }
+
+    /**
+     * Consulta las tarifas de un tipo noche a noche.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche
+     * @param to última noche (exclusive)
+     * @return la tarifa de cada noche; sin importe en las que se cobra el precio de la habitación
+     */
+    public RoomRateCalendarResponse getRates(RoomType roomType, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        NightlyRates rates = nightlyRates(roomType);
+        List<NightRate> nights = from.datesUntil(to)
+                .map(night -> {
+                    long rate = rates.rateOn(night);
+                    return new NightRate(night, rate == NightlyRates.NO_RATE ? null : Money.ofMinor(rate).toBigDecimal());
+                })
+                .toList();
+        return new RoomRateCalendarResponse(roomType, from, to, nights);
+    }
+
+    /**
+     * Fija la tarifa de un tipo en cada noche del rango, reemplazando las que hubiera.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche
+     * @param to última noche (exclusive)
+     * @param amount tarifa por noche
+     * @return las tarifas del rango
+     * @throws InvalidDateRangeException si el rango es inválido o empieza en el pasado
+     * @throws IllegalArgumentException si el rango supera {@link #MAX_RANGE_NIGHTS} noches
+     */
+    @Transactional
+    public RoomRateCalendarResponse setRates(RoomType roomType, LocalDate from, LocalDate to, Money amount) {
+        validateRange(from, to);
+        long hotelId = TenantContext.requireHotelId();
+
+        // Se reemplazan las filas del rango: el lote va por JDBC, así que el hotel se escribe aquí
+        roomRateRepository.deleteNights(roomType, from, to);
+        List<Object[]> batchArgs = from.datesUntil(to)
+                .map(night -> new Object[]{hotelId, roomType.name(), night, amount.toBigDecimal()})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_RATE_SQL, batchArgs);
+        eventPublisher.publishEvent(new RatesChangedEvent(hotelId, roomType));
+
+        List<NightRate> nights = from.datesUntil(to).map(night -> new NightRate(night, amount.toBigDecimal())).toList();
+        return new RoomRateCalendarResponse(roomType, from, to, nights);
+    }
+
+    /**
+     * Elimina las tarifas de un tipo en el rango; esas noches vuelven al precio de la habitación.
+     *
+     * @return número de noches que tenían tarifa
+     */
+    @Transactional
+    public int clearRates(RoomType roomType, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        int deleted = roomRateRepository.deleteNights(roomType, from, to);
+        eventPublisher.publishEvent(new RatesChangedEvent(TenantContext.requireHotelId(), roomType));
+        return deleted;
+    }
+
+    private NightlyRates load(RoomType roomType) {
+        return NightlyRates.of(roomRateRepository.findFrom(roomType, LocalDate.now()));
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isBefore(LocalDate.now())) {
+            throw new InvalidDateRangeException("La fecha inicial de las tarifas no puede ser en el pasado");
+        }
+        if (!from.isBefore(to)) {
+            throw new InvalidDateRangeException("La fecha inicial de las tarifas debe ser anterior a la final");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_NIGHTS) {
+            throw new IllegalArgumentException(String.format(
+                    "El rango de tarifas no puede superar %d noches", MAX_RANGE_NIGHTS));
+        }
+    }
+}
@@ -1,22 +1,37 @@
 package com.sofka.hotel_booking_api.application.service;
 
+import com.sofka.hotel_booking_api.application.lock.RoomLock;
 import com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException;
+import com.sofka.hotel_booking_api.domain.exception.RoomNotAvailableException;
 import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
 import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
 import com.sofka.hotel_booking_api.domain.model.Reservation;
 import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
 import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
 import com.sofka.hotel_booking_api.domain.repository.GuestRepository;
 import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
 import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.cache.CacheNames;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomTypeReservationRequest;
 import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
 import com.sofka.hotel_booking_api.infrastructure.dto.TodayReservationsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
@@ -26,23 +41,61 @@ import java.util.stream.Collectors;
 /**
  * Servicio para gestionar las reservas del hotel.
  * Historia 3.1: Crear reserva para un huésped
+ *
+ * <p>Toda reserva consume inventario de su tipo de habitación. Las reservas por tipo
+ * reciben su habitación física la noche anterior a la llegada o en el check-in.</p>
  */
 @Service
 public class ReservationService {
 
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+
+    /**
+     * Duración máxima de una estadía en noches (RN-004). Es el límite general; el
+     * {@link RestrictionCalendar} puede acortarlo o exigir un mínimo por tipo y noche.
+     */
+    static final long MAX_NIGHTS = 30;
+
+    /**
+     * Tiempo límite para confirmar el pago de una reserva PENDING (RN-003).
+     */
+    static final Duration PENDING_PAYMENT_TTL = Duration.ofHours(24);
+
+    /**
+     * Redondeo del reembolso al centavo (Historia 7.1): la fracción de centavo se redondea hacia
+     * arriba desde la mitad y la penalidad es el resto, así que ambos suman siempre el total.
+     */
+    static final RoundingMode REFUND_ROUNDING = RoundingMode.HALF_UP;
+
     private final ReservationRepository reservationRepository;
     private final RoomRepository roomRepository;
     private final GuestRepository guestRepository;
     private final GuestService guestService;
+    private final RoomTypeInventoryService roomTypeInventoryService;
+    private final PricingService pricingService;
+    private final RestrictionCalendar restrictionCalendar;
+    private final RoomLock roomLock;
+    private final TransactionTemplate assignmentTransaction;
 
     public ReservationService(ReservationRepository reservationRepository,
                             RoomRepository roomRepository,
                             GuestRepository guestRepository,
-                            GuestService guestService) {
+                            GuestService guestService,
+                            RoomTypeInventoryService roomTypeInventoryService,
+                            PricingService pricingService,
+                            RestrictionCalendar restrictionCalendar,
+                            RoomLock roomLock,
+                            PlatformTransactionManager transactionManager) {
         this.reservationRepository = reservationRepository;
         this.roomRepository = roomRepository;
         this.guestRepository = guestRepository;
         this.guestService = guestService;
+        this.roomTypeInventoryService = roomTypeInventoryService;
+        this.pricingService = pricingService;
+        this.restrictionCalendar = restrictionCalendar;
+        this.roomLock = roomLock;
+        this.assignmentTransaction = new TransactionTemplate(transactionManager);
+        this.assignmentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     /**
@@ -58,14 +111,17 @@ public class ReservationService {
 
         // 2. Validar duración de estadía (máximo 30 noches)
         long numberOfNights = ChronoUnit.DAYS.between(request.checkInDate(), request.checkOutDate());
-        if (numberOfNights > 30) {
-            throw new IllegalArgumentException("La estadía máxima es de 30 noches");
-        }
+        validateStayLength(numberOfNights);
 
-        // 3. Buscar la habitación
+        // 3. Bloquear las noches de la habitación y buscarla: las reservas concurrentes que se
+        // solapan se serializan y cada una ve las reservas ya confirmadas por las anteriores
+        roomLock.lockStay(request.roomId(), request.checkInDate(), request.checkOutDate());
         Room room = roomRepository.findById(request.roomId())
                 .orElseThrow(() -> new RoomNotFoundException(request.roomId()));
 
+        // Restricciones de venta del tipo (estadía mínima/máxima, cierres a llegadas y salidas)
+        restrictionCalendar.check(room.getRoomType(), request.checkInDate(), request.checkOutDate());
+
         // 4. Validar capacidad de la habitación
         if (request.numberOfGuests() > room.getCapacity()) {
             throw new IllegalArgumentException(
@@ -79,17 +135,19 @@ public class ReservationService {
         );
         
         if (!overlappingReservations.isEmpty()) {
-            throw new IllegalStateException(
+            throw new RoomNotAvailableException(
                     String.format("La habitación %s no está disponible para las fechas solicitadas",
                             room.getRoomNumber()));
         }
 
+        // Consumir inventario del tipo para que las reservas por tipo no vendan esta habitación
+        roomTypeInventoryService.reserve(room.getRoomType(), request.checkInDate(), request.checkOutDate());
+
         // 6. Registrar o actualizar huésped
         Guest guest = guestService.registerOrUpdateGuest(request.guest());
 
-        // 7. Calcular monto total
-        BigDecimal totalAmount = room.getPricePerNight()
-                .multiply(BigDecimal.valueOf(numberOfNights));
+        // 7. Calcular monto total con el calendario de tarifas (RN-008)
+        Money totalAmount = pricingService.priceStay(room, request.checkInDate(), request.checkOutDate());
 
         // 8. Generar número de reserva único
         String reservationNumber = generateReservationNumber();
@@ -112,11 +170,166 @@ public class ReservationService {
         return ReservationResponse.fromEntity(savedReservation);
     }
 
+    /**
+     * Crea una reserva por tipo de habitación, sin asignar habitación física.
+     * El precio se calcula con el calendario de tarifas del tipo; las noches sin tarifa se cobran al
+     * precio más bajo entre las habitaciones del tipo con capacidad suficiente.
+     *
+     * @param request datos de la reserva
+     * @return la reserva creada
+     * @throws IllegalArgumentException si ninguna habitación del tipo admite los huéspedes o la estadía
+     *         incumple las restricciones de venta del tipo
+     * @throws IllegalStateException si no queda inventario del tipo para las fechas
+     */
+    @Transactional
+    public ReservationResponse createRoomTypeReservation(CreateRoomTypeReservationRequest request) {
+        // 1. Validar fechas y duración de estadía (RN-004)
+        validateDates(request.checkInDate(), request.checkOutDate());
+        long numberOfNights = ChronoUnit.DAYS.between(request.checkInDate(), request.checkOutDate());
+        validateStayLength(numberOfNights);
+        restrictionCalendar.check(request.roomType(), request.checkInDate(), request.checkOutDate());
+
+        // 2. Precio base del tipo: la habitación más económica con capacidad suficiente (RN-005, RN-008)
+        Room rateRoom = roomRepository
+                .findFirstByRoomTypeAndCapacityGreaterThanEqualOrderByPricePerNightAsc(
+                        request.roomType(), request.numberOfGuests())
+                .orElseThrow(() -> new IllegalArgumentException(String.format(
+                        "No hay habitaciones de tipo %s con capacidad para %d personas",
+                        request.roomType(), request.numberOfGuests())));
+
+        // 3. Consumir inventario del tipo en cada noche
+        roomTypeInventoryService.reserve(request.roomType(), request.checkInDate(), request.checkOutDate());
+
+        // 4. Registrar o actualizar huésped y crear la reserva
+        Guest guest = guestService.registerOrUpdateGuest(request.guest());
+        Reservation reservation = new Reservation(
+                generateReservationNumber(),
+                guest,
+                request.roomType(),
+                request.checkInDate(),
+                request.checkOutDate(),
+                request.numberOfGuests(),
+                pricingService.priceStay(rateRoom, request.checkInDate(), request.checkOutDate())
+        );
+
+        return ReservationResponse.fromEntity(reservationRepository.save(reservation));
+    }
+
+    /**
+     * Asigna una habitación física libre a una reserva creada por tipo de habitación.
+     *
+     * @param reservationId ID de la reserva
+     * @return la reserva con la habitación asignada
+     * @throws com.sofka.hotel_booking_api.domain.exception.ReservationNotFoundException si la reserva no existe
+     * @throws IllegalStateException si ya tiene habitación o no hay una libre para toda la estadía
+     */
+    @Transactional
+    public ReservationResponse assignRoom(Long reservationId) {
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new com.sofka.hotel_booking_api.domain.exception.ReservationNotFoundException(
+                        "Reservation not found with id: " + reservationId));
+
+        if (reservation.hasAssignedRoom()) {
+            throw new IllegalStateException(String.format(
+                    "La reserva %s ya tiene asignada la habitación %s",
+                    reservation.getReservationNumber(), reservation.getRoom().getRoomNumber()));
+        }
+
+        assignFreeRoom(reservation);
+        return ReservationResponse.fromEntity(reservationRepository.save(reservation));
+    }
+
+    /**
+     * Asigna habitación a las reservas por tipo que llegan mañana.
+     * Se ejecuta cada noche según {@code hotel.inventory.assignment-cron}; las reservas
+     * que no puedan ubicarse se reintentan en el check-in.
+     *
+     * <p>Cada reserva se asigna en su propia transacción y se vuelve a leer dentro de ella: un fallo
+     * (sin habitación libre, bloqueo agotado, error de base de datos) solo revierte esa reserva y las
+     * ya asignadas quedan confirmadas.</p>
+     *
+     * @return número de reservas asignadas
+     */
+    @Scheduled(cron = "${hotel.inventory.assignment-cron:0 0 20 * * *}")
+    public int assignRoomsForTomorrowArrivals() {
+        int assigned = 0;
+        for (Reservation arrival : reservationRepository.findUnassignedArrivals(LocalDate.now().plusDays(1))) {
+            try {
+                Boolean done = assignmentTransaction.execute(status -> reservationRepository.findById(arrival.getId())
+                        .filter(reservation -> !reservation.hasAssignedRoom())
+                        .map(reservation -> {
+                            assignFreeRoom(reservation);
+                            reservationRepository.save(reservation);
+                            return true;
+                        })
+                        .orElse(false));
+                if (Boolean.TRUE.equals(done)) {
+                    assigned++;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("No se pudo asignar habitación a la reserva {}: {}",
+                        arrival.getReservationNumber(), ex.getMessage());
+            }
+        }
+        return assigned;
+    }
+
+    /**
+     * Expira las reservas PENDING que no confirmaron el pago en 24 horas (RN-003)
+     * y devuelve sus noches al inventario, lo que promueve la lista de espera.
+     * Se ejecuta periódicamente según {@code hotel.reservations.expiration-check-interval}.
+     *
+     * @return número de reservas expiradas
+     */
+    @Scheduled(fixedDelayString = "${hotel.reservations.expiration-check-interval:PT5M}")
+    @Transactional
+    public int expirePendingReservations() {
+        LocalDateTime deadline = LocalDateTime.now().minus(PENDING_PAYMENT_TTL);
+        List<Reservation> expired = reservationRepository.findByStatusAndCreatedAtBefore(
+                ReservationStatus.PENDING, deadline);
+
+        for (Reservation reservation : expired) {
+            reservation.expire();
+            releaseRemainingNights(reservation);
+            reservationRepository.save(reservation);
+        }
+        if (!expired.isEmpty()) {
+            log.info("Reservas expiradas por falta de pago: {}", expired.size());
+        }
+        return expired.size();
+    }
+
+    /**
+     * Busca y bloquea una habitación del tipo reservado libre durante toda la estadía.
+     * Tras el bloqueo se vuelve a verificar el solapamiento, por si otra transacción
+     * asignó la misma habitación entre la búsqueda y el bloqueo.
+     */
+    private void assignFreeRoom(Reservation reservation) {
+        RoomType roomType = reservation.getRoomType();
+        List<Room> candidates = roomRepository.findFreeRoomsForStay(
+                roomType, reservation.getNumberOfGuests(),
+                reservation.getCheckInDate(), reservation.getCheckOutDate());
+
+        for (Room candidate : candidates) {
+            roomLock.lockStay(candidate.getId(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+            boolean stillFree = reservationRepository.findOverlappingReservations(
+                    candidate, reservation.getCheckInDate(), reservation.getCheckOutDate()).isEmpty();
+            if (stillFree) {
+                reservation.assignRoom(candidate);
+                return;
+            }
+        }
+
+        throw new IllegalStateException(String.format(
+                "No hay una habitación de tipo %s libre para toda la estadía de la reserva %s",
+                roomType, reservation.getReservationNumber()));
+    }
+
     /**
      * Valida que las fechas de la reserva sean válidas.
      * RN-004: Validaciones de Reserva
      */
-    private void validateDates(LocalDate checkInDate, LocalDate checkOutDate) {
+    static void validateDates(LocalDate checkInDate, LocalDate checkOutDate) {
         // Validar que la fecha de entrada no sea en el pasado
         if (checkInDate.isBefore(LocalDate.now())) {
             throw new InvalidDateRangeException("La fecha de entrada no puede ser en el pasado");
@@ -128,11 +341,21 @@ public class ReservationService {
         }
     }
 
+    /**
+     * Valida la duración máxima de la estadía.
+     * RN-004: Validaciones de Reserva
+     */
+    static void validateStayLength(long numberOfNights) {
+        if (numberOfNights > MAX_NIGHTS) {
+            throw new IllegalArgumentException("La estadía máxima es de 30 noches");
+        }
+    }
+
     /**
      * Genera un número de reserva único.
      * Formato: RES-YYYY-XXXXXX
      */
-    private String generateReservationNumber() {
+    static String generateReservationNumber() {
         String year = String.valueOf(LocalDate.now().getYear());
         String uniqueId = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
         return String.format("RES-%s-%s", year, uniqueId);
@@ -178,6 +401,7 @@ public class ReservationService {
      * 
      * @return objeto con listas de check-ins y check-outs para hoy
      */
+    @Cacheable(cacheNames = CacheNames.TODAY_RESERVATIONS, keyGenerator = CacheNames.TODAY_KEY_GENERATOR)
     @Transactional(readOnly = true)
     public TodayReservationsResponse getTodayReservations() {
         LocalDate today = LocalDate.now();
@@ -213,8 +437,8 @@ public class ReservationService {
      */
     @Transactional
     public void checkIn(Long reservationId) {
-        // 1. Buscar la reserva
-        Reservation reservation = reservationRepository.findById(reservationId)
+        // 1. Buscar y bloquear la reserva
+        Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
                 .orElseThrow(() -> new com.sofka.hotel_booking_api.domain.exception.ReservationNotFoundException(
                         "Reservation not found with id: " + reservationId));
 
@@ -226,6 +450,16 @@ public class ReservationService {
                     + reservation.getCheckInDate() + ", but today is: " + today);
         }
 
+        // Reserva por tipo sin habitación: asignarla ahora
+        if (!reservation.hasAssignedRoom() && reservation.getStatus() == ReservationStatus.CONFIRMED) {
+            assignFreeRoom(reservation);
+        }
+
+        // Bloquear la habitación para que dos check-ins concurrentes no la ocupen a la vez
+        if (reservation.hasAssignedRoom()) {
+            lockRoom(reservation);
+        }
+
         // 3. Verificar que la habitación no esté ocupada por otra reserva activa
         List<Reservation> overlappingReservations = reservationRepository.findOverlappingReservations(
                 reservation.getRoom(),
@@ -266,20 +500,24 @@ public class ReservationService {
      */
     @Transactional
     public void checkOut(Long reservationId) {
-        // 1. Buscar la reserva
-        Reservation reservation = reservationRepository.findById(reservationId)
+        // 1. Buscar y bloquear la reserva
+        Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
                 .orElseThrow(() -> new com.sofka.hotel_booking_api.domain.exception.ReservationNotFoundException(
                         "Reservation not found with id: " + reservationId));
 
         // 2. Realizar check-out (valida que esté en estado ACTIVE)
         reservation.checkOut();
+        lockRoom(reservation);
 
-        // 3. Marcar habitación como disponible
+        // Si la salida es anticipada, las noches restantes vuelven al inventario
+        releaseRemainingNights(reservation);
+
+        // 3. Recalcular la disponibilidad de la habitación
+        reservationRepository.save(reservation);
         Room room = reservation.getRoom();
-        room.setIsAvailable(true);
+        refreshRoomAvailability(room);
 
         // 4. Guardar cambios
-        reservationRepository.save(reservation);
         roomRepository.save(room);
     }
 
@@ -297,37 +535,72 @@ public class ReservationService {
     @Transactional
     public com.sofka.hotel_booking_api.infrastructure.dto.CancelReservationResponse cancelReservation(
             Long reservationId, String reason) {
-        // 1. Buscar la reserva
-        Reservation reservation = reservationRepository.findById(reservationId)
+        // 1. Buscar y bloquear la reserva
+        Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
                 .orElseThrow(() -> new com.sofka.hotel_booking_api.domain.exception.ReservationNotFoundException(
                         "Reservation not found with id: " + reservationId));
 
         // 2. Calcular porcentaje de reembolso antes de cancelar
         int refundPercentage = reservation.calculateRefundPercentage();
-        BigDecimal totalAmount = reservation.getTotalAmount();
-        BigDecimal refundAmount = totalAmount.multiply(BigDecimal.valueOf(refundPercentage))
-                .divide(BigDecimal.valueOf(100));
-        BigDecimal penaltyAmount = totalAmount.subtract(refundAmount);
+        Money totalAmount = reservation.getTotalAmount();
+        Money refundAmount = totalAmount.percent(refundPercentage, REFUND_ROUNDING);
+        Money penaltyAmount = totalAmount.minus(refundAmount);
 
         // 3. Cancelar la reserva (valida que pueda ser cancelada)
         reservation.cancel(reason);
+        if (reservation.hasAssignedRoom()) {
+            lockRoom(reservation);
+        }
 
-        // 4. Marcar habitación como disponible
-        Room room = reservation.getRoom();
-        room.setIsAvailable(true);
+        // 4. Devolver al inventario las noches no consumidas
+        releaseRemainingNights(reservation);
 
-        // 5. Guardar cambios
+        // 5. Recalcular la disponibilidad de la habitación (las reservas por tipo pueden no tenerla)
         reservationRepository.save(reservation);
-        roomRepository.save(room);
+        if (reservation.hasAssignedRoom()) {
+            Room room = reservation.getRoom();
+            refreshRoomAvailability(room);
+            roomRepository.save(room);
+        }
 
         // 6. Retornar respuesta con detalles de la cancelación
         return new com.sofka.hotel_booking_api.infrastructure.dto.CancelReservationResponse(
                 reservation.getReservationNumber(),
                 reservation.getCancelledAt(),
-                totalAmount,
-                refundAmount,
-                penaltyAmount,
+                totalAmount.toBigDecimal(),
+                refundAmount.toBigDecimal(),
+                penaltyAmount.toBigDecimal(),
                 refundPercentage
         );
     }
+
+    /**
+     * Bloquea las noches de la reserva en su habitación y la fila de la habitación, cuya
+     * disponibilidad se recalcula, hasta el final de la transacción.
+     * Orden de bloqueo: reserva, noches, habitación y, por último, el inventario del tipo,
+     * el mismo que sigue la creación de reservas, para no producir interbloqueos.
+     */
+    private void lockRoom(Reservation reservation) {
+        Room room = reservation.getRoom();
+        roomLock.lockStay(room.getId(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+        roomRepository.findAllByIdInForUpdate(List.of(room.getId()));
+    }
+
+    /**
+     * La habitación queda disponible solo si no aloja a ningún huésped (ninguna reserva ACTIVE).
+     * Cancelar una reserva futura o hacer check-out no debe liberar una habitación en la que
+     * otro huésped ya hizo check-in.
+     */
+    private void refreshRoomAvailability(Room room) {
+        room.setIsAvailable(!reservationRepository.existsByRoomAndStatus(room, ReservationStatus.ACTIVE));
+    }
+
+    /**
+     * Devuelve al inventario del tipo las noches de la estadía que aún no han pasado.
+     */
+    private void releaseRemainingNights(Reservation reservation) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = reservation.getCheckInDate().isAfter(today) ? reservation.getCheckInDate() : today;
+        roomTypeInventoryService.release(reservation.getRoomType(), from, reservation.getCheckOutDate());
+    }
 }
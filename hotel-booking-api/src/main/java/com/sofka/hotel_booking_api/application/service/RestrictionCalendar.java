@@ -0,0 +1,189 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.event.RestrictionsChangedEvent;
+import com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRestrictionRepository;
+import com.sofka.hotel_booking_api.infrastructure.cache.CacheNames;
+import com.sofka.hotel_booking_api.infrastructure.cache.TenantKey;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomRestrictionCalendarResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomRestrictionCalendarResponse.NightRestriction;
+import com.sofka.hotel_booking_api.infrastructure.dto.SetRoomRestrictionRequest;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Motor de restricciones de venta por tipo de habitación y noche: estadía mínima y máxima y cierres
+ * a llegadas y salidas.
+ * RN-004: Validaciones de Reserva
+ *
+ * <p>Sigue el mismo esquema que el {@link RateCalendar}: las restricciones de cada hotel y tipo se
+ * leen una vez y se guardan en la caché {@link CacheNames#RESTRICTIONS} como un {@link StayRestrictions}
+ * desde hoy, así que las reservas y las búsquedas de disponibilidad evalúan una estadía sin consultas.
+ * Las escrituras van a la base de datos y, al confirmarse, {@link RestrictionsChangedEvent} descarta la
+ * copia en memoria de ese tipo y las búsquedas de disponibilidad del hotel en todas las instancias.</p>
+ */
+@Component
+public class RestrictionCalendar {
+
+    private static final String INSERT_RESTRICTION_SQL =
+            "INSERT INTO room_restrictions (hotel_id, room_type, stay_date, min_stay, max_stay, "
+                    + "closed_to_arrival, closed_to_departure) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final RoomRestrictionRepository roomRestrictionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RestrictionCalendar(RoomRestrictionRepository roomRestrictionRepository,
+                               JdbcTemplate jdbcTemplate,
+                               CacheManager cacheManager,
+                               ApplicationEventPublisher eventPublisher) {
+        this.roomRestrictionRepository = roomRestrictionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Restricciones en memoria de un tipo de habitación del hotel actual, cargándolas si hace falta.
+     *
+     * @param roomType tipo de habitación
+     * @return las restricciones desde hoy
+     */
+    public StayRestrictions restrictions(RoomType roomType) {
+        TenantKey key = new TenantKey(TenantContext.requireHotelId(), roomType);
+        Cache cache = cacheManager.getCache(CacheNames.RESTRICTIONS);
+        return cache == null ? load(roomType) : cache.get(key, () -> load(roomType));
+    }
+
+    /**
+     * Valida una estadía contra las restricciones de su tipo de habitación.
+     *
+     * @throws IllegalArgumentException con el motivo si alguna restricción la impide
+     */
+    public void check(RoomType roomType, LocalDate checkIn, LocalDate checkOut) {
+        restrictions(roomType).check(checkIn, checkOut);
+    }
+
+    /**
+     * Tipos de habitación que admiten la estadía, para descartar los demás antes de buscar habitaciones.
+     *
+     * @param roomType tipo consultado, o {@code null} para todos
+     * @param checkIn fecha de entrada
+     * @param checkOut fecha de salida
+     * @return los tipos abiertos para la estadía
+     */
+    public Set<RoomType> openTypes(RoomType roomType, LocalDate checkIn, LocalDate checkOut) {
+        Set<RoomType> open = EnumSet.noneOf(RoomType.class);
+        for (RoomType type : roomType == null ? EnumSet.allOf(RoomType.class) : EnumSet.of(roomType)) {
+            if (restrictions(type).allows(checkIn, checkOut)) {
+                open.add(type);
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Consulta las restricciones de un tipo noche a noche.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche
+     * @param to última noche (exclusive)
+     * @return las restricciones de cada noche
+     */
+    public RoomRestrictionCalendarResponse getRestrictions(RoomType roomType, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        StayRestrictions restrictions = restrictions(roomType);
+        List<NightRestriction> nights = from.datesUntil(to)
+                .map(night -> new NightRestriction(night,
+                        nullIfZero(restrictions.minStayOn(night)),
+                        nullIfZero(restrictions.maxStayOn(night)),
+                        restrictions.closedToArrivalOn(night),
+                        restrictions.closedToDepartureOn(night)))
+                .toList();
+        return new RoomRestrictionCalendarResponse(roomType, from, to, nights);
+    }
+
+    /**
+     * Fija las restricciones de un tipo en cada noche del rango, reemplazando las que hubiera.
+     *
+     * @param roomType tipo de habitación
+     * @param request rango de noches y restricciones
+     * @return las restricciones del rango
+     * @throws InvalidDateRangeException si el rango es inválido o empieza en el pasado
+     * @throws IllegalArgumentException si el rango es demasiado largo o la estadía mínima supera la máxima
+     */
+    @Transactional
+    public RoomRestrictionCalendarResponse setRestrictions(RoomType roomType, SetRoomRestrictionRequest request) {
+        validateRange(request.from(), request.to());
+        if (request.minStay() != null && request.maxStay() != null && request.minStay() > request.maxStay()) {
+            throw new IllegalArgumentException("La estadía mínima no puede superar la estadía máxima");
+        }
+        long hotelId = TenantContext.requireHotelId();
+
+        // Se reemplazan las filas del rango; una noche sin ninguna restricción no necesita fila
+        roomRestrictionRepository.deleteNights(roomType, request.from(), request.to());
+        boolean restricted = request.minStay() != null || request.maxStay() != null
+                || request.closedToArrival() || request.closedToDeparture();
+        if (restricted) {
+            List<Object[]> batchArgs = request.from().datesUntil(request.to())
+                    .map(night -> new Object[]{hotelId, roomType.name(), night, request.minStay(),
+                            request.maxStay(), request.closedToArrival(), request.closedToDeparture()})
+                    .toList();
+            jdbcTemplate.batchUpdate(INSERT_RESTRICTION_SQL, batchArgs);
+        }
+        eventPublisher.publishEvent(new RestrictionsChangedEvent(hotelId, roomType));
+
+        List<NightRestriction> nights = request.from().datesUntil(request.to())
+                .map(night -> new NightRestriction(night, request.minStay(), request.maxStay(),
+                        request.closedToArrival(), request.closedToDeparture()))
+                .toList();
+        return new RoomRestrictionCalendarResponse(roomType, request.from(), request.to(), nights);
+    }
+
+    /**
+     * Elimina las restricciones de un tipo en el rango.
+     *
+     * @return número de noches que tenían restricciones
+     */
+    @Transactional
+    public int clearRestrictions(RoomType roomType, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        int deleted = roomRestrictionRepository.deleteNights(roomType, from, to);
+        eventPublisher.publishEvent(new RestrictionsChangedEvent(TenantContext.requireHotelId(), roomType));
+        return deleted;
+    }
+
+    private StayRestrictions load(RoomType roomType) {
+        return StayRestrictions.of(roomRestrictionRepository.findFrom(roomType, LocalDate.now()));
+    }
+
+    private static Integer nullIfZero(int value) {
+        return value == 0 ? null : value;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isBefore(LocalDate.now())) {
+            throw new InvalidDateRangeException("La fecha inicial de las restricciones no puede ser en el pasado");
+        }
+        if (!from.isBefore(to)) {
+            throw new InvalidDateRangeException("La fecha inicial de las restricciones debe ser anterior a la final");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > RateCalendar.MAX_RANGE_NIGHTS) {
+            throw new IllegalArgumentException(String.format(
+                    "El rango de restricciones no puede superar %d noches", RateCalendar.MAX_RANGE_NIGHTS));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Motor de asignación de habitaciones para un tipo de habitación.
+ *
+ * <p>Heurística greedy best-fit sobre el grafo de intervalos: las estadías movibles se
+ * recorren por fecha de entrada (las más largas primero) y cada una se coloca en la
+ * habitación donde deja menos noches huérfanas (huecos de 1 a 2 noches entre dos
+ * estadías, que no se pueden vender); a igualdad, donde queda más pegada a la estadía
+ * anterior y, por último, en su habitación actual para evitar movimientos innecesarios.</p>
+ *
+ * <p>Es una clase pura, sin acceso a base de datos, para poder ejecutarse en paralelo
+ * por tipo de habitación.</p>
+ */
+public final class RoomAssignmentOptimizer {
+
+    /**
+     * Un hueco entre dos estadías de hasta esta cantidad de noches se considera huérfano.
+     */
+    static final int MAX_ORPHAN_GAP_NIGHTS = 2;
+
+    private RoomAssignmentOptimizer() {
+    }
+
+    /**
+     * Habitación candidata.
+     */
+    public record RoomSlot(Long roomId, int capacity) {
+    }
+
+    /**
+     * Estadía a ubicar. {@code currentRoomId} es null si aún no tiene habitación.
+     */
+    public record Stay(Long reservationId, LocalDate checkInDate, LocalDate checkOutDate,
+                       int numberOfGuests, Long currentRoomId) {
+
+        long nights() {
+            return ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+        }
+    }
+
+    /**
+     * Resultado de la optimización.
+     *
+     * @param assignments habitación propuesta para cada estadía movible ubicada
+     * @param unplaced estadías movibles que no caben en ninguna habitación
+     * @param currentOrphanNights noches huérfanas con la asignación actual
+     * @param proposedOrphanNights noches huérfanas con la asignación propuesta
+     */
+    public record Result(Map<Long, Long> assignments, List<Long> unplaced,
+                         int currentOrphanNights, int proposedOrphanNights) {
+    }
+
+    /**
+     * Calcula una asignación para las estadías movibles de un tipo de habitación.
+     * Si la propuesta deja sin habitación una estadía que ya la tenía, o no mejora la
+     * asignación actual, se devuelve la asignación actual sin cambios.
+     *
+     * @param rooms habitaciones del tipo
+     * @param fixed estadías que no se pueden mover (ya iniciadas o fuera del horizonte)
+     * @param movable estadías futuras que se pueden (re)asignar
+     * @return la asignación propuesta
+     */
+    public static Result optimize(Collection<RoomSlot> rooms, Collection<Stay> fixed, Collection<Stay> movable) {
+        Map<Long, RoomCalendar> current = calendars(rooms, fixed);
+        List<Long> currentlyUnplaced = new ArrayList<>();
+        Map<Long, Long> currentAssignments = new HashMap<>();
+        for (Stay stay : movable) {
+            if (stay.currentRoomId() != null && current.containsKey(stay.currentRoomId())) {
+                current.get(stay.currentRoomId()).add(stay);
+                currentAssignments.put(stay.reservationId(), stay.currentRoomId());
+            } else {
+                currentlyUnplaced.add(stay);
+            }
+        }
+        int currentOrphanNights = orphanNights(current.values());
+
+        Map<Long, RoomCalendar> proposed = calendars(rooms, fixed);
+        Map<Long, Long> assignments = new HashMap<>();
+        List<Long> unplaced = new ArrayList<>();
+        List<Stay> ordered = movable.stream()
+                .sorted(Comparator.comparing(Stay::checkInDate)
+                        .thenComparing(Stay::nights, Comparator.reverseOrder())
+                        .thenComparing(Stay::reservationId))
+                .toList();
+        for (Stay stay : ordered) {
+            RoomCalendar best = bestFit(proposed.values(), stay);
+            if (best == null) {
+                unplaced.add(stay.reservationId());
+            } else {
+                best.add(stay);
+                assignments.put(stay.reservationId(), best.room.roomId());
+            }
+        }
+        int proposedOrphanNights = orphanNights(proposed.values());
+
+        boolean losesAssignedStay = movable.stream()
+                .anyMatch(stay -> stay.currentRoomId() != null && unplaced.contains(stay.reservationId()));
+        boolean improves = unplaced.size() < currentlyUnplaced.size()
+                || (unplaced.size() == currentlyUnplaced.size() && proposedOrphanNights < currentOrphanNights);
+        if (losesAssignedStay || !improves) {
+            return new Result(currentAssignments,
+                    currentlyUnplaced.stream().map(Stay::reservationId).toList(),
+                    currentOrphanNights, currentOrphanNights);
+        }
+        return new Result(assignments, unplaced, currentOrphanNights, proposedOrphanNights);
+    }
+
+    /**
+     * Cuenta las noches huérfanas de un conjunto de calendarios de habitación.
+     */
+    static int orphanNights(Collection<RoomCalendar> calendars) {
+        int total = 0;
+        for (RoomCalendar calendar : calendars) {
+            LocalDate previousCheckOut = null;
+            for (Map.Entry<LocalDate, LocalDate> stay : calendar.stays.entrySet()) {
+                if (previousCheckOut != null) {
+                    total += orphanGap(ChronoUnit.DAYS.between(previousCheckOut, stay.getKey()));
+                }
+                previousCheckOut = stay.getValue();
+            }
+        }
+        return total;
+    }
+
+    private static int orphanGap(long gapNights) {
+        return gapNights > 0 && gapNights <= MAX_ORPHAN_GAP_NIGHTS ? (int) gapNights : 0;
+    }
+
+    /**
+     * Elige la habitación con menor coste para la estadía, o null si no cabe en ninguna.
+     */
+    private static RoomCalendar bestFit(Collection<RoomCalendar> calendars, Stay stay) {
+        RoomCalendar best = null;
+        long bestOrphans = Long.MAX_VALUE;
+        long bestGapBefore = Long.MAX_VALUE;
+        boolean bestIsCurrent = false;
+
+        for (RoomCalendar calendar : calendars) {
+            if (calendar.room.capacity() < stay.numberOfGuests() || !calendar.isFree(stay)) {
+                continue;
+            }
+            Map.Entry<LocalDate, LocalDate> previous = calendar.stays.lowerEntry(stay.checkInDate());
+            Map.Entry<LocalDate, LocalDate> next = calendar.stays.ceilingEntry(stay.checkInDate());
+            long gapBefore = previous == null
+                    ? Long.MAX_VALUE
+                    : ChronoUnit.DAYS.between(previous.getValue(), stay.checkInDate());
+            long gapAfter = next == null
+                    ? Long.MAX_VALUE
+                    : ChronoUnit.DAYS.between(stay.checkOutDate(), next.getKey());
+            // Huecos que crea la estadía menos el hueco huérfano que ya existía y que rellena
+            long orphans = (previous == null ? 0 : orphanGap(gapBefore))
+                    + (next == null ? 0 : orphanGap(gapAfter))
+                    - (previous == null || next == null
+                        ? 0 : orphanGap(ChronoUnit.DAYS.between(previous.getValue(), next.getKey())));
+            boolean isCurrent = calendar.room.roomId().equals(stay.currentRoomId());
+
+            boolean better = best == null
+                    || orphans < bestOrphans
+                    || (orphans == bestOrphans && gapBefore < bestGapBefore)
+                    || (orphans == bestOrphans && gapBefore == bestGapBefore && isCurrent && !bestIsCurrent);
+            if (better) {
+                best = calendar;
+                bestOrphans = orphans;
+                bestGapBefore = gapBefore;
+                bestIsCurrent = isCurrent;
+            }
+        }
+        return best;
+    }
+
+    private static Map<Long, RoomCalendar> calendars(Collection<RoomSlot> rooms, Collection<Stay> fixed) {
+        Map<Long, RoomCalendar> calendars = new TreeMap<>();
+        for (RoomSlot room : rooms) {
+            calendars.put(room.roomId(), new RoomCalendar(room));
+        }
+        for (Stay stay : fixed) {
+            RoomCalendar calendar = calendars.get(stay.currentRoomId());
+            if (calendar != null) {
+                calendar.add(stay);
+            }
+        }
+        return calendars;
+    }
+
+    /**
+     * Estadías de una habitación ordenadas por fecha de entrada (entrada → salida).
+     */
+    static final class RoomCalendar {
+
+        private final RoomSlot room;
+        private final TreeMap<LocalDate, LocalDate> stays = new TreeMap<>();
+
+        RoomCalendar(RoomSlot room) {
+            this.room = room;
+        }
+
+        boolean isFree(Stay stay) {
+            Map.Entry<LocalDate, LocalDate> previous = stays.floorEntry(stay.checkInDate());
+            if (previous != null && previous.getValue().isAfter(stay.checkInDate())) {
+                return false;
+            }
+            LocalDate nextCheckIn = stays.higherKey(stay.checkInDate());
+            return nextCheckIn == null || !nextCheckIn.isBefore(stay.checkOutDate());
+        }
+
+        void add(Stay stay) {
+            stays.put(stay.checkInDate(), stay.checkOutDate());
+        }
+    }
+}
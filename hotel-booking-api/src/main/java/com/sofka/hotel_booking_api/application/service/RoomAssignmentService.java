@@ -0,0 +1,199 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.lock.RoomLock;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomAssignmentPlanResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomAssignmentPlanResponse.RoomAssignmentChange;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomAssignmentPlanResponse.RoomTypePlan;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de asignación automática de habitaciones para reducir la fragmentación del calendario.
+ *
+ * <p>Las reservas futuras PENDING/CONFIRMED dentro del horizonte se pueden mover entre
+ * habitaciones del mismo tipo; las ya iniciadas y las que empiezan después del horizonte
+ * quedan fijas. El cálculo de cada tipo de habitación es independiente y se ejecuta en
+ * paralelo con {@link RoomAssignmentOptimizer}.</p>
+ */
+@Service
+public class RoomAssignmentService {
+
+    /**
+     * Horizonte máximo de planificación en días.
+     */
+    static final int MAX_HORIZON_DAYS = 365;
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final RoomLock roomLock;
+
+    public RoomAssignmentService(ReservationRepository reservationRepository, RoomRepository roomRepository,
+                                 RoomLock roomLock) {
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.roomLock = roomLock;
+    }
+
+    /**
+     * Calcula la asignación propuesta sin modificar nada (simulación).
+     *
+     * @param horizonDays días a partir de hoy cuyas llegadas se pueden reasignar
+     * @return los cambios propuestos por tipo de habitación
+     * @throws IllegalArgumentException si el horizonte está fuera de rango
+     */
+    @Transactional(readOnly = true)
+    public RoomAssignmentPlanResponse planAssignments(int horizonDays) {
+        validateHorizon(horizonDays);
+        return buildPlan(horizonDays, roomRepository.findAll(), false);
+    }
+
+    /**
+     * Calcula y aplica la asignación. Las habitaciones se bloquean completas antes de calcular
+     * para que el plan aplicado sea el mismo que se calculó y ninguna reserva nueva se cruce.
+     *
+     * @param horizonDays días a partir de hoy cuyas llegadas se pueden reasignar
+     * @return los cambios aplicados por tipo de habitación
+     * @throws IllegalArgumentException si el horizonte está fuera de rango
+     */
+    @Transactional
+    public RoomAssignmentPlanResponse applyAssignments(int horizonDays) {
+        validateHorizon(horizonDays);
+        List<Long> roomIds = roomRepository.findAll().stream().map(Room::getId).sorted().toList();
+        roomLock.lockRooms(roomIds);
+        List<Room> rooms = roomIds.isEmpty() ? List.of() : roomRepository.findAllByIdInForUpdate(roomIds);
+        return buildPlan(horizonDays, rooms, true);
+    }
+
+    private void validateHorizon(int horizonDays) {
+        if (horizonDays < 1 || horizonDays > MAX_HORIZON_DAYS) {
+            throw new IllegalArgumentException(String.format(
+                    "El horizonte debe estar entre 1 y %d días", MAX_HORIZON_DAYS));
+        }
+    }
+
+    private RoomAssignmentPlanResponse buildPlan(int horizonDays, List<Room> rooms, boolean apply) {
+        LocalDate today = LocalDate.now();
+        LocalDate horizonEnd = today.plusDays(horizonDays);
+
+        // Se cargan también las estadías que empiezan tras el horizonte: una reserva movible
+        // puede terminar hasta MAX_NIGHTS noches después y no debe solaparse con ellas
+        List<Reservation> reservations = reservationRepository.findCurrentReservationsBetween(
+                today, horizonEnd.plusDays(ReservationService.MAX_NIGHTS));
+
+        Map<Long, Room> roomsById = rooms.stream().collect(Collectors.toMap(Room::getId, Function.identity()));
+        Map<Long, Reservation> reservationsById = reservations.stream()
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+
+        // 1. Preparar las entradas del optimizador por tipo (sin tocar entidades en paralelo)
+        Map<RoomType, OptimizerInput> inputs = new EnumMap<>(RoomType.class);
+        for (Room room : rooms) {
+            inputs.computeIfAbsent(room.getRoomType(), type -> new OptimizerInput())
+                    .rooms.add(new RoomAssignmentOptimizer.RoomSlot(room.getId(), room.getCapacity()));
+        }
+        for (Reservation reservation : reservations) {
+            OptimizerInput input = inputs.get(reservation.getRoomType());
+            if (input == null) {
+                continue;
+            }
+            RoomAssignmentOptimizer.Stay stay = new RoomAssignmentOptimizer.Stay(
+                    reservation.getId(),
+                    reservation.getCheckInDate(),
+                    reservation.getCheckOutDate(),
+                    reservation.getNumberOfGuests(),
+                    reservation.hasAssignedRoom() ? reservation.getRoom().getId() : null);
+            if (isMovable(reservation, today, horizonEnd)) {
+                input.movable.add(stay);
+            } else if (reservation.hasAssignedRoom()) {
+                input.fixed.add(stay);
+            }
+        }
+
+        // 2. Optimizar cada tipo de habitación en paralelo
+        Map<RoomType, RoomAssignmentOptimizer.Result> results = inputs.entrySet().parallelStream()
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        entry -> RoomAssignmentOptimizer.optimize(
+                                entry.getValue().rooms, entry.getValue().fixed, entry.getValue().movable)));
+
+        // 3. Construir el diff y, si corresponde, aplicarlo
+        List<RoomTypePlan> plans = new ArrayList<>();
+        List<Reservation> changed = new ArrayList<>();
+        for (Map.Entry<RoomType, OptimizerInput> entry : inputs.entrySet()) {
+            RoomAssignmentOptimizer.Result result = results.get(entry.getKey());
+            List<RoomAssignmentChange> changes = new ArrayList<>();
+            for (RoomAssignmentOptimizer.Stay stay : entry.getValue().movable) {
+                Long proposedRoomId = result.assignments().get(stay.reservationId());
+                if (proposedRoomId == null || proposedRoomId.equals(stay.currentRoomId())) {
+                    continue;
+                }
+                Reservation reservation = reservationsById.get(stay.reservationId());
+                Room proposedRoom = roomsById.get(proposedRoomId);
+                changes.add(new RoomAssignmentChange(
+                        reservation.getId(),
+                        reservation.getReservationNumber(),
+                        reservation.getCheckInDate(),
+                        reservation.getCheckOutDate(),
+                        reservation.hasAssignedRoom() ? reservation.getRoom().getRoomNumber() : null,
+                        proposedRoom.getRoomNumber()));
+                if (apply) {
+                    reservation.assignRoom(proposedRoom);
+                    changed.add(reservation);
+                }
+            }
+            changes.sort(Comparator.comparing(RoomAssignmentChange::checkInDate)
+                    .thenComparing(RoomAssignmentChange::reservationNumber));
+            List<String> unplaced = result.unplaced().stream()
+                    .map(id -> reservationsById.get(id).getReservationNumber())
+                    .sorted()
+                    .toList();
+            plans.add(new RoomTypePlan(
+                    entry.getKey(),
+                    entry.getValue().movable.size(),
+                    result.currentOrphanNights(),
+                    result.proposedOrphanNights(),
+                    changes,
+                    unplaced));
+        }
+
+        if (!changed.isEmpty()) {
+            reservationRepository.saveAll(changed);
+        }
+
+        int totalChanges = plans.stream().mapToInt(plan -> plan.changes().size()).sum();
+        return new RoomAssignmentPlanResponse(today, horizonEnd, apply, totalChanges, plans);
+    }
+
+    /**
+     * Una reserva es movible si aún no ha empezado, no ha hecho check-in y llega dentro del horizonte.
+     */
+    private boolean isMovable(Reservation reservation, LocalDate today, LocalDate horizonEnd) {
+        return (reservation.getStatus() == ReservationStatus.PENDING
+                || reservation.getStatus() == ReservationStatus.CONFIRMED)
+                && reservation.getCheckInDate().isAfter(today)
+                && reservation.getCheckInDate().isBefore(horizonEnd);
+    }
+
+    /**
+     * Entradas del optimizador para un tipo de habitación.
+     */
+    private static final class OptimizerInput {
+        private final List<RoomAssignmentOptimizer.RoomSlot> rooms = new ArrayList<>();
+        private final List<RoomAssignmentOptimizer.Stay> fixed = new ArrayList<>();
+        private final List<RoomAssignmentOptimizer.Stay> movable = new ArrayList<>();
+    }
+}
@@ -6,13 +6,18 @@ import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
 import com.sofka.hotel_booking_api.domain.model.Room;
 import com.sofka.hotel_booking_api.domain.model.RoomType;
 import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.cache.CacheNames;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomRequest;
 import com.sofka.hotel_booking_api.infrastructure.dto.RoomResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomTypeAvailabilityResponse;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -22,9 +27,14 @@ import java.util.stream.Collectors;
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final RoomTypeInventoryService roomTypeInventoryService;
+    private final RestrictionCalendar restrictionCalendar;
 
-    public RoomService(RoomRepository roomRepository) {
+    public RoomService(RoomRepository roomRepository, RoomTypeInventoryService roomTypeInventoryService,
+                       RestrictionCalendar restrictionCalendar) {
         this.roomRepository = roomRepository;
+        this.roomTypeInventoryService = roomTypeInventoryService;
+        this.restrictionCalendar = restrictionCalendar;
     }
 
     /**
@@ -56,6 +66,7 @@ public class RoomService {
 
         // 3. Guardar la habitación en la base de datos
         Room savedRoom = roomRepository.save(room);
+        roomTypeInventoryService.adjustCapacity(savedRoom.getRoomType(), 1);
 
         // 4. Convertir la entidad a DTO de respuesta
         return RoomResponse.fromEntity(savedRoom);
@@ -66,6 +77,7 @@ public class RoomService {
      *
      * @return lista de todas las habitaciones
      */
+    @Cacheable(cacheNames = CacheNames.ROOMS, keyGenerator = CacheNames.TENANT_KEY_GENERATOR)
     @Transactional(readOnly = true)
     public List<RoomResponse> getAllRooms() {
         return roomRepository.findAll()
@@ -81,6 +93,7 @@ public class RoomService {
      * @return la habitación encontrada
      * @throws RoomNotFoundException si la habitación no existe
      */
+    @Cacheable(cacheNames = CacheNames.ROOMS, keyGenerator = CacheNames.TENANT_KEY_GENERATOR)
     @Transactional(readOnly = true)
     public RoomResponse getRoomById(Long id) {
         Room room = roomRepository.findById(id)
@@ -102,7 +115,8 @@ public class RoomService {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new RoomNotFoundException(id));
 
-        // 2. Actualizar los campos de la habitación
+        // 2. Actualizar los campos de la habitación (un cambio de tipo mueve la habitación de inventario)
+        RoomType previousType = room.getRoomType();
         room.setRoomNumber(request.getRoomNumber());
         room.setRoomType(request.getRoomType());
         room.setCapacity(request.getCapacity());
@@ -110,6 +124,10 @@ public class RoomService {
 
         // 3. Guardar los cambios
         Room updatedRoom = roomRepository.save(room);
+        if (previousType != request.getRoomType()) {
+            roomTypeInventoryService.adjustCapacity(previousType, -1);
+            roomTypeInventoryService.adjustCapacity(request.getRoomType(), 1);
+        }
 
         // 4. Retornar la respuesta
         return RoomResponse.fromEntity(updatedRoom);
@@ -128,10 +146,26 @@ public class RoomService {
             throw new RoomNotFoundException(id);
         }
 
-        // 2. Eliminar la habitación
+        // 2. Eliminar la habitación y retirarla del inventario de su tipo
+        roomRepository.findRoomTypeById(id)
+                .ifPresent(roomType -> roomTypeInventoryService.adjustCapacity(roomType, -1));
         roomRepository.deleteById(id);
     }
 
+    /**
+     * Consulta cuántas habitaciones de un tipo quedan a la venta para una estadía.
+     *
+     * @param roomType tipo de habitación
+     * @param checkIn fecha de entrada
+     * @param checkOut fecha de salida
+     * @return inventario restante por noche y para toda la estadía
+     * @throws InvalidDateRangeException si el rango de fechas es inválido
+     */
+    public RoomTypeAvailabilityResponse getRoomTypeAvailability(RoomType roomType, LocalDate checkIn,
+                                                                LocalDate checkOut) {
+        return roomTypeInventoryService.getAvailability(roomType, checkIn, checkOut);
+    }
+
     /**
      * Obtiene las habitaciones disponibles en un rango de fechas.
      * Historia 2.2: Consultar estado de ocupación de habitaciones
@@ -139,9 +173,10 @@ public class RoomService {
      * @param checkIn fecha de entrada
      * @param checkOut fecha de salida
      * @param roomType tipo de habitación (opcional)
-     * @return lista de habitaciones disponibles
+     * @return habitaciones libres durante toda la estadía, de los tipos que la admiten y con inventario
      * @throws InvalidDateRangeException si el rango de fechas es inválido
      */
+    @Cacheable(cacheNames = CacheNames.AVAILABLE_ROOMS, keyGenerator = CacheNames.AVAILABILITY_KEY_GENERATOR)
     @Transactional(readOnly = true)
     public List<RoomResponse> getAvailableRooms(LocalDate checkIn, LocalDate checkOut, RoomType roomType) {
         // 1. Validar que checkIn no sea en el pasado
@@ -154,24 +189,26 @@ public class RoomService {
             throw new InvalidDateRangeException("La fecha de entrada debe ser anterior a la fecha de salida");
         }
 
-        // 3. Obtener todas las habitaciones disponibles
-        List<Room> availableRooms;
-        if (roomType != null) {
-            // Filtrar por tipo de habitación
-            availableRooms = roomRepository.findAll().stream()
-                    .filter(room -> room.getIsAvailable() && room.getRoomType() == roomType)
-                    .collect(Collectors.toList());
-        } else {
-            // Sin filtro de tipo
-            availableRooms = roomRepository.findAll().stream()
-                    .filter(Room::getIsAvailable)
-                    .collect(Collectors.toList());
+        // 3. Descartar los tipos cuyas restricciones de venta impiden la estadía antes de buscar habitaciones
+        Set<RoomType> openTypes = restrictionCalendar.openTypes(roomType, checkIn, checkOut);
+        if (openTypes.isEmpty()) {
+            return List.of();
         }
 
-        // 4. Convertir a DTO y retornar
-        // TODO: En futuro, validar que no tengan reservas en el rango de fechas
-        return availableRooms.stream()
-                .map(RoomResponse::fromEntity)
-                .collect(Collectors.toList());
+        // 4. Por cada tipo abierto, habitaciones sin reservas que se solapen con la estadía, limitadas a lo
+        //    que queda del inventario del tipo (las reservas por tipo aún no tienen habitación asignada)
+        List<RoomResponse> availableRooms = new ArrayList<>();
+        for (RoomType type : openTypes) {
+            int remainingRooms = roomTypeInventoryService.remainingRooms(type, checkIn, checkOut);
+            if (remainingRooms <= 0) {
+                continue;
+            }
+            roomRepository.findFreeRoomsForStay(type, 1, checkIn, checkOut).stream()
+                    .filter(Room::getIsAvailable)
+                    .limit(remainingRooms)
+                    .map(RoomResponse::fromEntity)
+                    .forEach(availableRooms::add);
+        }
+        return availableRooms;
     }
 }
@@ -0,0 +1,276 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.event.NightsReleasedEvent;
+import com.sofka.hotel_booking_api.domain.exception.RoomNotAvailableException;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.RoomTypeInventory;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomTypeInventoryRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomTypeAvailabilityResponse;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Servicio de inventario por tipo de habitación y noche.
+ *
+ * <p>Cada reserva consume una unidad del contador de su tipo en cada noche de la
+ * estadía mediante una actualización condicional ({@code soldRooms < totalRooms}),
+ * sin bloquear habitaciones físicas. Las filas de cada noche se crean al reservar,
+ * a partir del número de habitaciones del tipo y de las reservas vigentes; las consultas
+ * calculan igual las noches que aún no tienen fila, sin escribir.</p>
+ */
+@Service
+public class RoomTypeInventoryService {
+
+    private static final String INSERT_NIGHT_SQL =
+            "INSERT INTO room_type_inventory (hotel_id, room_type, stay_date, total_rooms, sold_rooms) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String RESERVE_NIGHT_SQL =
+            "UPDATE room_type_inventory SET sold_rooms = sold_rooms + ? " +
+            "WHERE hotel_id = ? AND room_type = ? AND stay_date = ? AND sold_rooms + ? <= total_rooms";
+
+    private final RoomTypeInventoryRepository inventoryRepository;
+    private final RoomRepository roomRepository;
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+
+    public RoomTypeInventoryService(RoomTypeInventoryRepository inventoryRepository,
+                                    RoomRepository roomRepository,
+                                    ReservationRepository reservationRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    JdbcTemplate jdbcTemplate) {
+        this.inventoryRepository = inventoryRepository;
+        this.roomRepository = roomRepository;
+        this.reservationRepository = reservationRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Consume una habitación del tipo en cada noche de la estadía.
+     * Si alguna noche está agotada se lanza la excepción y la transacción del
+     * llamador revierte las noches ya consumidas.
+     *
+     * @param roomType tipo de habitación
+     * @param checkInDate fecha de entrada
+     * @param checkOutDate fecha de salida
+     * @throws RoomNotAvailableException si no queda inventario del tipo en alguna noche
+     */
+    @Transactional
+    public void reserve(RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        long numberOfNights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+        ensureNights(roomType, checkInDate, checkOutDate, numberOfNights);
+
+        int reservedNights = inventoryRepository.reserveNights(roomType, checkInDate, checkOutDate);
+        if (reservedNights != numberOfNights) {
+            throw new RoomNotAvailableException(
+                    String.format("No quedan habitaciones de tipo %s para las fechas solicitadas", roomType));
+        }
+    }
+
+    /**
+     * Consume de una vez el inventario de varias estadías (reservas de grupo).
+     *
+     * <p>La demanda se suma por tipo y noche, y cada tipo se procesa en el orden del enum y
+     * con sus noches en orden ascendente, para que los grupos concurrentes bloqueen las filas en
+     * el mismo orden. Por tipo se crean en un lote las noches que falten y se consumen todas con
+     * un único lote de actualizaciones condicionales, sea cual sea el número de estadías.</p>
+     *
+     * @param stays estadías a reservar
+     * @throws RoomNotAvailableException si a algún tipo no le queda cupo para la demanda de una noche
+     */
+    @Transactional
+    public void reserveAll(List<Stay> stays) {
+        Map<RoomType, TreeMap<LocalDate, Integer>> demand = new EnumMap<>(RoomType.class);
+        for (Stay stay : stays) {
+            TreeMap<LocalDate, Integer> nights = demand.computeIfAbsent(stay.roomType(), type -> new TreeMap<>());
+            for (LocalDate night = stay.checkInDate(); night.isBefore(stay.checkOutDate()); night = night.plusDays(1)) {
+                nights.merge(night, 1, Integer::sum);
+            }
+        }
+
+        long hotelId = TenantContext.requireHotelId();
+        demand.forEach((roomType, nights) -> {
+            insertMissingNights(hotelId, roomType, nights);
+
+            List<Object[]> batchArgs = nights.entrySet().stream()
+                    .map(night -> new Object[]{
+                            night.getValue(), hotelId, roomType.name(), night.getKey(), night.getValue()})
+                    .toList();
+            for (int updated : jdbcTemplate.batchUpdate(RESERVE_NIGHT_SQL, batchArgs)) {
+                if (updated == 0) {
+                    throw new RoomNotAvailableException(
+                            String.format("No quedan habitaciones de tipo %s para las fechas solicitadas", roomType));
+                }
+            }
+        });
+    }
+
+    /**
+     * Devuelve al inventario las noches de una estadía.
+     * Un rango vacío (por ejemplo, un check-out el día de salida) no tiene efecto.
+     * Publica {@link NightsReleasedEvent} para que la lista de espera intente ocupar
+     * las noches una vez confirmada la transacción.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche a liberar
+     * @param to fecha de salida (exclusive)
+     */
+    @Transactional
+    public void release(RoomType roomType, LocalDate from, LocalDate to) {
+        if (from.isBefore(to)) {
+            inventoryRepository.releaseNights(roomType, from, to);
+            eventPublisher.publishEvent(new NightsReleasedEvent(TenantContext.requireHotelId(), roomType, from, to));
+        }
+    }
+
+    /**
+     * Ajusta el total de habitaciones del tipo en las noches futuras ya creadas.
+     *
+     * @param roomType tipo de habitación
+     * @param delta habitaciones añadidas (positivo) o retiradas (negativo)
+     */
+    @Transactional
+    public void adjustCapacity(RoomType roomType, int delta) {
+        inventoryRepository.adjustTotalRooms(roomType, delta, LocalDate.now());
+    }
+
+    /**
+     * Consulta cuántas habitaciones del tipo quedan para una estadía, leyendo una fila por noche.
+     * Es una lectura: las noches sin fila se calculan en memoria a partir de las habitaciones del
+     * tipo y las reservas vigentes, sin crearlas.
+     *
+     * @param roomType tipo de habitación
+     * @param checkInDate fecha de entrada
+     * @param checkOutDate fecha de salida
+     * @return inventario por noche y mínimo de la estadía
+     */
+    @Transactional(readOnly = true)
+    public RoomTypeAvailabilityResponse getAvailability(RoomType roomType, LocalDate checkInDate,
+                                                        LocalDate checkOutDate) {
+        ReservationService.validateDates(checkInDate, checkOutDate);
+        long numberOfNights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+        ReservationService.validateStayLength(numberOfNights);
+
+        return RoomTypeAvailabilityResponse.fromEntities(roomType, checkInDate, checkOutDate,
+                readNights(roomType, checkInDate, checkOutDate, numberOfNights));
+    }
+
+    /**
+     * Habitaciones del tipo que quedan para toda la estadía: el mínimo de sus noches.
+     * Igual que {@link #getAvailability}, no crea las filas que falten.
+     *
+     * @param roomType tipo de habitación
+     * @param checkInDate fecha de entrada
+     * @param checkOutDate fecha de salida
+     * @return habitaciones del tipo que todavía se pueden vender para la estadía
+     */
+    @Transactional(readOnly = true)
+    public int remainingRooms(RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        long numberOfNights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+        return readNights(roomType, checkInDate, checkOutDate, numberOfNights).stream()
+                .mapToInt(RoomTypeInventory::getAvailableRooms)
+                .min()
+                .orElse(0);
+    }
+
+    /**
+     * Filas de inventario de cada noche del rango; las que no existen se calculan sin guardarlas.
+     */
+    private List<RoomTypeInventory> readNights(RoomType roomType, LocalDate from, LocalDate to,
+                                               long numberOfNights) {
+        List<RoomTypeInventory> existing = inventoryRepository.findNights(roomType, from, to);
+        if (existing.size() == numberOfNights) {
+            return existing;
+        }
+
+        Map<LocalDate, RoomTypeInventory> nights = new TreeMap<>();
+        existing.forEach(night -> nights.put(night.getStayDate(), night));
+        int totalRooms = Math.toIntExact(roomRepository.countByRoomType(roomType));
+        for (LocalDate night = from; night.isBefore(to); night = night.plusDays(1)) {
+            if (!nights.containsKey(night)) {
+                int soldRooms = Math.toIntExact(
+                        reservationRepository.countActiveReservationsForNight(roomType, night));
+                nights.put(night, new RoomTypeInventory(roomType, night, totalRooms, soldRooms));
+            }
+        }
+        return new ArrayList<>(nights.values());
+    }
+
+    /**
+     * Crea en un lote las filas que falten entre las noches pedidas. Las reservas vigentes del
+     * rango se leen con una sola consulta y se cuentan por noche en memoria.
+     */
+    private void insertMissingNights(long hotelId, RoomType roomType, TreeMap<LocalDate, Integer> nights) {
+        LocalDate from = nights.firstKey();
+        LocalDate to = nights.lastKey().plusDays(1);
+        Set<LocalDate> missing = new TreeSet<>(nights.keySet());
+        inventoryRepository.findStayDates(roomType, from, to).forEach(missing::remove);
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        int totalRooms = Math.toIntExact(roomRepository.countByRoomType(roomType));
+        Map<LocalDate, Integer> soldRooms = new HashMap<>();
+        for (StaySnapshot stay : reservationRepository.findActiveStaysForRoomType(roomType, from, to)) {
+            for (LocalDate night = stay.checkInDate(); night.isBefore(stay.checkOutDate()); night = night.plusDays(1)) {
+                if (missing.contains(night)) {
+                    soldRooms.merge(night, 1, Integer::sum);
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_NIGHT_SQL, missing.stream()
+                .map(night -> new Object[]{
+                        hotelId, roomType.name(), night, totalRooms, soldRooms.getOrDefault(night, 0)})
+                .toList());
+    }
+
+    /**
+     * Crea las filas de inventario que falten en el rango.
+     */
+    private void ensureNights(RoomType roomType, LocalDate from, LocalDate to, long numberOfNights) {
+        Set<LocalDate> existing = new HashSet<>(inventoryRepository.findStayDates(roomType, from, to));
+        if (existing.size() == numberOfNights) {
+            return;
+        }
+
+        long hotelId = TenantContext.requireHotelId();
+        int totalRooms = Math.toIntExact(roomRepository.countByRoomType(roomType));
+        for (LocalDate night = from; night.isBefore(to); night = night.plusDays(1)) {
+            if (!existing.contains(night)) {
+                int soldRooms = Math.toIntExact(
+                        reservationRepository.countActiveReservationsForNight(roomType, night));
+                inventoryRepository.insertIfAbsent(hotelId, roomType.name(), night, totalRooms, soldRooms);
+            }
+        }
+    }
+
+    /**
+     * Estadía de un tipo de habitación que consume inventario.
+     *
+     * @param roomType tipo de habitación
+     * @param checkInDate fecha de entrada
+     * @param checkOutDate fecha de salida (exclusive)
+     */
+    public record Stay(RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.RoomRestriction;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Restricciones de venta de un tipo de habitación en arreglos densos de bytes: una posición por noche
+ * desde {@code origin} con la estadía mínima, la estadía máxima (0 si la noche no la limita) y los
+ * cierres a llegadas y salidas como bits. Es inmutable, así que se comparte entre hilos sin
+ * sincronización y una estadía se evalúa recorriendo sus noches una sola vez, sin consultas.
+ */
+public final class StayRestrictions {
+
+    static final StayRestrictions NONE = new StayRestrictions(null, new byte[0], new byte[0], new byte[0]);
+
+    private static final byte CLOSED_TO_ARRIVAL = 1;
+    private static final byte CLOSED_TO_DEPARTURE = 2;
+
+    private final LocalDate origin;
+    private final byte[] minStay;
+    private final byte[] maxStay;
+    private final byte[] closed;
+
+    private StayRestrictions(LocalDate origin, byte[] minStay, byte[] maxStay, byte[] closed) {
+        this.origin = origin;
+        this.minStay = minStay;
+        this.maxStay = maxStay;
+        this.closed = closed;
+    }
+
+    /**
+     * Construye los arreglos a partir de las restricciones de un tipo ordenadas por noche.
+     */
+    static StayRestrictions of(List<RoomRestriction> restrictions) {
+        if (restrictions.isEmpty()) {
+            return NONE;
+        }
+        LocalDate origin = restrictions.get(0).getStayDate();
+        int length = Math.toIntExact(ChronoUnit.DAYS.between(
+                origin, restrictions.get(restrictions.size() - 1).getStayDate()) + 1);
+        byte[] minStay = new byte[length];
+        byte[] maxStay = new byte[length];
+        byte[] closed = new byte[length];
+        for (RoomRestriction restriction : restrictions) {
+            int index = (int) ChronoUnit.DAYS.between(origin, restriction.getStayDate());
+            // Ambas duraciones están acotadas a 30 noches, así que caben en un byte
+            minStay[index] = restriction.getMinStay() == null ? 0 : restriction.getMinStay().byteValue();
+            maxStay[index] = restriction.getMaxStay() == null ? 0 : restriction.getMaxStay().byteValue();
+            closed[index] = (byte) ((restriction.isClosedToArrival() ? CLOSED_TO_ARRIVAL : 0)
+                    | (restriction.isClosedToDeparture() ? CLOSED_TO_DEPARTURE : 0));
+        }
+        return new StayRestrictions(origin, minStay, maxStay, closed);
+    }
+
+    /**
+     * Indica si la estadía [checkIn, checkOut) cumple todas las restricciones.
+     */
+    public boolean allows(LocalDate checkIn, LocalDate checkOut) {
+        return violation(checkIn, checkOut) == null;
+    }
+
+    /**
+     * Valida la estadía [checkIn, checkOut) contra las restricciones.
+     *
+     * @throws IllegalArgumentException con el motivo si alguna restricción la impide
+     */
+    public void check(LocalDate checkIn, LocalDate checkOut) {
+        String violation = violation(checkIn, checkOut);
+        if (violation != null) {
+            throw new IllegalArgumentException(violation);
+        }
+    }
+
+    /**
+     * Primera restricción que impide la estadía, o {@code null} si la cumple. Revisa el cierre a
+     * llegadas del día de entrada, el cierre a salidas del día de salida y la estadía mínima y
+     * máxima de cada noche ocupada.
+     */
+    String violation(LocalDate checkIn, LocalDate checkOut) {
+        if (origin == null) {
+            return null;
+        }
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        long start = ChronoUnit.DAYS.between(origin, checkIn);
+        if ((flags(start) & CLOSED_TO_ARRIVAL) != 0) {
+            return String.format("No se admiten llegadas el %s", checkIn);
+        }
+        if ((flags(start + nights) & CLOSED_TO_DEPARTURE) != 0) {
+            return String.format("No se admiten salidas el %s", checkOut);
+        }
+
+        long from = Math.max(0, start);
+        long to = Math.min(closed.length, start + nights);
+        for (long index = from; index < to; index++) {
+            int min = minStay[(int) index];
+            int max = maxStay[(int) index];
+            if (nights < min) {
+                return String.format("La estadía mínima para el %s es de %d noches", origin.plusDays(index), min);
+            }
+            if (max != 0 && nights > max) {
+                return String.format("La estadía máxima para el %s es de %d noches", origin.plusDays(index), max);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Estadía mínima de una noche, o 0 si no la limita.
+     */
+    int minStayOn(LocalDate night) {
+        int index = indexOf(night);
+        return index < 0 ? 0 : minStay[index];
+    }
+
+    /**
+     * Estadía máxima de una noche, o 0 si no la limita.
+     */
+    int maxStayOn(LocalDate night) {
+        int index = indexOf(night);
+        return index < 0 ? 0 : maxStay[index];
+    }
+
+    boolean closedToArrivalOn(LocalDate night) {
+        return (flags(indexOf(night)) & CLOSED_TO_ARRIVAL) != 0;
+    }
+
+    boolean closedToDepartureOn(LocalDate night) {
+        return (flags(indexOf(night)) & CLOSED_TO_DEPARTURE) != 0;
+    }
+
+    private int indexOf(LocalDate night) {
+        if (origin == null) {
+            return -1;
+        }
+        long index = ChronoUnit.DAYS.between(origin, night);
+        return index >= 0 && index < closed.length ? (int) index : -1;
+    }
+
+    private byte flags(long index) {
+        return index >= 0 && index < closed.length ? closed[(int) index] : 0;
+    }
+}
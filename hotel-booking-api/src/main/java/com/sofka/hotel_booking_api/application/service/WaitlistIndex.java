@@ -0,0 +1,183 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice en memoria de las solicitudes en lista de espera, por hotel, tipo de habitación y fecha de entrada.
+ *
+ * <p>Como ninguna estadía supera {@link ReservationService#MAX_NIGHTS} noches, las solicitudes
+ * que se solapan con un rango [from, to) tienen su entrada en [from - MAX_NIGHTS, to); basta
+ * recorrer ese subconjunto ordenado en lugar de toda la lista. El índice de cada hotel se
+ * reconstruye periódicamente desde su base de datos, que es la fuente de verdad, sin tocar
+ * el de los demás.</p>
+ *
+ * <p>Cada instancia tiene su propio índice: los cambios de las demás llegan por el bus de
+ * invalidación ({@code W<hotel>:...}, ver {@code CacheInvalidator}). Si el bus pudo perder mensajes,
+ * {@link #invalidateAll()} marca los índices ya construidos para reconstruirlos antes de usarlos.</p>
+ */
+@Component
+public class WaitlistIndex {
+
+    private static final Comparator<Entry> BY_CHECK_IN =
+            Comparator.comparing(Entry::checkInDate).thenComparing(Entry::id);
+
+    private static final Comparator<Entry> BY_PRIORITY =
+            Comparator.comparingInt(Entry::priority).reversed()
+                    .thenComparing(Entry::createdAt)
+                    .thenComparing(Entry::id);
+
+    private final ConcurrentMap<Long, Map<RoomType, NavigableSet<Entry>>> entriesByHotel = new ConcurrentHashMap<>();
+    /** Generación de índices: sube cada vez que el bus pudo perder cambios de otras instancias. */
+    private final AtomicLong generation = new AtomicLong();
+    /** Generación vigente cuando se empezó a leer la última reconstrucción de cada hotel. */
+    private final ConcurrentMap<Long, Long> rebuiltAt = new ConcurrentHashMap<>();
+
+    /**
+     * Datos mínimos de una solicitud para decidir si es candidata a promoción.
+     */
+    record Entry(Long id, LocalDate checkInDate, LocalDate checkOutDate, int priority,
+                 LocalDateTime createdAt) {
+
+        static Entry of(WaitlistEntry entry) {
+            return new Entry(entry.getId(), entry.getCheckInDate(), entry.getCheckOutDate(),
+                    entry.getPriority(), entry.getCreatedAt());
+        }
+    }
+
+    /**
+     * Busca las solicitudes del hotel y tipo cuya estadía se solapa con el rango liberado.
+     *
+     * @param hotelId hotel que liberó las noches
+     * @param roomType tipo de habitación
+     * @param from primera noche liberada
+     * @param to fecha de salida (exclusive)
+     * @return IDs de las solicitudes, por prioridad descendente y antigüedad
+     */
+    public List<Long> findOverlapping(long hotelId, RoomType roomType, LocalDate from, LocalDate to) {
+        Map<RoomType, NavigableSet<Entry>> entriesByType = entriesByHotel.get(hotelId);
+        if (entriesByType == null) {
+            return List.of();
+        }
+        NavigableSet<Entry> entries = entriesByType.get(roomType);
+        Entry lower = new Entry(Long.MIN_VALUE, from.minusDays(ReservationService.MAX_NIGHTS), null, 0, null);
+        Entry upper = new Entry(Long.MIN_VALUE, to, null, 0, null);
+
+        return entries.subSet(lower, true, upper, false).stream()
+                .filter(entry -> entry.checkOutDate().isAfter(from))
+                .sorted(BY_PRIORITY)
+                .map(Entry::id)
+                .toList();
+    }
+
+    /**
+     * Añade o actualiza una solicitud en espera.
+     */
+    public void add(WaitlistEntry entry) {
+        add(entry.getHotelId(), entry.getRoomType(), entry.getId(), entry.getCheckInDate(),
+                entry.getCheckOutDate(), entry.getPriority(), entry.getCreatedAt());
+    }
+
+    /**
+     * Añade o actualiza una solicitud en espera a partir de sus datos (cambios de otras instancias).
+     * Aplicarla dos veces no tiene efecto.
+     */
+    public void add(long hotelId, RoomType roomType, Long id, LocalDate checkInDate, LocalDate checkOutDate,
+                    int priority, LocalDateTime createdAt) {
+        NavigableSet<Entry> entries = entriesByHotel.computeIfAbsent(hotelId, hotel -> emptyIndex()).get(roomType);
+        Entry indexed = new Entry(id, checkInDate, checkOutDate, priority, createdAt);
+        // El orden solo depende de (entrada, id): se reemplaza para reflejar la nueva prioridad
+        entries.remove(indexed);
+        entries.add(indexed);
+    }
+
+    /**
+     * Retira una solicitud que dejó de estar en espera.
+     */
+    public void remove(WaitlistEntry entry) {
+        remove(entry.getHotelId(), entry.getRoomType(), entry.getId(), entry.getCheckInDate());
+    }
+
+    /**
+     * Retira una solicitud a partir de su clave en el índice (cambios de otras instancias).
+     */
+    public void remove(long hotelId, RoomType roomType, Long id, LocalDate checkInDate) {
+        Map<RoomType, NavigableSet<Entry>> entriesByType = entriesByHotel.get(hotelId);
+        if (entriesByType != null) {
+            entriesByType.get(roomType).remove(new Entry(id, checkInDate, null, 0, null));
+        }
+    }
+
+    /**
+     * Reemplaza el contenido del índice de un hotel por sus solicitudes en espera.
+     * El índice de los demás hoteles no cambia.
+     *
+     * @param hotelId hotel reconstruido
+     * @param waitingEntries todas las solicitudes del hotel en estado WAITING
+     * @param generation {@link #generation()} leída antes de consultar las solicitudes
+     */
+    public void replaceAll(long hotelId, Collection<WaitlistEntry> waitingEntries, long generation) {
+        Map<RoomType, NavigableSet<Entry>> rebuilt = emptyIndex();
+        for (WaitlistEntry entry : waitingEntries) {
+            rebuilt.get(entry.getRoomType()).add(Entry.of(entry));
+        }
+        entriesByHotel.put(hotelId, rebuilt);
+        rebuiltAt.merge(hotelId, generation, Math::max);
+    }
+
+    /**
+     * @return la generación actual; se lee antes de consultar la base de datos para reconstruir un hotel
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Marca todos los índices construidos como desactualizados: el bus de invalidación pudo
+     * perder cambios de otras instancias (reconexión o mensaje no reconocido).
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Indica si el índice del hotel se construyó antes de la última {@link #invalidateAll()}
+     * y debe reconstruirse desde la base de datos antes de usarlo.
+     */
+    public boolean isStale(long hotelId) {
+        Long rebuilt = rebuiltAt.get(hotelId);
+        return rebuilt != null && rebuilt < generation.get();
+    }
+
+    /**
+     * Número de solicitudes indexadas.
+     */
+    public int size() {
+        return entriesByHotel.values().stream()
+                .flatMap(entriesByType -> entriesByType.values().stream())
+                .mapToInt(NavigableSet::size)
+                .sum();
+    }
+
+    private static Map<RoomType, NavigableSet<Entry>> emptyIndex() {
+        Map<RoomType, NavigableSet<Entry>> index = new EnumMap<>(RoomType.class);
+        for (RoomType roomType : RoomType.values()) {
+            index.put(roomType, new ConcurrentSkipListSet<>(BY_CHECK_IN));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.event.NightsReleasedEvent;
+import com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException;
+import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
+import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Promueve la lista de espera cuando se liberan noches de inventario.
+ *
+ * <p>Se ejecuta de forma asíncrona tras confirmarse la transacción que liberó las noches,
+ * de modo que la cancelación o expiración no espera a la promoción. Solo se consideran las
+ * solicitudes del hotel que liberó las noches, y se promueven con ese hotel. Cada candidata se
+ * promueve en su propia transacción; si sigue sin haber disponibilidad, o la promoción falla por
+ * cualquier otro motivo, queda en espera y se continúa con la siguiente.</p>
+ */
+@Component
+public class WaitlistPromoter {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistPromoter.class);
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistPromoter(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    /**
+     * Intenta convertir en reserva las solicitudes que se solapan con las noches liberadas,
+     * en orden de prioridad.
+     *
+     * @param event noches liberadas
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNightsReleased(NightsReleasedEvent event) {
+        TenantContext.runAs(event.hotelId(), () -> promoteCandidates(event));
+    }
+
+    private void promoteCandidates(NightsReleasedEvent event) {
+        List<Long> candidates = waitlistService.findPromotionCandidates(
+                event.hotelId(), event.roomType(), event.from(), event.to());
+        for (Long entryId : candidates) {
+            try {
+                ReservationResponse reservation = waitlistService.promote(entryId);
+                if (reservation != null) {
+                    log.info("Solicitud en espera {} promovida a la reserva {}",
+                            entryId, reservation.reservationNumber());
+                }
+            } catch (IllegalStateException | IllegalArgumentException
+                     | InvalidDateRangeException | RoomNotFoundException ex) {
+                // Sin disponibilidad u obsoleta: sigue en espera hasta la próxima liberación
+                log.debug("No se pudo promover la solicitud en espera {}: {}", entryId, ex.getMessage());
+            } catch (RuntimeException ex) {
+                // Bloqueo agotado, error de base de datos...: sigue en espera y se prueba la siguiente
+                log.warn("Falló la promoción de la solicitud en espera {}: {}", entryId, ex.getMessage());
+            }
+        }
+    }
+}
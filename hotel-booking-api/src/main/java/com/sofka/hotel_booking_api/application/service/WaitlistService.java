@@ -0,0 +1,285 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
+import com.sofka.hotel_booking_api.domain.exception.WaitlistEntryNotFoundException;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import com.sofka.hotel_booking_api.domain.model.WaitlistStatus;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.domain.repository.WaitlistEntryRepository;
+import com.sofka.hotel_booking_api.infrastructure.cache.CacheInvalidationBus;
+import com.sofka.hotel_booking_api.infrastructure.cache.CacheInvalidator;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomTypeReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.WaitlistEntryResponse;
+import com.sofka.hotel_booking_api.infrastructure.scheduling.RunOnEveryNode;
+import com.sofka.hotel_booking_api.infrastructure.tenant.HotelDirectory;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Servicio de lista de espera para solicitudes rechazadas por falta de disponibilidad.
+ *
+ * <p>Las solicitudes se guardan en base de datos y se indexan en memoria por hotel, tipo de
+ * habitación y fechas ({@link WaitlistIndex}). Cuando se liberan noches, la promoción
+ * reintenta crear la reserva original en orden de prioridad. Cada alta, cambio de prioridad o
+ * baja confirmada se aplica al índice local y se publica en {@link CacheInvalidationBus} para
+ * que las demás instancias la vean sin esperar a la reconstrucción periódica.</p>
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final RoomRepository roomRepository;
+    private final ReservationService reservationService;
+    private final WaitlistIndex waitlistIndex;
+    private final HotelDirectory hotelDirectory;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository,
+                           RoomRepository roomRepository,
+                           ReservationService reservationService,
+                           WaitlistIndex waitlistIndex,
+                           HotelDirectory hotelDirectory,
+                           CacheInvalidationBus cacheInvalidationBus,
+                           PlatformTransactionManager transactionManager) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.roomRepository = roomRepository;
+        this.reservationService = reservationService;
+        this.waitlistIndex = waitlistIndex;
+        this.hotelDirectory = hotelDirectory;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Registra en lista de espera una solicitud de reserva de habitación concreta.
+     * Si el huésped ya espera la misma habitación y fechas, devuelve la solicitud existente.
+     *
+     * @param request solicitud rechazada
+     * @return la solicitud en espera
+     * @throws RoomNotFoundException si la habitación no existe
+     */
+    @Transactional
+    public WaitlistEntryResponse enqueue(CreateReservationRequest request) {
+        RoomType roomType = roomRepository.findRoomTypeById(request.roomId())
+                .orElseThrow(() -> new RoomNotFoundException(request.roomId()));
+        return enqueue(roomType, request.roomId(), request.checkInDate(), request.checkOutDate(),
+                request.numberOfGuests(), request.guest());
+    }
+
+    /**
+     * Registra en lista de espera una solicitud de reserva por tipo de habitación.
+     * Si el huésped ya espera el mismo tipo y fechas, devuelve la solicitud existente.
+     *
+     * @param request solicitud rechazada
+     * @return la solicitud en espera
+     */
+    @Transactional
+    public WaitlistEntryResponse enqueue(CreateRoomTypeReservationRequest request) {
+        return enqueue(request.roomType(), null, request.checkInDate(), request.checkOutDate(),
+                request.numberOfGuests(), request.guest());
+    }
+
+    private WaitlistEntryResponse enqueue(RoomType roomType, Long roomId, LocalDate checkInDate,
+                                          LocalDate checkOutDate, Integer numberOfGuests,
+                                          CreateGuestRequest guest) {
+        WaitlistEntry entry = waitlistEntryRepository
+                .findWaitingDuplicate(guest.documentNumber(), roomType, roomId, checkInDate, checkOutDate)
+                .orElseGet(() -> {
+                    WaitlistEntry saved = waitlistEntryRepository.save(new WaitlistEntry(
+                            roomType, roomId, checkInDate, checkOutDate, numberOfGuests,
+                            guest.firstName(), guest.lastName(), guest.documentNumber(),
+                            guest.email(), guest.phone()));
+                    afterCommit(() -> indexed(saved));
+                    return saved;
+                });
+        return WaitlistEntryResponse.fromEntity(entry);
+    }
+
+    /**
+     * Obtiene las solicitudes en espera, opcionalmente filtradas por tipo de habitación.
+     *
+     * @param roomType tipo de habitación (opcional)
+     * @return solicitudes por prioridad descendente y antigüedad
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryResponse> getWaitingEntries(RoomType roomType) {
+        List<WaitlistEntry> entries = roomType == null
+                ? waitlistEntryRepository.findByStatusOrderByPriorityDescCreatedAtAsc(WaitlistStatus.WAITING)
+                : waitlistEntryRepository.findByStatusAndRoomTypeOrderByPriorityDescCreatedAtAsc(
+                        WaitlistStatus.WAITING, roomType);
+        return entries.stream().map(WaitlistEntryResponse::fromEntity).toList();
+    }
+
+    /**
+     * Cambia la prioridad de una solicitud en espera.
+     *
+     * @param entryId ID de la solicitud
+     * @param priority nueva prioridad (mayor se promueve antes)
+     * @return la solicitud actualizada
+     * @throws WaitlistEntryNotFoundException si la solicitud no existe
+     * @throws IllegalStateException si la solicitud ya no está en espera
+     */
+    @Transactional
+    public WaitlistEntryResponse updatePriority(Long entryId, int priority) {
+        WaitlistEntry entry = findEntry(entryId);
+        if (!entry.isWaiting()) {
+            throw new IllegalStateException("Solo se puede cambiar la prioridad de solicitudes en espera");
+        }
+        entry.setPriority(priority);
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+        afterCommit(() -> indexed(saved));
+        return WaitlistEntryResponse.fromEntity(saved);
+    }
+
+    /**
+     * Retira una solicitud de la lista de espera.
+     *
+     * @param entryId ID de la solicitud
+     * @throws WaitlistEntryNotFoundException si la solicitud no existe
+     * @throws IllegalStateException si la solicitud ya no está en espera
+     */
+    @Transactional
+    public void cancelEntry(Long entryId) {
+        WaitlistEntry entry = findEntry(entryId);
+        entry.cancel();
+        waitlistEntryRepository.save(entry);
+        afterCommit(() -> indexed(entry));
+    }
+
+    /**
+     * Candidatas a ocupar las noches liberadas, en orden de promoción. Si el índice del hotel
+     * pudo perder cambios de otras instancias, se reconstruye antes desde la base de datos.
+     *
+     * @param hotelId hotel que liberó las noches
+     * @param roomType tipo de habitación liberado
+     * @param from primera noche liberada
+     * @param to fecha de salida (exclusive)
+     * @return IDs de las solicitudes en espera que se solapan con el rango
+     */
+    public List<Long> findPromotionCandidates(long hotelId, RoomType roomType, LocalDate from, LocalDate to) {
+        if (waitlistIndex.isStale(hotelId)) {
+            TenantContext.runAs(hotelId, () -> transactionTemplate.executeWithoutResult(
+                    status -> refreshIndex(hotelId)));
+        }
+        return waitlistIndex.findOverlapping(hotelId, roomType, from, to);
+    }
+
+    /**
+     * Intenta convertir una solicitud en espera en reserva.
+     * Si no hay disponibilidad se propaga la excepción y la transacción se revierte;
+     * la solicitud sigue en espera.
+     *
+     * @param entryId ID de la solicitud
+     * @return la reserva creada, o null si la solicitud ya no estaba en espera
+     * @throws com.sofka.hotel_booking_api.domain.exception.RoomNotAvailableException si sigue sin haber disponibilidad
+     */
+    @Transactional
+    public ReservationResponse promote(Long entryId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId).orElse(null);
+        if (entry == null || !entry.isWaiting()) {
+            if (entry != null) {
+                waitlistIndex.remove(entry);
+            }
+            return null;
+        }
+
+        CreateGuestRequest guest = new CreateGuestRequest(entry.getFirstName(), entry.getLastName(),
+                entry.getDocumentNumber(), entry.getEmail(), entry.getPhone());
+        ReservationResponse reservation = entry.getRoomId() != null
+                ? reservationService.createReservation(new CreateReservationRequest(guest, entry.getRoomId(),
+                        entry.getCheckInDate(), entry.getCheckOutDate(), entry.getNumberOfGuests()))
+                : reservationService.createRoomTypeReservation(new CreateRoomTypeReservationRequest(guest,
+                        entry.getRoomType(), entry.getCheckInDate(), entry.getCheckOutDate(),
+                        entry.getNumberOfGuests()));
+
+        entry.promote(reservation.reservationNumber());
+        waitlistEntryRepository.save(entry);
+        afterCommit(() -> indexed(entry));
+        return reservation;
+    }
+
+    /**
+     * Expira las solicitudes cuya fecha de entrada ya pasó y reconstruye el índice
+     * desde la base de datos. Se ejecuta al arrancar y después según
+     * {@code hotel.waitlist.index-refresh}. El índice está en memoria, así que se ejecuta en
+     * todas las instancias; expirar las solicitudes dos veces no tiene efecto.
+     *
+     * <p>Cada hotel ({@link HotelDirectory}) se lee con su propio contexto y transacción, de modo
+     * que los hoteles alojados en otra base de datos también se indexan, y un hotel que falla
+     * conserva su índice anterior sin impedir que se reconstruyan los demás.</p>
+     */
+    @Scheduled(fixedDelayString = "${hotel.waitlist.index-refresh:PT5M}")
+    @RunOnEveryNode
+    public void refreshIndex() {
+        for (long hotelId : hotelDirectory.hotelIds()) {
+            try {
+                TenantContext.runAs(hotelId, () -> transactionTemplate.executeWithoutResult(
+                        status -> refreshIndex(hotelId)));
+            } catch (RuntimeException e) {
+                log.warn("No se pudo reconstruir la lista de espera del hotel {}: {}", hotelId, e.getMessage());
+            }
+        }
+    }
+
+    private void refreshIndex(long hotelId) {
+        long generation = waitlistIndex.generation();
+        int expired = waitlistEntryRepository.expireStale(LocalDate.now());
+        if (expired > 0) {
+            log.info("Solicitudes en lista de espera expiradas en el hotel {}: {}", hotelId, expired);
+        }
+        waitlistIndex.replaceAll(hotelId,
+                waitlistEntryRepository.findByStatusOrderByPriorityDescCreatedAtAsc(WaitlistStatus.WAITING), generation);
+    }
+
+    private WaitlistEntry findEntry(Long entryId) {
+        return waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new WaitlistEntryNotFoundException(entryId));
+    }
+
+    /**
+     * Aplica una solicitud confirmada al índice local y la publica para las demás instancias:
+     * si sigue en espera se añade o actualiza, si no se retira.
+     */
+    private void indexed(WaitlistEntry entry) {
+        if (entry.isWaiting()) {
+            waitlistIndex.add(entry);
+        } else {
+            waitlistIndex.remove(entry);
+        }
+        cacheInvalidationBus.broadcast(List.of(CacheInvalidator.waitlist(entry)));
+    }
+
+    /**
+     * Aplica el cambio al índice solo si la transacción se confirma.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
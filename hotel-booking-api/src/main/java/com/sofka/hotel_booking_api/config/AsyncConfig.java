@@ -0,0 +1,17 @@
+package com.sofka.hotel_booking_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Habilita la ejecución asíncrona ({@code @Async}) con el ejecutor de tareas de Spring Boot,
+ * configurable mediante {@code spring.task.execution.*}.
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
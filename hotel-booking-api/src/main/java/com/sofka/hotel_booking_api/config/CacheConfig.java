@@ -0,0 +1,54 @@
+package com.sofka.hotel_booking_api.config;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.cache.AvailabilityKey;
+import com.sofka.hotel_booking_api.infrastructure.cache.CacheNames;
+import com.sofka.hotel_booking_api.infrastructure.cache.TenantKey;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+
+/**
+ * Habilita las cachés de lectura ({@code spring.cache.*}) y define sus claves.
+ * Las claves se generan en Java y no con SpEL para que funcionen igual en la imagen nativa.
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Clave con las fechas consultadas, para invalidar solo las consultas solapadas con una reserva.
+     */
+    @Bean(CacheNames.AVAILABILITY_KEY_GENERATOR)
+    public KeyGenerator availabilityKeyGenerator() {
+        return (target, method, params) ->
+                new AvailabilityKey(TenantContext.currentHotelId(),
+                        (LocalDate) params[0], (LocalDate) params[1], (RoomType) params[2]);
+    }
+
+    /**
+     * Las reservas del día se guardan por hotel y fecha, así que cambian solas a medianoche.
+     */
+    @Bean(CacheNames.TODAY_KEY_GENERATOR)
+    public KeyGenerator todayKeyGenerator() {
+        return (target, method, params) -> new TenantKey(TenantContext.currentHotelId(), LocalDate.now());
+    }
+
+    /**
+     * Clave por defecto de Spring (ID o {@code SimpleKey.EMPTY}) dentro del hotel actual.
+     */
+    @Bean(CacheNames.TENANT_KEY_GENERATOR)
+    public KeyGenerator tenantKeyGenerator() {
+        return (target, method, params) ->
+                new TenantKey(TenantContext.currentHotelId(), SimpleKeyGenerator.generateKey(params));
+    }
+}
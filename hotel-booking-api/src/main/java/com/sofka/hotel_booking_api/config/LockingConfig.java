@@ -0,0 +1,62 @@
+package com.sofka.hotel_booking_api.config;
+
+import com.sofka.hotel_booking_api.application.lock.RoomLock;
+import com.sofka.hotel_booking_api.application.lock.StatsLock;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.lock.AdvisoryRoomLock;
+import com.sofka.hotel_booking_api.infrastructure.lock.AdvisoryStatsLock;
+import com.sofka.hotel_booking_api.infrastructure.lock.LocalRoomLock;
+import com.sofka.hotel_booking_api.infrastructure.lock.LocalStatsLock;
+import com.sofka.hotel_booking_api.infrastructure.lock.MeteredRoomLock;
+import com.sofka.hotel_booking_api.infrastructure.lock.RowRoomLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Elige la implementación de {@link RoomLock} según {@code hotel.locking.mode}:
+ * <ul>
+ *   <li>{@code advisory}: bloqueos consultivos de PostgreSQL, para varias instancias (por defecto)</li>
+ *   <li>{@code local}: bloqueos en memoria, solo para una instancia</li>
+ *   <li>{@code row}: bloqueo de la fila de la habitación, para bases de datos sin bloqueos consultivos</li>
+ * </ul>
+ *
+ * <p>El mismo modo elige el {@link StatsLock} de las estadísticas de ocupación: consultivo con
+ * {@code advisory} y en memoria en los demás modos.</p>
+ *
+ * <p>El modo se resuelve al crear el bean y no con condiciones, porque con Spring AOT
+ * las condiciones se evalúan al compilar.</p>
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Configuration
+public class LockingConfig {
+
+    @Bean
+    public RoomLock roomLock(@Value("${hotel.locking.mode:advisory}") String mode,
+                             @Value("${hotel.locking.timeout:PT2S}") Duration timeout,
+                             @Value("${hotel.locking.date-bucket-days:7}") int bucketDays,
+                             JdbcTemplate jdbcTemplate,
+                             RoomRepository roomRepository,
+                             MeterRegistry meterRegistry) {
+        RoomLock roomLock = switch (mode) {
+            case "advisory" -> new AdvisoryRoomLock(jdbcTemplate, bucketDays, timeout);
+            case "local" -> new LocalRoomLock(bucketDays, timeout);
+            case "row" -> new RowRoomLock(roomRepository);
+            default -> throw new IllegalArgumentException(
+                    "hotel.locking.mode debe ser advisory, local o row: " + mode);
+        };
+        return new MeteredRoomLock(roomLock, mode, meterRegistry);
+    }
+
+    @Bean
+    public StatsLock statsLock(@Value("${hotel.locking.mode:advisory}") String mode, JdbcTemplate jdbcTemplate) {
+        return "advisory".equals(mode) ? new AdvisoryStatsLock(jdbcTemplate) : new LocalStatsLock();
+    }
+}
@@ -0,0 +1,100 @@
+package com.sofka.hotel_booking_api.config;
+
+import com.sofka.hotel_booking_api.domain.model.DailyRoomTypeStats;
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.IdempotencyRecord;
+import com.sofka.hotel_booking_api.domain.model.LeaderLease;
+import com.sofka.hotel_booking_api.domain.model.MoneyConverter;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomRate;
+import com.sofka.hotel_booking_api.domain.model.RoomRestriction;
+import com.sofka.hotel_booking_api.domain.model.RoomTypeInventory;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import com.sofka.hotel_booking_api.infrastructure.dto.CancelReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.ConfirmPaymentRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGroupReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomTypeReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.PriceQuoteRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.SetRoomRateRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.SetRoomRestrictionRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.SpanResponse;
+import com.sofka.hotel_booking_api.infrastructure.exception.GlobalExceptionHandler;
+import com.sofka.hotel_booking_api.infrastructure.tenant.HotelTenantResolver;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantShard;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Metadatos de alcanzabilidad para la imagen nativa de GraalVM que Spring AOT no puede deducir.
+ *
+ * <p>Spring AOT ya registra los repositorios, los beans y los tipos de entrada y salida de los
+ * controladores. Aquí se añade lo que se usa por reflexión desde fuera de Spring:</p>
+ * <ul>
+ *   <li>Las clases que Hibernate instancia por nombre desde {@code application.yaml}
+ *       (resolver del hotel).</li>
+ *   <li>Las entidades JPA, cuyos campos y constructores usa Hibernate.</li>
+ *   <li>Los DTO de entrada con anotaciones de validación, que Hibernate Validator lee por reflexión.</li>
+ *   <li>Los records que Jackson serializa fuera de los controladores (spans en fichero, errores)
+ *       y los shards de {@code hotel.tenancy.shards}, que se enlazan con {@code Binder}.</li>
+ * </ul>
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.HotelRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static final List<Class<?>> ENTITIES = List.of(
+            Room.class, Guest.class, Reservation.class,
+            WaitlistEntry.class, RoomTypeInventory.class, IdempotencyRecord.class, LeaderLease.class,
+            RoomRate.class, RoomRestriction.class, DailyRoomTypeStats.class);
+
+    static final List<Class<?>> VALIDATED_REQUESTS = List.of(
+            CreateRoomRequest.class, CreateGuestRequest.class, CreateReservationRequest.class,
+            CreateRoomTypeReservationRequest.class, CreateGroupReservationRequest.class,
+            ConfirmPaymentRequest.class, CancelReservationRequest.class,
+            SetRoomRateRequest.class, PriceQuoteRequest.class, PriceQuoteRequest.Stay.class,
+            SetRoomRestrictionRequest.class);
+
+    static class HotelRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection()
+                    .registerType(HotelTenantResolver.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                    .registerType(MoneyConverter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                    .registerType(StaySnapshot.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            for (Class<?> entity : ENTITIES) {
+                hints.reflection().registerType(entity,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+            for (Class<?> request : VALIDATED_REQUESTS) {
+                hints.reflection().registerType(request,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            bindings.registerReflectionHints(hints.reflection(),
+                    SpanResponse.class, GlobalExceptionHandler.ErrorResponse.class,
+                    GlobalExceptionHandler.ValidationErrorResponse.class, TenantShard.class);
+        }
+    }
+}
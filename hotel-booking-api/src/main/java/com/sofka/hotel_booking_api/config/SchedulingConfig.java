@@ -0,0 +1,54 @@
+package com.sofka.hotel_booking_api.config;
+
+import com.sofka.hotel_booking_api.infrastructure.scheduling.LeaderAwareTaskScheduler;
+import com.sofka.hotel_booking_api.infrastructure.scheduling.LeaderElector;
+import com.sofka.hotel_booking_api.infrastructure.tenant.HotelDirectory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Habilita la ejecución de tareas programadas ({@code @Scheduled}) de la aplicación.
+ *
+ * <p>Las tareas se planifican con el {@link TaskScheduler} de Spring Boot
+ * ({@code spring.task.scheduling.*}) envuelto en {@link LeaderAwareTaskScheduler}: con varias
+ * instancias solo las ejecuta la líder, salvo las marcadas con
+ * {@link com.sofka.hotel_booking_api.infrastructure.scheduling.RunOnEveryNode}, y una vez por hotel.</p>
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final TaskScheduler taskScheduler;
+    private final LeaderElector leaderElector;
+    private final TransactionTemplate transactionTemplate;
+    private final HotelDirectory hotelDirectory;
+    private final MeterRegistry meterRegistry;
+
+    public SchedulingConfig(TaskScheduler taskScheduler,
+                            LeaderElector leaderElector,
+                            TransactionTemplate transactionTemplate,
+                            HotelDirectory hotelDirectory,
+                            MeterRegistry meterRegistry) {
+        this.taskScheduler = taskScheduler;
+        this.leaderElector = leaderElector;
+        this.transactionTemplate = transactionTemplate;
+        this.hotelDirectory = hotelDirectory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(
+                new LeaderAwareTaskScheduler(taskScheduler, leaderElector, transactionTemplate, hotelDirectory,
+                        meterRegistry));
+    }
+}
@@ -0,0 +1,36 @@
+package com.sofka.hotel_booking_api.config;
+
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantRoutingDataSourcePostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Multi-hotel: cada petición trabaja sobre el hotel de la cabecera {@code X-Hotel-Id}.
+ *
+ * <p>Hibernate filtra las entidades por {@code hotel_id} con el resolver configurado en
+ * {@code application.yaml}; aquí se propaga el hotel a las tareas {@code @Async} y, si hay shards
+ * en {@code hotel.tenancy.shards}, se enruta cada hotel a su base de datos o esquema.</p>
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Configuration
+public class TenancyConfig {
+
+    /**
+     * Spring Boot aplica este decorador al ejecutor de {@code @Async}.
+     */
+    @Bean
+    public TaskDecorator tenantTaskDecorator() {
+        return TenantContext::propagate;
+    }
+
+    @Bean
+    public static TenantRoutingDataSourcePostProcessor tenantRoutingDataSourcePostProcessor(Environment environment) {
+        return new TenantRoutingDataSourcePostProcessor(environment);
+    }
+}
@@ -0,0 +1,35 @@
+package com.sofka.hotel_booking_api.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Ajustes de las trazas de OpenTelemetry.
+ *
+ * <p>Las observaciones de servicios y repositorios ({@code hotel.trace.*}) solo se usan para
+ * generar spans: sus tiempos ya se publican como {@code hotel.service.duration} y
+ * {@code hotel.repository.duration}, por lo que se descartan sus métricas. Las peticiones a
+ * Actuator (por ejemplo, el scrape de Prometheus) no se observan para no llenar el buffer de
+ * trazas.</p>
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public MeterFilter tracingObservationMeterFilter() {
+        return MeterFilter.denyNameStartsWith("hotel.trace");
+    }
+
+    @Bean
+    public ObservationPredicate actuatorObservationPredicate() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext request
+                && request.getCarrier().getRequestURI().startsWith("/actuator"));
+    }
+}
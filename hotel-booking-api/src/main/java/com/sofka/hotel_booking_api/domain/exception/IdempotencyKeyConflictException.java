@@ -0,0 +1,22 @@
+package com.sofka.hotel_booking_api.domain.exception;
+
+/**
+ * Excepción lanzada cuando se reutiliza una cabecera Idempotency-Key con
+ * una petición distinta a la que se registró originalmente.
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción con la clave reutilizada.
+     *
+     * @param idempotencyKey la clave enviada por el cliente
+     */
+    public IdempotencyKeyConflictException(String idempotencyKey) {
+        super(String.format(
+                "La clave de idempotencia '%s' ya fue usada con una petición diferente", idempotencyKey));
+    }
+}
@@ -0,0 +1,24 @@
+package com.sofka.hotel_booking_api.domain.exception;
+
+/**
+ * Excepción lanzada cuando otra petición con la misma cabecera Idempotency-Key
+ * sigue en curso y no terminó dentro del tiempo de espera, o reclamó la clave
+ * mientras esta petición se ejecutaba.
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción con la clave en curso.
+     *
+     * @param idempotencyKey la clave enviada por el cliente
+     */
+    public IdempotencyKeyInProgressException(String idempotencyKey) {
+        super(String.format(
+                "Otra petición con la clave de idempotencia '%s' sigue en curso; reintente más tarde",
+                idempotencyKey));
+    }
+}
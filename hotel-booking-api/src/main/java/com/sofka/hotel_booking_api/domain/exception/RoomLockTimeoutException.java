@@ -0,0 +1,29 @@
+package com.sofka.hotel_booking_api.domain.exception;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Excepción lanzada cuando otra operación mantiene bloqueada una habitación durante más
+ * tiempo del permitido ({@code hotel.locking.timeout}).
+ *
+ * <p>No indica falta de disponibilidad: la operación puede reintentarse.</p>
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class RoomLockTimeoutException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción con las habitaciones que no se pudieron bloquear.
+     *
+     * @param roomIds habitaciones solicitadas
+     * @param timeout tiempo máximo de espera
+     */
+    public RoomLockTimeoutException(Collection<Long> roomIds, Duration timeout) {
+        super(String.format(
+                "Las habitaciones %s están siendo modificadas por otra operación y no se obtuvo el bloqueo en %d ms; reintente la operación",
+                roomIds, timeout.toMillis()));
+    }
+}
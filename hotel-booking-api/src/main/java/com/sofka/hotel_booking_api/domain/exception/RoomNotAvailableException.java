@@ -0,0 +1,24 @@
+package com.sofka.hotel_booking_api.domain.exception;
+
+/**
+ * Excepción lanzada cuando no hay habitación disponible para las fechas solicitadas,
+ * ya sea una habitación concreta o el inventario de un tipo de habitación.
+ *
+ * <p>Extiende {@link IllegalStateException} para conservar la respuesta 400 existente;
+ * el controlador la usa para registrar la solicitud en la lista de espera.</p>
+ *
+ * @author Sistema Hotel Booking
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class RoomNotAvailableException extends IllegalStateException {
+
+    /**
+     * Crea una nueva excepción con el mensaje descriptivo.
+     *
+     * @param message el motivo por el que no hay disponibilidad
+     */
+    public RoomNotAvailableException(String message) {
+        super(message);
+    }
+}
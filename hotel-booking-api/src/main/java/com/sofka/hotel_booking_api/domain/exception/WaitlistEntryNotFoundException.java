@@ -0,0 +1,11 @@
+package com.sofka.hotel_booking_api.domain.exception;
+
+/**
+ * Excepción lanzada cuando no se encuentra una solicitud en la lista de espera.
+ */
+public class WaitlistEntryNotFoundException extends RuntimeException {
+
+    public WaitlistEntryNotFoundException(Long id) {
+        super(String.format("No se encontró la solicitud en lista de espera con ID: %d", id));
+    }
+}
@@ -0,0 +1,141 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Agregado diario de ocupación e ingresos de un tipo de habitación.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ *
+ * <p>Cada fila acumula, para un día: las noches vendidas (reservas vigentes o completadas que
+ * ocupan esa noche) y su ingreso, las llegadas y salidas de esas reservas y las cancelaciones de
+ * reservas que llegaban ese día. Se mantiene por incrementos al cambiar el estado de las reservas
+ * y se puede reconstruir desde la tabla de reservas, así que los informes de un rango leen una
+ * fila por día y tipo.</p>
+ */
+@Entity
+@Table(name = "daily_room_type_stats",
+       uniqueConstraints = @UniqueConstraint(
+               name = "uk_daily_room_type_stats_hotel_type_date", columnNames = {"hotel_id", "room_type", "stay_date"}),
+       indexes = @Index(name = "idx_daily_room_type_stats_hotel_date", columnList = "hotel_id, stay_date"))
+public class DailyRoomTypeStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hotel (tenant): lo asigna Hibernate al insertar y filtra todas las consultas por él
+    @TenantId
+    @ColumnDefault("1")
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false, length = 20)
+    private RoomType roomType;
+
+    @NotNull
+    @Column(name = "stay_date", nullable = false)
+    private LocalDate stayDate;
+
+    @Column(name = "room_nights", nullable = false)
+    private int roomNights;
+
+    @NotNull
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "revenue", nullable = false, precision = 12, scale = 2)
+    private Money revenue;
+
+    @Column(name = "arrivals", nullable = false)
+    private int arrivals;
+
+    @Column(name = "departures", nullable = false)
+    private int departures;
+
+    @Column(name = "cancellations", nullable = false)
+    private int cancellations;
+
+    // Constructor vacío requerido por JPA
+    protected DailyRoomTypeStats() {
+    }
+
+    public DailyRoomTypeStats(RoomType roomType, LocalDate stayDate, int roomNights, Money revenue,
+                              int arrivals, int departures, int cancellations) {
+        this.roomType = roomType;
+        this.stayDate = stayDate;
+        this.roomNights = roomNights;
+        this.revenue = revenue;
+        this.arrivals = arrivals;
+        this.departures = departures;
+        this.cancellations = cancellations;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public LocalDate getStayDate() {
+        return stayDate;
+    }
+
+    public int getRoomNights() {
+        return roomNights;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    public int getArrivals() {
+        return arrivals;
+    }
+
+    public int getDepartures() {
+        return departures;
+    }
+
+    public int getCancellations() {
+        return cancellations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailyRoomTypeStats that = (DailyRoomTypeStats) o;
+        return roomType == that.roomType && Objects.equals(stayDate, that.stayDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(roomType, stayDate);
+    }
+
+    @Override
+    public String toString() {
+        return "DailyRoomTypeStats{" +
+                "roomType=" + roomType +
+                ", stayDate=" + stayDate +
+                ", roomNights=" + roomNights +
+                ", revenue=" + revenue +
+                ", arrivals=" + arrivals +
+                ", departures=" + departures +
+                ", cancellations=" + cancellations +
+                '}';
+    }
+}
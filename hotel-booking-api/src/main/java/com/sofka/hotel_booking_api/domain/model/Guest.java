@@ -2,6 +2,8 @@ package com.sofka.hotel_booking_api.domain.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -11,13 +13,21 @@ import java.util.Objects;
  * Según RN-007: Validaciones de Huésped
  */
 @Entity
-@Table(name = "guests")
+@Table(name = "guests",
+       uniqueConstraints = @UniqueConstraint(
+               name = "uk_guests_hotel_document_number", columnNames = {"hotel_id", "document_number"}))
 public class Guest {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Hotel (tenant): lo asigna Hibernate al insertar y filtra todas las consultas por él
+    @TenantId
+    @ColumnDefault("1")
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
     @NotNull(message = "El nombre es obligatorio")
     @Size(min = 2, max = 100, message = "El nombre debe tener entre 2 y 100 caracteres")
     @Column(name = "first_name", nullable = false, length = 100)
@@ -30,7 +40,7 @@ public class Guest {
 
     @NotNull(message = "El número de documento es obligatorio")
     @Size(min = 5, max = 50, message = "El documento debe tener entre 5 y 50 caracteres")
-    @Column(name = "document_number", nullable = false, unique = true, length = 50)
+    @Column(name = "document_number", nullable = false, length = 50)
     private String documentNumber;
 
     @NotNull(message = "El correo electrónico es obligatorio")
@@ -73,6 +83,10 @@ public class Guest {
         return id;
     }
 
+    public Long getHotelId() {
+        return hotelId;
+    }
+
     public String getFirstName() {
         return firstName;
     }
@@ -0,0 +1,137 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Registro persistido de una operación ejecutada con cabecera Idempotency-Key.
+ * Guarda la huella de la petición original y la respuesta serializada para que
+ * los reintentos del cliente reciban la misma respuesta sin volver a ejecutar
+ * la operación. Cada registro pertenece a un hotel: la misma clave enviada a otro
+ * hotel es una operación distinta.
+ *
+ * <p>La primera petición reclama la clave insertando el registro en curso
+ * ({@code completed = false}) con un token propio, antes de ejecutar la operación; la
+ * respuesta se registra en la misma transacción que la operación y solo si el token
+ * sigue siendo el suyo.</p>
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", nullable = false, length = 150)
+    private String key;
+
+    // Hotel (tenant): lo asigna Hibernate al insertar y filtra todas las consultas por él
+    @TenantId
+    @ColumnDefault("1")
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Token de la petición que reclamó la clave
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    // false mientras la operación está en curso; los registros anteriores ya estaban completos
+    @ColumnDefault("true")
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    // Constructor vacío requerido por JPA
+    protected IdempotencyRecord() {
+    }
+
+    // Constructor para registrar una respuesta
+    public IdempotencyRecord(String key, String requestHash, String responseBody, LocalDateTime expiresAt) {
+        this.key = key;
+        this.requestHash = requestHash;
+        this.responseBody = responseBody;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+        this.completed = true;
+    }
+
+    /**
+     * Verifica si el registro ya superó su tiempo de vida.
+     * @param now instante de referencia
+     * @return true si está expirado
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+
+    // Getters
+    public String getKey() {
+        return key;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IdempotencyRecord that = (IdempotencyRecord) o;
+        return Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key);
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "key='" + key + '\'' +
+                ", requestHash='" + requestHash + '\'' +
+                ", createdAt=" + createdAt +
+                ", expiresAt=" + expiresAt +
+                ", completed=" + completed +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Arrendamiento de liderazgo entre instancias de la API. La instancia que lo posee renueva
+ * {@code expiresAt} con cada latido; cuando caduca otra instancia puede tomarlo y el
+ * {@code token} (fencing token) aumenta, de modo que el líder anterior ya no puede escribir
+ * amparado en él.
+ */
+@Entity
+@Table(name = "leader_leases")
+public class LeaderLease {
+
+    @Id
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "owner", nullable = false, length = 150)
+    private String owner;
+
+    @Column(name = "token", nullable = false)
+    private long token;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    // Constructor vacío requerido por JPA
+    protected LeaderLease() {
+    }
+
+    /**
+     * Crea un arrendamiento libre y sin líder.
+     *
+     * @param name nombre del arrendamiento
+     * @param expiredAt instante ya pasado en que se considera caducado
+     */
+    public LeaderLease(String name, LocalDateTime expiredAt) {
+        this.name = name;
+        this.owner = "";
+        this.token = 0;
+        this.expiresAt = expiredAt;
+        this.heartbeatAt = expiredAt;
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getToken() {
+        return token;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LeaderLease that = (LeaderLease) o;
+        return Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+
+    @Override
+    public String toString() {
+        return "LeaderLease{" +
+                "name='" + name + '\'' +
+                ", owner='" + owner + '\'' +
+                ", token=" + token +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,138 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Importe monetario en centavos (dos decimales fijos).
+ * RN-008: Cálculo de Tarifas
+ *
+ * <p>Guarda el importe en un {@code long}, así que sumar, restar y multiplicar por noches no crea
+ * objetos intermedios ni depende de la escala como {@link BigDecimal}. Las operaciones que pueden
+ * producir fracciones de centavo reciben el {@link RoundingMode} explícitamente y los desbordes
+ * lanzan {@link ArithmeticException} en lugar de truncar.</p>
+ *
+ * @param minorUnits importe en centavos
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    /** Decimales de todos los importes. */
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    private static final long MINOR_PER_UNIT = 100;
+
+    /**
+     * Importe a partir de centavos.
+     */
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits);
+    }
+
+    /**
+     * Importe a partir de un decimal con dos decimales como máximo.
+     *
+     * @throws IllegalArgumentException si el importe tiene fracciones de centavo
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount.stripTrailingZeros().scale() > SCALE) {
+            throw new IllegalArgumentException(String.format(
+                    "El importe %s no puede tener más de %d decimales", amount.toPlainString(), SCALE));
+        }
+        return of(amount, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Importe a partir de un decimal, redondeando las fracciones de centavo con {@code rounding}.
+     *
+     * @throws ArithmeticException si el importe no cabe en un {@code long} de centavos
+     */
+    public static Money of(BigDecimal amount, RoundingMode rounding) {
+        return new Money(amount.setScale(SCALE, rounding).unscaledValue().longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor));
+    }
+
+    /**
+     * Porcentaje del importe, redondeado al centavo con {@code rounding}.
+     *
+     * @param percent porcentaje (por ejemplo 50 para la mitad)
+     * @param rounding redondeo de la fracción de centavo
+     * @throws ArithmeticException si {@code rounding} es {@link RoundingMode#UNNECESSARY} y hay fracción
+     */
+    public Money percent(int percent, RoundingMode rounding) {
+        return new Money(divide(Math.multiplyExact(minorUnits, percent), MINOR_PER_UNIT, rounding));
+    }
+
+    /**
+     * Importe repartido en {@code divisor} partes iguales (por ejemplo, ingreso por noche vendida),
+     * redondeado al centavo con {@code rounding}.
+     *
+     * @throws ArithmeticException si {@code divisor} es cero
+     */
+    public Money dividedBy(long divisor, RoundingMode rounding) {
+        return new Money(divide(minorUnits, divisor, rounding));
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    /**
+     * El importe como decimal con dos decimales, para respuestas y columnas {@code numeric}.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * División entera con el redondeo de {@link RoundingMode} aplicado al resto, sin pasar por {@link BigDecimal}.
+     */
+    static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        // Comparación del resto con la mitad del divisor sin desbordar: 2|r| frente a |d|
+        long twiceRemainder = Math.abs(remainder) * 2;
+        long absDivisor = Math.abs(divisor);
+        boolean awayFromZero = switch (rounding) {
+            case UNNECESSARY -> throw new ArithmeticException("La división requiere redondeo");
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> sign < 0;
+            case CEILING -> sign > 0;
+            case HALF_UP -> twiceRemainder >= absDivisor;
+            case HALF_DOWN -> twiceRemainder > absDivisor;
+            case HALF_EVEN -> twiceRemainder > absDivisor || (twiceRemainder == absDivisor && (quotient & 1) != 0);
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+}
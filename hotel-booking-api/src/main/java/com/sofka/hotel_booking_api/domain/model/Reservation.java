@@ -2,8 +2,9 @@ package com.sofka.hotel_booking_api.domain.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -12,15 +13,29 @@ import java.util.Objects;
 /**
  * Entidad que representa una reserva de hotel.
  * Según RN-004: Validaciones de Reserva
+ *
+ * <p>Una reserva puede crearse sobre una habitación concreta o solo sobre un tipo de
+ * habitación; en el segundo caso la habitación física se asigna más tarde (la noche
+ * anterior a la llegada o en el check-in).</p>
  */
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations",
+       indexes = {
+               @Index(name = "idx_reservations_hotel_check_in", columnList = "hotel_id, check_in_date"),
+               @Index(name = "idx_reservations_hotel_check_out", columnList = "hotel_id, check_out_date")
+       })
 public class Reservation {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Hotel (tenant): lo asigna Hibernate al insertar y filtra todas las consultas por él
+    @TenantId
+    @ColumnDefault("1")
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
     @NotNull(message = "El número de reserva es obligatorio")
     @Column(name = "reservation_number", nullable = false, unique = true, length = 50)
     private String reservationNumber;
@@ -30,11 +45,16 @@ public class Reservation {
     @JoinColumn(name = "guest_id", nullable = false)
     private Guest guest;
 
-    @NotNull(message = "La habitación es obligatoria")
+    // Nula mientras la reserva por tipo no tenga habitación asignada
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "room_id", nullable = false)
+    @JoinColumn(name = "room_id")
     private Room room;
 
+    // Nulo solo en reservas anteriores al inventario por tipo (se usa el tipo de la habitación)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", length = 20)
+    private RoomType roomType;
+
     @NotNull(message = "La fecha de entrada es obligatoria")
     @Column(name = "check_in_date", nullable = false)
     private LocalDate checkInDate;
@@ -49,9 +69,9 @@ public class Reservation {
     private Integer numberOfGuests;
 
     @NotNull(message = "El monto total es obligatorio")
-    @DecimalMin(value = "0.01", message = "El monto total debe ser mayor a 0")
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
 
     @NotNull(message = "El estado de la reserva es obligatorio")
     @Enumerated(EnumType.STRING)
@@ -83,10 +103,26 @@ public class Reservation {
     // Constructor para crear reserva
     public Reservation(String reservationNumber, Guest guest, Room room, 
                       LocalDate checkInDate, LocalDate checkOutDate, 
-                      Integer numberOfGuests, BigDecimal totalAmount) {
+                      Integer numberOfGuests, Money totalAmount) {
         this.reservationNumber = reservationNumber;
         this.guest = guest;
         this.room = room;
+        this.roomType = room != null ? room.getRoomType() : null;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.numberOfGuests = numberOfGuests;
+        this.totalAmount = totalAmount;
+        this.status = ReservationStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Constructor para crear reserva por tipo de habitación (habitación asignada después)
+    public Reservation(String reservationNumber, Guest guest, RoomType roomType,
+                      LocalDate checkInDate, LocalDate checkOutDate,
+                      Integer numberOfGuests, Money totalAmount) {
+        this.reservationNumber = reservationNumber;
+        this.guest = guest;
+        this.roomType = roomType;
         this.checkInDate = checkInDate;
         this.checkOutDate = checkOutDate;
         this.numberOfGuests = numberOfGuests;
@@ -100,6 +136,12 @@ public class Reservation {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Bean Validation no aplica @DecimalMin a Money: el mínimo se valida aquí
+    @AssertTrue(message = "El monto total debe ser mayor a 0")
+    private boolean isTotalAmountPositive() {
+        return totalAmount == null || totalAmount.compareTo(Money.ZERO) > 0;
+    }
+
     /**
      * Calcula el número de noches de la reserva.
      * @return número de noches
@@ -127,6 +169,29 @@ public class Reservation {
             || status == ReservationStatus.ACTIVE;
     }
 
+    /**
+     * Verifica si la reserva ya tiene una habitación física asignada.
+     * @return true si tiene habitación
+     */
+    public boolean hasAssignedRoom() {
+        return room != null;
+    }
+
+    /**
+     * Asigna la habitación física a una reserva creada por tipo de habitación.
+     * @param room la habitación a asignar (debe ser del tipo reservado)
+     */
+    public void assignRoom(Room room) {
+        if (status != ReservationStatus.PENDING && status != ReservationStatus.CONFIRMED) {
+            throw new IllegalStateException("Solo se puede asignar habitación a reservas PENDING o CONFIRMED");
+        }
+        if (room.getRoomType() != getRoomType()) {
+            throw new IllegalArgumentException(String.format(
+                    "La habitación %s no es del tipo reservado %s", room.getRoomNumber(), getRoomType()));
+        }
+        this.room = room;
+    }
+
     /**
      * Calcula el porcentaje de reembolso según la política de cancelación RN-001.
      * - 7+ días antes del check-in: 100% de reembolso
@@ -215,6 +280,10 @@ public class Reservation {
         return id;
     }
 
+    public Long getHotelId() {
+        return hotelId;
+    }
+
     public String getReservationNumber() {
         return reservationNumber;
     }
@@ -227,6 +296,13 @@ public class Reservation {
         return room;
     }
 
+    public RoomType getRoomType() {
+        if (roomType == null && room != null) {
+            return room.getRoomType();
+        }
+        return roomType;
+    }
+
     public LocalDate getCheckInDate() {
         return checkInDate;
     }
@@ -239,7 +315,7 @@ public class Reservation {
         return numberOfGuests;
     }
 
-    public BigDecimal getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
 
@@ -286,6 +362,13 @@ public class Reservation {
 
     public void setRoom(Room room) {
         this.room = room;
+        if (room != null) {
+            this.roomType = room.getRoomType();
+        }
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
     }
 
     public void setCheckInDate(LocalDate checkInDate) {
@@ -300,7 +383,7 @@ public class Reservation {
         this.numberOfGuests = numberOfGuests;
     }
 
-    public void setTotalAmount(BigDecimal totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
 
@@ -2,6 +2,8 @@ package com.sofka.hotel_booking_api.domain.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -11,15 +13,24 @@ import java.util.Objects;
  * Según RN-006: Validaciones de Habitación
  */
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms",
+       uniqueConstraints = @UniqueConstraint(
+               name = "uk_rooms_hotel_room_number", columnNames = {"hotel_id", "room_number"}),
+       indexes = @Index(name = "idx_rooms_hotel_type", columnList = "hotel_id, room_type"))
 public class Room {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Hotel (tenant): lo asigna Hibernate al insertar y filtra todas las consultas por él
+    @TenantId
+    @ColumnDefault("1")
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
     @NotNull(message = "El número de habitación es obligatorio")
-    @Column(name = "room_number", nullable = false, unique = true)
+    @Column(name = "room_number", nullable = false)
     private String roomNumber;
 
     @NotNull(message = "El tipo de habitación es obligatorio")
@@ -59,6 +70,10 @@ public class Room {
         return id;
     }
 
+    public Long getHotelId() {
+        return hotelId;
+    }
+
     public String getRoomNumber() {
         return roomNumber;
     }
@@ -0,0 +1,99 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Tarifa de un tipo de habitación para una noche concreta (calendario de tarifas).
+ *
+ * <p>Las noches sin fila se cobran al precio por noche de la habitación (RN-008), así que el
+ * calendario solo guarda las noches con precio de temporada, fin de semana o evento.</p>
+ */
+@Entity
+@Table(name = "room_rates",
+       uniqueConstraints = @UniqueConstraint(
+               name = "uk_room_rates_hotel_type_date", columnNames = {"hotel_id", "room_type", "stay_date"}))
+public class RoomRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hotel (tenant): lo asigna Hibernate al insertar y filtra todas las consultas por él
+    @TenantId
+    @ColumnDefault("1")
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false, length = 20)
+    private RoomType roomType;
+
+    @NotNull
+    @Column(name = "stay_date", nullable = false)
+    private LocalDate stayDate;
+
+    @NotNull
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private Money amount;
+
+    // Constructor vacío requerido por JPA
+    protected RoomRate() {
+    }
+
+    public RoomRate(RoomType roomType, LocalDate stayDate, Money amount) {
+        this.roomType = roomType;
+        this.stayDate = stayDate;
+        this.amount = amount;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public LocalDate getStayDate() {
+        return stayDate;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RoomRate that = (RoomRate) o;
+        return roomType == that.roomType && Objects.equals(stayDate, that.stayDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(roomType, stayDate);
+    }
+
+    @Override
+    public String toString() {
+        return "RoomRate{" +
+                "roomType=" + roomType +
+                ", stayDate=" + stayDate +
+                ", amount=" + amount +
+                '}';
+    }
+}
@@ -0,0 +1,134 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Restricciones de venta de un tipo de habitación para una noche concreta.
+ * RN-004: Validaciones de Reserva
+ *
+ * <p>La estadía mínima y máxima se aplican a toda estadía que ocupe la noche; el cierre a llegadas
+ * impide entrar ese día y el cierre a salidas impide salir ese día. Las noches sin fila no tienen
+ * más restricción que la duración máxima general de 30 noches.</p>
+ */
+@Entity
+@Table(name = "room_restrictions",
+       uniqueConstraints = @UniqueConstraint(
+               name = "uk_room_restrictions_hotel_type_date", columnNames = {"hotel_id", "room_type", "stay_date"}))
+public class RoomRestriction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hotel (tenant): lo asigna Hibernate al insertar y filtra todas las consultas por él
+    @TenantId
+    @ColumnDefault("1")
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false, length = 20)
+    private RoomType roomType;
+
+    @NotNull
+    @Column(name = "stay_date", nullable = false)
+    private LocalDate stayDate;
+
+    // Nulas si la noche no limita la duración
+    @Min(1)
+    @Max(30)
+    @Column(name = "min_stay")
+    private Integer minStay;
+
+    @Min(1)
+    @Max(30)
+    @Column(name = "max_stay")
+    private Integer maxStay;
+
+    @Column(name = "closed_to_arrival", nullable = false)
+    private boolean closedToArrival;
+
+    @Column(name = "closed_to_departure", nullable = false)
+    private boolean closedToDeparture;
+
+    // Constructor vacío requerido por JPA
+    protected RoomRestriction() {
+    }
+
+    public RoomRestriction(RoomType roomType, LocalDate stayDate, Integer minStay, Integer maxStay,
+                           boolean closedToArrival, boolean closedToDeparture) {
+        this.roomType = roomType;
+        this.stayDate = stayDate;
+        this.minStay = minStay;
+        this.maxStay = maxStay;
+        this.closedToArrival = closedToArrival;
+        this.closedToDeparture = closedToDeparture;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public LocalDate getStayDate() {
+        return stayDate;
+    }
+
+    public Integer getMinStay() {
+        return minStay;
+    }
+
+    public Integer getMaxStay() {
+        return maxStay;
+    }
+
+    public boolean isClosedToArrival() {
+        return closedToArrival;
+    }
+
+    public boolean isClosedToDeparture() {
+        return closedToDeparture;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RoomRestriction that = (RoomRestriction) o;
+        return roomType == that.roomType && Objects.equals(stayDate, that.stayDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(roomType, stayDate);
+    }
+
+    @Override
+    public String toString() {
+        return "RoomRestriction{" +
+                "roomType=" + roomType +
+                ", stayDate=" + stayDate +
+                ", minStay=" + minStay +
+                ", maxStay=" + maxStay +
+                ", closedToArrival=" + closedToArrival +
+                ", closedToDeparture=" + closedToDeparture +
+                '}';
+    }
+}
@@ -0,0 +1,119 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Inventario vendible de un tipo de habitación para una noche concreta.
+ *
+ * <p>Cada fila es un contador: {@code totalRooms} habitaciones físicas del tipo y
+ * {@code soldRooms} reservas vigentes que ocupan esa noche. Las reservas consumen
+ * inventario con una actualización condicional sobre estas filas, de modo que la
+ * disponibilidad de un tipo se responde leyendo una fila por noche.</p>
+ */
+@Entity
+@Table(name = "room_type_inventory",
+       uniqueConstraints = @UniqueConstraint(
+               name = "uk_room_type_inventory_hotel_type_date", columnNames = {"hotel_id", "room_type", "stay_date"}))
+public class RoomTypeInventory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hotel (tenant): lo asigna Hibernate al insertar y filtra todas las consultas por él
+    @TenantId
+    @ColumnDefault("1")
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false, length = 20)
+    private RoomType roomType;
+
+    @NotNull
+    @Column(name = "stay_date", nullable = false)
+    private LocalDate stayDate;
+
+    @Min(0)
+    @Column(name = "total_rooms", nullable = false)
+    private int totalRooms;
+
+    @Min(0)
+    @Column(name = "sold_rooms", nullable = false)
+    private int soldRooms;
+
+    // Constructor vacío requerido por JPA
+    protected RoomTypeInventory() {
+    }
+
+    public RoomTypeInventory(RoomType roomType, LocalDate stayDate, int totalRooms, int soldRooms) {
+        this.roomType = roomType;
+        this.stayDate = stayDate;
+        this.totalRooms = totalRooms;
+        this.soldRooms = soldRooms;
+    }
+
+    /**
+     * Calcula las habitaciones que aún se pueden vender esa noche.
+     * @return habitaciones disponibles (nunca negativo)
+     */
+    public int getAvailableRooms() {
+        return Math.max(0, totalRooms - soldRooms);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public LocalDate getStayDate() {
+        return stayDate;
+    }
+
+    public int getTotalRooms() {
+        return totalRooms;
+    }
+
+    public int getSoldRooms() {
+        return soldRooms;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RoomTypeInventory that = (RoomTypeInventory) o;
+        return roomType == that.roomType && Objects.equals(stayDate, that.stayDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(roomType, stayDate);
+    }
+
+    @Override
+    public String toString() {
+        return "RoomTypeInventory{" +
+                "roomType=" + roomType +
+                ", stayDate=" + stayDate +
+                ", totalRooms=" + totalRooms +
+                ", soldRooms=" + soldRooms +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Datos de una reserva que cuentan para las estadísticas de ocupación e ingresos, en un estado concreto.
+ *
+ * <p>Se obtiene de la entidad, del estado anterior de una actualización o directamente de una
+ * consulta, de modo que el agregado de una reserva se calcula igual al aplicar un cambio de estado
+ * y al reconstruir las estadísticas desde cero.</p>
+ *
+ * @param hotelId hotel de la reserva
+ * @param roomType tipo de habitación (el de la habitación en reservas anteriores al inventario por tipo)
+ * @param checkInDate fecha de entrada
+ * @param checkOutDate fecha de salida reservada
+ * @param totalAmount importe total de la estadía
+ * @param status estado de la reserva
+ * @param checkOutTime momento del check-out, o {@code null} si no se ha realizado
+ */
+public record StaySnapshot(
+        Long hotelId,
+        RoomType roomType,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Money totalAmount,
+        ReservationStatus status,
+        LocalDateTime checkOutTime
+) {
+
+    public static StaySnapshot of(Reservation reservation) {
+        return new StaySnapshot(reservation.getHotelId(), reservation.getRoomType(), reservation.getCheckInDate(),
+                reservation.getCheckOutDate(), reservation.getTotalAmount(), reservation.getStatus(),
+                reservation.getCheckOutTime());
+    }
+
+    /**
+     * Una reserva vendida ocupa sus noches: está pendiente de pago, confirmada, en curso o completada.
+     * Las canceladas y expiradas no ocupan noches.
+     */
+    public boolean isSold() {
+        return status == ReservationStatus.PENDING
+                || status == ReservationStatus.CONFIRMED
+                || status == ReservationStatus.ACTIVE
+                || status == ReservationStatus.COMPLETED;
+    }
+
+    /**
+     * Día de salida efectivo: el del check-out si fue anticipado (al menos una noche después de la
+     * llegada), o la fecha de salida reservada.
+     */
+    public LocalDate departureDate() {
+        if (status != ReservationStatus.COMPLETED || checkOutTime == null) {
+            return checkOutDate;
+        }
+        LocalDate departed = checkOutTime.toLocalDate();
+        LocalDate firstPossible = checkInDate.plusDays(1);
+        if (departed.isBefore(firstPossible)) {
+            return firstPossible;
+        }
+        return departed.isBefore(checkOutDate) ? departed : checkOutDate;
+    }
+}
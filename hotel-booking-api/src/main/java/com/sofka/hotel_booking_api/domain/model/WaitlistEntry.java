@@ -0,0 +1,248 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Solicitud de reserva rechazada por falta de disponibilidad que queda en lista de espera.
+ * Guarda los datos de la solicitud original para poder crear la reserva al promoverla.
+ */
+@Entity
+@Table(name = "waitlist_entries",
+       indexes = @Index(name = "idx_waitlist_hotel_status_type_check_in",
+                        columnList = "hotel_id, status, room_type, check_in_date"))
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hotel (tenant): lo asigna Hibernate al insertar y filtra todas las consultas por él
+    @TenantId
+    @ColumnDefault("1")
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private Long hotelId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", nullable = false, length = 20)
+    private RoomType roomType;
+
+    // Habitación solicitada; null si la solicitud era por tipo de habitación
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @NotNull
+    @Column(name = "check_in_date", nullable = false)
+    private LocalDate checkInDate;
+
+    @NotNull
+    @Column(name = "check_out_date", nullable = false)
+    private LocalDate checkOutDate;
+
+    @NotNull
+    @Min(1)
+    @Column(name = "number_of_guests", nullable = false)
+    private Integer numberOfGuests;
+
+    @NotNull
+    @Column(name = "first_name", nullable = false, length = 100)
+    private String firstName;
+
+    @NotNull
+    @Column(name = "last_name", nullable = false, length = 100)
+    private String lastName;
+
+    @NotNull
+    @Column(name = "document_number", nullable = false, length = 50)
+    private String documentNumber;
+
+    @NotNull
+    @Column(name = "email", nullable = false, length = 150)
+    private String email;
+
+    @NotNull
+    @Column(name = "phone", nullable = false, length = 20)
+    private String phone;
+
+    // Mayor prioridad se promueve primero; a igualdad, por orden de llegada
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WaitlistStatus status;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "promoted_at")
+    private LocalDateTime promotedAt;
+
+    @Column(name = "reservation_number", length = 50)
+    private String reservationNumber;
+
+    // Constructor vacío requerido por JPA
+    protected WaitlistEntry() {
+    }
+
+    // Constructor para registrar una solicitud en espera
+    public WaitlistEntry(RoomType roomType, Long roomId, LocalDate checkInDate, LocalDate checkOutDate,
+                         Integer numberOfGuests, String firstName, String lastName,
+                         String documentNumber, String email, String phone) {
+        this.roomType = roomType;
+        this.roomId = roomId;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.numberOfGuests = numberOfGuests;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.documentNumber = documentNumber;
+        this.email = email;
+        this.phone = phone;
+        this.status = WaitlistStatus.WAITING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Verifica si la solicitud sigue esperando.
+     * @return true si está en estado WAITING
+     */
+    public boolean isWaiting() {
+        return status == WaitlistStatus.WAITING;
+    }
+
+    /**
+     * Marca la solicitud como promovida a reserva.
+     * @param reservationNumber número de la reserva creada
+     */
+    public void promote(String reservationNumber) {
+        if (!isWaiting()) {
+            throw new IllegalStateException("Solo se pueden promover solicitudes en espera");
+        }
+        this.status = WaitlistStatus.PROMOTED;
+        this.promotedAt = LocalDateTime.now();
+        this.reservationNumber = reservationNumber;
+    }
+
+    /**
+     * Retira la solicitud de la lista de espera.
+     */
+    public void cancel() {
+        if (!isWaiting()) {
+            throw new IllegalStateException("Solo se pueden cancelar solicitudes en espera");
+        }
+        this.status = WaitlistStatus.CANCELLED;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public Integer getNumberOfGuests() {
+        return numberOfGuests;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getDocumentNumber() {
+        return documentNumber;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getPromotedAt() {
+        return promotedAt;
+    }
+
+    public String getReservationNumber() {
+        return reservationNumber;
+    }
+
+    // Setters
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WaitlistEntry that = (WaitlistEntry) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "id=" + id +
+                ", roomType=" + roomType +
+                ", roomId=" + roomId +
+                ", checkInDate=" + checkInDate +
+                ", checkOutDate=" + checkOutDate +
+                ", priority=" + priority +
+                ", status=" + status +
+                '}';
+    }
+}
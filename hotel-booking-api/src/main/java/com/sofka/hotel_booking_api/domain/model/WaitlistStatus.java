@@ -0,0 +1,36 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+/**
+ * Estados de una solicitud en la lista de espera.
+ */
+public enum WaitlistStatus {
+    /**
+     * Esperando a que se libere inventario.
+     */
+    WAITING("En espera"),
+
+    /**
+     * Convertida en reserva PENDING al liberarse inventario.
+     */
+    PROMOTED("Promovida"),
+
+    /**
+     * Retirada por el huésped o el hotel.
+     */
+    CANCELLED("Cancelada"),
+
+    /**
+     * La fecha de entrada pasó sin que se liberara inventario.
+     */
+    EXPIRED("Expirada");
+
+    private final String displayName;
+
+    WaitlistStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sofka.hotel_booking_api.domain.repository;
+
+import com.sofka.hotel_booking_api.domain.model.DailyRoomTypeStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositorio de los agregados diarios de ocupación e ingresos por tipo de habitación.
+ */
+@Repository
+public interface DailyRoomTypeStatsRepository extends JpaRepository<DailyRoomTypeStats, Long> {
+
+    /**
+     * Obtiene los agregados de todos los tipos en un rango de días.
+     *
+     * @param from primer día (inclusive)
+     * @param to último día (exclusive)
+     * @return los agregados ordenados por día
+     */
+    @Query("SELECT s FROM DailyRoomTypeStats s WHERE s.stayDate >= :from AND s.stayDate < :to ORDER BY s.stayDate ASC")
+    List<DailyRoomTypeStats> findBetween(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Elimina los agregados de todos los tipos en un rango de días, antes de reconstruirlos.
+     *
+     * @param from primer día (inclusive)
+     * @param to último día (exclusive)
+     * @return número de filas eliminadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DailyRoomTypeStats s WHERE s.stayDate >= :from AND s.stayDate < :to")
+    int deleteBetween(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
@@ -2,8 +2,12 @@ package com.sofka.hotel_booking_api.domain.repository;
 
 import com.sofka.hotel_booking_api.domain.model.Guest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,6 +16,17 @@ import java.util.Optional;
 @Repository
 public interface GuestRepository extends JpaRepository<Guest, Long> {
 
+    /**
+     * Busca un huésped por ID dentro del hotel actual. Se declara con JPQL para que Hibernate
+     * aplique el filtro de {@code hotel_id} también a la búsqueda por clave.
+     *
+     * @param id el ID del huésped
+     * @return el huésped si existe en el hotel, empty si no
+     */
+    @Override
+    @Query("SELECT g FROM Guest g WHERE g.id = :id")
+    Optional<Guest> findById(@Param("id") Long id);
+
     /**
      * Busca un huésped por su número de documento.
      *
@@ -27,4 +42,12 @@ public interface GuestRepository extends JpaRepository<Guest, Long> {
      * @return true si existe, false si no
      */
     boolean existsByDocumentNumber(String documentNumber);
+
+    /**
+     * Busca en una sola consulta los huéspedes con los documentos dados.
+     *
+     * @param documentNumbers los números de documento
+     * @return los huéspedes existentes
+     */
+    List<Guest> findByDocumentNumberIn(Collection<String> documentNumbers);
 }
@@ -0,0 +1,85 @@
+package com.sofka.hotel_booking_api.domain.repository;
+
+import com.sofka.hotel_booking_api.domain.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio para los registros de idempotencia de operaciones POST.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Elimina en bloque los registros cuyo tiempo de vida ya expiró.
+     *
+     * @param now instante de referencia
+     * @return número de registros eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * Elimina el registro de una clave si ya expiró, para poder reclamarla de nuevo.
+     * Un registro en curso expira cuando quien lo reclamó no terminó a tiempo.
+     *
+     * @return 1 si se eliminó el registro, 0 si no existía o sigue vigente
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    /**
+     * Reclama una clave insertando su registro en curso. Si la clave ya está
+     * registrada, la inserción se ignora. Al ser SQL nativo, Hibernate no asigna
+     * el hotel: lo indica el llamador.
+     *
+     * @return 1 si se reclamó la clave, 0 si ya estaba registrada
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, hotel_id, request_hash, created_at, " +
+                   "expires_at, claim_token, completed) " +
+                   "VALUES (:key, :hotelId, :requestHash, :now, :expiresAt, :claimToken, false) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int claim(
+            @Param("key") String key,
+            @Param("hotelId") long hotelId,
+            @Param("requestHash") String requestHash,
+            @Param("claimToken") String claimToken,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    /**
+     * Registra la respuesta de una clave reclamada, solo si el token sigue siendo
+     * el de quien la reclamó.
+     *
+     * @return 1 si se registró la respuesta, 0 si otra petición reclamó la clave
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody, r.expiresAt = :expiresAt, " +
+           "r.completed = true WHERE r.key = :key AND r.claimToken = :claimToken AND r.completed = false")
+    int complete(
+            @Param("key") String key,
+            @Param("claimToken") String claimToken,
+            @Param("responseBody") String responseBody,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    /**
+     * Libera una clave reclamada cuya operación falló, para que el cliente pueda reintentarla.
+     *
+     * @return 1 si se liberó la clave, 0 si ya no estaba en curso con ese token
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r " +
+           "WHERE r.key = :key AND r.claimToken = :claimToken AND r.completed = false")
+    int release(@Param("key") String key, @Param("claimToken") String claimToken);
+}
@@ -0,0 +1,77 @@
+package com.sofka.hotel_booking_api.domain.repository;
+
+import com.sofka.hotel_booking_api.domain.model.LeaderLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio de los arrendamientos de liderazgo. Todas las transiciones son actualizaciones
+ * condicionales, así que dos instancias nunca obtienen el mismo token.
+ */
+@Repository
+public interface LeaderLeaseRepository extends JpaRepository<LeaderLease, String> {
+
+    /**
+     * Toma un arrendamiento caducado y aumenta su token.
+     *
+     * @return 1 si se tomó, 0 si otra instancia lo mantiene vigente
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE LeaderLease l SET l.owner = :owner, l.token = l.token + 1, " +
+           "l.expiresAt = :expiresAt, l.heartbeatAt = :now " +
+           "WHERE l.name = :name AND l.expiresAt < :now")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Renueva el arrendamiento si sigue siendo del mismo dueño con el mismo token.
+     *
+     * @return 1 si se renovó, 0 si se perdió el liderazgo
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE LeaderLease l SET l.expiresAt = :expiresAt, l.heartbeatAt = :now " +
+           "WHERE l.name = :name AND l.owner = :owner AND l.token = :token")
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("token") long token,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Libera el arrendamiento dejándolo caducado, para que otra instancia lo tome sin esperar.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE LeaderLease l SET l.expiresAt = :now " +
+           "WHERE l.name = :name AND l.owner = :owner AND l.token = :token")
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("token") long token,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Obtiene el token vigente de un dueño.
+     */
+    @Query("SELECT l.token FROM LeaderLease l WHERE l.name = :name AND l.owner = :owner")
+    Optional<Long> findToken(@Param("name") String name, @Param("owner") String owner);
+
+    /**
+     * Comprueba que un arrendamiento sigue vigente con ese token (fencing). No bloquea la fila, así
+     * que no retrasa la renovación del líder.
+     *
+     * @return el arrendamiento, o vacío si caducó o pasó a otro token
+     */
+    @Query("SELECT l FROM LeaderLease l WHERE l.name = :name AND l.owner = :owner " +
+           "AND l.token = :token AND l.expiresAt > :now")
+    Optional<LeaderLease> findFenced(@Param("name") String name,
+                                     @Param("owner") String owner,
+                                     @Param("token") long token,
+                                     @Param("now") LocalDateTime now);
+}
@@ -3,14 +3,25 @@ package com.sofka.hotel_booking_api.domain.repository;
 import com.sofka.hotel_booking_api.domain.model.Reservation;
 import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
 import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para gestionar las reservas del hotel.
@@ -18,6 +29,17 @@ import java.util.Optional;
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    /**
+     * Busca una reserva por ID dentro del hotel actual. Se declara con JPQL para que Hibernate
+     * aplique el filtro de {@code hotel_id} también a la búsqueda por clave.
+     *
+     * @param id el ID de la reserva
+     * @return la reserva si existe en el hotel, empty si no
+     */
+    @Override
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findById(@Param("id") Long id);
+
     /**
      * Busca una reserva por su número de reserva.
      *
@@ -34,6 +56,28 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
      */
     boolean existsByReservationNumber(String reservationNumber);
 
+    /**
+     * Obtiene y bloquea (SELECT ... FOR UPDATE) una reserva para cambiar su estado.
+     * Evita que dos transiciones concurrentes (por ejemplo, check-in y cancelación)
+     * partan del mismo estado leído. Se bloquea la reserva antes que su habitación.
+     *
+     * @param id el ID de la reserva
+     * @return la reserva si existe, empty si no
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Verifica si una habitación tiene alguna reserva en un estado.
+     * Se usa para recalcular la disponibilidad física de la habitación (huésped alojado o no).
+     *
+     * @param room la habitación
+     * @param status estado de la reserva (ej: ACTIVE)
+     * @return true si existe alguna reserva en ese estado
+     */
+    boolean existsByRoomAndStatus(Room room, ReservationStatus status);
+
     /**
      * Busca reservas que se solapan con un rango de fechas para una habitación específica.
      * Excluye reservas canceladas y expiradas.
@@ -52,17 +96,139 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("checkOutDate") LocalDate checkOutDate
     );
 
+    /**
+     * Busca en una sola consulta las reservas vigentes de varias habitaciones
+     * que se solapan con un rango de fechas.
+     * Excluye reservas canceladas, expiradas y completadas.
+     *
+     * @param rooms las habitaciones
+     * @param checkInDate fecha de entrada mínima del rango
+     * @param checkOutDate fecha de salida máxima del rango
+     * @return lista de reservas que se solapan
+     */
+    @Query("SELECT r FROM Reservation r WHERE r.room IN :rooms " +
+           "AND r.status NOT IN ('CANCELLED', 'EXPIRED', 'COMPLETED') " +
+           "AND r.checkInDate < :checkOutDate AND r.checkOutDate > :checkInDate")
+    List<Reservation> findOverlappingReservationsForRooms(
+            @Param("rooms") Collection<Room> rooms,
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate
+    );
+
+    /**
+     * Cuenta las reservas vigentes de un tipo de habitación que ocupan una noche.
+     * Se usa para inicializar el contador de inventario de esa noche; las reservas
+     * sin tipo propio (anteriores al inventario por tipo) usan el de su habitación.
+     *
+     * @param roomType tipo de habitación
+     * @param stayDate la noche
+     * @return número de reservas que ocupan la noche
+     */
+    @Query("SELECT COUNT(r) FROM Reservation r LEFT JOIN r.room rm " +
+           "WHERE COALESCE(r.roomType, rm.roomType) = :roomType " +
+           "AND r.status NOT IN ('CANCELLED', 'EXPIRED', 'COMPLETED') " +
+           "AND r.checkInDate <= :stayDate AND r.checkOutDate > :stayDate")
+    long countActiveReservationsForNight(
+            @Param("roomType") RoomType roomType,
+            @Param("stayDate") LocalDate stayDate
+    );
+
+    /**
+     * Obtiene las reservas vigentes de un tipo que ocupan alguna noche de un rango, sin cargar
+     * entidades. Inicializa de una vez los contadores de varias noches: cada noche cuenta las
+     * estadías que la ocupan, igual que {@link #countActiveReservationsForNight}.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche (inclusive)
+     * @param to última noche (exclusive)
+     * @return las estadías vigentes del tipo en el rango
+     */
+    @Query("SELECT new com.sofka.hotel_booking_api.domain.model.StaySnapshot(" +
+           "r.hotelId, COALESCE(r.roomType, rm.roomType), r.checkInDate, r.checkOutDate, " +
+           "r.totalAmount, r.status, r.checkOutTime) " +
+           "FROM Reservation r LEFT JOIN r.room rm " +
+           "WHERE COALESCE(r.roomType, rm.roomType) = :roomType " +
+           "AND r.status NOT IN ('CANCELLED', 'EXPIRED', 'COMPLETED') " +
+           "AND r.checkInDate < :to AND r.checkOutDate > :from")
+    List<StaySnapshot> findActiveStaysForRoomType(
+            @Param("roomType") RoomType roomType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Busca las reservas por tipo de habitación que llegan en una fecha y aún no
+     * tienen habitación asignada. Las estadías más largas se devuelven primero
+     * porque son las más difíciles de ubicar.
+     *
+     * @param checkInDate fecha de llegada
+     * @return reservas pendientes de asignación
+     */
+    @Query("SELECT r FROM Reservation r WHERE r.room IS NULL AND r.checkInDate = :checkInDate " +
+           "AND r.status IN ('PENDING', 'CONFIRMED') " +
+           "ORDER BY r.checkOutDate DESC, r.id ASC")
+    List<Reservation> findUnassignedArrivals(@Param("checkInDate") LocalDate checkInDate);
+
+    /**
+     * Busca las reservas vigentes (PENDING, CONFIRMED o ACTIVE) que ocupan alguna noche
+     * de un rango, cargando su habitación. Base del optimizador de asignación.
+     *
+     * @param from primera noche del rango
+     * @param to fin del rango (exclusive)
+     * @return reservas vigentes del rango
+     */
+    @Query("SELECT r FROM Reservation r LEFT JOIN FETCH r.room " +
+           "WHERE r.status IN ('PENDING', 'CONFIRMED', 'ACTIVE') " +
+           "AND r.checkInDate < :to AND r.checkOutDate > :from")
+    List<Reservation> findCurrentReservationsBetween(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Recorre con un cursor, sin cargar entidades, los datos de estadísticas de las reservas que
+     * ocupan, llegan, salen o se cancelaron en algún día de un rango. Base de la reconstrucción de
+     * los agregados diarios de ocupación; las reservas sin tipo propio usan el de su habitación.
+     * Las filas se leen por lotes de {@code fetchSize}, así que el stream debe consumirse y cerrarse
+     * dentro de la transacción.
+     *
+     * @param from primer día del rango
+     * @param to fin del rango (exclusive)
+     * @return los datos de cada reserva del rango
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.sofka.hotel_booking_api.domain.model.StaySnapshot(" +
+           "r.hotelId, COALESCE(r.roomType, rm.roomType), r.checkInDate, r.checkOutDate, " +
+           "r.totalAmount, r.status, r.checkOutTime) " +
+           "FROM Reservation r LEFT JOIN r.room rm " +
+           "WHERE r.checkInDate < :to AND r.checkOutDate >= :from")
+    Stream<StaySnapshot> streamStaySnapshotsBetween(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Busca reservas por sus números, cargando huésped y habitación en la misma consulta.
+     *
+     * @param reservationNumbers los números de reserva
+     * @return las reservas encontradas
+     */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.guest LEFT JOIN FETCH r.room " +
+           "WHERE r.reservationNumber IN :reservationNumbers")
+    List<Reservation> findByReservationNumberIn(@Param("reservationNumbers") Collection<String> reservationNumbers);
+
     /**
      * Busca reservas por nombre del huésped (firstName o lastName).
      * Búsqueda parcial y case-insensitive.
      * Historia 5.1: Buscar reservas por nombre de huésped
+     * Carga huésped y habitación en la misma consulta para no lanzar una por resultado.
      *
      * @param name el nombre a buscar (firstName o lastName)
      * @return lista de reservas ordenadas por fecha de check-in
      */
-    @Query("SELECT r FROM Reservation r " +
-           "WHERE LOWER(r.guest.firstName) LIKE LOWER(CONCAT('%', :name, '%')) " +
-           "OR LOWER(r.guest.lastName) LIKE LOWER(CONCAT('%', :name, '%')) " +
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.guest g LEFT JOIN FETCH r.room " +
+           "WHERE LOWER(g.firstName) LIKE LOWER(CONCAT('%', :name, '%')) " +
+           "OR LOWER(g.lastName) LIKE LOWER(CONCAT('%', :name, '%')) " +
            "ORDER BY r.checkInDate ASC")
     List<Reservation> findByGuestNameContainingIgnoreCase(@Param("name") String name);
 
@@ -79,20 +245,42 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     /**
      * Busca reservas por fecha de check-in y múltiples estados.
      * Historia 5.2: Ver reservas del día - Check-ins de hoy (pendientes y realizados)
+     * Carga huésped y habitación en la misma consulta.
      *
      * @param checkInDate fecha de check-in
      * @param statuses lista de estados permitidos (ej: CONFIRMED, ACTIVE)
      * @return lista de reservas ordenadas por fecha de check-in
      */
+    @EntityGraph(attributePaths = {"guest", "room"})
     List<Reservation> findByCheckInDateAndStatusInOrderByCheckInDateAsc(LocalDate checkInDate, List<ReservationStatus> statuses);
 
     /**
      * Busca reservas por fecha de check-out y estado.
      * Historia 5.2: Ver reservas del día - Check-outs de hoy
+     * Carga huésped y habitación en la misma consulta.
      *
      * @param checkOutDate fecha de check-out
      * @param status estado de la reserva (ej: ACTIVE para salidas)
      * @return lista de reservas ordenadas por fecha de check-out
      */
+    @EntityGraph(attributePaths = {"guest", "room"})
     List<Reservation> findByCheckOutDateAndStatusOrderByCheckOutDateAsc(LocalDate checkOutDate, ReservationStatus status);
+
+    /**
+     * Busca reservas en un estado creadas antes de un instante.
+     * RN-003: Reservas PENDING sin pago que superaron el límite de 24 horas
+     *
+     * @param status estado de la reserva (ej: PENDING)
+     * @param createdBefore instante límite de creación
+     * @return lista de reservas
+     */
+    List<Reservation> findByStatusAndCreatedAtBefore(ReservationStatus status, LocalDateTime createdBefore);
+
+    /**
+     * Cuenta las reservas en un estado.
+     *
+     * @param status estado de la reserva
+     * @return número de reservas
+     */
+    long countByStatus(ReservationStatus status);
 }
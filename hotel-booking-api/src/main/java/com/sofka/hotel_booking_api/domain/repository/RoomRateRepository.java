@@ -0,0 +1,48 @@
+package com.sofka.hotel_booking_api.domain.repository;
+
+import com.sofka.hotel_booking_api.domain.model.RoomRate;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositorio del calendario de tarifas por tipo de habitación y noche.
+ */
+@Repository
+public interface RoomRateRepository extends JpaRepository<RoomRate, Long> {
+
+    /**
+     * Obtiene las tarifas de un tipo desde una noche en adelante, para cargar el calendario en memoria.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche (inclusive)
+     * @return las tarifas ordenadas por noche
+     */
+    @Query("SELECT r FROM RoomRate r WHERE r.roomType = :roomType AND r.stayDate >= :from ORDER BY r.stayDate ASC")
+    List<RoomRate> findFrom(
+            @Param("roomType") RoomType roomType,
+            @Param("from") LocalDate from
+    );
+
+    /**
+     * Elimina las tarifas de un tipo en un rango de noches; esas noches vuelven al precio de la habitación.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche (inclusive)
+     * @param to última noche (exclusive)
+     * @return número de noches eliminadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM RoomRate r WHERE r.roomType = :roomType AND r.stayDate >= :from AND r.stayDate < :to")
+    int deleteNights(
+            @Param("roomType") RoomType roomType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
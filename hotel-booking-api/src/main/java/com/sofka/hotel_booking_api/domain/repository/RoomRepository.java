@@ -1,9 +1,17 @@
 package com.sofka.hotel_booking_api.domain.repository;
 
 import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,6 +20,27 @@ import java.util.Optional;
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+    /**
+     * Busca una habitación por ID dentro del hotel actual. Se declara con JPQL para que Hibernate
+     * aplique el filtro de {@code hotel_id} también a la búsqueda por clave.
+     *
+     * @param id el ID de la habitación
+     * @return la habitación si existe en el hotel, empty si no
+     */
+    @Override
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findById(@Param("id") Long id);
+
+    /**
+     * Verifica si existe una habitación con el ID dado en el hotel actual.
+     *
+     * @param id el ID de la habitación
+     * @return true si existe, false si no
+     */
+    @Override
+    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Room r WHERE r.id = :id")
+    boolean existsById(@Param("id") Long id);
+
     /**
      * Busca una habitación por su número.
      *
@@ -27,4 +56,72 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      * @return true si existe, false si no
      */
     boolean existsByRoomNumber(String roomNumber);
+
+    /**
+     * Obtiene y bloquea (SELECT ... FOR UPDATE) un conjunto de habitaciones.
+     * Las filas se bloquean en orden ascendente de ID para que transacciones
+     * concurrentes sobre habitaciones compartidas no produzcan interbloqueos.
+     *
+     * @param ids los IDs de las habitaciones
+     * @return las habitaciones encontradas, ordenadas por ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id IN :ids ORDER BY r.id ASC")
+    List<Room> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Cuenta las habitaciones físicas de un tipo.
+     *
+     * @param roomType tipo de habitación
+     * @return número de habitaciones del tipo
+     */
+    long countByRoomType(RoomType roomType);
+
+    /**
+     * Cuenta las habitaciones ocupadas (no disponibles).
+     *
+     * @return número de habitaciones ocupadas
+     */
+    long countByIsAvailableFalse();
+
+    /**
+     * Obtiene el tipo de una habitación sin cargar la entidad.
+     *
+     * @param id el ID de la habitación
+     * @return el tipo si la habitación existe
+     */
+    @Query("SELECT r.roomType FROM Room r WHERE r.id = :id")
+    Optional<RoomType> findRoomTypeById(@Param("id") Long id);
+
+    /**
+     * Busca la habitación más económica de un tipo con capacidad suficiente.
+     * Define la tarifa de las reservas hechas por tipo de habitación.
+     *
+     * @param roomType tipo de habitación
+     * @param capacity número mínimo de personas
+     * @return la habitación más económica, si existe alguna
+     */
+    Optional<Room> findFirstByRoomTypeAndCapacityGreaterThanEqualOrderByPricePerNightAsc(
+            RoomType roomType, Integer capacity);
+
+    /**
+     * Busca las habitaciones de un tipo que están libres durante toda una estadía.
+     *
+     * @param roomType tipo de habitación
+     * @param capacity número mínimo de personas
+     * @param checkInDate fecha de entrada
+     * @param checkOutDate fecha de salida
+     * @return habitaciones libres ordenadas por ID
+     */
+    @Query("SELECT rm FROM Room rm WHERE rm.roomType = :roomType AND rm.capacity >= :capacity " +
+           "AND NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.room = rm " +
+           "AND r.status NOT IN ('CANCELLED', 'EXPIRED', 'COMPLETED') " +
+           "AND r.checkInDate < :checkOutDate AND r.checkOutDate > :checkInDate) " +
+           "ORDER BY rm.id ASC")
+    List<Room> findFreeRoomsForStay(
+            @Param("roomType") RoomType roomType,
+            @Param("capacity") Integer capacity,
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate
+    );
 }
@@ -0,0 +1,48 @@
+package com.sofka.hotel_booking_api.domain.repository;
+
+import com.sofka.hotel_booking_api.domain.model.RoomRestriction;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositorio de las restricciones de venta por tipo de habitación y noche.
+ */
+@Repository
+public interface RoomRestrictionRepository extends JpaRepository<RoomRestriction, Long> {
+
+    /**
+     * Obtiene las restricciones de un tipo desde una noche en adelante, para cargarlas en memoria.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche (inclusive)
+     * @return las restricciones ordenadas por noche
+     */
+    @Query("SELECT r FROM RoomRestriction r WHERE r.roomType = :roomType AND r.stayDate >= :from ORDER BY r.stayDate ASC")
+    List<RoomRestriction> findFrom(
+            @Param("roomType") RoomType roomType,
+            @Param("from") LocalDate from
+    );
+
+    /**
+     * Elimina las restricciones de un tipo en un rango de noches.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche (inclusive)
+     * @param to última noche (exclusive)
+     * @return número de noches eliminadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM RoomRestriction r WHERE r.roomType = :roomType AND r.stayDate >= :from AND r.stayDate < :to")
+    int deleteNights(
+            @Param("roomType") RoomType roomType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
@@ -0,0 +1,117 @@
+package com.sofka.hotel_booking_api.domain.repository;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.RoomTypeInventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositorio para los contadores de inventario por tipo de habitación y noche.
+ */
+@Repository
+public interface RoomTypeInventoryRepository extends JpaRepository<RoomTypeInventory, Long> {
+
+    /**
+     * Obtiene las filas de inventario de un tipo para las noches de una estadía.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche (inclusive)
+     * @param to fecha de salida (exclusive)
+     * @return las filas existentes ordenadas por noche
+     */
+    @Query("SELECT i FROM RoomTypeInventory i WHERE i.roomType = :roomType " +
+           "AND i.stayDate >= :from AND i.stayDate < :to ORDER BY i.stayDate ASC")
+    List<RoomTypeInventory> findNights(
+            @Param("roomType") RoomType roomType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Obtiene las noches que ya tienen fila de inventario, sin cargar las entidades.
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche (inclusive)
+     * @param to fecha de salida (exclusive)
+     * @return las noches existentes
+     */
+    @Query("SELECT i.stayDate FROM RoomTypeInventory i WHERE i.roomType = :roomType " +
+           "AND i.stayDate >= :from AND i.stayDate < :to")
+    List<LocalDate> findStayDates(
+            @Param("roomType") RoomType roomType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Crea la fila de una noche si no existe. Si otra transacción la crea al
+     * mismo tiempo, la inserción se ignora. Al ser SQL nativo, Hibernate no
+     * asigna el hotel: lo indica el llamador.
+     *
+     * @return 1 si se insertó la fila, 0 si ya existía
+     */
+    @Modifying
+    @Query(value = "INSERT INTO room_type_inventory (hotel_id, room_type, stay_date, total_rooms, sold_rooms) " +
+                   "VALUES (:hotelId, :roomType, :stayDate, :totalRooms, :soldRooms) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(
+            @Param("hotelId") long hotelId,
+            @Param("roomType") String roomType,
+            @Param("stayDate") LocalDate stayDate,
+            @Param("totalRooms") int totalRooms,
+            @Param("soldRooms") int soldRooms
+    );
+
+    /**
+     * Consume una habitación en cada noche del rango que todavía tenga cupo.
+     * El llamador compara el resultado con el número de noches: si es menor,
+     * alguna noche estaba agotada y la transacción debe revertirse.
+     *
+     * @return número de noches actualizadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RoomTypeInventory i SET i.soldRooms = i.soldRooms + 1 " +
+           "WHERE i.roomType = :roomType AND i.stayDate >= :from AND i.stayDate < :to " +
+           "AND i.soldRooms < i.totalRooms")
+    int reserveNights(
+            @Param("roomType") RoomType roomType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Libera una habitación en cada noche del rango.
+     *
+     * @return número de noches actualizadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RoomTypeInventory i SET i.soldRooms = i.soldRooms - 1 " +
+           "WHERE i.roomType = :roomType AND i.stayDate >= :from AND i.stayDate < :to " +
+           "AND i.soldRooms > 0")
+    int releaseNights(
+            @Param("roomType") RoomType roomType,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Ajusta el total de habitaciones de un tipo a partir de una noche
+     * (alta, baja o cambio de tipo de una habitación).
+     *
+     * @return número de noches actualizadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RoomTypeInventory i SET i.totalRooms = i.totalRooms + :delta " +
+           "WHERE i.roomType = :roomType AND i.stayDate >= :from")
+    int adjustTotalRooms(
+            @Param("roomType") RoomType roomType,
+            @Param("delta") int delta,
+            @Param("from") LocalDate from
+    );
+}
@@ -0,0 +1,77 @@
+package com.sofka.hotel_booking_api.domain.repository;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import com.sofka.hotel_booking_api.domain.model.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para la lista de espera de reservas.
+ */
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Busca una solicitud en lista de espera por ID dentro del hotel actual. Se declara con JPQL para que Hibernate
+     * aplique el filtro de {@code hotel_id} también a la búsqueda por clave.
+     *
+     * @param id el ID de la solicitud
+     * @return la solicitud si existe en el hotel, empty si no
+     */
+    @Override
+    @Query("SELECT e FROM WaitlistEntry e WHERE e.id = :id")
+    Optional<WaitlistEntry> findById(@Param("id") Long id);
+
+    /**
+     * Obtiene las solicitudes en un estado, en orden de prioridad y llegada.
+     *
+     * @param status estado de las solicitudes
+     * @return solicitudes ordenadas por prioridad descendente y antigüedad
+     */
+    List<WaitlistEntry> findByStatusOrderByPriorityDescCreatedAtAsc(WaitlistStatus status);
+
+    /**
+     * Obtiene las solicitudes de un tipo de habitación en un estado, en orden de prioridad y llegada.
+     *
+     * @param status estado de las solicitudes
+     * @param roomType tipo de habitación
+     * @return solicitudes ordenadas por prioridad descendente y antigüedad
+     */
+    List<WaitlistEntry> findByStatusAndRoomTypeOrderByPriorityDescCreatedAtAsc(WaitlistStatus status,
+                                                                               RoomType roomType);
+
+    /**
+     * Busca una solicitud en espera idéntica (mismo huésped, tipo, habitación y fechas),
+     * para no duplicarla cuando el cliente reintenta la reserva.
+     */
+    @Query("SELECT e FROM WaitlistEntry e WHERE e.status = 'WAITING' " +
+           "AND e.documentNumber = :documentNumber AND e.roomType = :roomType " +
+           "AND ((:roomId IS NULL AND e.roomId IS NULL) OR e.roomId = :roomId) " +
+           "AND e.checkInDate = :checkInDate AND e.checkOutDate = :checkOutDate")
+    Optional<WaitlistEntry> findWaitingDuplicate(
+            @Param("documentNumber") String documentNumber,
+            @Param("roomType") RoomType roomType,
+            @Param("roomId") Long roomId,
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate
+    );
+
+    /**
+     * Marca como expiradas las solicitudes en espera cuya fecha de entrada ya pasó.
+     *
+     * @param today fecha actual
+     * @return número de solicitudes expiradas
+     */
+    @Modifying
+    @Query("UPDATE WaitlistEntry e SET e.status = 'EXPIRED' " +
+           "WHERE e.status = 'WAITING' AND e.checkInDate < :today")
+    int expireStale(@Param("today") LocalDate today);
+}
@@ -0,0 +1,25 @@
+package com.sofka.hotel_booking_api.infrastructure.cache;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+import java.time.LocalDate;
+
+/**
+ * Clave de la caché de habitaciones disponibles. Conserva el hotel y las fechas para que una
+ * reserva solo invalide las consultas de su hotel cuyo rango se solapa con su estadía.
+ *
+ * @param hotelId hotel de la consulta
+ * @param checkIn fecha de entrada consultada
+ * @param checkOut fecha de salida consultada (exclusive)
+ * @param roomType tipo consultado, o {@code null} para todos
+ */
+public record AvailabilityKey(long hotelId, LocalDate checkIn, LocalDate checkOut, RoomType roomType) {
+
+    boolean belongsTo(long hotel) {
+        return TenantKey.covers(hotelId, hotel);
+    }
+
+    boolean overlaps(LocalDate from, LocalDate to) {
+        return checkIn.isBefore(to) && from.isBefore(checkOut);
+    }
+}
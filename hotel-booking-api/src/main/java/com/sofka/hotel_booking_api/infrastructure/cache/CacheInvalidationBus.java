@@ -0,0 +1,301 @@
+package com.sofka.hotel_booking_api.infrastructure.cache;
+
+import com.sofka.hotel_booking_api.application.event.RatesChangedEvent;
+import com.sofka.hotel_booking_api.application.event.ReservationsBookedEvent;
+import com.sofka.hotel_booking_api.application.event.RestrictionsChangedEvent;
+import com.sofka.hotel_booking_api.infrastructure.scheduling.RunOnEveryNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Bus de coherencia de cachés entre instancias sobre {@code LISTEN/NOTIFY} de PostgreSQL.
+ *
+ * <p>Cada cambio confirmado se aplica de inmediato a las cachés locales y sus tokens se acumulan
+ * (sin repetidos; {@code *} reemplaza a todos) hasta el siguiente envío, que publica un único
+ * {@code pg_notify} cada {@code hotel.cache.invalidation.batch-interval}. Un hilo por instancia
+ * escucha el canal con una conexión dedicada, ignora sus propios mensajes y aplica los ajenos.
+ * Si la conexión se pierde se reconecta y vacía todas las cachés, porque pudo perder mensajes.</p>
+ *
+ * <p>Con {@code hotel.cache.invalidation.notify=false} (H2) solo se invalidan las cachés locales.</p>
+ */
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    /** NOTIFY admite cargas de hasta 8000 bytes; con más se envía {@code *}. */
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final char ORIGIN_SEPARATOR = '|';
+    private static final int POLL_TIMEOUT_MS = 500;
+
+    private final CacheInvalidator invalidator;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final boolean notifyEnabled;
+    private final String channel;
+    private final Duration reconnectBackoff;
+    private final String origin = UUID.randomUUID().toString();
+    private final Set<String> pending = new LinkedHashSet<>();
+    private final Counter sent;
+    private final Counter received;
+    private final Counter resyncs;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public CacheInvalidationBus(CacheInvalidator invalidator,
+                                JdbcTemplate jdbcTemplate,
+                                DataSource dataSource,
+                                MeterRegistry meterRegistry,
+                                @Value("${hotel.cache.invalidation.notify:true}") boolean notifyEnabled,
+                                @Value("${hotel.cache.invalidation.channel:hotel_cache_invalidation}") String channel,
+                                @Value("${hotel.cache.invalidation.reconnect-backoff:PT5S}") Duration reconnectBackoff) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException(
+                    "hotel.cache.invalidation.channel debe ser un identificador en minúsculas: " + channel);
+        }
+        this.invalidator = invalidator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.notifyEnabled = notifyEnabled;
+        this.channel = channel;
+        this.reconnectBackoff = reconnectBackoff;
+        this.sent = notifications(meterRegistry, "sent");
+        this.received = notifications(meterRegistry, "received");
+        this.resyncs = Counter.builder("hotel.cache.invalidation.resyncs")
+                .description("Vaciados completos de caché tras reconectar el canal de invalidación")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Invalida las cachés locales y encola los tokens para las demás instancias.
+     * Debe llamarse con cambios ya confirmados.
+     */
+    public void dispatch(Collection<String> tokens) {
+        invalidator.apply(tokens);
+        if (notifyEnabled) {
+            synchronized (pending) {
+                enqueue(tokens);
+            }
+        }
+    }
+
+    /**
+     * Encola los tokens solo para las demás instancias, para cambios que el llamador ya aplicó
+     * en su memoria (por ejemplo, el índice de la lista de espera). Debe llamarse con cambios ya confirmados.
+     */
+    public void broadcast(Collection<String> tokens) {
+        if (notifyEnabled) {
+            synchronized (pending) {
+                enqueue(tokens);
+            }
+        }
+    }
+
+    /**
+     * Las reservas de grupo se insertan con JDBC y no pasan por los listeners de Hibernate.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservationsBooked(ReservationsBookedEvent event) {
+        dispatch(List.of(CacheInvalidator.stay(event.hotelId(), event.from(), event.to())));
+    }
+
+    /**
+     * Las tarifas se escriben con JDBC y se guardan en memoria fuera de las entidades.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRatesChanged(RatesChangedEvent event) {
+        dispatch(List.of(CacheInvalidator.rates(event.hotelId(), event.roomType())));
+    }
+
+    /**
+     * Las restricciones se escriben con JDBC y también filtran la disponibilidad en caché.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestrictionsChanged(RestrictionsChangedEvent event) {
+        dispatch(List.of(CacheInvalidator.restrictions(event.hotelId(), event.roomType())));
+    }
+
+    /**
+     * Publica los tokens acumulados en un único NOTIFY. Si falla, se conservan para el siguiente envío.
+     */
+    @Scheduled(fixedDelayString = "${hotel.cache.invalidation.batch-interval:PT0.1S}")
+    @RunOnEveryNode
+    public void flush() {
+        if (!notifyEnabled || !running) {
+            return;
+        }
+        List<String> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        try {
+            jdbcTemplate.queryForObject(NOTIFY_SQL, String.class, channel, payload(batch));
+            sent.increment();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo publicar la invalidación de caché; se reintentará: {}", e.getMessage());
+            synchronized (pending) {
+                enqueue(batch);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!notifyEnabled) {
+            return;
+        }
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        // Publica lo pendiente antes de dejar de escuchar
+        flush();
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(POLL_TIMEOUT_MS * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listener = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Carga del NOTIFY: {@code <origen>|<token>,<token>...}; si no cabe se envía {@code *}.
+     */
+    String payload(List<String> tokens) {
+        String payload = origin + ORIGIN_SEPARATOR + String.join(",", tokens);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            return origin + ORIGIN_SEPARATOR + CacheInvalidator.ALL;
+        }
+        return payload;
+    }
+
+    /**
+     * Aplica un mensaje recibido; los propios ya se aplicaron al despacharlos.
+     */
+    void receive(String payload) {
+        int separator = payload.indexOf(ORIGIN_SEPARATOR);
+        if (separator < 0) {
+            invalidator.clearAll();
+            return;
+        }
+        if (origin.equals(payload.substring(0, separator))) {
+            return;
+        }
+        received.increment();
+        invalidator.apply(Arrays.asList(payload.substring(separator + 1).split(",")));
+    }
+
+    void markRunning() {
+        running = true;
+    }
+
+    List<String> pendingTokens() {
+        synchronized (pending) {
+            return List.copyOf(pending);
+        }
+    }
+
+    private void enqueue(Collection<String> tokens) {
+        if (pending.contains(CacheInvalidator.ALL)) {
+            return;
+        }
+        if (tokens.contains(CacheInvalidator.ALL)) {
+            pending.clear();
+            pending.add(CacheInvalidator.ALL);
+            return;
+        }
+        pending.addAll(tokens);
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    // Pudieron perderse mensajes mientras no había conexión
+                    log.info("Canal de invalidación de caché reconectado; se vacían las cachés locales");
+                    invalidator.clearAll();
+                    resyncs.increment();
+                }
+                reconnecting = false;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Se perdió el canal de invalidación de caché; reintento en {}: {}",
+                        reconnectBackoff, e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(reconnectBackoff.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static Counter notifications(MeterRegistry registry, String direction) {
+        return Counter.builder("hotel.cache.invalidation.notifications")
+                .description("Mensajes de invalidación de caché entre instancias")
+                .tag("direction", direction)
+                .register(registry);
+    }
+}
@@ -0,0 +1,192 @@
+package com.sofka.hotel_booking_api.infrastructure.cache;
+
+import com.sofka.hotel_booking_api.application.service.WaitlistIndex;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Aplica invalidaciones sobre las cachés locales. Las invalidaciones viajan entre instancias
+ * como tokens de texto, siempre acotados a un hotel:
+ * <ul>
+ *   <li>{@code R<hotel>:<id>}: cambió una habitación (su entrada, el listado, la disponibilidad y las
+ *       reservas del día del hotel)</li>
+ *   <li>{@code S<hotel>:<desde>_<hasta>}: cambiaron reservas entre esas fechas (disponibilidad solapada y
+ *       reservas del día de cada fecha del rango, ambos extremos incluidos)</li>
+ *   <li>{@code B<hotel>}: cambiaron datos que se muestran en todas las reservas del día (huéspedes)</li>
+ *   <li>{@code P<hotel>:<tipo>}: cambiaron las tarifas de un tipo de habitación</li>
+ *   <li>{@code C<hotel>:<tipo>}: cambiaron las restricciones de venta de un tipo de habitación (sus
+ *       restricciones en memoria y la disponibilidad del hotel que incluye ese tipo)</li>
+ *   <li>{@code W<hotel>:<id>_<tipo>_<entrada>_<salida>_<prioridad>_<creada>}: una solicitud de la lista de
+ *       espera entró o cambió de prioridad; {@code W<hotel>:<id>_<tipo>_<entrada>} si dejó de esperar.
+ *       No es una caché: se aplica al {@link WaitlistIndex} de la instancia</li>
+ *   <li>{@code *}: vaciar todas las cachés</li>
+ * </ul>
+ * Las entradas del tenant raíz ({@code hotel 0}) se invalidan con cualquier hotel. Vaciar todas las
+ * cachés también marca el índice de la lista de espera para reconstruirlo, porque pudieron perderse cambios.
+ */
+@Component
+public class CacheInvalidator {
+
+    public static final String ALL = "*";
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    private final CacheManager cacheManager;
+    private final WaitlistIndex waitlistIndex;
+
+    public CacheInvalidator(CacheManager cacheManager, WaitlistIndex waitlistIndex) {
+        this.cacheManager = cacheManager;
+        this.waitlistIndex = waitlistIndex;
+    }
+
+    public static String room(long hotelId, Long roomId) {
+        return "R" + hotelId + ":" + roomId;
+    }
+
+    public static String stay(long hotelId, LocalDate from, LocalDate to) {
+        return "S" + hotelId + ":" + from + "_" + to;
+    }
+
+    public static String boards(long hotelId) {
+        return "B" + hotelId;
+    }
+
+    public static String rates(long hotelId, RoomType roomType) {
+        return "P" + hotelId + ":" + roomType.name();
+    }
+
+    public static String restrictions(long hotelId, RoomType roomType) {
+        return "C" + hotelId + ":" + roomType.name();
+    }
+
+    public static String waitlist(WaitlistEntry entry) {
+        String token = "W" + entry.getHotelId() + ":" + entry.getId() + "_" + entry.getRoomType().name()
+                + "_" + entry.getCheckInDate();
+        if (!entry.isWaiting()) {
+            return token;
+        }
+        return token + "_" + entry.getCheckOutDate() + "_" + entry.getPriority() + "_" + entry.getCreatedAt();
+    }
+
+    /**
+     * Aplica los tokens; un token desconocido o mal formado vacía todas las cachés.
+     */
+    public void apply(Collection<String> tokens) {
+        if (tokens.contains(ALL)) {
+            clearAll();
+            return;
+        }
+        for (String token : tokens) {
+            try {
+                applyToken(token);
+            } catch (RuntimeException e) {
+                log.warn("Invalidación de caché no reconocida '{}'; se vacían todas las cachés", token);
+                clearAll();
+                return;
+            }
+        }
+    }
+
+    public void clearAll() {
+        waitlistIndex.invalidateAll();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private void applyToken(String token) {
+        int hotelEnd = token.indexOf(':');
+        long hotelId = Long.parseLong(token.substring(1, hotelEnd < 0 ? token.length() : hotelEnd));
+        String argument = hotelEnd < 0 ? "" : token.substring(hotelEnd + 1);
+        switch (token.charAt(0)) {
+            case 'R' -> {
+                Long roomId = Long.valueOf(argument);
+                evictIf(CacheNames.ROOMS, key -> !(key instanceof TenantKey room)
+                        || room.belongsTo(hotelId) && (roomId.equals(room.key()) || SimpleKey.EMPTY.equals(room.key())));
+                evictIf(CacheNames.AVAILABLE_ROOMS,
+                        key -> !(key instanceof AvailabilityKey availability) || availability.belongsTo(hotelId));
+                evictIf(CacheNames.TODAY_RESERVATIONS,
+                        key -> !(key instanceof TenantKey board) || board.belongsTo(hotelId));
+            }
+            case 'S' -> {
+                int separator = argument.indexOf('_');
+                LocalDate from = LocalDate.parse(argument.substring(0, separator));
+                LocalDate to = LocalDate.parse(argument.substring(separator + 1));
+                evictIf(CacheNames.AVAILABLE_ROOMS, key -> !(key instanceof AvailabilityKey availability)
+                        || availability.belongsTo(hotelId) && availability.overlaps(from, to));
+                evictIf(CacheNames.TODAY_RESERVATIONS, key -> !(key instanceof TenantKey board)
+                        || !(board.key() instanceof LocalDate date)
+                        || board.belongsTo(hotelId) && !date.isBefore(from) && !date.isAfter(to));
+            }
+            case 'B' -> evictIf(CacheNames.TODAY_RESERVATIONS,
+                    key -> !(key instanceof TenantKey board) || board.belongsTo(hotelId));
+            case 'P' -> {
+                RoomType roomType = RoomType.valueOf(argument);
+                evictIf(CacheNames.RATES,
+                        key -> !(key instanceof TenantKey rates) || rates.belongsTo(hotelId) && roomType == rates.key());
+            }
+            case 'C' -> {
+                RoomType roomType = RoomType.valueOf(argument);
+                evictIf(CacheNames.RESTRICTIONS, key -> !(key instanceof TenantKey restrictions)
+                        || restrictions.belongsTo(hotelId) && roomType == restrictions.key());
+                evictIf(CacheNames.AVAILABLE_ROOMS, key -> !(key instanceof AvailabilityKey availability)
+                        || availability.belongsTo(hotelId)
+                        && (availability.roomType() == null || availability.roomType() == roomType));
+            }
+            case 'W' -> {
+                String[] fields = argument.split("_");
+                Long entryId = Long.valueOf(fields[0]);
+                RoomType roomType = RoomType.valueOf(fields[1]);
+                LocalDate checkInDate = LocalDate.parse(fields[2]);
+                if (fields.length == 3) {
+                    waitlistIndex.remove(hotelId, roomType, entryId, checkInDate);
+                } else {
+                    waitlistIndex.add(hotelId, roomType, entryId, checkInDate, LocalDate.parse(fields[3]),
+                            Integer.parseInt(fields[4]), LocalDateTime.parse(fields[5]));
+                }
+            }
+            default -> throw new IllegalArgumentException("Token desconocido: " + token);
+        }
+    }
+
+    /**
+     * Elimina las claves que cumplen la condición; si la caché no expone sus claves la vacía.
+     */
+    private void evictIf(String name, Predicate<Object> stale) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            return;
+        }
+        Map<?, ?> entries = entries(cache.getNativeCache());
+        if (entries == null) {
+            cache.clear();
+        } else {
+            entries.keySet().removeIf(stale);
+        }
+    }
+
+    private static Map<?, ?> entries(Object nativeCache) {
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return caffeine.asMap();
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return map;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sofka.hotel_booking_api.infrastructure.cache;
+
+/**
+ * Nombres de las cachés de lectura y de sus generadores de claves.
+ * Deben coincidir con {@code spring.cache.cache-names}.
+ */
+public final class CacheNames {
+
+    /** Habitaciones por ID y listado completo ({@link TenantKey} con {@code SimpleKey.EMPTY}). */
+    public static final String ROOMS = "rooms";
+
+    /** Habitaciones disponibles por {@link AvailabilityKey}. */
+    public static final String AVAILABLE_ROOMS = "availableRooms";
+
+    /** Reservas del día por {@link TenantKey} con la fecha. */
+    public static final String TODAY_RESERVATIONS = "todayReservations";
+
+    /** Calendario de tarifas en memoria por {@link TenantKey} con el tipo de habitación. */
+    public static final String RATES = "rates";
+
+    /** Restricciones de venta en memoria por {@link TenantKey} con el tipo de habitación. */
+    public static final String RESTRICTIONS = "restrictions";
+
+    public static final String AVAILABILITY_KEY_GENERATOR = "availabilityKeyGenerator";
+    public static final String TODAY_KEY_GENERATOR = "todayKeyGenerator";
+    public static final String TENANT_KEY_GENERATOR = "tenantKeyGenerator";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,103 @@
+package com.sofka.hotel_booking_api.infrastructure.cache;
+
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Traduce los cambios confirmados de habitaciones, reservas y huéspedes en invalidaciones de caché.
+ *
+ * <p>Como {@link com.sofka.hotel_booking_api.infrastructure.metrics.ReservationTransitionMetrics},
+ * se registra como listener post-commit de Hibernate: cubre todos los caminos de escritura por JPA
+ * ({@code RoomService}, {@code ReservationService}, tareas programadas, lista de espera) y no
+ * invalida nada si la transacción termina en rollback.</p>
+ */
+@Component
+public class EntityCacheInvalidationListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Set<Class<?>> CACHED_ENTITIES = Set.of(Room.class, Reservation.class, Guest.class);
+
+    private final CacheInvalidationBus bus;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityCacheInvalidationListener(CacheInvalidationBus bus, EntityManagerFactory entityManagerFactory) {
+        this.bus = bus;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // Un huésped nuevo aún no aparece en ninguna reserva
+        if (!(event.getEntity() instanceof Guest)) {
+            invalidate(event.getEntity());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rollback: nada que invalidar
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rollback: nada que invalidar
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rollback: nada que invalidar
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return CACHED_ENTITIES.contains(persister.getMappedClass());
+    }
+
+    private void invalidate(Object entity) {
+        if (entity instanceof Room room) {
+            bus.dispatch(List.of(CacheInvalidator.room(room.getHotelId(), room.getId())));
+        } else if (entity instanceof Reservation reservation) {
+            bus.dispatch(List.of(CacheInvalidator.stay(reservation.getHotelId(),
+                    reservation.getCheckInDate(), reservation.getCheckOutDate())));
+        } else if (entity instanceof Guest guest) {
+            bus.dispatch(List.of(CacheInvalidator.boards(guest.getHotelId())));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.sofka.hotel_booking_api.infrastructure.cache;
+
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+
+/**
+ * Clave de caché de un hotel: el mismo ID o fecha de dos hoteles son entradas distintas.
+ *
+ * @param hotelId hotel de la consulta ({@link TenantContext#ALL_HOTELS} para el tenant raíz)
+ * @param key clave de la consulta dentro del hotel
+ */
+public record TenantKey(long hotelId, Object key) {
+
+    boolean belongsTo(long hotel) {
+        return covers(hotelId, hotel);
+    }
+
+    /**
+     * Las entradas del tenant raíz incluyen datos de todos los hoteles.
+     */
+    static boolean covers(long keyHotel, long changedHotel) {
+        return keyHotel == changedHotel || keyHotel == TenantContext.ALL_HOTELS;
+    }
+}
@@ -74,6 +74,16 @@ public final class ValidationMessages {
      */
     public static final String DUPLICATE_ROOM_NUMBER_MESSAGE = "Ya existe una habitación registrada con el número '%s'";
 
+    /**
+     * Título de error para una cabecera X-Hotel-Id inválida
+     */
+    public static final String INVALID_HOTEL_TITLE = "Hotel inválido";
+
+    /**
+     * Formato del mensaje de error para una cabecera X-Hotel-Id inválida
+     */
+    public static final String INVALID_HOTEL_MESSAGE = "La cabecera X-Hotel-Id debe ser un identificador de hotel positivo: '%s'";
+
     // ==================== Domain Constraints ====================
     
     /**
@@ -0,0 +1,62 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.infrastructure.dto.ProfilingRecordingResponse;
+import com.sofka.hotel_booking_api.infrastructure.jfr.JfrRecordingManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+/**
+ * Controlador REST de administración para grabar perfiles JFR bajo demanda.
+ * La grabación incluye los eventos de reservas, muestreo de CPU, asignaciones y contención de locks,
+ * y se vuelca en el directorio {@code hotel.profiling.directory} del servidor.
+ */
+@RestController
+@RequestMapping("/api/admin/profiling/recording")
+public class ProfilingController {
+
+    private final JfrRecordingManager recordingManager;
+
+    public ProfilingController(JfrRecordingManager recordingManager) {
+        this.recordingManager = recordingManager;
+    }
+
+    /**
+     * Endpoint para iniciar una grabación JFR.
+     * POST /api/admin/profiling/recording?duration=PT2M
+     *
+     * @param duration duración ISO-8601 (opcional, por defecto la máxima configurada)
+     * @return la grabación iniciada con estado 201 Created
+     */
+    @PostMapping
+    public ResponseEntity<ProfilingRecordingResponse> startRecording(
+            @RequestParam(required = false) Duration duration) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(recordingManager.start(duration));
+    }
+
+    /**
+     * Endpoint para detener la grabación y volcarla a disco.
+     * POST /api/admin/profiling/recording/stop
+     *
+     * @return la grabación detenida con la ruta del fichero generado
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<ProfilingRecordingResponse> stopRecording() {
+        return ResponseEntity.ok(recordingManager.stop());
+    }
+
+    /**
+     * Endpoint para consultar la grabación actual.
+     * GET /api/admin/profiling/recording
+     *
+     * @return la grabación actual o 204 No Content si no hay ninguna
+     */
+    @GetMapping
+    public ResponseEntity<ProfilingRecordingResponse> getRecording() {
+        return recordingManager.status()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
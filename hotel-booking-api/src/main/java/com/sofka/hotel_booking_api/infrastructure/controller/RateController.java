@@ -0,0 +1,95 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.application.service.PricingService;
+import com.sofka.hotel_booking_api.application.service.RateCalendar;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.dto.PriceQuoteRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.PriceQuoteResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomRateCalendarResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.SetRoomRateRequest;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controlador REST del calendario de tarifas y de las cotizaciones.
+ * RN-008: Cálculo de Tarifas
+ */
+@RestController
+@RequestMapping("/api/rates")
+public class RateController {
+
+    private final RateCalendar rateCalendar;
+    private final PricingService pricingService;
+
+    public RateController(RateCalendar rateCalendar, PricingService pricingService) {
+        this.rateCalendar = rateCalendar;
+        this.pricingService = pricingService;
+    }
+
+    /**
+     * Endpoint para consultar las tarifas de un tipo de habitación noche a noche.
+     * GET /api/rates/{roomType}?from=2026-12-20&to=2027-01-05
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche
+     * @param to última noche (exclusive)
+     * @return la tarifa de cada noche (sin importe si se cobra el precio de la habitación)
+     */
+    @GetMapping("/{roomType}")
+    public ResponseEntity<RoomRateCalendarResponse> getRates(
+            @PathVariable RoomType roomType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(rateCalendar.getRates(roomType, from, to));
+    }
+
+    /**
+     * Endpoint para fijar la tarifa de un tipo de habitación en un rango de noches.
+     * PUT /api/rates/{roomType}
+     *
+     * @param roomType tipo de habitación
+     * @param request rango de noches y tarifa
+     * @return las tarifas del rango
+     */
+    @PutMapping("/{roomType}")
+    public ResponseEntity<RoomRateCalendarResponse> setRates(
+            @PathVariable RoomType roomType,
+            @Valid @RequestBody SetRoomRateRequest request) {
+        return ResponseEntity.ok(rateCalendar.setRates(roomType, request.from(), request.to(), Money.of(request.amount())));
+    }
+
+    /**
+     * Endpoint para eliminar las tarifas de un rango; esas noches vuelven al precio de la habitación.
+     * DELETE /api/rates/{roomType}?from=2026-12-20&to=2027-01-05
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche
+     * @param to última noche (exclusive)
+     * @return 204 No Content
+     */
+    @DeleteMapping("/{roomType}")
+    public ResponseEntity<Void> clearRates(
+            @PathVariable RoomType roomType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        rateCalendar.clearRates(roomType, from, to);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint para cotizar varias estadías en una sola llamada.
+     * POST /api/rates/quote
+     *
+     * @param request habitaciones y fechas a cotizar
+     * @return el precio de cada estadía y el total
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<PriceQuoteResponse> quote(@Valid @RequestBody PriceQuoteRequest request) {
+        return ResponseEntity.ok(pricingService.quote(request));
+    }
+}
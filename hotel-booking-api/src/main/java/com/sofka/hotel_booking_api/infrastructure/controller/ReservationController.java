@@ -1,11 +1,19 @@
 package com.sofka.hotel_booking_api.infrastructure.controller;
 
+import com.sofka.hotel_booking_api.application.service.GroupReservationService;
+import com.sofka.hotel_booking_api.application.service.IdempotencyService;
 import com.sofka.hotel_booking_api.application.service.PaymentService;
 import com.sofka.hotel_booking_api.application.service.ReservationService;
+import com.sofka.hotel_booking_api.application.service.WaitlistService;
+import com.sofka.hotel_booking_api.domain.exception.RoomNotAvailableException;
 import com.sofka.hotel_booking_api.infrastructure.dto.ConfirmPaymentRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGroupReservationRequest;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomTypeReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.GroupReservationResponse;
 import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
 import com.sofka.hotel_booking_api.infrastructure.dto.TodayReservationsResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.WaitlistEntryResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,29 +25,110 @@ import java.util.List;
  * Controlador REST para gestionar reservas del hotel.
  * Historia 3.1: Crear reserva
  * Historia 4.1: Confirmar pago de reserva
+ *
+ * <p>Los endpoints de creación y confirmación de pago aceptan la cabecera opcional
+ * {@code Idempotency-Key} para que los reintentos del cliente no dupliquen la operación.</p>
+ *
+ * <p>Si no hay disponibilidad, la solicitud queda registrada en la lista de espera y el
+ * mensaje de error incluye el número de solicitud asignado. El registro se hace fuera de la
+ * transacción de la operación idempotente, que se revierte; los reintentos con la misma clave
+ * reciben la misma solicitud en espera.</p>
  */
 @RestController
 @RequestMapping("/api/reservations")
 public class ReservationController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final ReservationService reservationService;
+    private final GroupReservationService groupReservationService;
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
+    private final WaitlistService waitlistService;
 
-    public ReservationController(ReservationService reservationService, PaymentService paymentService) {
+    public ReservationController(ReservationService reservationService,
+                                 GroupReservationService groupReservationService,
+                                 PaymentService paymentService,
+                                 IdempotencyService idempotencyService,
+                                 WaitlistService waitlistService) {
         this.reservationService = reservationService;
+        this.groupReservationService = groupReservationService;
         this.paymentService = paymentService;
+        this.idempotencyService = idempotencyService;
+        this.waitlistService = waitlistService;
     }
 
     /**
      * Endpoint para crear una nueva reserva.
      * POST /api/reservations
      *
+     * @param idempotencyKey clave de idempotencia opcional para reintentos seguros
      * @param request datos de la reserva a crear
      * @return la reserva creada con status 201 Created
      */
     @PostMapping
-    public ResponseEntity<ReservationResponse> createReservation(@Valid @RequestBody CreateReservationRequest request) {
-        ReservationResponse response = reservationService.createReservation(request);
+    public ResponseEntity<ReservationResponse> createReservation(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateReservationRequest request) {
+        try {
+            ReservationResponse response = idempotencyService.execute(
+                    idempotencyKey,
+                    "create-reservation",
+                    request,
+                    ReservationResponse.class,
+                    () -> reservationService.createReservation(request)
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RoomNotAvailableException ex) {
+            throw waitlisted(ex, waitlistService.enqueue(request));
+        }
+    }
+
+    /**
+     * Endpoint para crear una reserva por tipo de habitación (habitación asignada después).
+     * POST /api/reservations/by-type
+     *
+     * @param idempotencyKey clave de idempotencia opcional para reintentos seguros
+     * @param request datos de la reserva a crear
+     * @return la reserva creada con status 201 Created
+     */
+    @PostMapping("/by-type")
+    public ResponseEntity<ReservationResponse> createRoomTypeReservation(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateRoomTypeReservationRequest request) {
+        try {
+            ReservationResponse response = idempotencyService.execute(
+                    idempotencyKey,
+                    "create-room-type-reservation",
+                    request,
+                    ReservationResponse.class,
+                    () -> reservationService.createRoomTypeReservation(request)
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RoomNotAvailableException ex) {
+            throw waitlisted(ex, waitlistService.enqueue(request));
+        }
+    }
+
+    /**
+     * Endpoint para crear una reserva de grupo (varias habitaciones en una sola transacción).
+     * POST /api/reservations/group
+     *
+     * @param idempotencyKey clave de idempotencia opcional para reintentos seguros
+     * @param request líneas de habitación/fechas del grupo
+     * @return las reservas creadas con status 201 Created
+     */
+    @PostMapping("/group")
+    public ResponseEntity<GroupReservationResponse> createGroupReservation(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateGroupReservationRequest request) {
+        GroupReservationResponse response = idempotencyService.execute(
+                idempotencyKey,
+                "create-group-reservation",
+                request,
+                GroupReservationResponse.class,
+                () -> groupReservationService.createGroupReservation(request)
+        );
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -49,18 +138,29 @@ public class ReservationController {
      * Historia 4.1: Confirmar pago de reserva
      *
      * @param id ID de la reserva
+     * @param idempotencyKey clave de idempotencia opcional para reintentos seguros
      * @param request datos del pago (método, monto, referencia)
      * @return 200 OK cuando el pago se confirma exitosamente
      */
     @PostMapping("/{id}/confirm-payment")
     public ResponseEntity<Void> confirmPayment(
             @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody ConfirmPaymentRequest request) {
-        paymentService.confirmPayment(
-                id, 
-                request.paymentMethod(), 
-                request.amount(), 
-                request.reference()
+        idempotencyService.execute(
+                idempotencyKey,
+                "confirm-payment:" + id,
+                request,
+                Void.class,
+                () -> {
+                    paymentService.confirmPayment(
+                            id, 
+                            request.paymentMethod(), 
+                            request.amount(), 
+                            request.reference()
+                    );
+                    return null;
+                }
         );
         return ResponseEntity.ok().build();
     }
@@ -95,6 +195,18 @@ public class ReservationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Endpoint para asignar una habitación física a una reserva por tipo.
+     * POST /api/reservations/{id}/assign-room
+     *
+     * @param id ID de la reserva
+     * @return la reserva con la habitación asignada
+     */
+    @PostMapping("/{id}/assign-room")
+    public ResponseEntity<ReservationResponse> assignRoom(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.assignRoom(id));
+    }
+
     /**
      * Endpoint para realizar el check-in de una reserva.
      * POST /api/reservations/{id}/check-in
@@ -140,4 +252,13 @@ public class ReservationController {
             reservationService.cancelReservation(id, request.reason());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Añade al error de disponibilidad el número de la solicitud en lista de espera.
+     */
+    private static RoomNotAvailableException waitlisted(RoomNotAvailableException ex,
+                                                        WaitlistEntryResponse entry) {
+        return new RoomNotAvailableException(String.format(
+                "%s. La solicitud quedó en lista de espera con el número %d", ex.getMessage(), entry.id()));
+    }
 }
@@ -0,0 +1,77 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.application.service.RestrictionCalendar;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomRestrictionCalendarResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.SetRoomRestrictionRequest;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controlador REST de las restricciones de venta por tipo de habitación y noche.
+ * RN-004: Validaciones de Reserva
+ */
+@RestController
+@RequestMapping("/api/restrictions")
+public class RestrictionController {
+
+    private final RestrictionCalendar restrictionCalendar;
+
+    public RestrictionController(RestrictionCalendar restrictionCalendar) {
+        this.restrictionCalendar = restrictionCalendar;
+    }
+
+    /**
+     * Endpoint para consultar las restricciones de un tipo de habitación noche a noche.
+     * GET /api/restrictions/{roomType}?from=2026-12-20&to=2027-01-05
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche
+     * @param to última noche (exclusive)
+     * @return las restricciones de cada noche
+     */
+    @GetMapping("/{roomType}")
+    public ResponseEntity<RoomRestrictionCalendarResponse> getRestrictions(
+            @PathVariable RoomType roomType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(restrictionCalendar.getRestrictions(roomType, from, to));
+    }
+
+    /**
+     * Endpoint para fijar las restricciones de un tipo de habitación en un rango de noches.
+     * PUT /api/restrictions/{roomType}
+     *
+     * @param roomType tipo de habitación
+     * @param request rango de noches, estadía mínima/máxima y cierres a llegadas y salidas
+     * @return las restricciones del rango
+     */
+    @PutMapping("/{roomType}")
+    public ResponseEntity<RoomRestrictionCalendarResponse> setRestrictions(
+            @PathVariable RoomType roomType,
+            @Valid @RequestBody SetRoomRestrictionRequest request) {
+        return ResponseEntity.ok(restrictionCalendar.setRestrictions(roomType, request));
+    }
+
+    /**
+     * Endpoint para eliminar las restricciones de un rango de noches.
+     * DELETE /api/restrictions/{roomType}?from=2026-12-20&to=2027-01-05
+     *
+     * @param roomType tipo de habitación
+     * @param from primera noche
+     * @param to última noche (exclusive)
+     * @return 204 No Content
+     */
+    @DeleteMapping("/{roomType}")
+    public ResponseEntity<Void> clearRestrictions(
+            @PathVariable RoomType roomType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        restrictionCalendar.clearRestrictions(roomType, from, to);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.application.service.RoomAssignmentService;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomAssignmentPlanResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para la asignación automática de habitaciones.
+ * Primero se consulta el plan (simulación) y después se aplica.
+ */
+@RestController
+@RequestMapping("/api/room-assignments")
+public class RoomAssignmentController {
+
+    private final RoomAssignmentService roomAssignmentService;
+
+    public RoomAssignmentController(RoomAssignmentService roomAssignmentService) {
+        this.roomAssignmentService = roomAssignmentService;
+    }
+
+    /**
+     * Endpoint para simular la reasignación de habitaciones sin aplicarla.
+     * GET /api/room-assignments/plan
+     *
+     * @param horizonDays días a partir de hoy cuyas llegadas se pueden reasignar (90 por defecto)
+     * @return los cambios propuestos por tipo de habitación
+     */
+    @GetMapping("/plan")
+    public ResponseEntity<RoomAssignmentPlanResponse> planAssignments(
+            @RequestParam(defaultValue = "90") int horizonDays) {
+        return ResponseEntity.ok(roomAssignmentService.planAssignments(horizonDays));
+    }
+
+    /**
+     * Endpoint para calcular y aplicar la reasignación de habitaciones.
+     * POST /api/room-assignments/apply
+     *
+     * @param horizonDays días a partir de hoy cuyas llegadas se pueden reasignar (90 por defecto)
+     * @return los cambios aplicados por tipo de habitación
+     */
+    @PostMapping("/apply")
+    public ResponseEntity<RoomAssignmentPlanResponse> applyAssignments(
+            @RequestParam(defaultValue = "90") int horizonDays) {
+        return ResponseEntity.ok(roomAssignmentService.applyAssignments(horizonDays));
+    }
+}
@@ -1,9 +1,12 @@
 package com.sofka.hotel_booking_api.infrastructure.controller;
 
+import com.sofka.hotel_booking_api.application.service.MultiHotelAvailabilityService;
 import com.sofka.hotel_booking_api.application.service.RoomService;
 import com.sofka.hotel_booking_api.domain.model.RoomType;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.MultiHotelAvailabilityResponse;
 import com.sofka.hotel_booking_api.infrastructure.dto.RoomResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomTypeAvailabilityResponse;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -21,9 +24,11 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final MultiHotelAvailabilityService multiHotelAvailabilityService;
 
-    public RoomController(RoomService roomService) {
+    public RoomController(RoomService roomService, MultiHotelAvailabilityService multiHotelAvailabilityService) {
         this.roomService = roomService;
+        this.multiHotelAvailabilityService = multiHotelAvailabilityService;
     }
 
     /**
@@ -111,4 +116,43 @@ public class RoomController {
         List<RoomResponse> availableRooms = roomService.getAvailableRooms(checkIn, checkOut, roomType);
         return ResponseEntity.ok(availableRooms);
     }
+
+    /**
+     * Endpoint para consultar habitaciones disponibles en varios hoteles a la vez (central de reservas).
+     * GET /api/rooms/available/hotels
+     *
+     * <p>Ignora la cabecera {@code X-Hotel-Id}: consulta los hoteles de {@code hotelIds} o, sin ellos,
+     * todos. Si algún hotel no responde a tiempo el resultado llega con {@code complete=false}.</p>
+     *
+     * @param checkIn fecha de entrada (obligatoria)
+     * @param checkOut fecha de salida (obligatoria)
+     * @param roomType tipo de habitación (opcional)
+     * @param hotelIds hoteles a consultar (opcional)
+     * @return habitaciones de todos los hoteles ordenadas por precio y el estado de cada hotel
+     */
+    @GetMapping("/available/hotels")
+    public ResponseEntity<MultiHotelAvailabilityResponse> getAvailableRoomsInHotels(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) RoomType roomType,
+            @RequestParam(required = false) List<Long> hotelIds) {
+        return ResponseEntity.ok(multiHotelAvailabilityService.search(checkIn, checkOut, roomType, hotelIds));
+    }
+
+    /**
+     * Endpoint para consultar cuántas habitaciones de un tipo quedan a la venta.
+     * GET /api/rooms/inventory
+     *
+     * @param roomType tipo de habitación (obligatorio)
+     * @param checkIn fecha de entrada (obligatoria)
+     * @param checkOut fecha de salida (obligatoria)
+     * @return inventario restante por noche y para toda la estadía
+     */
+    @GetMapping("/inventory")
+    public ResponseEntity<RoomTypeAvailabilityResponse> getRoomTypeAvailability(
+            @RequestParam RoomType roomType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        return ResponseEntity.ok(roomService.getRoomTypeAvailability(roomType, checkIn, checkOut));
+    }
 }
@@ -0,0 +1,58 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.application.service.OccupancyStatsService;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.dto.OccupancyReportResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.StatsRebuildResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controlador REST de las estadísticas de ocupación e ingresos.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final OccupancyStatsService occupancyStatsService;
+
+    public StatsController(OccupancyStatsService occupancyStatsService) {
+        this.occupancyStatsService = occupancyStatsService;
+    }
+
+    /**
+     * Endpoint para consultar la ocupación, el ADR y el RevPAR por día y tipo de habitación.
+     * GET /api/stats/occupancy?from=2026-12-01&to=2027-01-01&roomType=SUITE
+     *
+     * @param from primer día
+     * @param to último día (exclusive)
+     * @param roomType tipo de habitación (opcional)
+     * @return las cifras de cada día y tipo y el total del rango
+     */
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyReportResponse> getOccupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) RoomType roomType) {
+        return ResponseEntity.ok(occupancyStatsService.getOccupancy(from, to, roomType));
+    }
+
+    /**
+     * Endpoint para recalcular desde las reservas las estadísticas de un rango.
+     * POST /api/stats/rebuild?from=2026-01-01&to=2027-01-01
+     *
+     * @param from primer día
+     * @param to último día (exclusive)
+     * @return reservas leídas y filas escritas
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<StatsRebuildResponse> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(occupancyStatsService.rebuild(from, to));
+    }
+}
@@ -0,0 +1,49 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.infrastructure.dto.TraceResponse;
+import com.sofka.hotel_booking_api.infrastructure.tracing.SpanRingBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST de administración para consultar las trazas recientes guardadas en memoria.
+ * Solo contiene las trazas muestreadas ({@code management.tracing.sampling.probability}).
+ */
+@RestController
+@RequestMapping("/api/admin/traces")
+public class TraceController {
+
+    private final SpanRingBuffer spanRingBuffer;
+
+    public TraceController(SpanRingBuffer spanRingBuffer) {
+        this.spanRingBuffer = spanRingBuffer;
+    }
+
+    /**
+     * Endpoint para listar las trazas más recientes.
+     * GET /api/admin/traces?limit=20
+     *
+     * @param limit número máximo de trazas (por defecto 20)
+     * @return trazas de la más reciente a la más antigua
+     */
+    @GetMapping
+    public ResponseEntity<List<TraceResponse>> getRecentTraces(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(spanRingBuffer.recentTraces(limit));
+    }
+
+    /**
+     * Endpoint para obtener una traza por su identificador.
+     * GET /api/admin/traces/{traceId}
+     *
+     * @param traceId identificador hexadecimal de la traza
+     * @return la traza o 404 Not Found si ya no está en memoria
+     */
+    @GetMapping("/{traceId}")
+    public ResponseEntity<TraceResponse> getTrace(@PathVariable String traceId) {
+        return spanRingBuffer.findTrace(traceId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,64 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.application.service.WaitlistService;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.dto.WaitlistEntryResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para consultar y gestionar la lista de espera de reservas.
+ * Las solicitudes se crean automáticamente cuando una reserva se rechaza por falta de disponibilidad.
+ */
+@RestController
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    /**
+     * Endpoint para listar las solicitudes en espera.
+     * GET /api/waitlist?roomType=SUITE
+     *
+     * @param roomType tipo de habitación (opcional)
+     * @return solicitudes en orden de promoción
+     */
+    @GetMapping
+    public ResponseEntity<List<WaitlistEntryResponse>> getWaitingEntries(
+            @RequestParam(required = false) RoomType roomType) {
+        return ResponseEntity.ok(waitlistService.getWaitingEntries(roomType));
+    }
+
+    /**
+     * Endpoint para cambiar la prioridad de una solicitud en espera.
+     * PUT /api/waitlist/{id}/priority?value=10
+     *
+     * @param id ID de la solicitud
+     * @param value nueva prioridad (mayor se promueve antes)
+     * @return la solicitud actualizada
+     */
+    @PutMapping("/{id}/priority")
+    public ResponseEntity<WaitlistEntryResponse> updatePriority(@PathVariable Long id,
+                                                                @RequestParam int value) {
+        return ResponseEntity.ok(waitlistService.updatePriority(id, value));
+    }
+
+    /**
+     * Endpoint para retirar una solicitud de la lista de espera.
+     * DELETE /api/waitlist/{id}
+     *
+     * @param id ID de la solicitud
+     * @return 204 No Content
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelEntry(@PathVariable Long id) {
+        waitlistService.cancelEntry(id);
+        return ResponseEntity.noContent().build();
+    }
+}
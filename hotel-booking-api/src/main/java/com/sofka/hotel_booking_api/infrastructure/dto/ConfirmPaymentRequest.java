@@ -1,6 +1,7 @@
 package com.sofka.hotel_booking_api.infrastructure.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -16,6 +17,7 @@ public record ConfirmPaymentRequest(
         
         @NotNull(message = "El monto es obligatorio")
         @DecimalMin(value = "0.01", message = "El monto debe ser mayor a 0")
+        @Digits(integer = 8, fraction = 2, message = "El monto admite hasta 8 enteros y 2 decimales")
         BigDecimal amount,
         
         String reference // Opcional para CASH, obligatorio para CARD/TRANSFER (validado en servicio)
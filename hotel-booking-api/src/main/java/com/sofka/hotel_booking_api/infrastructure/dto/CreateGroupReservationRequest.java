@@ -0,0 +1,18 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para crear una reserva de grupo (varias habitaciones en una sola operación).
+ * Cada línea tiene las mismas validaciones que una reserva individual (RN-004, RN-005).
+ */
+public record CreateGroupReservationRequest(
+        @NotEmpty(message = "La reserva de grupo debe incluir al menos una habitación")
+        @Size(max = 200, message = "La reserva de grupo no puede exceder 200 habitaciones")
+        List<@Valid CreateReservationRequest> reservations
+) {
+}
@@ -0,0 +1,15 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de respuesta de una reserva de grupo.
+ * Las reservas se devuelven en el mismo orden de las líneas de la solicitud.
+ */
+public record GroupReservationResponse(
+        List<ReservationResponse> reservations,
+        int totalReservations,
+        BigDecimal totalAmount
+) {
+}
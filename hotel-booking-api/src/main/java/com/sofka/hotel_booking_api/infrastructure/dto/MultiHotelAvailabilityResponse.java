@@ -0,0 +1,56 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de respuesta de la búsqueda de disponibilidad en varios hoteles.
+ * {@code rooms} reúne las habitaciones disponibles de todos los hoteles ordenadas por el precio
+ * total de la estadía;
+ * {@code hotels} indica qué hoteles respondieron. Si alguno no respondió a tiempo o falló,
+ * {@code complete} es false y el resultado es parcial.
+ */
+public record MultiHotelAvailabilityResponse(
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        RoomType roomType,
+        boolean complete,
+        List<HotelRoom> rooms,
+        List<HotelResult> hotels
+) {
+    /**
+     * Habitación disponible en un hotel.
+     *
+     * @param hotelId hotel de la habitación
+     * @param room habitación
+     * @param totalAmount precio total de la estadía con las tarifas del hotel (RN-008)
+     */
+    public record HotelRoom(Long hotelId, RoomResponse room, BigDecimal totalAmount) {
+    }
+
+    /**
+     * Resultado de la búsqueda en un hotel.
+     *
+     * @param hotelId hotel consultado
+     * @param status resultado de la consulta
+     * @param availableRooms habitaciones disponibles encontradas (0 si no respondió)
+     * @param elapsedMillis tiempo hasta obtener la respuesta o agotar la espera
+     */
+    public record HotelResult(Long hotelId, Status status, int availableRooms, long elapsedMillis) {
+    }
+
+    /**
+     * Resultado de la consulta de un hotel.
+     */
+    public enum Status {
+        /** Respondió a tiempo. */
+        OK,
+        /** No respondió dentro de {@code hotel.availability.search.timeout}. */
+        TIMEOUT,
+        /** Falló o no había capacidad para consultarlo. */
+        FAILED
+    }
+}
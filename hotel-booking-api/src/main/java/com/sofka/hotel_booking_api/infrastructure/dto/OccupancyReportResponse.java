@@ -0,0 +1,64 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de respuesta con la ocupación y los ingresos de un rango de días.
+ * {@code days} tiene una entrada por día y tipo de habitación; {@code totals} resume el rango
+ * (sin día, y con el tipo consultado o null si se consultaron todos).
+ */
+public record OccupancyReportResponse(
+        LocalDate from,
+        LocalDate to,
+        RoomType roomType,
+        List<Figures> days,
+        Figures totals
+) {
+    /**
+     * Cifras de un día y tipo, o del rango completo.
+     *
+     * @param availableRoomNights noches disponibles (habitaciones del tipo por días)
+     * @param roomNightsSold noches vendidas
+     * @param occupancyRate porcentaje de ocupación (vendidas sobre disponibles)
+     * @param revenue ingreso de las noches vendidas
+     * @param adr tarifa media diaria (ingreso por noche vendida)
+     * @param revpar ingreso por noche disponible
+     */
+    public record Figures(
+            LocalDate date,
+            RoomType roomType,
+            long availableRoomNights,
+            long roomNightsSold,
+            BigDecimal occupancyRate,
+            BigDecimal revenue,
+            BigDecimal adr,
+            BigDecimal revpar,
+            long arrivals,
+            long departures,
+            long cancellations
+    ) {
+        /**
+         * Calcula los indicadores a partir de los contadores; un denominador cero da cero.
+         */
+        public static Figures of(LocalDate date, RoomType roomType, long availableRoomNights, long roomNightsSold,
+                                 Money revenue, long arrivals, long departures, long cancellations) {
+            BigDecimal occupancyRate = availableRoomNights == 0
+                    ? BigDecimal.ZERO.setScale(2)
+                    : BigDecimal.valueOf(roomNightsSold * 100)
+                            .divide(BigDecimal.valueOf(availableRoomNights), 2, RoundingMode.HALF_UP);
+            Money adr = roomNightsSold == 0 ? Money.ZERO : revenue.dividedBy(roomNightsSold, RoundingMode.HALF_UP);
+            Money revpar = availableRoomNights == 0
+                    ? Money.ZERO
+                    : revenue.dividedBy(availableRoomNights, RoundingMode.HALF_UP);
+            return new Figures(date, roomType, availableRoomNights, roomNightsSold, occupancyRate,
+                    revenue.toBigDecimal(), adr.toBigDecimal(), revpar.toBigDecimal(),
+                    arrivals, departures, cancellations);
+        }
+    }
+}
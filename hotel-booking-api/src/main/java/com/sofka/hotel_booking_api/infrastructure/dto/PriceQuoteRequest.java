@@ -0,0 +1,34 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO para cotizar varias estadías en una sola llamada.
+ * Cada estadía tiene las mismas validaciones de fechas que una reserva (RN-004).
+ */
+public record PriceQuoteRequest(
+        @NotEmpty(message = "La cotización debe incluir al menos una estadía")
+        @Size(max = 500, message = "La cotización no puede exceder 500 estadías")
+        List<@Valid @NotNull Stay> stays
+) {
+    /**
+     * Estadía a cotizar.
+     */
+    public record Stay(
+            @NotNull(message = "El ID de la habitación es obligatorio")
+            Long roomId,
+
+            @NotNull(message = "La fecha de entrada es obligatoria")
+            LocalDate checkInDate,
+
+            @NotNull(message = "La fecha de salida es obligatoria")
+            LocalDate checkOutDate
+    ) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de respuesta de una cotización: el precio de cada estadía, en el orden de la solicitud,
+ * y la suma de todas.
+ */
+public record PriceQuoteResponse(
+        BigDecimal totalAmount,
+        List<StayQuote> stays
+) {
+    /**
+     * Precio de una estadía según el calendario de tarifas.
+     */
+    public record StayQuote(
+            Long roomId,
+            String roomNumber,
+            RoomType roomType,
+            LocalDate checkInDate,
+            LocalDate checkOutDate,
+            long numberOfNights,
+            BigDecimal totalAmount
+    ) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta con el estado de una grabación JFR bajo demanda.
+ * {@code fileSizeBytes} es null mientras el fichero no se haya volcado a disco.
+ */
+public record ProfilingRecordingResponse(
+        String name,
+        String state,
+        LocalDateTime startedAt,
+        Duration duration,
+        String file,
+        Long fileSizeBytes
+) {
+}
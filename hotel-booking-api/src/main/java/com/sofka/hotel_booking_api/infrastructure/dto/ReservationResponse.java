@@ -2,6 +2,7 @@ package com.sofka.hotel_booking_api.infrastructure.dto;
 
 import com.sofka.hotel_booking_api.domain.model.Reservation;
 import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -9,12 +10,14 @@ import java.time.LocalDateTime;
 
 /**
  * DTO de respuesta con información de una reserva.
+ * {@code room} es null en reservas por tipo que aún no tienen habitación asignada.
  */
 public record ReservationResponse(
         Long id,
         String reservationNumber,
         GuestResponse guest,
         RoomResponse room,
+        RoomType roomType,
         LocalDate checkInDate,
         LocalDate checkOutDate,
         Integer numberOfGuests,
@@ -35,12 +38,13 @@ public record ReservationResponse(
                 reservation.getId(),
                 reservation.getReservationNumber(),
                 GuestResponse.fromEntity(reservation.getGuest()),
-                RoomResponse.fromEntity(reservation.getRoom()),
+                reservation.hasAssignedRoom() ? RoomResponse.fromEntity(reservation.getRoom()) : null,
+                reservation.getRoomType(),
                 reservation.getCheckInDate(),
                 reservation.getCheckOutDate(),
                 reservation.getNumberOfGuests(),
                 reservation.getNumberOfNights(),
-                reservation.getTotalAmount(),
+                reservation.getTotalAmount().toBigDecimal(),
                 reservation.getStatus(),
                 reservation.getCreatedAt(),
                 reservation.getCheckInTime(),
@@ -0,0 +1,44 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de respuesta del optimizador de asignación de habitaciones.
+ * En modo simulación ({@code applied = false}) solo describe los cambios propuestos.
+ */
+public record RoomAssignmentPlanResponse(
+        LocalDate horizonStart,
+        LocalDate horizonEnd,
+        boolean applied,
+        int totalChanges,
+        List<RoomTypePlan> roomTypes
+) {
+    /**
+     * Propuesta para un tipo de habitación.
+     */
+    public record RoomTypePlan(
+            RoomType roomType,
+            int movableReservations,
+            int currentOrphanNights,
+            int proposedOrphanNights,
+            List<RoomAssignmentChange> changes,
+            List<String> unplacedReservations
+    ) {
+    }
+
+    /**
+     * Cambio de habitación de una reserva. {@code fromRoomNumber} es null si no tenía habitación.
+     */
+    public record RoomAssignmentChange(
+            Long reservationId,
+            String reservationNumber,
+            LocalDate checkInDate,
+            LocalDate checkOutDate,
+            String fromRoomNumber,
+            String toRoomNumber
+    ) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de respuesta con las tarifas de un tipo de habitación noche a noche.
+ */
+public record RoomRateCalendarResponse(
+        RoomType roomType,
+        LocalDate from,
+        LocalDate to,
+        List<NightRate> nights
+) {
+    /**
+     * Tarifa de una noche; {@code amount} es null si se cobra el precio por noche de la habitación.
+     */
+    public record NightRate(
+            LocalDate date,
+            BigDecimal amount
+    ) {
+    }
+}
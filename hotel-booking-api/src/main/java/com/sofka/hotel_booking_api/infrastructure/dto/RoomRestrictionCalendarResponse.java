@@ -0,0 +1,28 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de respuesta con las restricciones de venta de un tipo de habitación noche a noche.
+ */
+public record RoomRestrictionCalendarResponse(
+        RoomType roomType,
+        LocalDate from,
+        LocalDate to,
+        List<NightRestriction> nights
+) {
+    /**
+     * Restricciones de una noche; la estadía mínima y máxima son null si la noche no las limita.
+     */
+    public record NightRestriction(
+            LocalDate date,
+            Integer minStay,
+            Integer maxStay,
+            boolean closedToArrival,
+            boolean closedToDeparture
+    ) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.RoomTypeInventory;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de respuesta con el inventario restante de un tipo de habitación.
+ * {@code availableRooms} es el mínimo de las noches: las habitaciones del tipo
+ * que todavía se pueden vender para toda la estadía.
+ */
+public record RoomTypeAvailabilityResponse(
+        RoomType roomType,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        int availableRooms,
+        List<NightAvailability> nights
+) {
+    /**
+     * Inventario de una noche de la estadía.
+     */
+    public record NightAvailability(
+            LocalDate date,
+            int totalRooms,
+            int soldRooms,
+            int availableRooms
+    ) {
+        public static NightAvailability fromEntity(RoomTypeInventory inventory) {
+            return new NightAvailability(
+                    inventory.getStayDate(),
+                    inventory.getTotalRooms(),
+                    inventory.getSoldRooms(),
+                    inventory.getAvailableRooms()
+            );
+        }
+    }
+
+    /**
+     * Crea la respuesta a partir de las filas de inventario de cada noche.
+     */
+    public static RoomTypeAvailabilityResponse fromEntities(RoomType roomType, LocalDate checkInDate,
+                                                            LocalDate checkOutDate,
+                                                            List<RoomTypeInventory> inventory) {
+        List<NightAvailability> nights = inventory.stream()
+                .map(NightAvailability::fromEntity)
+                .toList();
+        int availableRooms = nights.stream()
+                .mapToInt(NightAvailability::availableRooms)
+                .min()
+                .orElse(0);
+        return new RoomTypeAvailabilityResponse(roomType, checkInDate, checkOutDate, availableRooms, nights);
+    }
+}
@@ -0,0 +1,25 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO para fijar la tarifa de un tipo de habitación en un rango de noches [from, to).
+ */
+public record SetRoomRateRequest(
+        @NotNull(message = "La fecha inicial es obligatoria")
+        LocalDate from,
+
+        @NotNull(message = "La fecha final es obligatoria")
+        LocalDate to,
+
+        @NotNull(message = "La tarifa es obligatoria")
+        @DecimalMin(value = "0.01", message = "La tarifa debe ser mayor a 0")
+        @Digits(integer = 8, fraction = 2, message = "La tarifa admite hasta 8 enteros y 2 decimales")
+        BigDecimal amount
+) {
+}
@@ -0,0 +1,32 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * DTO para fijar las restricciones de venta de un tipo de habitación en un rango de noches [from, to).
+ * La estadía mínima y máxima son opcionales y no pueden superar la duración máxima de 30 noches.
+ */
+public record SetRoomRestrictionRequest(
+        @NotNull(message = "La fecha inicial es obligatoria")
+        LocalDate from,
+
+        @NotNull(message = "La fecha final es obligatoria")
+        LocalDate to,
+
+        @Min(value = 1, message = "La estadía mínima debe ser de al menos 1 noche")
+        @Max(value = 30, message = "La estadía mínima no puede superar 30 noches")
+        Integer minStay,
+
+        @Min(value = 1, message = "La estadía máxima debe ser de al menos 1 noche")
+        @Max(value = 30, message = "La estadía máxima no puede superar 30 noches")
+        Integer maxStay,
+
+        boolean closedToArrival,
+
+        boolean closedToDeparture
+) {
+}
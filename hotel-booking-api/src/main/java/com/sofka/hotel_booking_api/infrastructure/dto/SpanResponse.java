@@ -0,0 +1,45 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO con los datos de un span de OpenTelemetry ya finalizado.
+ * {@code parentSpanId} es null en el span raíz de la traza.
+ */
+public record SpanResponse(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        String kind,
+        Instant start,
+        long durationMicros,
+        String status,
+        Map<String, String> attributes
+) {
+    /**
+     * Crea un SpanResponse desde los datos exportados de un span.
+     * @param span datos del span finalizado
+     * @return el DTO de respuesta
+     */
+    public static SpanResponse fromSpanData(SpanData span) {
+        Map<String, String> attributes = new TreeMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return new SpanResponse(
+                span.getTraceId(),
+                span.getSpanId(),
+                span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                span.getName(),
+                span.getKind().name(),
+                Instant.ofEpochSecond(0, span.getStartEpochNanos()),
+                TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                span.getStatus().getStatusCode().name(),
+                attributes
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de respuesta de la reconstrucción de los agregados de ocupación de un rango.
+ *
+ * @param reservations reservas leídas del rango
+ * @param rows filas de agregados escritas (días y tipos con alguna cifra)
+ */
+public record StatsRebuildResponse(
+        LocalDate from,
+        LocalDate to,
+        long reservations,
+        int rows
+) {
+}
@@ -0,0 +1,19 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO con una traza completa: sus spans ordenados por inicio y el resumen del span raíz.
+ * Si el span raíz aún no ha finalizado (o ya salió del buffer), {@code rootName} es el del
+ * span más antiguo disponible.
+ */
+public record TraceResponse(
+        String traceId,
+        String rootName,
+        Instant start,
+        long durationMicros,
+        int spanCount,
+        List<SpanResponse> spans
+) {
+}
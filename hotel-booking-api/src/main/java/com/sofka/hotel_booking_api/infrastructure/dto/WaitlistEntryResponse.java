@@ -0,0 +1,51 @@
+package com.sofka.hotel_booking_api.infrastructure.dto;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import com.sofka.hotel_booking_api.domain.model.WaitlistStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta con información de una solicitud en lista de espera.
+ * {@code roomId} es null si la solicitud era por tipo de habitación.
+ */
+public record WaitlistEntryResponse(
+        Long id,
+        RoomType roomType,
+        Long roomId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Integer numberOfGuests,
+        String guestName,
+        String documentNumber,
+        int priority,
+        WaitlistStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime promotedAt,
+        String reservationNumber
+) {
+    /**
+     * Crea un WaitlistEntryResponse desde una entidad WaitlistEntry.
+     * @param entry la entidad WaitlistEntry
+     * @return el DTO de respuesta
+     */
+    public static WaitlistEntryResponse fromEntity(WaitlistEntry entry) {
+        return new WaitlistEntryResponse(
+                entry.getId(),
+                entry.getRoomType(),
+                entry.getRoomId(),
+                entry.getCheckInDate(),
+                entry.getCheckOutDate(),
+                entry.getNumberOfGuests(),
+                entry.getFirstName() + " " + entry.getLastName(),
+                entry.getDocumentNumber(),
+                entry.getPriority(),
+                entry.getStatus(),
+                entry.getCreatedAt(),
+                entry.getPromotedAt(),
+                entry.getReservationNumber()
+        );
+    }
+}
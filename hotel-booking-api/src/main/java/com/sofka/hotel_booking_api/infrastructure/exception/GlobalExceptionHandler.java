@@ -1,9 +1,13 @@
 package com.sofka.hotel_booking_api.infrastructure.exception;
 
 import com.sofka.hotel_booking_api.domain.exception.DuplicateRoomNumberException;
+import com.sofka.hotel_booking_api.domain.exception.IdempotencyKeyConflictException;
+import com.sofka.hotel_booking_api.domain.exception.IdempotencyKeyInProgressException;
 import com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException;
 import com.sofka.hotel_booking_api.domain.exception.ReservationNotFoundException;
+import com.sofka.hotel_booking_api.domain.exception.RoomLockTimeoutException;
 import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
+import com.sofka.hotel_booking_api.domain.exception.WaitlistEntryNotFoundException;
 import com.sofka.hotel_booking_api.infrastructure.constants.ValidationMessages;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,7 +30,11 @@ import java.util.Map;
  * <ul>
  *   <li>{@link DuplicateRoomNumberException} → 409 CONFLICT</li>
  *   <li>{@link RoomNotFoundException} → 404 NOT FOUND</li>
+ *   <li>{@link WaitlistEntryNotFoundException} → 404 NOT FOUND</li>
  *   <li>{@link InvalidDateRangeException} → 400 BAD REQUEST</li>
+ *   <li>{@link IdempotencyKeyConflictException} → 422 UNPROCESSABLE ENTITY</li>
+ *   <li>{@link IdempotencyKeyInProgressException} → 409 CONFLICT</li>
+ *   <li>{@link RoomLockTimeoutException} → 409 CONFLICT</li>
  *   <li>{@link MethodArgumentNotValidException} → 400 BAD REQUEST</li>
  * </ul>
  * 
@@ -101,6 +109,70 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    /**
+     * Maneja excepciones cuando no se encuentra una solicitud en lista de espera por ID.
+     * 
+     * @param ex la excepción de solicitud no encontrada
+     * @return respuesta HTTP 404 NOT FOUND con detalles del error
+     */
+    @ExceptionHandler(WaitlistEntryNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleWaitlistEntryNotFound(WaitlistEntryNotFoundException ex) {
+        ErrorResponse error = buildErrorResponse(
+            HttpStatus.NOT_FOUND,
+            "Solicitud en lista de espera no encontrada",
+            ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    /**
+     * Maneja excepciones cuando se reutiliza una clave de idempotencia con otra petición.
+     * 
+     * @param ex la excepción de conflicto de idempotencia
+     * @return respuesta HTTP 422 UNPROCESSABLE ENTITY con detalles del error
+     */
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflict(IdempotencyKeyConflictException ex) {
+        ErrorResponse error = buildErrorResponse(
+            HttpStatus.UNPROCESSABLE_ENTITY,
+            "Clave de idempotencia reutilizada",
+            ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    /**
+     * Maneja excepciones cuando otra petición con la misma clave de idempotencia sigue en curso.
+     * 
+     * @param ex la excepción de clave en curso
+     * @return respuesta HTTP 409 CONFLICT con detalles del error
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        ErrorResponse error = buildErrorResponse(
+            HttpStatus.CONFLICT,
+            "Operación en curso con la misma clave de idempotencia",
+            ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Maneja excepciones cuando otra operación mantiene bloqueada la habitación.
+     * 
+     * @param ex la excepción de tiempo de espera del bloqueo
+     * @return respuesta HTTP 409 CONFLICT con detalles del error
+     */
+    @ExceptionHandler(RoomLockTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleRoomLockTimeout(RoomLockTimeoutException ex) {
+        ErrorResponse error = buildErrorResponse(
+            HttpStatus.CONFLICT,
+            "Habitación bloqueada por otra operación",
+            ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     /**
      * Maneja excepciones de estado inválido (ej: intentar confirmar pago de reserva ya confirmada).
      * 
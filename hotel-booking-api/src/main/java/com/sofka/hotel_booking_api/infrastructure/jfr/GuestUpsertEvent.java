@@ -0,0 +1,28 @@
+package com.sofka.hotel_booking_api.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido alrededor del registro o actualización de huéspedes.
+ * No incluye datos personales: solo el número de huéspedes procesados.
+ */
+@Name(GuestUpsertEvent.NAME)
+@Label("Guest Upsert")
+@Category({"Hotel Booking", "Guests"})
+@Description("Duración del registro o actualización de huéspedes")
+@StackTrace(false)
+public class GuestUpsertEvent extends Event {
+
+    public static final String NAME = "hotel.GuestUpsert";
+
+    @Label("Guests")
+    int guests;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,109 @@
+package com.sofka.hotel_booking_api.infrastructure.jfr;
+
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Emite los eventos JFR personalizados alrededor de las operaciones de reserva,
+ * la consulta de solapamientos y el registro de huéspedes.
+ *
+ * <p>Si ninguna grabación tiene habilitado el evento, el coste se limita a comprobar
+ * {@code isEnabled()}; los campos solo se rellenan cuando el evento supera el umbral
+ * configurado en la grabación ({@code shouldCommit()}).</p>
+ */
+@Aspect
+@Component
+public class JfrEventAspect {
+
+    @Around("execution(public * com.sofka.hotel_booking_api.application.service.ReservationService.createReservation(..)) "
+            + "|| execution(public * com.sofka.hotel_booking_api.application.service.ReservationService.checkIn(..)) "
+            + "|| execution(public * com.sofka.hotel_booking_api.application.service.ReservationService.checkOut(..)) "
+            + "|| execution(public * com.sofka.hotel_booking_api.application.service.ReservationService.cancelReservation(..))")
+    public Object recordReservationOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        ReservationOperationEvent event = new ReservationOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        boolean success = false;
+        try {
+            result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.success = success;
+                Object argument = joinPoint.getArgs().length > 0 ? joinPoint.getArgs()[0] : null;
+                if (argument instanceof Long reservationId) {
+                    event.reservationId = reservationId;
+                } else if (argument instanceof CreateReservationRequest request && request.roomId() != null) {
+                    event.roomId = request.roomId();
+                }
+                if (result instanceof ReservationResponse response && response.id() != null) {
+                    event.reservationId = response.id();
+                }
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* com.sofka.hotel_booking_api.domain.repository.ReservationRepository.findOverlappingReservations(..))")
+    public Object recordOverlapQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        OverlapQueryEvent event = new OverlapQueryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object[] args = joinPoint.getArgs();
+                if (args[0] instanceof Room room && room.getId() != null) {
+                    event.roomId = room.getId();
+                }
+                event.checkInDate = String.valueOf(args[1]);
+                event.checkOutDate = String.valueOf(args[2]);
+                event.overlapping = result instanceof Collection<?> overlapping ? overlapping.size() : -1;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(public * com.sofka.hotel_booking_api.application.service.GuestService.registerOrUpdateGuest(..)) "
+            + "|| execution(public * com.sofka.hotel_booking_api.application.service.GuestService.registerOrUpdateGuests(..))")
+    public Object recordGuestUpsert(ProceedingJoinPoint joinPoint) throws Throwable {
+        GuestUpsertEvent event = new GuestUpsertEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object argument = joinPoint.getArgs()[0];
+                event.guests = argument instanceof Collection<?> requests ? requests.size() : 1;
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.sofka.hotel_booking_api.infrastructure.jfr;
+
+import com.sofka.hotel_booking_api.infrastructure.dto.ProfilingRecordingResponse;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+/**
+ * Gestiona una grabación JFR bajo demanda, acotada en duración y tamaño, con los eventos
+ * propios de la aplicación más el muestreo de CPU, asignaciones y contención de locks.
+ *
+ * <p>Solo puede haber una grabación activa a la vez. Al detenerse (manualmente o al cumplirse
+ * la duración) JFR vuelca el fichero en el directorio configurado para su análisis offline
+ * con JDK Mission Control o {@code jfr print}.</p>
+ */
+@Component
+public class JfrRecordingManager {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingManager.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    // Umbral a partir del cual se registran esperas en monitores y parks
+    private static final Duration LOCK_THRESHOLD = Duration.ofMillis(10);
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording recording;
+    private Path destination;
+    private LocalDateTime startedAt;
+
+    public JfrRecordingManager(@Value("${hotel.profiling.directory:${java.io.tmpdir}/hotel-jfr}") Path directory,
+                               @Value("${hotel.profiling.max-duration:PT10M}") Duration maxDuration,
+                               @Value("${hotel.profiling.max-size:256MB}") DataSize maxSize) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Inicia una grabación JFR.
+     *
+     * @param duration duración de la grabación; si es null se usa la duración máxima configurada
+     * @return estado de la grabación iniciada
+     * @throws IllegalArgumentException si la duración no es positiva o supera la máxima
+     * @throws IllegalStateException si ya hay una grabación en curso
+     */
+    public synchronized ProfilingRecordingResponse start(Duration duration) {
+        Duration effective = duration != null ? duration : maxDuration;
+        if (effective.isNegative() || effective.isZero() || effective.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("La duración de la grabación debe estar entre 0 y " + maxDuration);
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("Ya hay una grabación JFR en curso: " + recording.getName());
+        }
+        closeCurrent();
+
+        LocalDateTime now = LocalDateTime.now();
+        String name = "hotel-" + now.format(FILE_TIMESTAMP);
+        Path file = directory.resolve(name + ".jfr");
+        Recording newRecording = new Recording(profileConfiguration());
+        try {
+            Files.createDirectories(directory);
+            newRecording.setName(name);
+            newRecording.setToDisk(true);
+            newRecording.setMaxSize(maxSize.toBytes());
+            newRecording.setMaxAge(effective);
+            newRecording.setDuration(effective);
+            newRecording.setDestination(file);
+            newRecording.enable(ReservationOperationEvent.class).withThreshold(Duration.ZERO);
+            newRecording.enable(OverlapQueryEvent.class).withThreshold(Duration.ZERO);
+            newRecording.enable(GuestUpsertEvent.class).withThreshold(Duration.ZERO);
+            newRecording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(20));
+            newRecording.enable("jdk.ObjectAllocationSample").with("throttle", "150/s");
+            newRecording.enable("jdk.JavaMonitorEnter").withThreshold(LOCK_THRESHOLD).withStackTrace();
+            newRecording.enable("jdk.ThreadPark").withThreshold(LOCK_THRESHOLD).withStackTrace();
+            newRecording.start();
+        } catch (IOException e) {
+            newRecording.close();
+            throw new UncheckedIOException("No se pudo preparar la grabación JFR en " + directory, e);
+        }
+        recording = newRecording;
+        destination = file;
+        startedAt = now;
+        log.info("Grabación JFR {} iniciada durante {} (destino {})", name, effective, file);
+        return toResponse();
+    }
+
+    /**
+     * Detiene la grabación actual y vuelca su contenido al directorio configurado.
+     * Si la grabación ya terminó por duración, solo devuelve su estado final.
+     *
+     * @return estado de la grabación con la ruta y tamaño del fichero generado
+     * @throws IllegalStateException si no se ha iniciado ninguna grabación
+     */
+    public synchronized ProfilingRecordingResponse stop() {
+        if (recording == null) {
+            throw new IllegalStateException("No hay ninguna grabación JFR iniciada");
+        }
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            // Con destino configurado, stop() escribe el fichero y cierra la grabación
+            recording.stop();
+            log.info("Grabación JFR {} detenida en {}", recording.getName(), destination);
+        }
+        ProfilingRecordingResponse response = toResponse();
+        closeCurrent();
+        return response;
+    }
+
+    /**
+     * Obtiene el estado de la grabación actual o de la última finalizada aún no recogida.
+     *
+     * @return estado de la grabación, vacío si no hay ninguna
+     */
+    public synchronized Optional<ProfilingRecordingResponse> status() {
+        return recording == null ? Optional.empty() : Optional.of(toResponse());
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (recording != null) {
+            stop();
+        }
+    }
+
+    private void closeCurrent() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private ProfilingRecordingResponse toResponse() {
+        Long fileSize = null;
+        try {
+            if (Files.exists(destination)) {
+                fileSize = Files.size(destination);
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo leer el tamaño de {}: {}", destination, e.getMessage());
+        }
+        return new ProfilingRecordingResponse(
+                recording.getName(),
+                recording.getState().name(),
+                startedAt,
+                recording.getDuration(),
+                destination.toAbsolutePath().toString(),
+                fileSize);
+    }
+
+    private static Configuration profileConfiguration() {
+        try {
+            return Configuration.getConfiguration("profile");
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("No se pudo cargar la configuración JFR 'profile'", e);
+        }
+    }
+}
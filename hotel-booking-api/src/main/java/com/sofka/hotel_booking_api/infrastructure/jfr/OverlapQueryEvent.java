@@ -0,0 +1,33 @@
+package com.sofka.hotel_booking_api.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido alrededor de la consulta de reservas solapadas de una habitación (RN-001).
+ */
+@Name(OverlapQueryEvent.NAME)
+@Label("Overlap Query")
+@Category({"Hotel Booking", "Database"})
+@Description("Duración de la consulta de reservas solapadas de una habitación")
+@StackTrace(false)
+public class OverlapQueryEvent extends Event {
+
+    public static final String NAME = "hotel.OverlapQuery";
+
+    @Label("Room Id")
+    long roomId;
+
+    @Label("Check-in Date")
+    String checkInDate;
+
+    @Label("Check-out Date")
+    String checkOutDate;
+
+    @Label("Overlapping Reservations")
+    int overlapping;
+}
@@ -0,0 +1,34 @@
+package com.sofka.hotel_booking_api.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido alrededor de las operaciones principales de una reserva
+ * (creación, check-in, check-out y cancelación).
+ */
+@Name(ReservationOperationEvent.NAME)
+@Label("Reservation Operation")
+@Category({"Hotel Booking", "Reservations"})
+@Description("Duración de una operación del ciclo de vida de una reserva")
+@StackTrace(false)
+public class ReservationOperationEvent extends Event {
+
+    public static final String NAME = "hotel.ReservationOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Reservation Id")
+    long reservationId;
+
+    @Label("Room Id")
+    long roomId;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,78 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import com.sofka.hotel_booking_api.application.lock.RoomLock;
+import com.sofka.hotel_booking_api.domain.exception.RoomLockTimeoutException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link RoomLock} sobre los bloqueos consultivos de PostgreSQL
+ * ({@code pg_advisory_xact_lock}), válido con varias instancias de la API.
+ *
+ * <p>Cada clave usa la forma de dos enteros: el ID de la habitación y el tramo de fechas
+ * ({@code 0} para la habitación completa). PostgreSQL libera los bloqueos al terminar la
+ * transacción, también si la conexión se pierde.</p>
+ *
+ * <p>El tiempo de espera se aplica con {@code lock_timeout} local a la transacción y se
+ * restaura al obtener los bloqueos, para no afectar a los bloqueos de fila posteriores.
+ * El límite se aplica a cada espera, no a la suma de todas.</p>
+ */
+public class AdvisoryRoomLock implements RoomLock {
+
+    private static final String EXCLUSIVE_LOCK = "SELECT pg_advisory_xact_lock(?, ?)";
+    private static final String SHARED_LOCK = "SELECT pg_advisory_xact_lock_shared(?, ?)";
+    private static final String CURRENT_LOCK_TIMEOUT = "SELECT current_setting('lock_timeout')";
+    private static final String SET_LOCK_TIMEOUT = "SELECT set_config('lock_timeout', ?, true)";
+    private static final RowCallbackHandler IGNORE_ROWS = rs -> { };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int bucketDays;
+    private final Duration timeout;
+
+    public AdvisoryRoomLock(JdbcTemplate jdbcTemplate, int bucketDays, Duration timeout) {
+        if (bucketDays < 0) {
+            throw new IllegalArgumentException("hotel.locking.date-bucket-days no puede ser negativo");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.bucketDays = bucketDays;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void lockStays(Collection<RoomStay> stays) {
+        acquire(LockKey.forStays(stays, bucketDays));
+    }
+
+    @Override
+    public void lockRooms(Collection<Long> roomIds) {
+        acquire(LockKey.forRooms(roomIds));
+    }
+
+    private void acquire(List<LockKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Los bloqueos de habitación requieren una transacción activa");
+        }
+
+        String previousTimeout = jdbcTemplate.queryForObject(CURRENT_LOCK_TIMEOUT, String.class);
+        jdbcTemplate.queryForObject(SET_LOCK_TIMEOUT, String.class, timeout.toMillis() + "ms");
+        try {
+            for (LockKey key : keys) {
+                jdbcTemplate.query(key.shared() ? SHARED_LOCK : EXCLUSIVE_LOCK, IGNORE_ROWS,
+                        Math.toIntExact(key.roomId()), Math.toIntExact(key.bucket()));
+            }
+        } catch (PessimisticLockingFailureException e) {
+            // lock_timeout (55P03) o interbloqueo (40P01): la transacción queda abortada y se revierte entera
+            throw new RoomLockTimeoutException(LockKey.roomIds(keys), timeout);
+        }
+        jdbcTemplate.queryForObject(SET_LOCK_TIMEOUT, String.class, previousTimeout);
+    }
+}
@@ -0,0 +1,46 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import com.sofka.hotel_booking_api.application.lock.StatsLock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link StatsLock} sobre los bloqueos consultivos de PostgreSQL, válido con varias instancias de la API.
+ *
+ * <p>Usa la forma de una sola clave de 64 bits, cuyo espacio no se solapa con el de dos enteros
+ * de {@link AdvisoryRoomLock}: la clave es el hotel con un prefijo propio en los 32 bits altos.
+ * PostgreSQL libera los bloqueos al terminar la transacción, también si la conexión se pierde.</p>
+ */
+public class AdvisoryStatsLock implements StatsLock {
+
+    static final long KEY_PREFIX = 0x53544154L << 32;
+
+    private static final String EXCLUSIVE_LOCK = "SELECT pg_advisory_xact_lock(?)";
+    private static final String TRY_SHARED_LOCK = "SELECT pg_try_advisory_xact_lock_shared(?)";
+    private static final RowCallbackHandler IGNORE_ROWS = rs -> { };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AdvisoryStatsLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void lockForRebuild(long hotelId) {
+        requireTransaction();
+        jdbcTemplate.query(EXCLUSIVE_LOCK, IGNORE_ROWS, KEY_PREFIX | hotelId);
+    }
+
+    @Override
+    public boolean tryLockForApply(long hotelId) {
+        requireTransaction();
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_SHARED_LOCK, Boolean.class, KEY_PREFIX | hotelId));
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("El bloqueo de estadísticas requiere una transacción activa");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import com.sofka.hotel_booking_api.application.lock.RoomLock;
+import com.sofka.hotel_booking_api.domain.exception.RoomLockTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link RoomLock} en memoria de la JVM, para despliegues de una sola instancia.
+ *
+ * <p>Las claves se reparten en un número fijo de franjas: un {@link ReentrantReadWriteLock}
+ * por franja de habitación (lectura para estadías, escritura para la habitación completa) y un
+ * {@link ReentrantLock} por franja de tramo de fechas. Dos claves en la misma franja se
+ * serializan aunque no coincidan, a cambio de una memoria constante.</p>
+ *
+ * <p>Los bloqueos se liberan al completarse la transacción. Una transacción que bloquea
+ * estadías no puede bloquear después la habitación completa: el bloqueo de lectura no se
+ * promueve a escritura.</p>
+ */
+public class LocalRoomLock implements RoomLock {
+
+    static final int STRIPES = 256;
+
+    private final ReentrantReadWriteLock[] roomStripes = new ReentrantReadWriteLock[STRIPES];
+    private final ReentrantLock[] bucketStripes = new ReentrantLock[STRIPES];
+    private final int bucketDays;
+    private final Duration timeout;
+
+    public LocalRoomLock(int bucketDays, Duration timeout) {
+        if (bucketDays < 0) {
+            throw new IllegalArgumentException("hotel.locking.date-bucket-days no puede ser negativo");
+        }
+        this.bucketDays = bucketDays;
+        this.timeout = timeout;
+        for (int i = 0; i < STRIPES; i++) {
+            roomStripes[i] = new ReentrantReadWriteLock();
+            bucketStripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void lockStays(Collection<RoomStay> stays) {
+        acquire(LockKey.forStays(stays, bucketDays));
+    }
+
+    @Override
+    public void lockRooms(Collection<Long> roomIds) {
+        acquire(LockKey.forRooms(roomIds));
+    }
+
+    private void acquire(List<LockKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Los bloqueos de habitación requieren una transacción activa");
+        }
+
+        // Franjas en orden ascendente, primero las de habitación; la escritura prevalece
+        Map<Integer, Boolean> sharedByRoomStripe = new TreeMap<>();
+        TreeSet<Integer> stripesOfBuckets = new TreeSet<>();
+        for (LockKey key : keys) {
+            if (key.roomLevel()) {
+                sharedByRoomStripe.merge(stripe(Long.hashCode(key.roomId())), key.shared(), Boolean::logicalAnd);
+            } else {
+                stripesOfBuckets.add(stripe(31 * Long.hashCode(key.roomId()) + Long.hashCode(key.bucket())));
+            }
+        }
+        List<Lock> ordered = new ArrayList<>();
+        sharedByRoomStripe.forEach((stripe, shared) -> ordered.add(
+                shared ? roomStripes[stripe].readLock() : roomStripes[stripe].writeLock()));
+        stripesOfBuckets.forEach(stripe -> ordered.add(bucketStripes[stripe]));
+
+        List<Lock> acquired = new ArrayList<>();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (Lock lock : ordered) {
+                if (!lock.tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw new RoomLockTimeoutException(LockKey.roomIds(keys), timeout);
+                }
+                acquired.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unlock(acquired);
+            throw new IllegalStateException("Interrumpido mientras esperaba el bloqueo de habitaciones", e);
+        } catch (RoomLockTimeoutException e) {
+            unlock(acquired);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(acquired);
+            }
+        });
+    }
+
+    private static int stripe(int hash) {
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static void unlock(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import com.sofka.hotel_booking_api.application.lock.StatsLock;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link StatsLock} en memoria de la JVM: un {@link ReentrantReadWriteLock} por hotel
+ * (escritura para reconstruir, lectura para escribir incrementos). Solo serializa las
+ * operaciones de esta instancia; se usa con {@code hotel.locking.mode} {@code local} y
+ * {@code row}, cuando la base de datos no tiene bloqueos consultivos.
+ *
+ * <p>Los bloqueos se liberan al completarse la transacción.</p>
+ */
+public class LocalStatsLock implements StatsLock {
+
+    private final ConcurrentMap<Long, ReentrantReadWriteLock> locks = new ConcurrentHashMap<>();
+
+    @Override
+    public void lockForRebuild(long hotelId) {
+        requireTransaction();
+        Lock lock = lockOf(hotelId).writeLock();
+        lock.lock();
+        unlockAfterCompletion(lock);
+    }
+
+    @Override
+    public boolean tryLockForApply(long hotelId) {
+        requireTransaction();
+        Lock lock = lockOf(hotelId).readLock();
+        if (!lock.tryLock()) {
+            return false;
+        }
+        unlockAfterCompletion(lock);
+        return true;
+    }
+
+    private ReentrantReadWriteLock lockOf(long hotelId) {
+        return locks.computeIfAbsent(hotelId, id -> new ReentrantReadWriteLock());
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("El bloqueo de estadísticas requiere una transacción activa");
+        }
+    }
+
+    private static void unlockAfterCompletion(Lock lock) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
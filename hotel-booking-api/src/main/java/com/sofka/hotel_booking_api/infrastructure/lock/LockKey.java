@@ -0,0 +1,71 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import com.sofka.hotel_booking_api.application.lock.RoomLock.RoomStay;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Clave de bloqueo de una habitación: la habitación completa ({@link #ROOM_LEVEL}) o un tramo
+ * de {@code bucketDays} noches.
+ *
+ * <p>Una estadía toma la clave de la habitación en modo compartido y en exclusiva los tramos
+ * que ocupa; bloquear la habitación completa toma su clave en exclusiva. Así dos estadías solo
+ * se esperan si comparten un tramo, y bloquear la habitación excluye a todas sus estadías.</p>
+ *
+ * <p>El orden de adquisición es siempre el mismo: primero las claves de habitación y después
+ * los tramos, cada grupo por ID de habitación y tramo ascendentes.</p>
+ *
+ * @param roomId ID de la habitación
+ * @param bucket {@link #ROOM_LEVEL} o número de tramo (días desde 1970 / bucketDays + 1)
+ * @param shared si la clave se toma en modo compartido
+ */
+record LockKey(long roomId, long bucket, boolean shared) {
+
+    static final long ROOM_LEVEL = 0;
+
+    boolean roomLevel() {
+        return bucket == ROOM_LEVEL;
+    }
+
+    /**
+     * Claves de un conjunto de estadías, sin duplicados y en orden de adquisición.
+     * Con {@code bucketDays} 0 cada estadía bloquea su habitación completa.
+     */
+    static List<LockKey> forStays(Collection<RoomStay> stays, int bucketDays) {
+        if (bucketDays == 0) {
+            return forRooms(stays.stream().map(RoomStay::roomId).toList());
+        }
+        Map<Long, TreeSet<Long>> bucketsByRoom = new TreeMap<>();
+        for (RoomStay stay : stays) {
+            long first = Math.floorDiv(stay.checkInDate().toEpochDay(), bucketDays) + 1;
+            long last = Math.floorDiv(stay.checkOutDate().toEpochDay() - 1, bucketDays) + 1;
+            TreeSet<Long> buckets = bucketsByRoom.computeIfAbsent(stay.roomId(), id -> new TreeSet<>());
+            for (long bucket = first; bucket <= last; bucket++) {
+                buckets.add(bucket);
+            }
+        }
+        List<LockKey> keys = new ArrayList<>();
+        bucketsByRoom.keySet().forEach(roomId -> keys.add(new LockKey(roomId, ROOM_LEVEL, true)));
+        bucketsByRoom.forEach((roomId, buckets) ->
+                buckets.forEach(bucket -> keys.add(new LockKey(roomId, bucket, false))));
+        return keys;
+    }
+
+    /**
+     * Claves exclusivas de habitaciones completas, sin duplicados y en orden de adquisición.
+     */
+    static List<LockKey> forRooms(Collection<Long> roomIds) {
+        return new TreeSet<>(roomIds).stream()
+                .map(roomId -> new LockKey(roomId, ROOM_LEVEL, false))
+                .toList();
+    }
+
+    static List<Long> roomIds(List<LockKey> keys) {
+        return keys.stream().map(LockKey::roomId).distinct().toList();
+    }
+}
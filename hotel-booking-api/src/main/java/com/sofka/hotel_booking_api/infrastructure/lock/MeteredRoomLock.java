@@ -0,0 +1,56 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import com.sofka.hotel_booking_api.application.lock.RoomLock;
+import com.sofka.hotel_booking_api.domain.exception.RoomLockTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la espera de cualquier {@link RoomLock}: {@code hotel.room.lock.wait} con las
+ * etiquetas {@code mode} (implementación) y {@code outcome} ({@code acquired} o {@code timeout}).
+ */
+public class MeteredRoomLock implements RoomLock {
+
+    private final RoomLock delegate;
+    private final Timer acquired;
+    private final Timer timedOut;
+
+    public MeteredRoomLock(RoomLock delegate, String mode, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.acquired = waitTimer(registry, mode, "acquired");
+        this.timedOut = waitTimer(registry, mode, "timeout");
+    }
+
+    @Override
+    public void lockStays(Collection<RoomStay> stays) {
+        record(() -> delegate.lockStays(stays));
+    }
+
+    @Override
+    public void lockRooms(Collection<Long> roomIds) {
+        record(() -> delegate.lockRooms(roomIds));
+    }
+
+    private void record(Runnable lock) {
+        long start = System.nanoTime();
+        try {
+            lock.run();
+            acquired.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RoomLockTimeoutException e) {
+            timedOut.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static Timer waitTimer(MeterRegistry registry, String mode, String outcome) {
+        return Timer.builder("hotel.room.lock.wait")
+                .description("Espera hasta obtener el bloqueo de habitaciones")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
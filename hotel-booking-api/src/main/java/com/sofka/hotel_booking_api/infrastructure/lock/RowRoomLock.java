@@ -0,0 +1,35 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import com.sofka.hotel_booking_api.application.lock.RoomLock;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * {@link RoomLock} que bloquea la fila de cada habitación ({@code SELECT ... FOR UPDATE}),
+ * para bases de datos sin bloqueos consultivos (H2 en los tests).
+ *
+ * <p>Funciona con varias instancias, pero siempre bloquea la habitación completa y espera
+ * según el tiempo de bloqueo de la base de datos, no según {@code hotel.locking.timeout}.</p>
+ */
+public class RowRoomLock implements RoomLock {
+
+    private final RoomRepository roomRepository;
+
+    public RowRoomLock(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    @Override
+    public void lockStays(Collection<RoomStay> stays) {
+        lockRooms(stays.stream().map(RoomStay::roomId).toList());
+    }
+
+    @Override
+    public void lockRooms(Collection<Long> roomIds) {
+        if (!roomIds.isEmpty()) {
+            roomRepository.findAllByIdInForUpdate(new TreeSet<>(roomIds));
+        }
+    }
+}
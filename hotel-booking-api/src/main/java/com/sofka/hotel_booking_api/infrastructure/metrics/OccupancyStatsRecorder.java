@@ -0,0 +1,227 @@
+package com.sofka.hotel_booking_api.infrastructure.metrics;
+
+import com.sofka.hotel_booking_api.application.event.OccupancyStatsRebuildingEvent;
+import com.sofka.hotel_booking_api.application.event.ReservationsBookedEvent;
+import com.sofka.hotel_booking_api.application.service.OccupancyAggregate;
+import com.sofka.hotel_booking_api.application.service.OccupancyStatsService;
+import com.sofka.hotel_booking_api.domain.model.DailyRoomTypeStats;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import com.sofka.hotel_booking_api.infrastructure.scheduling.RunOnEveryNode;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mantiene los agregados diarios de ocupación e ingresos a partir de los cambios de estado de las reservas.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ *
+ * <p>Como {@link ReservationTransitionMetrics}, se registra como listener post-commit de Hibernate:
+ * cubre todos los caminos que crean reservas o cambian su estado y no cuenta las transacciones que
+ * terminan en rollback. Cada cambio se traduce en incrementos (la aportación nueva de la reserva
+ * menos la anterior) que se acumulan en memoria y se escriben cada segundo con dos batch JDBC por
+ * hotel, de modo que los días muy reservados no se convierten en filas disputadas por cada reserva.
+ * Si la escritura falla, los incrementos se conservan para el siguiente intento; los que se pierdan
+ * en una caída los repara la reconstrucción de {@link OccupancyStatsService}.</p>
+ *
+ * <p>Mientras un hotel se reconstruye sus incrementos no se escriben y quedan pendientes; al empezar
+ * la reconstrucción se descartan los del rango, que ya cuenta la lectura de las reservas.</p>
+ */
+@Component
+public class OccupancyStatsRecorder implements PostCommitInsertEventListener, PostCommitUpdateEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OccupancyStatsRecorder.class);
+
+    private final OccupancyStatsService statsService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Una sola escritura a la vez, y ningún descarte mientras un lote está fuera de pending
+    private final Object flushLock = new Object();
+
+    // Incrementos confirmados pendientes de escribir; se sustituye por uno vacío en cada escritura
+    private OccupancyAggregate pending = OccupancyAggregate.unbounded();
+
+    public OccupancyStatsRecorder(OccupancyStatsService statsService, EntityManagerFactory entityManagerFactory) {
+        this.statsService = statsService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Reservation reservation) {
+            recordSafely(reservation, () -> record(null, StaySnapshot.of(reservation)));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Reservation reservation) {
+            recordSafely(reservation, () -> {
+                StaySnapshot current = StaySnapshot.of(reservation);
+                record(previousState(event, current), current);
+            });
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rollback: la reserva no llegó a existir
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rollback: el estado no cambió
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Reservation.class.equals(persister.getMappedClass());
+    }
+
+    /**
+     * Las reservas de grupo se insertan con JDBC y no pasan por los listeners de Hibernate.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservationsBooked(ReservationsBookedEvent event) {
+        event.stays().forEach(stay -> record(null, stay));
+    }
+
+    /**
+     * Acumula la diferencia entre dos estados de una reserva ({@code previous} es null al crearla).
+     */
+    void record(StaySnapshot previous, StaySnapshot current) {
+        if (current.equals(previous)) {
+            return;
+        }
+        synchronized (this) {
+            if (previous != null) {
+                pending.add(previous, -1);
+            }
+            pending.add(current, 1);
+        }
+    }
+
+    /**
+     * Escribe los incrementos acumulados, cada hotel en su propia transacción.
+     */
+    @Scheduled(fixedDelayString = "${hotel.stats.flush-interval:PT1S}")
+    @RunOnEveryNode
+    public void flush() {
+        synchronized (flushLock) {
+            OccupancyAggregate batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = OccupancyAggregate.unbounded();
+            }
+            for (long hotelId : batch.hotelIds()) {
+                List<DailyRoomTypeStats> deltas = batch.rows(hotelId);
+                if (deltas.isEmpty()) {
+                    continue;
+                }
+                try {
+                    if (!TenantContext.callAs(hotelId, () -> statsService.apply(deltas))) {
+                        log.debug("Estadísticas de ocupación del hotel {} en reconstrucción; se reintentará", hotelId);
+                        requeue(batch.forHotel(hotelId));
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("No se pudieron escribir las estadísticas de ocupación del hotel {}; se reintentará: {}",
+                            hotelId, e.getMessage());
+                    requeue(batch.forHotel(hotelId));
+                }
+            }
+        }
+    }
+
+    /**
+     * La reconstrucción ya tiene el bloqueo del hotel y va a contar los cambios confirmados: los
+     * incrementos pendientes de su rango sobran. Espera a que termine la escritura en curso, cuyos
+     * incrementos rechazados ya habrán vuelto a pending.
+     */
+    @EventListener
+    public void onRebuilding(OccupancyStatsRebuildingEvent event) {
+        synchronized (flushLock) {
+            synchronized (this) {
+                pending.discard(event.hotelId(), event.from(), event.to());
+            }
+        }
+    }
+
+    private synchronized void requeue(OccupancyAggregate retry) {
+        pending.merge(retry);
+    }
+
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+
+    /**
+     * La transacción ya se confirmó: un fallo al leer la reserva (por ejemplo, la habitación perezosa
+     * de una reserva sin tipo propio) no debe llegar al llamador. La reconstrucción lo corrige.
+     */
+    private static void recordSafely(Reservation reservation, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo registrar la reserva {} en las estadísticas de ocupación: {}",
+                    reservation.getReservationNumber(), e.getMessage());
+        }
+    }
+
+    /**
+     * Estado de la reserva antes de la actualización; el tipo y el hotel no cambian.
+     */
+    private static StaySnapshot previousState(PostUpdateEvent event, StaySnapshot current) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return current;
+        }
+        List<String> properties = Arrays.asList(event.getPersister().getPropertyNames());
+        return new StaySnapshot(current.hotelId(), current.roomType(),
+                (LocalDate) property(oldState, properties, "checkInDate", current.checkInDate()),
+                (LocalDate) property(oldState, properties, "checkOutDate", current.checkOutDate()),
+                (Money) property(oldState, properties, "totalAmount", current.totalAmount()),
+                (ReservationStatus) property(oldState, properties, "status", current.status()),
+                (LocalDateTime) property(oldState, properties, "checkOutTime", current.checkOutTime()));
+    }
+
+    private static Object property(Object[] state, List<String> properties, String name, Object fallback) {
+        int index = properties.indexOf(name);
+        return index < 0 ? fallback : state[index];
+    }
+}
@@ -0,0 +1,72 @@
+package com.sofka.hotel_booking_api.infrastructure.metrics;
+
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.scheduling.RunOnEveryNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Indicadores de ocupación y backlog de reservas.
+ *
+ * <p>Los valores se recalculan periódicamente ({@code hotel.metrics.gauge-refresh}) y no en cada
+ * lectura, para que el scraping de Prometheus no lance consultas contra la base de datos.</p>
+ * <ul>
+ *   <li>{@code hotel.reservations.pending}: reservas PENDING esperando el pago</li>
+ *   <li>{@code hotel.reservations.active}: huéspedes alojados (reservas ACTIVE)</li>
+ *   <li>{@code hotel.rooms.occupied}: habitaciones no disponibles</li>
+ *   <li>{@code hotel.rooms.occupancy}: fracción de habitaciones ocupadas</li>
+ * </ul>
+ */
+@Component
+public class ReservationMetrics {
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final AtomicLong pendingReservations = new AtomicLong();
+    private final AtomicLong activeReservations = new AtomicLong();
+    private final AtomicLong occupiedRooms = new AtomicLong();
+    private final AtomicLong totalRooms = new AtomicLong();
+
+    public ReservationMetrics(MeterRegistry registry,
+                              ReservationRepository reservationRepository,
+                              RoomRepository roomRepository) {
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+
+        Gauge.builder("hotel.reservations.pending", pendingReservations, AtomicLong::get)
+                .description("Reservas PENDING pendientes de pago")
+                .register(registry);
+        Gauge.builder("hotel.reservations.active", activeReservations, AtomicLong::get)
+                .description("Reservas ACTIVE (huéspedes alojados)")
+                .register(registry);
+        Gauge.builder("hotel.rooms.occupied", occupiedRooms, AtomicLong::get)
+                .description("Habitaciones ocupadas")
+                .register(registry);
+        Gauge.builder("hotel.rooms.occupancy", this, ReservationMetrics::occupancy)
+                .description("Fracción de habitaciones ocupadas")
+                .register(registry);
+    }
+
+    /**
+     * Recalcula los indicadores. Cada instancia publica los suyos, así que se ejecuta en todas.
+     */
+    @Scheduled(fixedDelayString = "${hotel.metrics.gauge-refresh:PT30S}")
+    @RunOnEveryNode
+    public void refresh() {
+        pendingReservations.set(reservationRepository.countByStatus(ReservationStatus.PENDING));
+        activeReservations.set(reservationRepository.countByStatus(ReservationStatus.ACTIVE));
+        occupiedRooms.set(roomRepository.countByIsAvailableFalse());
+        totalRooms.set(roomRepository.count());
+    }
+
+    double occupancy() {
+        long total = totalRooms.get();
+        return total == 0 ? 0 : (double) occupiedRooms.get() / total;
+    }
+}
@@ -0,0 +1,101 @@
+package com.sofka.hotel_booking_api.infrastructure.metrics;
+
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Cuenta los cambios de estado de las reservas en {@code hotel.reservations.transitions}
+ * (etiquetas {@code from} y {@code to}; {@code from=NEW} al crearlas).
+ *
+ * <p>Se registra como listener post-commit de Hibernate, así que cubre todos los caminos que
+ * cambian el estado (servicios, tareas programadas, lista de espera) y no cuenta las
+ * transacciones que terminan en rollback.</p>
+ */
+@Component
+public class ReservationTransitionMetrics implements PostCommitInsertEventListener, PostCommitUpdateEventListener {
+
+    static final String TRANSITIONS = "hotel.reservations.transitions";
+    private static final String STATUS_PROPERTY = "status";
+
+    private final MeterRegistry registry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReservationTransitionMetrics(MeterRegistry registry, EntityManagerFactory entityManagerFactory) {
+        this.registry = registry;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Reservation reservation) {
+            count("NEW", reservation.getStatus().name());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Reservation reservation)) {
+            return;
+        }
+        Object previous = previousStatus(event);
+        if (previous != reservation.getStatus()) {
+            count(previous == null ? "UNKNOWN" : previous.toString(), reservation.getStatus().name());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rollback: la reserva no llegó a existir
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rollback: el estado no cambió
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Reservation.class.equals(persister.getMappedClass());
+    }
+
+    void count(String from, String to) {
+        Counter.builder(TRANSITIONS)
+                .description("Cambios de estado de las reservas")
+                .tag("from", from)
+                .tag("to", to)
+                .register(registry)
+                .increment();
+    }
+
+    private static Object previousStatus(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return null;
+        }
+        int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf(STATUS_PROPERTY);
+        return index < 0 ? null : oldState[index];
+    }
+}
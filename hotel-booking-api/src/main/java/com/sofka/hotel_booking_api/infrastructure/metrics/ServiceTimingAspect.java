@@ -0,0 +1,149 @@
+package com.sofka.hotel_booking_api.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la duración de cada método público de los servicios de aplicación y la separa en
+ * tiempo de base de datos (llamadas a repositorios) y tiempo propio de la aplicación.
+ *
+ * <p>Métricas publicadas:</p>
+ * <ul>
+ *   <li>{@code hotel.service.duration} (class, method, outcome): duración total, con histograma de percentiles</li>
+ *   <li>{@code hotel.service.db.duration} (class, method): parte de la duración pasada en repositorios</li>
+ *   <li>{@code hotel.service.app.duration} (class, method): resto de la duración</li>
+ *   <li>{@code hotel.repository.duration} (repository, method): duración de cada llamada a repositorio</li>
+ * </ul>
+ *
+ * <p>El tiempo de base de datos se acumula por hilo, por lo que las llamadas anidadas entre
+ * servicios atribuyen a cada uno el tiempo de repositorio consumido durante su ejecución.</p>
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    static final String SERVICE_TIMER = "hotel.service.duration";
+    static final String SERVICE_DB_TIMER = "hotel.service.db.duration";
+    static final String SERVICE_APP_TIMER = "hotel.service.app.duration";
+    static final String REPOSITORY_TIMER = "hotel.repository.duration";
+
+    // [0] = nanosegundos acumulados en repositorios, [1] = profundidad de llamadas a repositorio
+    private static final ThreadLocal<long[]> DB_TIME = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final MeterRegistry registry;
+    private final Map<Method, ServiceTimers> serviceTimers = new ConcurrentHashMap<>();
+    // Por clase de repositorio: los métodos heredados (save, findById...) son el mismo Method en todos
+    private final Map<Class<?>, Map<Method, Timer>> repositoryTimers = new ConcurrentHashMap<>();
+
+    private record ServiceTimers(Timer success, Timer error, Timer database, Timer application) {
+    }
+
+    public ServiceTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.sofka.hotel_booking_api.application.service.ReservationService.*(..)) "
+            + "|| execution(public * com.sofka.hotel_booking_api.application.service.RoomService.*(..)) "
+            + "|| execution(public * com.sofka.hotel_booking_api.application.service.GuestService.*(..)) "
+            + "|| execution(public * com.sofka.hotel_booking_api.application.service.PaymentService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        long[] dbTime = DB_TIME.get();
+        long dbBefore = dbTime[0];
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long total = System.nanoTime() - start;
+            long database = Math.min(total, dbTime[0] - dbBefore);
+            ServiceTimers timers = serviceTimers.computeIfAbsent(method(joinPoint), this::serviceTimers);
+            (failed ? timers.error() : timers.success()).record(total, TimeUnit.NANOSECONDS);
+            timers.database().record(database, TimeUnit.NANOSECONDS);
+            timers.application().record(total - database, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        long[] dbTime = DB_TIME.get();
+        if (dbTime[1]++ > 0) {
+            // Llamada anidada (por ejemplo, un método default que usa otro): ya se está midiendo
+            try {
+                return joinPoint.proceed();
+            } finally {
+                dbTime[1]--;
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            dbTime[1]--;
+            dbTime[0] += elapsed;
+            repositoryTimers.computeIfAbsent(joinPoint.getThis().getClass(), type -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(method(joinPoint), method -> repositoryTimer(joinPoint, method))
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ServiceTimers serviceTimers(Method method) {
+        Tags tags = Tags.of("class", method.getDeclaringClass().getSimpleName(), "method", method.getName());
+        return new ServiceTimers(
+                serviceTimer(tags.and("outcome", "success")),
+                serviceTimer(tags.and("outcome", "error")),
+                Timer.builder(SERVICE_DB_TIMER)
+                        .description("Tiempo de un método de servicio pasado en repositorios")
+                        .tags(tags)
+                        .register(registry),
+                Timer.builder(SERVICE_APP_TIMER)
+                        .description("Tiempo de un método de servicio fuera de los repositorios")
+                        .tags(tags)
+                        .register(registry));
+    }
+
+    private Timer serviceTimer(Tags tags) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("Duración de los métodos de los servicios de aplicación")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer repositoryTimer(JoinPoint joinPoint, Method method) {
+        return Timer.builder(REPOSITORY_TIMER)
+                .description("Duración de las llamadas a repositorios")
+                .tags("repository", repositoryName(joinPoint), "method", method.getName())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String repositoryName(JoinPoint joinPoint) {
+        return Arrays.stream(AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis()))
+                .filter(Repository.class::isAssignableFrom)
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElseGet(() -> joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    private static Method method(JoinPoint joinPoint) {
+        return ((MethodSignature) joinPoint.getSignature()).getMethod();
+    }
+}
@@ -0,0 +1,155 @@
+package com.sofka.hotel_booking_api.infrastructure.scheduling;
+
+import com.sofka.hotel_booking_api.infrastructure.tenant.HotelDirectory;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Fachada de planificación: envuelve el {@link TaskScheduler} de Spring para que cada método
+ * {@code @Scheduled} se ejecute solo en la instancia líder ({@link LeaderElector}).
+ *
+ * <p>Antes de empezar y justo antes de confirmar, la tarea comprueba el token del arrendamiento
+ * ({@link LeaderElector#fence(long)}) en una transacción corta sobre la base principal; los
+ * {@code @Transactional} de la tarea se unen a la suya, así que sus escrituras solo se confirman si
+ * esta instancia seguía siendo la líder. La fila del arrendamiento no queda bloqueada mientras dura la
+ * tarea, de modo que el latido no espera a las tareas largas. Los métodos con {@link RunOnEveryNode}
+ * y las tareas que no vienen de {@code @Scheduled} no se envuelven.</p>
+ *
+ * <p>Las tareas de la líder se ejecutan una vez por hotel ({@link HotelDirectory}), cada una en su
+ * propia transacción con ese hotel, así que sus consultas y escrituras no mezclan hoteles; un fallo en
+ * un hotel no impide ejecutarla en los demás. Las tareas de cada instancia se ejecutan con
+ * {@link TenantContext#ALL_HOTELS} y ven todos los hoteles.</p>
+ */
+public class LeaderAwareTaskScheduler implements TaskScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderAwareTaskScheduler.class);
+
+    private final TaskScheduler delegate;
+    private final LeaderElector leaderElector;
+    private final TransactionTemplate transactionTemplate;
+    private final HotelDirectory hotelDirectory;
+    private final Counter skipped;
+
+    public LeaderAwareTaskScheduler(TaskScheduler delegate,
+                                    LeaderElector leaderElector,
+                                    TransactionTemplate transactionTemplate,
+                                    HotelDirectory hotelDirectory,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.leaderElector = leaderElector;
+        this.transactionTemplate = transactionTemplate;
+        this.hotelDirectory = hotelDirectory;
+        this.skipped = Counter.builder("hotel.scheduling.skipped")
+                .description("Ejecuciones de tareas programadas omitidas por no ser la instancia líder")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Clock getClock() {
+        return delegate.getClock();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return delegate.schedule(decorate(task), trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        return delegate.schedule(decorate(task), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        return delegate.scheduleAtFixedRate(decorate(task), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return delegate.scheduleAtFixedRate(decorate(task), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        return delegate.scheduleWithFixedDelay(decorate(task), startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        return delegate.scheduleWithFixedDelay(decorate(task), delay);
+    }
+
+    /**
+     * Fuera de {@link #runOnLeader} las tareas se ejecutan como tenant raíz.
+     */
+    private Runnable decorate(Runnable task) {
+        Runnable wrapped = wrap(task);
+        return () -> TenantContext.runAs(TenantContext.ALL_HOTELS, wrapped);
+    }
+
+    Runnable wrap(Runnable task) {
+        if (!(task instanceof ScheduledMethodRunnable scheduled)
+                || AnnotatedElementUtils.hasAnnotation(scheduled.getMethod(), RunOnEveryNode.class)) {
+            return task;
+        }
+        String name = scheduled.getMethod().getDeclaringClass().getSimpleName() + "." + scheduled.getMethod().getName();
+        return () -> runOnLeader(name, task);
+    }
+
+    private void runOnLeader(String name, Runnable task) {
+        long token = leaderElector.currentToken();
+        if (token == 0 && !leaderElector.isLeader()) {
+            skipped.increment();
+            return;
+        }
+        for (long hotelId : hotelDirectory.hotelIds()) {
+            try {
+                leaderElector.fence(token);
+                TenantContext.runAs(hotelId, () -> transactionTemplate.executeWithoutResult(status -> {
+                    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                        TransactionSynchronizationManager.registerSynchronization(new FenceBeforeCommit(token));
+                    }
+                    task.run();
+                }));
+            } catch (LeadershipLostException e) {
+                skipped.increment();
+                log.info("Tarea {} omitida en el hotel {}: {}", name, hotelId, e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("La tarea {} falló en el hotel {}: {}", name, hotelId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Vuelve a comprobar el token antes de confirmar: si se perdió el liderazgo durante la tarea,
+     * la excepción revierte la transacción.
+     */
+    private final class FenceBeforeCommit implements TransactionSynchronization {
+
+        private final long token;
+
+        FenceBeforeCommit(long token) {
+            this.token = token;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            leaderElector.fence(token);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.sofka.hotel_booking_api.infrastructure.scheduling;
+
+import com.sofka.hotel_booking_api.domain.model.LeaderLease;
+import com.sofka.hotel_booking_api.domain.repository.LeaderLeaseRepository;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elección de líder entre instancias con un arrendamiento en la tabla {@code leader_leases}.
+ *
+ * <p>Cada {@code hotel.scheduling.leader.heartbeat} la instancia renueva su arrendamiento o,
+ * si no es líder, intenta tomarlo cuando caduca ({@code hotel.scheduling.leader.ttl}). Al tomarlo
+ * el token aumenta; las tareas del líder lo comprueban con {@link #fence(long)} antes de empezar y
+ * antes de confirmar su transacción, así que un líder anterior que siga vivo (pausa larga, red
+ * partida) no llega a confirmar sus escrituras.
+ * Si el líder cae, otra instancia lo sustituye como mucho en {@code ttl + heartbeat}; al detenerse
+ * de forma ordenada libera el arrendamiento para que el relevo sea inmediato.</p>
+ *
+ * <p>El latido se ejecuta en un hilo propio, así que una tarea larga no lo retrasa. La instancia
+ * deja de considerarse líder un latido antes de que caduque el arrendamiento en la base de datos.
+ * Con {@code hotel.scheduling.leader.enabled=false} toda instancia se considera líder.</p>
+ */
+@Component
+public class LeaderElector implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderElector.class);
+
+    private final LeaderLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate fenceTransaction;
+    private final Clock clock;
+    private final boolean enabled;
+    private final String leaseName;
+    private final Duration ttl;
+    private final Duration heartbeat;
+    private final String owner;
+
+    private volatile long token;
+    private volatile Instant validUntil = Instant.MIN;
+    private volatile boolean running;
+    private boolean leaseCreated;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public LeaderElector(LeaderLeaseRepository leaseRepository,
+                         TransactionTemplate transactionTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${hotel.scheduling.leader.enabled:true}") boolean enabled,
+                         @Value("${hotel.scheduling.leader.lease-name:scheduler}") String leaseName,
+                         @Value("${hotel.scheduling.leader.ttl:PT15S}") Duration ttl,
+                         @Value("${hotel.scheduling.leader.heartbeat:PT5S}") Duration heartbeat) {
+        this(leaseRepository, transactionTemplate, meterRegistry, Clock.systemDefaultZone(),
+                enabled, leaseName, ttl, heartbeat);
+    }
+
+    LeaderElector(LeaderLeaseRepository leaseRepository,
+                  TransactionTemplate transactionTemplate,
+                  MeterRegistry meterRegistry,
+                  Clock clock,
+                  boolean enabled,
+                  String leaseName,
+                  Duration ttl,
+                  Duration heartbeat) {
+        if (heartbeat.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException(
+                    "hotel.scheduling.leader.heartbeat debe ser menor que hotel.scheduling.leader.ttl");
+        }
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.fenceTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.fenceTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fenceTransaction.setReadOnly(true);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.leaseName = leaseName;
+        this.ttl = ttl;
+        this.heartbeat = heartbeat;
+        this.owner = System.getenv().getOrDefault("HOSTNAME", "api") + "-" + UUID.randomUUID().toString().substring(0, 8);
+        Gauge.builder("hotel.scheduling.leader", this, elector -> elector.isLeader() ? 1 : 0)
+                .description("1 si esta instancia es la líder de las tareas programadas")
+                .tag("lease", leaseName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true si esta instancia posee un arrendamiento vigente (o la elección está desactivada)
+     */
+    public boolean isLeader() {
+        return !enabled || (token > 0 && clock.instant().isBefore(validUntil));
+    }
+
+    /**
+     * @return el token del arrendamiento actual, o 0 si no es líder
+     */
+    public long currentToken() {
+        return isLeader() ? token : 0;
+    }
+
+    /**
+     * Comprueba que el arrendamiento sigue vigente con ese token. La lectura va en una transacción
+     * propia y corta sobre la base principal, aunque la tarea trabaje con un hotel de otro shard, y
+     * no bloquea la fila: una tarea larga no retrasa los latidos.
+     *
+     * @throws LeadershipLostException si otra instancia lo tomó o caducó
+     */
+    public void fence(long expectedToken) {
+        if (!enabled) {
+            return;
+        }
+        boolean valid = TenantContext.callAs(TenantContext.ALL_HOTELS, () -> Boolean.TRUE.equals(
+                fenceTransaction.execute(status -> leaseRepository
+                        .findFenced(leaseName, owner, expectedToken, LocalDateTime.now(clock))
+                        .isPresent())));
+        if (!valid) {
+            throw new LeadershipLostException(leaseName, expectedToken);
+        }
+    }
+
+    /**
+     * Un latido: renueva el arrendamiento propio o intenta tomar uno caducado.
+     */
+    void heartbeat() {
+        Instant started = clock.instant();
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime expiresAt = now.plus(ttl);
+        try {
+            if (token > 0) {
+                Integer renewed = transactionTemplate.execute(status ->
+                        leaseRepository.renew(leaseName, owner, token, now, expiresAt));
+                if (renewed != null && renewed == 1) {
+                    validUntil = started.plus(ttl).minus(heartbeat);
+                    return;
+                }
+                log.warn("Se perdió el liderazgo de '{}' (token {})", leaseName, token);
+                token = 0;
+            }
+            if (!leaseCreated) {
+                createLeaseIfMissing();
+            }
+            Long acquired = transactionTemplate.execute(status -> {
+                if (leaseRepository.acquire(leaseName, owner, now, expiresAt) == 0) {
+                    return 0L;
+                }
+                return leaseRepository.findToken(leaseName, owner).orElse(0L);
+            });
+            if (acquired != null && acquired > 0) {
+                token = acquired;
+                validUntil = started.plus(ttl).minus(heartbeat);
+                log.info("Instancia {} elegida líder de '{}' con el token {}", owner, leaseName, token);
+            }
+        } catch (RuntimeException e) {
+            // Sin base de datos no se renueva: el liderazgo caduca solo con validUntil.
+            // Capturar todo evita que el ejecutor cancele los latidos siguientes
+            log.warn("No se pudo renovar el arrendamiento '{}': {}", leaseName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "leader-elector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::heartbeat, 0, heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        release();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Se detiene después de las tareas programadas y del resto de componentes.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    private void createLeaseIfMissing() {
+        if (!leaseRepository.existsById(leaseName)) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        leaseRepository.saveAndFlush(new LeaderLease(leaseName, LocalDateTime.now(clock).minus(ttl))));
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia la creó a la vez
+            }
+        }
+        leaseCreated = true;
+    }
+
+    void release() {
+        long held = token;
+        token = 0;
+        if (held == 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    leaseRepository.release(leaseName, owner, held, LocalDateTime.now(clock)));
+            log.info("Instancia {} liberó el liderazgo de '{}'", owner, leaseName);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo liberar el arrendamiento '{}'; caducará solo: {}", leaseName, e.getMessage());
+        }
+    }
+}
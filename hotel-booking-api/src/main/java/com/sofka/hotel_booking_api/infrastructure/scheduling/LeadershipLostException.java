@@ -0,0 +1,11 @@
+package com.sofka.hotel_booking_api.infrastructure.scheduling;
+
+/**
+ * La instancia ya no posee el arrendamiento de liderazgo con el token con que empezó la tarea.
+ */
+public class LeadershipLostException extends IllegalStateException {
+
+    public LeadershipLostException(String leaseName, long token) {
+        super(String.format("El arrendamiento '%s' ya no es de esta instancia con el token %d", leaseName, token));
+    }
+}
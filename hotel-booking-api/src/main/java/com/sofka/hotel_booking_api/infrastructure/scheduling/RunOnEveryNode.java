@@ -0,0 +1,17 @@
+package com.sofka.hotel_booking_api.infrastructure.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca una tarea {@code @Scheduled} que mantiene estado propio de cada instancia (cachés,
+ * índices en memoria, métricas) y debe ejecutarse en todas, no solo en el líder.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RunOnEveryNode {
+}
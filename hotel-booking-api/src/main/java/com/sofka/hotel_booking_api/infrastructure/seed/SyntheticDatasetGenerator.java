@@ -0,0 +1,257 @@
+package com.sofka.hotel_booking_api.infrastructure.seed;
+
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Generador determinista de datos sintéticos de hoteles para pruebas de escala.
+ *
+ * <p>Las filas se emiten en streaming para poder generar decenas de millones de reservas
+ * sin mantenerlas en memoria. Cada tabla usa su propia secuencia aleatoria derivada de la
+ * semilla, de modo que el resultado solo depende de la {@link SyntheticDatasetSpec}.</p>
+ *
+ * <p>Distribuciones:</p>
+ * <ul>
+ *   <li>Duración de estadía: 92% entre 1 y 7 noches (moda en 2), el resto hasta 30 (RN-004).</li>
+ *   <li>Antelación: exponencial con media de 35 días, máximo 365.</li>
+ *   <li>Estado según las fechas respecto a la fecha de referencia: pasadas COMPLETED, CANCELLED
+ *       o EXPIRED; en curso ACTIVE; futuras CONFIRMED, PENDING (creadas hace menos de 24 h) o CANCELLED.</li>
+ * </ul>
+ *
+ * <p>Las estadías de cada habitación son consecutivas y no se solapan, separadas por 0–4 noches
+ * libres; la ventana histórica se extiende hacia atrás lo necesario para el número de reservas.</p>
+ */
+public final class SyntheticDatasetGenerator {
+
+    /** Duración máxima de una estadía (RN-004). */
+    static final int MAX_NIGHTS = 30;
+
+    /** Noches futuras que cubre el calendario de cada habitación. */
+    static final int FUTURE_HORIZON_DAYS = 180;
+
+    private static final int ROOMS_PER_FLOOR = 20;
+    private static final double MEAN_LEAD_DAYS = 35.0;
+    private static final int MAX_LEAD_DAYS = 365;
+
+    // Pesos de 1 a 7 noches; suman 92 sobre 100
+    private static final int[] SHORT_STAY_WEIGHTS = {22, 24, 17, 11, 7, 5, 6};
+    private static final double MEAN_NIGHTS = 4.24;
+    private static final double MEAN_GAP_NIGHTS = 1.4;
+
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Carlos", "Lucía", "Javier", "María", "Andrés", "Sofía", "Diego", "Valentina", "Mateo",
+            "Camila", "Santiago", "Isabella", "Sebastián", "Laura", "Daniel", "Paula", "Alejandro", "Elena", "Tomás"
+    };
+    private static final String[] LAST_NAMES = {
+            "García", "Rodríguez", "Martínez", "López", "González", "Pérez", "Sánchez", "Ramírez", "Torres", "Flores",
+            "Rivera", "Gómez", "Díaz", "Morales", "Vargas", "Castro", "Ortiz", "Rojas", "Navarro", "Herrera"
+    };
+
+    private static final long ROOM_STREAM = 0x5EED_0001L;
+    private static final long GUEST_STREAM = 0x5EED_0002L;
+    private static final long RESERVATION_STREAM = 0x5EED_0003L;
+
+    private final SyntheticDatasetSpec spec;
+
+    public SyntheticDatasetGenerator(SyntheticDatasetSpec spec) {
+        this.spec = spec;
+    }
+
+    public SyntheticDatasetSpec getSpec() {
+        return spec;
+    }
+
+    /**
+     * Fila de la tabla {@code rooms}.
+     */
+    public record RoomRow(long id, String roomNumber, RoomType roomType, int capacity, BigDecimal pricePerNight) {
+    }
+
+    /**
+     * Fila de la tabla {@code guests}.
+     */
+    public record GuestRow(long id, String firstName, String lastName, String documentNumber,
+                           String email, String phone, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Fila de la tabla {@code reservations}.
+     */
+    public record ReservationRow(long id, String reservationNumber, long guestId, long roomId, RoomType roomType,
+                                 LocalDate checkInDate, LocalDate checkOutDate, int numberOfGuests,
+                                 BigDecimal totalAmount, ReservationStatus status, LocalDateTime createdAt,
+                                 LocalDateTime checkInTime, LocalDateTime checkOutTime,
+                                 LocalDateTime cancelledAt, String cancellationReason) {
+    }
+
+    /**
+     * Genera las habitaciones. Mezcla de tipos: 50% STANDARD, 25% SUPERIOR, 17% DELUXE, 8% SUITE.
+     *
+     * @return habitaciones ordenadas por ID
+     */
+    public List<RoomRow> rooms() {
+        SplittableRandom random = new SplittableRandom(spec.seed() ^ ROOM_STREAM);
+        List<RoomRow> rooms = new ArrayList<>(spec.roomCount());
+        for (int i = 0; i < spec.roomCount(); i++) {
+            int property = i / spec.roomsPerProperty() + 1;
+            int indexInProperty = i % spec.roomsPerProperty();
+            String roomNumber = String.format("H%03d-%d%02d", property,
+                    indexInProperty / ROOMS_PER_FLOOR + 1, indexInProperty % ROOMS_PER_FLOOR + 1);
+
+            int draw = random.nextInt(100);
+            RoomType roomType;
+            int capacity;
+            int price;
+            if (draw < 50) {
+                roomType = RoomType.STANDARD;
+                capacity = 1 + random.nextInt(2);
+                price = 80 + random.nextInt(61);
+            } else if (draw < 75) {
+                roomType = RoomType.SUPERIOR;
+                capacity = 2 + random.nextInt(2);
+                price = 120 + random.nextInt(71);
+            } else if (draw < 92) {
+                roomType = RoomType.DELUXE;
+                capacity = 2 + random.nextInt(3);
+                price = 180 + random.nextInt(101);
+            } else {
+                roomType = RoomType.SUITE;
+                capacity = 2 + random.nextInt(5);
+                price = 300 + random.nextInt(301);
+            }
+            rooms.add(new RoomRow(i + 1L, roomNumber, roomType, capacity, BigDecimal.valueOf(price, 0).setScale(2)));
+        }
+        return Collections.unmodifiableList(rooms);
+    }
+
+    /**
+     * Emite los huéspedes en orden de ID.
+     *
+     * @param consumer receptor de cada fila
+     */
+    public void forEachGuest(Consumer<GuestRow> consumer) {
+        SplittableRandom random = new SplittableRandom(spec.seed() ^ GUEST_STREAM);
+        LocalDateTime reference = spec.referenceDate().atStartOfDay();
+        for (long id = 1; id <= spec.guestCount(); id++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String phone = String.format("+57 3%02d %07d", random.nextInt(100), random.nextInt(10_000_000));
+            LocalDateTime createdAt = reference.minusSeconds(random.nextLong(3L * 365 * 86_400));
+            consumer.accept(new GuestRow(id, firstName, lastName, String.format("SYN%09d", id),
+                    String.format("guest%d@example.com", id), phone, createdAt));
+        }
+    }
+
+    /**
+     * Emite las reservas. Se reparten por turnos entre las habitaciones y cada una
+     * empieza donde terminó la anterior de su habitación, más un hueco aleatorio.
+     *
+     * @param consumer receptor de cada fila
+     */
+    public void forEachReservation(Consumer<ReservationRow> consumer) {
+        List<RoomRow> rooms = rooms();
+        SplittableRandom random = new SplittableRandom(spec.seed() ^ RESERVATION_STREAM);
+        LocalDate reference = spec.referenceDate();
+        LocalDateTime referenceTime = reference.atStartOfDay();
+
+        // Cada habitación arranca lo bastante atrás para que su calendario termine cerca del horizonte
+        long staysPerRoom = (spec.reservationCount() + rooms.size() - 1) / rooms.size();
+        long span = Math.round(staysPerRoom * (MEAN_NIGHTS + MEAN_GAP_NIGHTS));
+        long start = reference.toEpochDay() + FUTURE_HORIZON_DAYS - span;
+        long[] nextFreeDay = new long[rooms.size()];
+        for (int i = 0; i < nextFreeDay.length; i++) {
+            // Desfase por habitación para que no todas empiecen el mismo día
+            nextFreeDay[i] = start + random.nextInt(7);
+        }
+
+        for (long index = 0; index < spec.reservationCount(); index++) {
+            int roomIndex = (int) (index % rooms.size());
+            RoomRow room = rooms.get(roomIndex);
+
+            long checkInDay = nextFreeDay[roomIndex] + gapNights(random);
+            int nights = stayNights(random);
+            nextFreeDay[roomIndex] = checkInDay + nights;
+            LocalDate checkIn = LocalDate.ofEpochDay(checkInDay);
+            LocalDate checkOut = checkIn.plusDays(nights);
+
+            LocalDateTime createdAt = checkIn.minusDays(leadDays(random)).atStartOfDay()
+                    .plusSeconds(random.nextInt(86_400));
+            if (createdAt.isAfter(referenceTime)) {
+                createdAt = referenceTime.minusMinutes(random.nextInt(60 * 24 * 30));
+            }
+
+            ReservationStatus status;
+            LocalDateTime checkInTime = null;
+            LocalDateTime checkOutTime = null;
+            LocalDateTime cancelledAt = null;
+            String cancellationReason = null;
+            int draw = random.nextInt(100);
+            if (!checkOut.isAfter(reference)) {
+                status = draw < 85 ? ReservationStatus.COMPLETED
+                        : draw < 97 ? ReservationStatus.CANCELLED : ReservationStatus.EXPIRED;
+            } else if (!checkIn.isAfter(reference)) {
+                status = draw < 93 ? ReservationStatus.ACTIVE : ReservationStatus.CANCELLED;
+            } else if (draw < 5) {
+                status = ReservationStatus.PENDING;
+                // RN-003: las PENDING vigentes se crearon hace menos de 24 horas
+                createdAt = referenceTime.minusMinutes(random.nextInt(60 * 23));
+            } else {
+                status = draw < 80 ? ReservationStatus.CONFIRMED : ReservationStatus.CANCELLED;
+            }
+
+            if (status == ReservationStatus.ACTIVE || status == ReservationStatus.COMPLETED) {
+                checkInTime = checkIn.atTime(15, 0).plusMinutes(random.nextInt(360));
+            }
+            if (status == ReservationStatus.COMPLETED) {
+                checkOutTime = checkOut.atTime(8, 0).plusMinutes(random.nextInt(180));
+            }
+            if (status == ReservationStatus.CANCELLED) {
+                LocalDateTime latest = checkIn.atStartOfDay().isBefore(referenceTime)
+                        ? checkIn.atStartOfDay() : referenceTime;
+                long window = Math.max(1, Duration.between(createdAt, latest).toMinutes());
+                cancelledAt = createdAt.plusMinutes(random.nextLong(window));
+                cancellationReason = "Cancelación del huésped";
+            }
+
+            int numberOfGuests = 1 + random.nextInt(room.capacity());
+            long guestId = 1 + random.nextLong(spec.guestCount());
+            consumer.accept(new ReservationRow(index + 1, String.format("RES-SYN-%010d", index + 1),
+                    guestId, room.id(), room.roomType(), checkIn, checkOut, numberOfGuests,
+                    room.pricePerNight().multiply(BigDecimal.valueOf(nights)), status, createdAt,
+                    checkInTime, checkOutTime, cancelledAt, cancellationReason));
+        }
+    }
+
+    /**
+     * Noches libres entre dos estadías de la misma habitación: 0 con probabilidad 0,45, si no 1–4.
+     */
+    private static int gapNights(SplittableRandom random) {
+        return random.nextInt(100) < 45 ? 0 : 1 + random.nextInt(4);
+    }
+
+    private static int stayNights(SplittableRandom random) {
+        int draw = random.nextInt(100);
+        for (int i = 0; i < SHORT_STAY_WEIGHTS.length; i++) {
+            draw -= SHORT_STAY_WEIGHTS[i];
+            if (draw < 0) {
+                return i + 1;
+            }
+        }
+        return SHORT_STAY_WEIGHTS.length + 1 + random.nextInt(MAX_NIGHTS - SHORT_STAY_WEIGHTS.length);
+    }
+
+    private static int leadDays(SplittableRandom random) {
+        double lead = -Math.log(1.0 - random.nextDouble()) * MEAN_LEAD_DAYS;
+        return (int) Math.min(MAX_LEAD_DAYS, lead);
+    }
+}
@@ -0,0 +1,173 @@
+package com.sofka.hotel_booking_api.infrastructure.seed;
+
+import com.sofka.hotel_booking_api.infrastructure.seed.SyntheticDatasetGenerator.GuestRow;
+import com.sofka.hotel_booking_api.infrastructure.seed.SyntheticDatasetGenerator.ReservationRow;
+import com.sofka.hotel_booking_api.infrastructure.seed.SyntheticDatasetGenerator.RoomRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Carga un dataset sintético en la base de datos mediante batches JDBC.
+ *
+ * <p>En PostgreSQL los batches se reescriben como INSERT multi-fila gracias a
+ * {@code reWriteBatchedInserts=true} en la URL del datasource. Cada batch se confirma
+ * por separado (auto-commit), por lo que una carga interrumpida deja datos parciales;
+ * por eso se exige que las tablas estén vacías. Al terminar se ajustan las secuencias
+ * de identidad para que las altas posteriores no colisionen con los IDs generados.</p>
+ */
+@Component
+public class SyntheticDatasetLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDatasetLoader.class);
+
+    private static final String INSERT_ROOM_SQL =
+            "INSERT INTO rooms (id, room_number, room_type, capacity, price_per_night, is_available) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_GUEST_SQL =
+            "INSERT INTO guests (id, first_name, last_name, document_number, email, phone, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_RESERVATION_SQL =
+            "INSERT INTO reservations (id, reservation_number, guest_id, room_id, room_type, check_in_date, " +
+            "check_out_date, number_of_guests, total_amount, status, created_at, check_in_time, " +
+            "check_out_time, cancelled_at, cancellation_reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> TABLES = List.of("rooms", "guests", "reservations");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SyntheticDatasetLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Resultado de una carga.
+     */
+    public record LoadSummary(long rooms, long guests, long reservations, long elapsedMillis) {
+    }
+
+    /**
+     * Genera y carga el dataset completo.
+     *
+     * @param generator generador configurado con la especificación del dataset
+     * @param batchSize filas por batch JDBC
+     * @return filas cargadas por tabla y duración
+     * @throws IllegalStateException si alguna de las tablas ya tiene datos
+     */
+    public LoadSummary load(SyntheticDatasetGenerator generator, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("El tamaño de batch debe ser positivo");
+        }
+        for (String table : TABLES) {
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            if (rows != null && rows > 0) {
+                throw new IllegalStateException(String.format(
+                        "La carga sintética requiere tablas vacías; %s tiene %d filas", table, rows));
+            }
+        }
+
+        long startedAt = System.currentTimeMillis();
+
+        BatchWriter<RoomRow> roomWriter = new BatchWriter<>(INSERT_ROOM_SQL, batchSize, room -> new Object[]{
+                room.id(), room.roomNumber(), room.roomType().name(), room.capacity(),
+                room.pricePerNight(), Boolean.TRUE});
+        generator.rooms().forEach(roomWriter);
+        roomWriter.flush();
+        log.info("Habitaciones sintéticas cargadas: {}", roomWriter.written);
+
+        BatchWriter<GuestRow> guestWriter = new BatchWriter<>(INSERT_GUEST_SQL, batchSize, guest -> new Object[]{
+                guest.id(), guest.firstName(), guest.lastName(), guest.documentNumber(),
+                guest.email(), guest.phone(), Timestamp.valueOf(guest.createdAt())});
+        generator.forEachGuest(guestWriter);
+        guestWriter.flush();
+        log.info("Huéspedes sintéticos cargados: {}", guestWriter.written);
+
+        BatchWriter<ReservationRow> reservationWriter = new BatchWriter<>(INSERT_RESERVATION_SQL, batchSize,
+                reservation -> new Object[]{
+                        reservation.id(), reservation.reservationNumber(), reservation.guestId(),
+                        reservation.roomId(), reservation.roomType().name(),
+                        Date.valueOf(reservation.checkInDate()), Date.valueOf(reservation.checkOutDate()),
+                        reservation.numberOfGuests(), reservation.totalAmount(), reservation.status().name(),
+                        Timestamp.valueOf(reservation.createdAt()), timestamp(reservation.checkInTime()),
+                        timestamp(reservation.checkOutTime()), timestamp(reservation.cancelledAt()),
+                        reservation.cancellationReason()});
+        generator.forEachReservation(reservationWriter);
+        reservationWriter.flush();
+        log.info("Reservas sintéticas cargadas: {}", reservationWriter.written);
+
+        resetIdentities();
+        return new LoadSummary(roomWriter.written, guestWriter.written, reservationWriter.written,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Ajusta la identidad de cada tabla al máximo ID cargado.
+     */
+    private void resetIdentities() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            if ("PostgreSQL".equals(database)) {
+                jdbcTemplate.queryForObject(
+                        "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), GREATEST(?, 1))",
+                        Long.class, maxId);
+            } else {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+            }
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    /**
+     * Acumula filas y las envía en batches de tamaño fijo.
+     */
+    private final class BatchWriter<T> implements Consumer<T> {
+
+        private final String sql;
+        private final int batchSize;
+        private final Function<T, Object[]> mapper;
+        private final List<Object[]> pending;
+        private long written;
+
+        private BatchWriter(String sql, int batchSize, Function<T, Object[]> mapper) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.mapper = mapper;
+            this.pending = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void accept(T row) {
+            pending.add(mapper.apply(row));
+            if (pending.size() == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, pending);
+            written += pending.size();
+            pending.clear();
+        }
+    }
+}
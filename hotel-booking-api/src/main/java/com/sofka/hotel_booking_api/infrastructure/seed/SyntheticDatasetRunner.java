@@ -0,0 +1,59 @@
+package com.sofka.hotel_booking_api.infrastructure.seed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Carga el dataset sintético al arrancar con el perfil {@code seed} y termina la aplicación.
+ *
+ * <pre>
+ * java -jar hotel-booking-api.jar --spring.profiles.active=seed \
+ *      --hotel.seed.rooms=2000 --hotel.seed.guests=1000000 --hotel.seed.reservations=10000000
+ * </pre>
+ */
+@Component
+@Profile("seed")
+public class SyntheticDatasetRunner implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDatasetRunner.class);
+
+    private final SyntheticDatasetLoader loader;
+    private final ConfigurableApplicationContext context;
+    private final SyntheticDatasetSpec spec;
+    private final int batchSize;
+
+    public SyntheticDatasetRunner(SyntheticDatasetLoader loader,
+                                  ConfigurableApplicationContext context,
+                                  @Value("${hotel.seed.seed:42}") long seed,
+                                  @Value("${hotel.seed.rooms:2000}") int rooms,
+                                  @Value("${hotel.seed.guests:1000000}") int guests,
+                                  @Value("${hotel.seed.reservations:10000000}") long reservations,
+                                  @Value("${hotel.seed.rooms-per-property:200}") int roomsPerProperty,
+                                  @Value("${hotel.seed.reference-date:}") String referenceDate,
+                                  @Value("${hotel.seed.batch-size:5000}") int batchSize) {
+        this.loader = loader;
+        this.context = context;
+        this.spec = new SyntheticDatasetSpec(seed, rooms, guests, reservations, roomsPerProperty,
+                referenceDate.isBlank() ? LocalDate.now() : LocalDate.parse(referenceDate));
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        log.info("Generando dataset sintético: {}", spec);
+        SyntheticDatasetLoader.LoadSummary summary = loader.load(new SyntheticDatasetGenerator(spec), batchSize);
+        log.info("Dataset sintético cargado en {} ms: {} habitaciones, {} huéspedes, {} reservas",
+                summary.elapsedMillis(), summary.rooms(), summary.guests(), summary.reservations());
+
+        // Las tareas programadas mantienen viva la JVM; el perfil seed es de un solo uso
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,34 @@
+package com.sofka.hotel_booking_api.infrastructure.seed;
+
+import java.time.LocalDate;
+
+/**
+ * Parámetros de un dataset sintético. Con la misma especificación el generador
+ * produce exactamente las mismas filas.
+ *
+ * @param seed semilla del generador
+ * @param roomCount número total de habitaciones
+ * @param guestCount número de huéspedes
+ * @param reservationCount número de reservas
+ * @param roomsPerProperty habitaciones por hotel; el prefijo del número de habitación identifica el hotel
+ * @param referenceDate fecha "actual" del dataset: separa estadías pasadas, en curso y futuras
+ */
+public record SyntheticDatasetSpec(
+        long seed,
+        int roomCount,
+        int guestCount,
+        long reservationCount,
+        int roomsPerProperty,
+        LocalDate referenceDate
+) {
+
+    public SyntheticDatasetSpec {
+        if (roomCount < 1 || guestCount < 1 || reservationCount < 0 || roomsPerProperty < 1) {
+            throw new IllegalArgumentException(
+                    "El dataset necesita al menos una habitación, un huésped y un hotel");
+        }
+        if (referenceDate == null) {
+            throw new IllegalArgumentException("La fecha de referencia es obligatoria");
+        }
+    }
+}
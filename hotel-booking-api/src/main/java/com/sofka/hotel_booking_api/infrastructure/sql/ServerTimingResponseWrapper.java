@@ -0,0 +1,152 @@
+package com.sofka.hotel_booking_api.infrastructure.sql;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.function.Supplier;
+
+/**
+ * Respuesta que añade la cabecera {@code Server-Timing} justo antes de que se escriba el cuerpo,
+ * sin almacenarlo: en la primera escritura, vaciado, error o redirección, o al terminar el filtro
+ * si la respuesta no tiene cuerpo. Las cifras son las de ese momento.
+ */
+final class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final Supplier<String> serverTiming;
+    private boolean headerWritten;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    ServerTimingResponseWrapper(HttpServletResponse response, Supplier<String> serverTiming) {
+        super(response);
+        this.serverTiming = serverTiming;
+    }
+
+    /**
+     * Añade la cabecera si aún no se añadió y la respuesta no está confirmada.
+     */
+    void writeHeader() {
+        if (headerWritten) {
+            return;
+        }
+        headerWritten = true;
+        if (!isCommitted()) {
+            setHeader(SqlStatementBudgetFilter.SERVER_TIMING_HEADER, serverTiming.get());
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new HeaderWritingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new HeaderWritingWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeHeader();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeader();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeader();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeader();
+        super.sendRedirect(location);
+    }
+
+    private final class HeaderWritingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        HeaderWritingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            writeHeader();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writeHeader();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeHeader();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writeHeader();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    private final class HeaderWritingWriter extends Writer {
+
+        private final PrintWriter delegate;
+
+        HeaderWritingWriter(PrintWriter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            writeHeader();
+            delegate.write(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() {
+            writeHeader();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+            writeHeader();
+            delegate.close();
+        }
+    }
+}
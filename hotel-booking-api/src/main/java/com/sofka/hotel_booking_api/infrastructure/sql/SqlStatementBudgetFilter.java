@@ -0,0 +1,105 @@
+package com.sofka.hotel_booking_api.infrastructure.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cuenta las sentencias SQL y el tiempo de base de datos de cada petición HTTP.
+ *
+ * <p>Los devuelve en la cabecera {@code Server-Timing} ({@code db} y {@code total}, en ms),
+ * registra un aviso cuando la petición supera {@code hotel.sql.statement-budget} sentencias o
+ * repite la misma sentencia {@code hotel.sql.repeated-statement-threshold} veces (posible N+1),
+ * y deja el resultado en el atributo {@link SqlStatementStats#REQUEST_ATTRIBUTE} para los tests.</p>
+ *
+ * <p>La cabecera se añade justo antes de escribir el cuerpo ({@link ServerTimingResponseWrapper}),
+ * así que no cuenta las sentencias que se ejecuten después del primer byte (por ejemplo, cargas
+ * perezosas al final de la serialización); el aviso y el atributo sí las cuentan. Con
+ * {@code hotel.sql.server-timing.buffer-response} la respuesta se almacena entera y la cabecera
+ * refleja la petición completa, a costa de copiar cada cuerpo en memoria.</p>
+ */
+@Component
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final int statementBudget;
+    private final int repeatedStatementThreshold;
+    private final boolean bufferResponse;
+
+    public SqlStatementBudgetFilter(
+            @Value("${hotel.sql.statement-budget:25}") int statementBudget,
+            @Value("${hotel.sql.repeated-statement-threshold:5}") int repeatedStatementThreshold,
+            @Value("${hotel.sql.server-timing.buffer-response:false}") boolean bufferResponse) {
+        this.statementBudget = statementBudget;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.bufferResponse = bufferResponse;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try (SqlStatementStats.Scope scope = SqlStatementStats.open()) {
+            if (bufferResponse) {
+                ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+                try {
+                    chain.doFilter(request, wrapper);
+                } finally {
+                    wrapper.setHeader(SERVER_TIMING_HEADER, serverTiming(scope, System.nanoTime() - start));
+                    finish(request, scope);
+                    wrapper.copyBodyToResponse();
+                }
+            } else {
+                ServerTimingResponseWrapper wrapper = new ServerTimingResponseWrapper(response,
+                        () -> serverTiming(scope, System.nanoTime() - start));
+                try {
+                    chain.doFilter(request, wrapper);
+                } finally {
+                    wrapper.writeHeader();
+                    finish(request, scope);
+                }
+            }
+        }
+    }
+
+    static String serverTiming(SqlStatementStats.Scope scope, long totalNanos) {
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d SQL\", total;dur=%.2f",
+                scope.getDatabaseTime().toNanos() / 1_000_000.0, scope.getStatements(), totalNanos / 1_000_000.0);
+    }
+
+    private void finish(HttpServletRequest request, SqlStatementStats.Scope scope) {
+        request.setAttribute(SqlStatementStats.REQUEST_ATTRIBUTE, scope);
+        report(request, scope);
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats.Scope scope) {
+        if (scope.getStatements() > statementBudget) {
+            log.warn("{} {} ejecutó {} sentencias SQL (presupuesto {}), {} ms en base de datos",
+                    request.getMethod(), request.getRequestURI(), scope.getStatements(), statementBudget,
+                    scope.getDatabaseTime().toMillis());
+        }
+        for (Map.Entry<String, Integer> repeated : scope.getRepeatedStatements(repeatedStatementThreshold).entrySet()) {
+            log.warn("Posible N+1 en {} {}: {} ejecuciones de [{}]",
+                    request.getMethod(), request.getRequestURI(), repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sofka.hotel_booking_api.infrastructure.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Mide cada ejecución JDBC y la acumula en {@link SqlStatementStats}, junto con el texto de la
+ * sentencia para detectar repeticiones (N+1).
+ *
+ * <p>Escucha en el proxy del {@code DataSource} que ya crea {@code datasource-micrometer}, así que
+ * cuenta igual las consultas de Hibernate que los lotes de {@code JdbcTemplate}, en la base principal
+ * y en los shards. Cada batch cuenta como una ejecución.</p>
+ */
+@Component
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final String START = SqlStatementListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        SqlStatementStats.recordExecution(start == null ? 0 : System.nanoTime() - start);
+        for (QueryInfo queryInfo : queryInfoList) {
+            SqlStatementStats.recordSql(queryInfo.getQuery());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.sofka.hotel_booking_api.infrastructure.sql;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contadores de sentencias SQL y tiempo de base de datos del hilo actual.
+ *
+ * <p>Los alimenta {@link SqlStatementListener} desde el proxy del {@code DataSource} (ejecuciones,
+ * su duración y el texto de cada sentencia). Un ámbito abierto con {@link #open()}
+ * acumula todo lo ejecutado en el hilo hasta cerrarlo; los ámbitos pueden anidarse, de modo que
+ * un test puede medir una petición aunque el filtro HTTP abra su propio ámbito.</p>
+ *
+ * <pre>
+ * try (SqlStatementStats.Scope scope = SqlStatementStats.open()) {
+ *     reservationService.searchReservations(null, "García");
+ *     assertEquals(1, scope.getStatements());
+ * }
+ * </pre>
+ */
+public final class SqlStatementStats {
+
+    /**
+     * Atributo de la petición HTTP con el {@link Scope} de la petición ya cerrado.
+     */
+    public static final String REQUEST_ATTRIBUTE = SqlStatementStats.class.getName() + ".scope";
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = new ThreadLocal<>();
+
+    private SqlStatementStats() {
+    }
+
+    /**
+     * Abre un ámbito de medición en el hilo actual.
+     *
+     * @return el ámbito, que debe cerrarse en el mismo hilo
+     */
+    public static Scope open() {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        Scope scope = new Scope();
+        scopes.push(scope);
+        return scope;
+    }
+
+    static void recordExecution(long nanos) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (Scope scope : scopes) {
+                scope.statements++;
+                scope.databaseNanos += nanos;
+            }
+        }
+    }
+
+    static void recordSql(String sql) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (Scope scope : scopes) {
+                scope.sqlCounts.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Sentencias ejecutadas y tiempo de base de datos dentro de un ámbito.
+     * Solo debe usarse desde el hilo que lo abrió.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private int statements;
+        private long databaseNanos;
+        private final Map<String, Integer> sqlCounts = new HashMap<>();
+
+        private Scope() {
+        }
+
+        /**
+         * Número de ejecuciones JDBC (cada batch cuenta como una).
+         */
+        public int getStatements() {
+            return statements;
+        }
+
+        /**
+         * Tiempo total de ejecución de las sentencias.
+         */
+        public Duration getDatabaseTime() {
+            return Duration.ofNanos(databaseNanos);
+        }
+
+        /**
+         * Sentencias preparadas al menos {@code threshold} veces, señal típica de un problema N+1.
+         *
+         * @param threshold número mínimo de repeticiones
+         * @return texto SQL y número de repeticiones, de más a menos repetida
+         */
+        public Map<String, Integer> getRepeatedStatements(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            sqlCounts.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= threshold)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+            return repeated;
+        }
+
+        @Override
+        public void close() {
+            Deque<Scope> scopes = SCOPES.get();
+            if (scopes != null) {
+                scopes.remove(this);
+                if (scopes.isEmpty()) {
+                    SCOPES.remove();
+                }
+            }
+        }
+    }
+}
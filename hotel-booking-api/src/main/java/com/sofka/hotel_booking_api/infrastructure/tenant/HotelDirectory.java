@@ -0,0 +1,50 @@
+package com.sofka.hotel_booking_api.infrastructure.tenant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Hoteles conocidos: los que tienen datos en la base principal y los asignados a un shard en
+ * {@code hotel.tenancy.shards}. No hay tabla de hoteles: un hotel de la base principal existe desde
+ * que registra su primera habitación. El hotel por defecto se incluye siempre.
+ *
+ * <p>Los hoteles de un shard se toman de la configuración en lugar de consultarlo, de modo que las
+ * tareas de la líder y la búsqueda en varios hoteles los incluyen aunque el shard no responda.</p>
+ */
+@Component
+public class HotelDirectory {
+
+    private static final String HOTEL_IDS_SQL = "SELECT DISTINCT hotel_id FROM rooms";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Long> shardHotelIds;
+
+    @Autowired
+    public HotelDirectory(JdbcTemplate jdbcTemplate, Environment environment) {
+        this(jdbcTemplate, TenantRoutingDataSourcePostProcessor.bindShards(environment));
+    }
+
+    HotelDirectory(JdbcTemplate jdbcTemplate, List<TenantShard> shards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardHotelIds = shards.stream()
+                .flatMap(shard -> shard.hotelIds().stream())
+                .toList();
+    }
+
+    /**
+     * @return los IDs de hotel en orden ascendente
+     */
+    public List<Long> hotelIds() {
+        TreeSet<Long> hotelIds = new TreeSet<>(
+                TenantContext.callAs(TenantContext.ALL_HOTELS,
+                        () -> jdbcTemplate.queryForList(HOTEL_IDS_SQL, Long.class)));
+        hotelIds.addAll(shardHotelIds);
+        hotelIds.add(TenantContext.DEFAULT_HOTEL_ID);
+        return List.copyOf(hotelIds);
+    }
+}
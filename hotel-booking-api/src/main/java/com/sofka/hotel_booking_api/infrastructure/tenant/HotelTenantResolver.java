@@ -0,0 +1,26 @@
+package com.sofka.hotel_booking_api.infrastructure.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Indica a Hibernate el hotel de cada sesión. Las entidades con {@code @TenantId} reciben ese
+ * hotel al insertarse y todas sus consultas se restringen a él, salvo con
+ * {@link TenantContext#ALL_HOTELS}, que es el tenant raíz.
+ */
+public class HotelTenantResolver implements CurrentTenantIdentifierResolver<Long> {
+
+    @Override
+    public Long resolveCurrentTenantIdentifier() {
+        return TenantContext.currentHotelId();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(Long tenantId) {
+        return tenantId == TenantContext.ALL_HOTELS;
+    }
+}
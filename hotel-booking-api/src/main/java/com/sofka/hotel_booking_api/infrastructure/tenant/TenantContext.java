@@ -0,0 +1,97 @@
+package com.sofka.hotel_booking_api.infrastructure.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * Hotel (tenant) del hilo actual.
+ *
+ * <p>Las peticiones HTTP lo fijan con la cabecera {@code X-Hotel-Id} ({@link TenantFilter}); sin
+ * cabecera ni contexto se usa {@link #DEFAULT_HOTEL_ID}, de modo que una instalación de un solo
+ * hotel funciona igual que antes. Las tareas programadas de la líder se ejecutan una vez por hotel;
+ * las de cada instancia usan {@link #ALL_HOTELS}, que Hibernate trata como tenant raíz: sus
+ * consultas ven los datos de todos los hoteles.</p>
+ */
+public final class TenantContext {
+
+    public static final long DEFAULT_HOTEL_ID = 1L;
+    public static final long ALL_HOTELS = 0L;
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return el hotel del hilo, {@link #DEFAULT_HOTEL_ID} si no se fijó o {@link #ALL_HOTELS}
+     */
+    public static long currentHotelId() {
+        Long hotelId = CURRENT.get();
+        return hotelId == null ? DEFAULT_HOTEL_ID : hotelId;
+    }
+
+    /**
+     * Hotel concreto del hilo, para escrituras que no pasan por Hibernate.
+     *
+     * @throws IllegalStateException si el hilo trabaja sobre todos los hoteles
+     */
+    public static long requireHotelId() {
+        long hotelId = currentHotelId();
+        if (hotelId == ALL_HOTELS) {
+            throw new IllegalStateException("La operación requiere un hotel concreto (cabecera X-Hotel-Id)");
+        }
+        return hotelId;
+    }
+
+    public static boolean isAllHotels() {
+        return currentHotelId() == ALL_HOTELS;
+    }
+
+    /**
+     * Fija el hotel del hilo hasta cerrar el ámbito devuelto, que restaura el anterior.
+     */
+    public static Scope open(long hotelId) {
+        Long previous = CURRENT.get();
+        CURRENT.set(hotelId);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Ejecuta la acción con el hotel indicado y restaura el anterior al terminar.
+     */
+    public static <T> T callAs(long hotelId, Supplier<T> action) {
+        try (Scope ignored = open(hotelId)) {
+            return action.get();
+        }
+    }
+
+    public static void runAs(long hotelId, Runnable action) {
+        callAs(hotelId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Envuelve una tarea para que se ejecute, en otro hilo, con el hotel del hilo actual.
+     */
+    public static Runnable propagate(Runnable task) {
+        long hotelId = currentHotelId();
+        return () -> runAs(hotelId, task);
+    }
+
+    /**
+     * Ámbito abierto con {@link #open(long)}.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
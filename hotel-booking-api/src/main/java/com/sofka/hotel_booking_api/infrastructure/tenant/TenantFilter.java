@@ -0,0 +1,79 @@
+package com.sofka.hotel_booking_api.infrastructure.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.infrastructure.constants.ValidationMessages;
+import com.sofka.hotel_booking_api.infrastructure.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Fija el hotel de la petición a partir de la cabecera {@code X-Hotel-Id}.
+ *
+ * <p>Se ejecuta antes que el {@code EntityManager} de la petición (open-in-view), que toma el hotel
+ * al abrirse. Sin cabecera se usa {@link TenantContext#DEFAULT_HOTEL_ID}; un valor no numérico o no
+ * positivo responde 400 con el mismo cuerpo que {@link ErrorResponse}. El tenant raíz
+ * ({@link TenantContext#ALL_HOTELS}) no se puede pedir por HTTP.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String HOTEL_HEADER = "X-Hotel-Id";
+
+    private final ObjectMapper objectMapper;
+
+    public TenantFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HOTEL_HEADER);
+        if (header == null || header.isBlank()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Long hotelId = parse(header.trim());
+        if (hotelId == null) {
+            reject(response, header);
+            return;
+        }
+        try (TenantContext.Scope ignored = TenantContext.open(hotelId)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    static Long parse(String header) {
+        try {
+            long hotelId = Long.parseLong(header);
+            return hotelId > 0 ? hotelId : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String header) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ValidationMessages.INVALID_HOTEL_TITLE,
+                String.format(ValidationMessages.INVALID_HOTEL_MESSAGE, header),
+                LocalDateTime.now());
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
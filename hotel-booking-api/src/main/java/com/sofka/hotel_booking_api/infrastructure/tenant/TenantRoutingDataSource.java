@@ -0,0 +1,26 @@
+package com.sofka.hotel_booking_api.infrastructure.tenant;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Map;
+
+/**
+ * Enruta cada conexión al shard del hotel actual ({@link TenantContext}); los hoteles sin shard,
+ * el hotel por defecto y el tenant raíz usan la base principal.
+ *
+ * <p>La conexión se elige al abrir la transacción o la sesión, así que todo lo que ocurre dentro
+ * de ella queda en el mismo shard.</p>
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final Map<Long, String> shardByHotel;
+
+    public TenantRoutingDataSource(Map<Long, String> shardByHotel) {
+        this.shardByHotel = Map.copyOf(shardByHotel);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return shardByHotel.get(TenantContext.currentHotelId());
+    }
+}
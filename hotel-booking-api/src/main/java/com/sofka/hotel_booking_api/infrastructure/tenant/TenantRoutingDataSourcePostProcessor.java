@@ -0,0 +1,106 @@
+package com.sofka.hotel_booking_api.infrastructure.tenant;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sustituye el {@code dataSource} de Spring Boot por un {@link TenantRoutingDataSource} cuando hay
+ * shards configurados en {@code hotel.tenancy.shards}; sin shards no cambia nada.
+ *
+ * <p>Cada shard tiene su propio pool Hikari, que hereda el tamaño y los tiempos del principal.
+ * Hibernate solo crea el esquema de la base principal: los shards se migran por separado.</p>
+ */
+public class TenantRoutingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    static final String SHARDS_PROPERTY = "hotel.tenancy.shards";
+
+    private final List<TenantShard> shards;
+
+    public TenantRoutingDataSourcePostProcessor(Environment environment) {
+        this(bindShards(environment));
+    }
+
+    TenantRoutingDataSourcePostProcessor(List<TenantShard> shards) {
+        this.shards = shards;
+        shardByHotel();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (shards.isEmpty() || !"dataSource".equals(beanName) || !(bean instanceof HikariDataSource primary)) {
+            return bean;
+        }
+        Map<Object, Object> targets = new HashMap<>();
+        for (TenantShard shard : shards) {
+            targets.put(shard.name(), shardDataSource(primary, shard));
+        }
+        TenantRoutingDataSource routing = new TenantRoutingDataSource(shardByHotel());
+        routing.setDefaultTargetDataSource(primary);
+        routing.setTargetDataSources(targets);
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * @return los shards de {@code hotel.tenancy.shards}, vacío si no hay
+     */
+    static List<TenantShard> bindShards(Environment environment) {
+        return Binder.get(environment).bind(SHARDS_PROPERTY, Bindable.listOf(TenantShard.class)).orElse(List.of());
+    }
+
+    Map<Long, String> shardByHotel() {
+        Map<Long, String> shardByHotel = new HashMap<>();
+        for (TenantShard shard : shards) {
+            if (!StringUtils.hasText(shard.name()) || shard.hotelIds() == null || shard.hotelIds().isEmpty()) {
+                throw new IllegalArgumentException("Cada shard de " + SHARDS_PROPERTY + " necesita name y hotel-ids");
+            }
+            for (Long hotelId : shard.hotelIds()) {
+                if (hotelId == null || hotelId <= TenantContext.ALL_HOTELS || hotelId == TenantContext.DEFAULT_HOTEL_ID) {
+                    throw new IllegalArgumentException("El hotel " + hotelId + " no puede asignarse al shard "
+                            + shard.name() + ": el hotel por defecto vive en la base principal");
+                }
+                String previous = shardByHotel.putIfAbsent(hotelId, shard.name());
+                if (previous != null) {
+                    throw new IllegalArgumentException("El hotel " + hotelId + " está en los shards "
+                            + previous + " y " + shard.name());
+                }
+            }
+        }
+        return shardByHotel;
+    }
+
+    private static DataSource shardDataSource(HikariDataSource primary, TenantShard shard) {
+        HikariDataSource dataSource = new HikariDataSource();
+        primary.copyStateTo(dataSource);
+        dataSource.setPoolName("shard-" + shard.name());
+        if (StringUtils.hasText(shard.url())) {
+            dataSource.setJdbcUrl(shard.url());
+        }
+        if (StringUtils.hasText(shard.username())) {
+            dataSource.setUsername(shard.username());
+        }
+        if (StringUtils.hasText(shard.password())) {
+            dataSource.setPassword(shard.password());
+        }
+        if (StringUtils.hasText(shard.schema())) {
+            dataSource.setSchema(shard.schema());
+        }
+        return dataSource;
+    }
+}
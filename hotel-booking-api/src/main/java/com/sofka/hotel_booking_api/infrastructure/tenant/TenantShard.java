@@ -0,0 +1,17 @@
+package com.sofka.hotel_booking_api.infrastructure.tenant;
+
+import java.util.List;
+
+/**
+ * Base de datos o esquema dedicado a uno o varios hoteles ({@code hotel.tenancy.shards}).
+ *
+ * @param name     nombre del shard, usado como clave de enrutado y nombre del pool
+ * @param hotelIds hoteles que viven en el shard
+ * @param url      URL JDBC; vacía para usar la de {@code spring.datasource} (esquema por hotel)
+ * @param username usuario; vacío para usar el de {@code spring.datasource}
+ * @param password contraseña; vacía para usar la de {@code spring.datasource}
+ * @param schema   esquema por defecto de las conexiones; vacío para el del usuario
+ */
+public record TenantShard(String name, List<Long> hotelIds, String url, String username, String password,
+                          String schema) {
+}
@@ -0,0 +1,154 @@
+package com.sofka.hotel_booking_api.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.infrastructure.dto.SpanResponse;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Exporta los spans a un fichero local en formato JSON Lines (un span por línea),
+ * rotándolo al alcanzar el tamaño máximo para no necesitar un colector.
+ *
+ * <p>El fichero activo es {@code spans.jsonl}; al rotar pasa a {@code spans.1.jsonl} y los
+ * anteriores se desplazan hasta {@code hotel.tracing.file.max-history}, descartando el más
+ * antiguo. Spring Boot lo registra en el {@code BatchSpanProcessor}, por lo que las
+ * escrituras se hacen en lotes fuera de los hilos de petición.</p>
+ *
+ * <p>{@code hotel.tracing.file.enabled} se comprueba en tiempo de ejecución y no con una
+ * condición sobre el bean, porque con Spring AOT las condiciones se evalúan al compilar.</p>
+ */
+@Component
+public class RollingFileSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(RollingFileSpanExporter.class);
+    static final String ACTIVE_FILE = "spans.jsonl";
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final int maxHistory;
+    private final ObjectMapper objectMapper;
+
+    private OutputStream out;
+    private long written;
+
+    public RollingFileSpanExporter(
+            @Value("${hotel.tracing.file.enabled:true}") boolean enabled,
+            @Value("${hotel.tracing.file.directory:${java.io.tmpdir}/hotel-traces}") Path directory,
+            @Value("${hotel.tracing.file.max-size:50MB}") DataSize maxSize,
+            @Value("${hotel.tracing.file.max-history:5}") int maxHistory,
+            ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.maxBytes = maxSize.toBytes();
+        this.maxHistory = maxHistory;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (!enabled) {
+            return CompletableResultCode.ofSuccess();
+        }
+        try {
+            for (SpanData span : spans) {
+                byte[] line = objectMapper.writeValueAsBytes(SpanResponse.fromSpanData(span));
+                if (out == null) {
+                    open();
+                } else if (written + line.length + 1 > maxBytes) {
+                    rotate();
+                }
+                out.write(line);
+                out.write(NEW_LINE);
+                written += line.length + 1;
+            }
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("No se pudieron escribir {} spans en {}: {}", spans.size(), directory, e.getMessage());
+            closeQuietly();
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            if (out != null) {
+                out.flush();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        closeQuietly();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        Path active = directory.resolve(ACTIVE_FILE);
+        written = Files.exists(active) ? Files.size(active) : 0;
+        out = new BufferedOutputStream(Files.newOutputStream(active,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        if (written >= maxBytes) {
+            rotate();
+        }
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        out = null;
+        Files.deleteIfExists(rotatedFile(maxHistory));
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            Path source = rotatedFile(i);
+            if (Files.exists(source)) {
+                Files.move(source, rotatedFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Path active = directory.resolve(ACTIVE_FILE);
+        if (maxHistory > 0) {
+            Files.move(active, rotatedFile(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(active);
+        }
+        out = new BufferedOutputStream(Files.newOutputStream(active,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING));
+        written = 0;
+    }
+
+    private Path rotatedFile(int index) {
+        return directory.resolve("spans." + index + ".jsonl");
+    }
+
+    private void closeQuietly() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.debug("Error al cerrar el fichero de spans: {}", e.getMessage());
+            }
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.sofka.hotel_booking_api.infrastructure.tracing;
+
+import com.sofka.hotel_booking_api.infrastructure.dto.SpanResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.TraceResponse;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conserva en memoria los últimos spans muestreados para consultarlos desde
+ * {@code /api/admin/traces} sin necesidad de un colector externo.
+ *
+ * <p>Es un {@link SpanProcessor} y no un exportador para que los spans estén disponibles en
+ * cuanto finalizan, sin esperar al lote del {@code BatchSpanProcessor}. Cuando el buffer se
+ * llena se descartan los spans más antiguos.</p>
+ */
+@Component
+public class SpanRingBuffer implements SpanProcessor {
+
+    private final SpanData[] spans;
+    private int next;
+    private int size;
+
+    public SpanRingBuffer(@Value("${hotel.tracing.ring-buffer-size:2000}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("hotel.tracing.ring-buffer-size debe ser mayor que 0");
+        }
+        this.spans = new SpanData[capacity];
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+        // Solo interesan los spans finalizados
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (span.getSpanContext().isSampled()) {
+            add(span.toSpanData());
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    /**
+     * Obtiene las trazas más recientes, de la más nueva a la más antigua.
+     *
+     * @param limit número máximo de trazas
+     * @return trazas con sus spans disponibles en el buffer
+     */
+    public List<TraceResponse> recentTraces(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El límite de trazas debe ser mayor que 0");
+        }
+        // Se agrupa del span más reciente al más antiguo para ordenar las trazas por actividad
+        Map<String, List<SpanData>> byTrace = new LinkedHashMap<>();
+        for (SpanData span : snapshotNewestFirst()) {
+            List<SpanData> traceSpans = byTrace.get(span.getTraceId());
+            if (traceSpans == null) {
+                if (byTrace.size() == limit) {
+                    continue;
+                }
+                traceSpans = new ArrayList<>();
+                byTrace.put(span.getTraceId(), traceSpans);
+            }
+            traceSpans.add(span);
+        }
+        return byTrace.entrySet().stream()
+                .map(entry -> toTrace(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Busca una traza por su identificador.
+     *
+     * @param traceId identificador hexadecimal de la traza
+     * @return la traza, vacía si ninguno de sus spans sigue en el buffer
+     */
+    public Optional<TraceResponse> findTrace(String traceId) {
+        List<SpanData> traceSpans = snapshotNewestFirst().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .toList();
+        return traceSpans.isEmpty() ? Optional.empty() : Optional.of(toTrace(traceId, traceSpans));
+    }
+
+    private synchronized void add(SpanData span) {
+        spans[next] = span;
+        next = (next + 1) % spans.length;
+        size = Math.min(size + 1, spans.length);
+    }
+
+    private synchronized List<SpanData> snapshotNewestFirst() {
+        List<SpanData> snapshot = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            snapshot.add(spans[Math.floorMod(next - i, spans.length)]);
+        }
+        return snapshot;
+    }
+
+    private static TraceResponse toTrace(String traceId, List<SpanData> traceSpans) {
+        List<SpanResponse> ordered = traceSpans.stream()
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(SpanResponse::fromSpanData)
+                .toList();
+        long start = traceSpans.stream().mapToLong(SpanData::getStartEpochNanos).min().orElseThrow();
+        long end = traceSpans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElseThrow();
+        SpanResponse root = ordered.stream()
+                .filter(span -> span.parentSpanId() == null)
+                .findFirst()
+                .orElse(ordered.get(0));
+        return new TraceResponse(traceId, root.name(), ordered.get(0).start(),
+                TimeUnit.NANOSECONDS.toMicros(end - start), ordered.size(), ordered);
+    }
+}
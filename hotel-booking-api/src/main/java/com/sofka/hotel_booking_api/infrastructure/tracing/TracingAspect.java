@@ -0,0 +1,136 @@
+package com.sofka.hotel_booking_api.infrastructure.tracing;
+
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Crea un span por cada llamada a un servicio de aplicación y a un repositorio, anidados bajo
+ * el span HTTP del controlador y por encima de los spans JDBC, para ver el recorrido completo
+ * de una reserva: controlador → servicio → repositorio → JDBC.
+ *
+ * <p>Se usan observaciones de Micrometer, que el puente de OpenTelemetry convierte en spans:
+ * así todos los niveles comparten la misma jerarquía de observaciones. Atributos añadidos:</p>
+ * <ul>
+ *   <li>{@code hotel.room.id}, {@code hotel.reservation.id}, {@code hotel.reservation.status}:
+ *       tomados de los argumentos y del resultado</li>
+ *   <li>{@code db.response.returned_rows}: filas devueltas por un repositorio</li>
+ *   <li>{@code hotel.result.count}: elementos devueltos por un servicio</li>
+ * </ul>
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    static final String SERVICE_OBSERVATION = "hotel.trace.service";
+    static final String REPOSITORY_OBSERVATION = "hotel.trace.repository";
+
+    private final ObservationRegistry registry;
+
+    public TracingAspect(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.sofka.hotel_booking_api.application.service.*Service.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(SERVICE_OBSERVATION, joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                joinPoint, false);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(REPOSITORY_OBSERVATION, repositoryName(joinPoint), joinPoint, true);
+    }
+
+    private Object observe(String name, String component, ProceedingJoinPoint joinPoint,
+                           boolean repository) throws Throwable {
+        if (registry.isNoop()) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(name, registry)
+                .contextualName(component + "." + method)
+                .lowCardinalityKeyValue("code.namespace", component)
+                .lowCardinalityKeyValue("code.function", method);
+        addArgumentAttributes(observation, joinPoint);
+        observation.start();
+        try (Observation.Scope scope = observation.openScope()) {
+            Object result = joinPoint.proceed();
+            addResultAttributes(observation, result, repository);
+            return result;
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static void addArgumentAttributes(Observation observation, ProceedingJoinPoint joinPoint) {
+        Object[] args = joinPoint.getArgs();
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg instanceof Room room && room.getId() != null) {
+                observation.highCardinalityKeyValue("hotel.room.id", room.getId().toString());
+            } else if (arg instanceof CreateReservationRequest request && request.roomId() != null) {
+                observation.highCardinalityKeyValue("hotel.room.id", request.roomId().toString());
+            } else if (arg instanceof ReservationStatus status) {
+                observation.highCardinalityKeyValue("hotel.reservation.status", status.name());
+            } else if (arg instanceof Long id && names != null) {
+                if ("roomId".equals(names[i])) {
+                    observation.highCardinalityKeyValue("hotel.room.id", id.toString());
+                } else if ("reservationId".equals(names[i])) {
+                    observation.highCardinalityKeyValue("hotel.reservation.id", id.toString());
+                }
+            }
+        }
+    }
+
+    private static void addResultAttributes(Observation observation, Object result, boolean repository) {
+        if (result instanceof ReservationResponse response) {
+            if (response.id() != null) {
+                observation.highCardinalityKeyValue("hotel.reservation.id", response.id().toString());
+            }
+            observation.highCardinalityKeyValue("hotel.reservation.status", String.valueOf(response.status()));
+            if (response.room() != null) {
+                observation.highCardinalityKeyValue("hotel.room.id", String.valueOf(response.room().getId()));
+            }
+        } else if (result instanceof Reservation reservation) {
+            observation.highCardinalityKeyValue("hotel.reservation.id", String.valueOf(reservation.getId()));
+            observation.highCardinalityKeyValue("hotel.reservation.status", String.valueOf(reservation.getStatus()));
+            if (reservation.hasAssignedRoom()) {
+                observation.highCardinalityKeyValue("hotel.room.id", String.valueOf(reservation.getRoom().getId()));
+            }
+        } else if (result instanceof Collection<?> collection) {
+            observation.highCardinalityKeyValue(repository ? "db.response.returned_rows" : "hotel.result.count",
+                    String.valueOf(collection.size()));
+        } else if (repository && result instanceof Optional<?> optional) {
+            observation.highCardinalityKeyValue("db.response.returned_rows", optional.isPresent() ? "1" : "0");
+        }
+    }
+
+    private static String repositoryName(JoinPoint joinPoint) {
+        return Arrays.stream(AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis()))
+                .filter(Repository.class::isAssignableFrom)
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElseGet(() -> joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+}
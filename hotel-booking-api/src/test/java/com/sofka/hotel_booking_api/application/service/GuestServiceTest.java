@@ -11,11 +11,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -28,6 +32,9 @@ class GuestServiceTest {
     @Mock
     private GuestRepository guestRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private GuestService guestService;
 
@@ -353,4 +360,54 @@ class GuestServiceTest {
         assertEquals("Jane Updated", result.getFirstName());
         assertEquals("Doe Updated", result.getLastName());
     }
+
+    // ============================================
+    // Escenario: Registro en lote (reservas de grupo)
+    // ============================================
+
+    @Test
+    @DisplayName("Debe actualizar los existentes e insertar los nuevos en un solo batch JDBC")
+    void shouldBatchInsertNewGuestsAndUpdateExistingOnes() {
+        // Given - El documento 12345678 ya existe; 87654321 es nuevo y llega repetido
+        CreateGuestRequest newGuestRequest = new CreateGuestRequest(
+                "Ana", "Ruiz", "87654321", "ana@example.com", "+57 300 1112233");
+        CreateGuestRequest newGuestLatest = new CreateGuestRequest(
+                "Ana María", "Ruiz", "87654321", "ana.maria@example.com", "+57 300 1112233");
+        Guest inserted = new Guest("Ana María", "Ruiz", "87654321", "ana.maria@example.com", "+57 300 1112233");
+        when(guestRepository.findByDocumentNumberIn(any()))
+                .thenReturn(List.of(existingGuest))
+                .thenReturn(List.of(inserted));
+
+        // When
+        Map<String, Guest> guests = guestService.registerOrUpdateGuests(
+                List.of(validGuestRequest, newGuestRequest, newGuestLatest));
+
+        // Then - Una fila por documento nuevo con los últimos datos y el hotel actual
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        Object[] row = batch.getValue().get(0);
+        assertEquals(1L, row[0]);
+        assertEquals("Ana María", row[1]);
+        assertEquals("87654321", row[3]);
+        verify(guestRepository).findByDocumentNumberIn(List.of("87654321"));
+        verify(guestRepository, never()).saveAll(any());
+
+        assertSame(existingGuest, guests.get("12345678"));
+        assertEquals("John", existingGuest.getFirstName());
+        assertSame(inserted, guests.get("87654321"));
+    }
+
+    @Test
+    @DisplayName("Si todos los huéspedes existen no debe insertar nada")
+    void shouldNotInsertWhenAllGuestsExist() {
+        when(guestRepository.findByDocumentNumberIn(any())).thenReturn(List.of(existingGuest));
+
+        Map<String, Guest> guests = guestService.registerOrUpdateGuests(List.of(validGuestRequest));
+
+        assertEquals(Map.of("12345678", existingGuest), guests);
+        verifyNoInteractions(jdbcTemplate);
+        verify(guestRepository, times(1)).findByDocumentNumberIn(any());
+    }
 }
@@ -0,0 +1,374 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.domain.exception.IdempotencyKeyConflictException;
+import com.sofka.hotel_booking_api.domain.exception.IdempotencyKeyInProgressException;
+import com.sofka.hotel_booking_api.domain.model.IdempotencyRecord;
+import com.sofka.hotel_booking_api.domain.repository.IdempotencyRecordRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.ConfirmPaymentRequest;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del servicio de idempotencia.
+ * Reintentos de POST /api/reservations y /{id}/confirm-payment
+ *
+ * <p>El repositorio y el gestor de transacciones son simulados: la reclamación
+ * ({@code claim}) y el registro de la respuesta ({@code complete}) devuelven las filas
+ * afectadas que devolvería la base de datos.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService - Tests unitarios")
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyService idempotencyService;
+
+    private ConfirmPaymentRequest request;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = newService(idempotencyRecordRepository, Duration.ofSeconds(30));
+        request = new ConfirmPaymentRequest("CASH", new BigDecimal("400.00"), null);
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar la operación sin registrar nada cuando no hay clave")
+    void shouldExecuteWithoutKey() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        idempotencyService.execute(null, "confirm-payment:1", request, String.class,
+                () -> "OK-" + executions.incrementAndGet());
+        idempotencyService.execute(null, "confirm-payment:1", request, String.class,
+                () -> "OK-" + executions.incrementAndGet());
+
+        // Then
+        assertEquals(2, executions.get());
+        verifyNoInteractions(idempotencyRecordRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Debe devolver la respuesta original en un reintento sin volver a ejecutar")
+    void shouldReplayOriginalResponse() {
+        // Given
+        givenFreeKeys(idempotencyRecordRepository);
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        String first = idempotencyService.execute("key-1", "create-reservation", request, String.class,
+                () -> "RES-" + executions.incrementAndGet());
+        String second = idempotencyService.execute("key-1", "create-reservation", request, String.class,
+                () -> "RES-" + executions.incrementAndGet());
+
+        // Then
+        assertEquals("RES-1", first);
+        assertEquals("RES-1", second);
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository, times(1)).claim(
+                eq("1:create-reservation:key-1"), eq(1L), anyString(), anyString(), any(), any());
+        verify(idempotencyRecordRepository, times(1)).complete(
+                eq("1:create-reservation:key-1"), anyString(), eq("\"RES-1\""), any());
+    }
+
+    @Test
+    @DisplayName("Debe registrar la respuesta en la misma transacción que la operación")
+    void shouldCompleteInsideActionTransaction() {
+        // Given
+        givenFreeKeys(idempotencyRecordRepository);
+        AtomicInteger transactionsOpen = new AtomicInteger();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            transactionsOpen.incrementAndGet();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> transactionsOpen.decrementAndGet()).when(transactionManager).commit(any());
+        when(idempotencyRecordRepository.complete(anyString(), anyString(), any(), any())).thenAnswer(invocation -> {
+            assertEquals(1, transactionsOpen.get(), "La respuesta se registra antes de confirmar la operación");
+            return 1;
+        });
+
+        // When
+        String response = idempotencyService.execute("key-8", "create-reservation", request, String.class,
+                () -> {
+                    assertEquals(1, transactionsOpen.get(), "La operación se ejecuta dentro de una transacción");
+                    return "RES-TX";
+                });
+
+        // Then - Una transacción para reclamar la clave y otra para la operación y su respuesta
+        assertEquals("RES-TX", response);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Debe recuperar desde la base de datos una respuesta registrada por otro nodo")
+    void shouldReplayResponseStoredInDatabase() {
+        // Given - Otro nodo ejecutó la operación y registró la respuesta
+        IdempotencyRecordRepository otherRepository = mock(IdempotencyRecordRepository.class);
+        IdempotencyService otherNode = newService(otherRepository, Duration.ofSeconds(30));
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        givenFreeKeys(otherRepository);
+        otherNode.execute("key-2", "create-reservation", request, String.class, () -> "RES-REMOTE");
+        verify(otherRepository).claim(anyString(), anyLong(), hash.capture(), anyString(), any(), any());
+        verify(otherRepository).complete(anyString(), anyString(), body.capture(), expiresAt.capture());
+        when(idempotencyRecordRepository.findById("1:create-reservation:key-2")).thenReturn(Optional.of(
+                new IdempotencyRecord("1:create-reservation:key-2", hash.getValue(), body.getValue(),
+                        expiresAt.getValue())));
+
+        // When
+        String replayed = idempotencyService.execute("key-2", "create-reservation", request, String.class,
+                () -> fail("La operación no debe ejecutarse de nuevo"));
+
+        // Then
+        assertEquals("RES-REMOTE", replayed);
+        verify(idempotencyRecordRepository, never()).claim(anyString(), anyLong(), anyString(), anyString(),
+                any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe ignorar registros expirados y ejecutar de nuevo")
+    void shouldIgnoreExpiredRecords() {
+        // Given
+        IdempotencyRecord expired = new IdempotencyRecord(
+                "1:create-reservation:key-3", "hash", "\"RES-OLD\"", LocalDateTime.now().minusMinutes(1));
+        when(idempotencyRecordRepository.findById("1:create-reservation:key-3")).thenReturn(Optional.of(expired));
+        when(idempotencyRecordRepository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any()))
+                .thenReturn(1);
+        when(idempotencyRecordRepository.complete(anyString(), anyString(), any(), any())).thenReturn(1);
+
+        // When
+        String response = idempotencyService.execute("key-3", "create-reservation", request, String.class,
+                () -> "RES-NEW");
+
+        // Then - El registro expirado se elimina antes de reclamar la clave
+        assertEquals("RES-NEW", response);
+        verify(idempotencyRecordRepository).deleteIfExpired(eq("1:create-reservation:key-3"), any());
+        verify(idempotencyRecordRepository, times(1)).complete(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la reutilización de la clave con una petición diferente")
+    void shouldRejectKeyReuseWithDifferentRequest() {
+        // Given
+        givenFreeKeys(idempotencyRecordRepository);
+        idempotencyService.execute("key-4", "confirm-payment:1", request, String.class, () -> "OK");
+        ConfirmPaymentRequest otherRequest = new ConfirmPaymentRequest("CASH", new BigDecimal("500.00"), null);
+
+        // When/Then
+        assertThrows(IdempotencyKeyConflictException.class, () ->
+                idempotencyService.execute("key-4", "confirm-payment:1", otherRequest, String.class, () -> "OK"));
+    }
+
+    @Test
+    @DisplayName("No debe registrar operaciones fallidas y debe liberar la clave para permitir reintentos")
+    void shouldNotStoreFailedExecutions() {
+        // Given
+        givenFreeKeys(idempotencyRecordRepository);
+
+        // When
+        assertThrows(IllegalStateException.class, () ->
+                idempotencyService.execute("key-5", "confirm-payment:1", request, String.class, () -> {
+                    throw new IllegalStateException("La reserva ya tiene el pago confirmado");
+                }));
+        String retried = idempotencyService.execute("key-5", "confirm-payment:1", request, String.class,
+                () -> "OK");
+
+        // Then
+        assertEquals("OK", retried);
+        verify(transactionManager, times(1)).rollback(any());
+        verify(idempotencyRecordRepository, times(1)).release(eq("1:confirm-payment:1:key-5"), anyString());
+        verify(idempotencyRecordRepository, times(2)).claim(anyString(), anyLong(), anyString(), anyString(),
+                any(), any());
+        verify(idempotencyRecordRepository, times(1)).complete(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe esperar a que otro nodo complete la clave reclamada y repetir su respuesta")
+    void shouldWaitForClaimHeldByOtherNode() {
+        // Given - Otro nodo reclamó la clave y la completa mientras esta petición espera
+        String hash = idempotencyService.fingerprint("create-reservation", request);
+        IdempotencyRecord inProgress = inProgress(hash);
+        IdempotencyRecord completed = new IdempotencyRecord(
+                "1:create-reservation:key-9", hash, "\"RES-OTHER\"", LocalDateTime.now().plusHours(1));
+        when(idempotencyRecordRepository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any()))
+                .thenReturn(0);
+        when(idempotencyRecordRepository.findById("1:create-reservation:key-9"))
+                .thenReturn(Optional.empty(), Optional.of(inProgress), Optional.of(completed));
+
+        // When
+        String response = idempotencyService.execute("key-9", "create-reservation", request, String.class,
+                () -> fail("Solo quien reclamó la clave ejecuta la operación"));
+
+        // Then
+        assertEquals("RES-OTHER", response);
+        verify(idempotencyRecordRepository, times(2)).claim(anyString(), anyLong(), anyString(), anyString(),
+                any(), any());
+        verify(idempotencyRecordRepository, never()).complete(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe responder que la clave sigue en curso si no se completa dentro del tiempo de espera")
+    void shouldRejectWhenClaimStaysInProgress() {
+        // Given
+        IdempotencyService service = newService(idempotencyRecordRepository, Duration.ofMillis(200));
+        IdempotencyRecord inProgress = inProgress(service.fingerprint("create-reservation", request));
+        when(idempotencyRecordRepository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any()))
+                .thenReturn(0);
+        when(idempotencyRecordRepository.findById(anyString()))
+                .thenReturn(Optional.empty(), Optional.of(inProgress));
+
+        // When/Then
+        assertThrows(IdempotencyKeyInProgressException.class, () ->
+                service.execute("key-10", "create-reservation", request, String.class,
+                        () -> fail("Solo quien reclamó la clave ejecuta la operación")));
+    }
+
+    @Test
+    @DisplayName("Debe revertir la operación si otra petición tomó la clave después de expirar la reclamación")
+    void shouldRollbackWhenClaimWasTakenOver() {
+        // Given - La reclamación expiró mientras se ejecutaba y el registro ya tiene otro token
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any()))
+                .thenReturn(1);
+        when(idempotencyRecordRepository.complete(anyString(), anyString(), any(), any())).thenReturn(0);
+
+        // When/Then
+        assertThrows(IdempotencyKeyInProgressException.class, () ->
+                idempotencyService.execute("key-11", "create-reservation", request, String.class,
+                        () -> "RES-LATE"));
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("La misma clave enviada a otro hotel no debe repetir la respuesta del primero")
+    void shouldScopeKeysByHotel() {
+        // Given
+        givenFreeKeys(idempotencyRecordRepository);
+        String ownHotel = idempotencyService.execute("key-7", "create-reservation", request, String.class,
+                () -> "RES-HOTEL-1");
+
+        // When
+        String otherHotel = TenantContext.callAs(2L, () -> idempotencyService.execute(
+                "key-7", "create-reservation", request, String.class, () -> "RES-HOTEL-2"));
+
+        // Then
+        assertEquals("RES-HOTEL-1", ownHotel);
+        assertEquals("RES-HOTEL-2", otherHotel);
+        verify(idempotencyRecordRepository).claim(
+                eq("1:create-reservation:key-7"), eq(1L), anyString(), anyString(), any(), any());
+        verify(idempotencyRecordRepository).claim(
+                eq("2:create-reservation:key-7"), eq(2L), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar claves vacías o demasiado largas")
+    void shouldRejectInvalidKeys() {
+        String longKey = "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                idempotencyService.execute(" ", "create-reservation", request, String.class, () -> "OK"));
+        assertThrows(IllegalArgumentException.class, () ->
+                idempotencyService.execute(longKey, "create-reservation", request, String.class, () -> "OK"));
+    }
+
+    @Test
+    @DisplayName("Debe agrupar duplicados concurrentes en una sola ejecución")
+    void shouldCollapseConcurrentDuplicates() throws Exception {
+        // Given
+        givenFreeKeys(idempotencyRecordRepository);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When - La primera petición queda en curso mientras llegan los duplicados
+            Future<String> first = executor.submit(() ->
+                    idempotencyService.execute("key-6", "create-reservation", request, String.class, () -> {
+                        started.countDown();
+                        awaitQuietly(release);
+                        return "RES-" + executions.incrementAndGet();
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() ->
+                    idempotencyService.execute("key-6", "create-reservation", request, String.class,
+                            () -> "RES-" + executions.incrementAndGet()));
+            Future<String> third = executor.submit(() ->
+                    idempotencyService.execute("key-6", "create-reservation", request, String.class,
+                            () -> "RES-" + executions.incrementAndGet()));
+            release.countDown();
+
+            // Then
+            assertEquals("RES-1", first.get(5, TimeUnit.SECONDS));
+            assertEquals("RES-1", second.get(5, TimeUnit.SECONDS));
+            assertEquals("RES-1", third.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private IdempotencyService newService(IdempotencyRecordRepository repository, Duration claimTimeout) {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return new IdempotencyService(repository, new ObjectMapper().findAndRegisterModules(), transactionManager,
+                100, Duration.ofHours(24), claimTimeout);
+    }
+
+    /**
+     * Ninguna clave está registrada: toda petición la reclama y registra su respuesta.
+     */
+    private static void givenFreeKeys(IdempotencyRecordRepository repository) {
+        lenient().when(repository.findById(anyString())).thenReturn(Optional.empty());
+        lenient().when(repository.claim(anyString(), anyLong(), anyString(), anyString(), any(), any()))
+                .thenReturn(1);
+        lenient().when(repository.complete(anyString(), anyString(), any(), any())).thenReturn(1);
+    }
+
+    private static IdempotencyRecord inProgress(String requestHash) {
+        IdempotencyRecord record = mock(IdempotencyRecord.class);
+        when(record.getRequestHash()).thenReturn(requestHash);
+        when(record.isCompleted()).thenReturn(false);
+        return record;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.dto.MultiHotelAvailabilityResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.MultiHotelAvailabilityResponse.HotelResult;
+import com.sofka.hotel_booking_api.infrastructure.dto.MultiHotelAvailabilityResponse.Status;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomResponse;
+import com.sofka.hotel_booking_api.infrastructure.tenant.HotelDirectory;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de la búsqueda de disponibilidad en varios hoteles.
+ */
+@DisplayName("MultiHotelAvailabilityService - Tests unitarios")
+class MultiHotelAvailabilityServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(500);
+
+    private RoomService roomService;
+    private PricingService pricingService;
+    private HotelDirectory hotelDirectory;
+    private SimpleMeterRegistry meterRegistry;
+    private MultiHotelAvailabilityService service;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    /** Respuesta y demora simuladas de cada hotel. */
+    private final Map<Long, List<RoomResponse>> roomsByHotel = new ConcurrentHashMap<>();
+    private final Map<Long, Long> delayByHotel = new ConcurrentHashMap<>();
+    /** Recargo por noche de las tarifas de cada hotel sobre el precio de la habitación. */
+    private final Map<Long, BigDecimal> surchargeByHotel = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        roomService = mock(RoomService.class);
+        pricingService = mock(PricingService.class);
+        hotelDirectory = mock(HotelDirectory.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new MultiHotelAvailabilityService(roomService, pricingService, hotelDirectory, meterRegistry,
+                8, 50, TIMEOUT);
+        checkIn = LocalDate.now().plusDays(5);
+        checkOut = checkIn.plusDays(2);
+
+        when(roomService.getAvailableRooms(eq(checkIn), eq(checkOut), any())).thenAnswer(invocation -> {
+            long hotelId = TenantContext.currentHotelId();
+            Thread.sleep(delayByHotel.getOrDefault(hotelId, 0L));
+            return roomsByHotel.getOrDefault(hotelId, List.of());
+        });
+        when(pricingService.priceStays(anyList(), eq(checkIn), eq(checkOut))).thenAnswer(invocation -> {
+            BigDecimal surcharge = surchargeByHotel.getOrDefault(TenantContext.currentHotelId(), BigDecimal.ZERO);
+            List<RoomResponse> rooms = invocation.getArgument(0);
+            return rooms.stream()
+                    .map(room -> Money.of(room.getPricePerNight().add(surcharge).multiply(BigDecimal.valueOf(2))))
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    @DisplayName("Debe consultar cada hotel con su tenant y unir las habitaciones ordenadas por el total de la estadía")
+    void shouldMergeRoomsSortedByStayTotal() {
+        roomsByHotel.put(1L, List.of(room(1L, "101", "120.00"), room(2L, "102", "80.00")));
+        roomsByHotel.put(2L, List.of(room(1L, "201", "95.00")));
+        roomsByHotel.put(3L, List.of(room(1L, "301", "80.00")));
+        // Las tarifas del hotel 3 encarecen su habitación por encima de la del hotel 2
+        surchargeByHotel.put(3L, new BigDecimal("20.00"));
+        when(hotelDirectory.hotelIds()).thenReturn(List.of(1L, 2L, 3L));
+
+        MultiHotelAvailabilityResponse response = service.search(checkIn, checkOut, null, null);
+
+        assertTrue(response.complete());
+        assertEquals(List.of("102", "201", "301", "101"),
+                response.rooms().stream().map(hotelRoom -> hotelRoom.room().getRoomNumber()).toList());
+        assertEquals(List.of(1L, 2L, 3L, 1L),
+                response.rooms().stream().map(MultiHotelAvailabilityResponse.HotelRoom::hotelId).toList());
+        assertEquals(List.of(new BigDecimal("160.00"), new BigDecimal("190.00"), new BigDecimal("200.00"),
+                        new BigDecimal("240.00")),
+                response.rooms().stream().map(MultiHotelAvailabilityResponse.HotelRoom::totalAmount).toList());
+        assertEquals(List.of(2, 1, 1), response.hotels().stream().map(HotelResult::availableRooms).toList());
+        assertEquals(3.0, meterRegistry.counter("hotel.availability.search.hotels", "status", "OK").count());
+    }
+
+    @Test
+    @DisplayName("Debe consultar solo los hoteles pedidos")
+    void shouldSearchRequestedHotelsOnly() {
+        roomsByHotel.put(2L, List.of(room(1L, "201", "95.00")));
+
+        MultiHotelAvailabilityResponse response = service.search(checkIn, checkOut, RoomType.SUITE, List.of(2L, 2L));
+
+        assertEquals(1, response.hotels().size());
+        assertEquals(1, response.rooms().size());
+        verify(roomService).getAvailableRooms(checkIn, checkOut, RoomType.SUITE);
+        verifyNoInteractions(hotelDirectory);
+    }
+
+    @Test
+    @DisplayName("Un hotel lento debe marcarse TIMEOUT y devolver el resultado parcial de los demás")
+    void shouldReturnPartialResultWhenHotelTimesOut() {
+        roomsByHotel.put(1L, List.of(room(1L, "101", "120.00")));
+        roomsByHotel.put(2L, List.of(room(1L, "201", "95.00")));
+        delayByHotel.put(2L, 10_000L);
+
+        long start = System.nanoTime();
+        MultiHotelAvailabilityResponse response = service.search(checkIn, checkOut, null, List.of(1L, 2L));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertFalse(response.complete());
+        assertEquals(List.of(Status.OK, Status.TIMEOUT), response.hotels().stream().map(HotelResult::status).toList());
+        assertEquals(List.of("101"), response.rooms().stream().map(hotelRoom -> hotelRoom.room().getRoomNumber()).toList());
+        assertTrue(elapsedMillis < TIMEOUT.toMillis() + 1_000, "La búsqueda no debe esperar al hotel lento");
+    }
+
+    @Test
+    @DisplayName("Un hotel en cola debe tener el plazo completo desde que su consulta empieza")
+    void shouldStartTimeoutWhenQueuedHotelStarts() {
+        // Given - Un solo hilo: el segundo hotel empieza cuando el primero termina, a los 300 ms
+        MultiHotelAvailabilityService singleThread = new MultiHotelAvailabilityService(roomService, pricingService,
+                hotelDirectory, meterRegistry, 1, 50, TIMEOUT);
+        roomsByHotel.put(1L, List.of(room(1L, "101", "120.00")));
+        roomsByHotel.put(2L, List.of(room(1L, "201", "95.00")));
+        delayByHotel.put(1L, 300L);
+        delayByHotel.put(2L, 300L);
+
+        try {
+            // When
+            MultiHotelAvailabilityResponse response = singleThread.search(checkIn, checkOut, null, List.of(1L, 2L));
+
+            // Then - Con un plazo global de 500 ms el segundo hotel habría terminado a los 600 ms y caducado
+            assertTrue(response.complete());
+            assertEquals(List.of(Status.OK, Status.OK), response.hotels().stream().map(HotelResult::status).toList());
+            assertEquals(2, response.rooms().size());
+        } finally {
+            singleThread.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Un hotel que falla debe marcarse FAILED sin afectar al resto")
+    void shouldMarkFailedHotel() {
+        roomsByHotel.put(1L, List.of(room(1L, "101", "120.00")));
+        when(roomService.getAvailableRooms(eq(checkIn), eq(checkOut), eq(RoomType.DELUXE))).thenAnswer(invocation -> {
+            if (TenantContext.currentHotelId() == 2L) {
+                throw new IllegalStateException("base de datos no disponible");
+            }
+            return roomsByHotel.getOrDefault(TenantContext.currentHotelId(), List.of());
+        });
+
+        MultiHotelAvailabilityResponse response = service.search(checkIn, checkOut, RoomType.DELUXE, List.of(1L, 2L));
+
+        assertFalse(response.complete());
+        assertEquals(List.of(Status.OK, Status.FAILED), response.hotels().stream().map(HotelResult::status).toList());
+        assertEquals(1, response.rooms().size());
+    }
+
+    @Test
+    @DisplayName("Los hoteles deben consultarse en paralelo: el tiempo total es el del más lento")
+    void shouldSearchHotelsInParallel() {
+        List<Long> hotels = List.of(1L, 2L, 3L, 4L, 5L, 6L);
+        hotels.forEach(hotelId -> delayByHotel.put(hotelId, 200L));
+
+        long start = System.nanoTime();
+        MultiHotelAvailabilityResponse response = service.search(checkIn, checkOut, null, hotels);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(response.complete());
+        assertTrue(elapsedMillis < 200L * hotels.size() / 2,
+                "Seis hoteles de 200 ms no deben tardar " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar IDs de hotel no positivos y rangos de fechas inválidos")
+    void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search(checkIn, checkOut, null, List.of(1L, 0L)));
+        assertThrows(InvalidDateRangeException.class,
+                () -> service.search(checkOut, checkIn, null, List.of(1L)));
+        verifyNoInteractions(roomService);
+    }
+
+    private static RoomResponse room(Long id, String roomNumber, String price) {
+        return new RoomResponse(id, roomNumber, RoomType.DELUXE, 2, new BigDecimal(price), true);
+    }
+}
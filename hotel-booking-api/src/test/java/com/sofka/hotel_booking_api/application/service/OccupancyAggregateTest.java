@@ -0,0 +1,114 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.DailyRoomTypeStats;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios de los contadores de ocupación e ingresos por día y tipo.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ */
+@DisplayName("OccupancyAggregate - Tests unitarios")
+class OccupancyAggregateTest {
+
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.of(2026, 3, 10);
+    }
+
+    @Test
+    @DisplayName("Una reserva vendida debe aportar noches, ingreso repartido en centavos, llegada y salida")
+    void shouldCountSoldStay() {
+        OccupancyAggregate aggregate = OccupancyAggregate.unbounded();
+
+        // 100,00 en 3 noches: 33,34 + 33,33 + 33,33
+        aggregate.add(stay(ReservationStatus.CONFIRMED, day, day.plusDays(3), 10_000), 1);
+
+        List<DailyRoomTypeStats> rows = aggregate.rows(1L);
+        assertEquals(4, rows.size());
+        assertRow(rows.get(0), day, 1, 3_334, 1, 0, 0);
+        assertRow(rows.get(1), day.plusDays(1), 1, 3_333, 0, 0, 0);
+        assertRow(rows.get(2), day.plusDays(2), 1, 3_333, 0, 0, 0);
+        assertRow(rows.get(3), day.plusDays(3), 0, 0, 0, 1, 0);
+    }
+
+    @Test
+    @DisplayName("Cancelar debe quitar la ocupación y contar la cancelación el día de llegada")
+    void shouldReplaceOccupancyWithCancellation() {
+        OccupancyAggregate aggregate = OccupancyAggregate.unbounded();
+        StaySnapshot pending = stay(ReservationStatus.PENDING, day, day.plusDays(2), 20_000);
+
+        aggregate.add(pending, 1);
+        aggregate.add(pending, -1);
+        aggregate.add(stay(ReservationStatus.CANCELLED, day, day.plusDays(2), 20_000), 1);
+
+        List<DailyRoomTypeStats> rows = aggregate.rows(1L);
+        assertEquals(1, rows.size());
+        assertRow(rows.get(0), day, 0, 0, 0, 0, 1);
+        assertTrue(OccupancyAggregate.unbounded().rows(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Una salida anticipada debe cerrar la estadía el día del check-out")
+    void shouldEndStayOnEarlyCheckOut() {
+        OccupancyAggregate aggregate = OccupancyAggregate.unbounded();
+        StaySnapshot completed = new StaySnapshot(1L, RoomType.SUITE, day, day.plusDays(4), Money.ofMinor(40_000),
+                ReservationStatus.COMPLETED, day.plusDays(2).atTime(11, 0));
+
+        aggregate.add(completed, 1);
+
+        List<DailyRoomTypeStats> rows = aggregate.rows(1L);
+        assertEquals(3, rows.size());
+        assertRow(rows.get(0), day, 1, 20_000, 1, 0, 0);
+        assertRow(rows.get(1), day.plusDays(1), 1, 20_000, 0, 0, 0);
+        assertRow(rows.get(2), day.plusDays(2), 0, 0, 0, 1, 0);
+    }
+
+    @Test
+    @DisplayName("Un agregado con rango debe ignorar los días de fuera y combinarse con otros")
+    void shouldClipToRangeAndMerge() {
+        OccupancyAggregate first = OccupancyAggregate.between(day.plusDays(1), day.plusDays(3));
+        OccupancyAggregate second = OccupancyAggregate.between(day.plusDays(1), day.plusDays(3));
+        first.add(stay(ReservationStatus.ACTIVE, day, day.plusDays(5), 50_000), 1);
+        second.add(stay(ReservationStatus.CONFIRMED, day.plusDays(2), day.plusDays(3), 7_000), 1);
+        second.add(new StaySnapshot(2L, RoomType.STANDARD, day.plusDays(1), day.plusDays(2), Money.ofMinor(5_000),
+                ReservationStatus.CONFIRMED, null), 1);
+
+        OccupancyAggregate merged = first.merge(second);
+
+        assertEquals(Set.of(1L, 2L), merged.hotelIds());
+        List<DailyRoomTypeStats> rows = merged.rows(1L);
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), day.plusDays(1), 1, 10_000, 0, 0, 0);
+        assertRow(rows.get(1), day.plusDays(2), 2, 17_000, 1, 0, 0);
+        assertEquals(2, merged.forHotel(2L).rows(2L).size());
+        assertTrue(merged.forHotel(2L).rows(1L).isEmpty());
+    }
+
+    private StaySnapshot stay(ReservationStatus status, LocalDate checkIn, LocalDate checkOut, long amountMinor) {
+        return new StaySnapshot(1L, RoomType.SUITE, checkIn, checkOut, Money.ofMinor(amountMinor), status, null);
+    }
+
+    private static void assertRow(DailyRoomTypeStats row, LocalDate date, int roomNights, long revenueMinor,
+                                  int arrivals, int departures, int cancellations) {
+        assertEquals(date, row.getStayDate());
+        assertEquals(roomNights, row.getRoomNights(), "noches del " + date);
+        assertEquals(Money.ofMinor(revenueMinor), row.getRevenue(), "ingreso del " + date);
+        assertEquals(arrivals, row.getArrivals(), "llegadas del " + date);
+        assertEquals(departures, row.getDepartures(), "salidas del " + date);
+        assertEquals(cancellations, row.getCancellations(), "cancelaciones del " + date);
+    }
+}
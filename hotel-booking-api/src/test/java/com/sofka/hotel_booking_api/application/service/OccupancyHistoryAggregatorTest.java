@@ -0,0 +1,129 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.DailyRoomTypeStats;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de la agregación en paralelo, por meses, del historial de reservas.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ */
+@DisplayName("OccupancyHistoryAggregator - Tests unitarios")
+class OccupancyHistoryAggregatorTest {
+
+    private static final long HOTEL_ID = 3L;
+
+    private ReservationRepository reservationRepository;
+    private PlatformTransactionManager transactionManager;
+    private OccupancyHistoryAggregator aggregator;
+    private LocalDate from;
+    private LocalDate to;
+    private List<StaySnapshot> stays;
+
+    /** Hotel y hilo con los que se leyó cada mes. */
+    private final Set<Long> hotelsSeen = ConcurrentHashMap.newKeySet();
+    private final Set<Thread> threadsSeen = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        from = LocalDate.of(2025, 1, 15);
+        to = LocalDate.of(2025, 4, 10);
+        stays = List.of(
+                // Empieza antes del rango
+                stay(ReservationStatus.COMPLETED, LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 16), 60_000),
+                // Cruza de enero a febrero
+                stay(ReservationStatus.CONFIRMED, LocalDate.of(2025, 1, 30), LocalDate.of(2025, 2, 3), 40_000),
+                stay(ReservationStatus.CANCELLED, LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 6), 10_000),
+                // Sale el primer día de abril
+                stay(ReservationStatus.ACTIVE, LocalDate.of(2025, 3, 30), LocalDate.of(2025, 4, 1), 30_000));
+
+        when(reservationRepository.streamStaySnapshotsBetween(any(), any())).thenAnswer(invocation -> {
+            LocalDate monthFrom = invocation.getArgument(0);
+            LocalDate monthTo = invocation.getArgument(1);
+            hotelsSeen.add(TenantContext.currentHotelId());
+            threadsSeen.add(Thread.currentThread());
+            return stays.stream()
+                    .filter(stay -> stay.checkInDate().isBefore(monthTo) && !stay.checkOutDate().isBefore(monthFrom));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (aggregator != null) {
+            aggregator.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe leer cada mes en paralelo con el hotel del llamador y combinar el mismo resultado que en serie")
+    void shouldAggregateMonthsInParallel() {
+        aggregator = new OccupancyHistoryAggregator(reservationRepository, transactionManager, 4);
+
+        OccupancyHistoryAggregator.History history =
+                TenantContext.callAs(HOTEL_ID, () -> aggregator.aggregate(from, to));
+
+        // Cuatro meses recortados al rango, cada uno en su transacción de solo lectura
+        verify(reservationRepository).streamStaySnapshotsBetween(from, LocalDate.of(2025, 2, 1));
+        verify(reservationRepository).streamStaySnapshotsBetween(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1));
+        verify(reservationRepository).streamStaySnapshotsBetween(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 1));
+        verify(reservationRepository).streamStaySnapshotsBetween(LocalDate.of(2025, 4, 1), to);
+        verify(transactionManager, times(4)).commit(any());
+        assertEquals(Set.of(HOTEL_ID), hotelsSeen);
+
+        // Las estadías que cruzan de mes cuentan una vez
+        assertEquals(4, history.reservations());
+        assertEquals(describe(sequential()), describe(history.stats().rows(HOTEL_ID)));
+    }
+
+    @Test
+    @DisplayName("Con paralelismo 1 debe recorrer los meses en el hilo del llamador")
+    void shouldAggregateInCallerThreadWithoutParallelism() {
+        aggregator = new OccupancyHistoryAggregator(reservationRepository, transactionManager, 1);
+
+        OccupancyHistoryAggregator.History history =
+                TenantContext.callAs(HOTEL_ID, () -> aggregator.aggregate(from, to));
+
+        assertEquals(Set.of(Thread.currentThread()), threadsSeen);
+        assertEquals(4, history.reservations());
+        assertEquals(describe(sequential()), describe(history.stats().rows(HOTEL_ID)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OccupancyHistoryAggregator(reservationRepository, transactionManager, 0));
+    }
+
+    private List<DailyRoomTypeStats> sequential() {
+        OccupancyAggregate expected = OccupancyAggregate.between(from, to);
+        stays.forEach(stay -> expected.add(stay, 1));
+        return expected.rows(HOTEL_ID);
+    }
+
+    private static List<String> describe(List<DailyRoomTypeStats> rows) {
+        return rows.stream().map(DailyRoomTypeStats::toString).toList();
+    }
+
+    private static StaySnapshot stay(ReservationStatus status, LocalDate checkIn, LocalDate checkOut, long amountMinor) {
+        return new StaySnapshot(HOTEL_ID, RoomType.STANDARD, checkIn, checkOut, Money.ofMinor(amountMinor), status,
+                null);
+    }
+}
@@ -1,6 +1,7 @@
 package com.sofka.hotel_booking_api.application.service;
 
 import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
 import com.sofka.hotel_booking_api.domain.model.Reservation;
 import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
 import com.sofka.hotel_booking_api.domain.model.Room;
@@ -50,7 +51,7 @@ class PaymentServiceTest {
                 LocalDate.now().plusDays(5),
                 LocalDate.now().plusDays(10),
                 2,
-                new BigDecimal("625.00")
+                Money.of(new BigDecimal("625.00"))
         );
     }
 
@@ -178,7 +179,7 @@ class PaymentServiceTest {
                 LocalDate.now().plusDays(5),
                 LocalDate.now().plusDays(10),
                 2,
-                new BigDecimal("625.00")
+                Money.of(new BigDecimal("625.00"))
         );
         expiredReservation.expire();
         when(reservationRepository.findById(1L)).thenReturn(Optional.of(expiredReservation));
@@ -0,0 +1,139 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException;
+import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomRate;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.PriceQuoteRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.PriceQuoteResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del motor de precios y de las tarifas en memoria.
+ * RN-008: Cálculo de Tarifas
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PricingService - Tests unitarios")
+class PricingServiceTest {
+
+    @Mock
+    private RateCalendar rateCalendar;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @InjectMocks
+    private PricingService pricingService;
+
+    private Room suite;
+    private LocalDate checkIn;
+
+    @BeforeEach
+    void setUp() {
+        suite = new Room("301", RoomType.SUITE, 4, new BigDecimal("250.00"));
+        suite.setId(1L);
+        checkIn = LocalDate.now().plusDays(10);
+    }
+
+    @Test
+    @DisplayName("Sin tarifas debe cobrar cada noche al precio de la habitación")
+    void shouldUseRoomPriceWithoutRates() {
+        when(rateCalendar.nightlyRates(RoomType.SUITE)).thenReturn(NightlyRates.EMPTY);
+
+        assertEquals(Money.ofMinor(75_000), pricingService.priceStay(suite, checkIn, checkIn.plusDays(3)));
+    }
+
+    @Test
+    @DisplayName("Debe sumar las tarifas del calendario y cobrar el precio base en las noches sin tarifa")
+    void shouldSumRatesAndFallbackNights() {
+        // Tarifas en la 2.ª y 4.ª noche; la 3.ª queda sin tarifa dentro del arreglo
+        when(rateCalendar.nightlyRates(RoomType.SUITE)).thenReturn(NightlyRates.of(List.of(
+                new RoomRate(RoomType.SUITE, checkIn.plusDays(1), Money.ofMinor(31_025)),
+                new RoomRate(RoomType.SUITE, checkIn.plusDays(3), Money.ofMinor(40_000)))));
+
+        // 250 + 310.25 + 250 + 400 + 250
+        assertEquals(Money.ofMinor(146_025), pricingService.priceStay(suite, checkIn, checkIn.plusDays(5)));
+    }
+
+    @Test
+    @DisplayName("Las noches fuera del arreglo de tarifas deben cobrarse al precio base")
+    void shouldFallbackOutsideRateArray() {
+        NightlyRates rates = NightlyRates.of(List.of(
+                new RoomRate(RoomType.SUITE, checkIn.plusDays(5), Money.ofMinor(30_000))));
+
+        assertEquals(NightlyRates.NO_RATE, rates.rateOn(checkIn));
+        assertEquals(30_000, rates.rateOn(checkIn.plusDays(5)));
+        assertEquals(50_000, rates.sumStay(checkIn, checkIn.plusDays(2), 25_000));
+        assertEquals(85_000, rates.sumStay(checkIn.plusDays(4), checkIn.plusDays(7), 27_500));
+    }
+
+    @Test
+    @DisplayName("Debe cotizar varias estadías cargando las habitaciones y las tarifas de cada tipo una vez")
+    void shouldQuoteSeveralStays() {
+        Room standard = new Room("101", RoomType.STANDARD, 2, new BigDecimal("80.00"));
+        standard.setId(2L);
+        when(roomRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(suite, standard));
+        when(rateCalendar.nightlyRates(RoomType.SUITE)).thenReturn(NightlyRates.of(List.of(
+                new RoomRate(RoomType.SUITE, checkIn, Money.ofMinor(30_000)))));
+        when(rateCalendar.nightlyRates(RoomType.STANDARD)).thenReturn(NightlyRates.EMPTY);
+
+        PriceQuoteResponse response = pricingService.quote(new PriceQuoteRequest(List.of(
+                new PriceQuoteRequest.Stay(1L, checkIn, checkIn.plusDays(2)),
+                new PriceQuoteRequest.Stay(2L, checkIn, checkIn.plusDays(1)),
+                new PriceQuoteRequest.Stay(1L, checkIn.plusDays(1), checkIn.plusDays(2)))));
+
+        assertEquals(List.of(new BigDecimal("550.00"), new BigDecimal("80.00"), new BigDecimal("250.00")),
+                response.stays().stream().map(PriceQuoteResponse.StayQuote::totalAmount).toList());
+        assertEquals(new BigDecimal("880.00"), response.totalAmount());
+        verify(rateCalendar, times(1)).nightlyRates(RoomType.SUITE);
+    }
+
+    @Test
+    @DisplayName("Debe calcular la misma estadía en varias habitaciones cargando las tarifas de cada tipo una vez")
+    void shouldPriceStayInSeveralRooms() {
+        when(rateCalendar.nightlyRates(RoomType.SUITE)).thenReturn(NightlyRates.of(List.of(
+                new RoomRate(RoomType.SUITE, checkIn, Money.ofMinor(30_000)))));
+        when(rateCalendar.nightlyRates(RoomType.STANDARD)).thenReturn(NightlyRates.EMPTY);
+
+        List<Money> totals = pricingService.priceStays(List.of(
+                RoomResponse.fromEntity(suite),
+                new RoomResponse(2L, "101", RoomType.STANDARD, 2, new BigDecimal("80.00"), true),
+                new RoomResponse(3L, "302", RoomType.SUITE, 4, new BigDecimal("260.00"), true)),
+                checkIn, checkIn.plusDays(2));
+
+        // 300 + 250, 80 + 80, 300 + 260
+        assertEquals(List.of(Money.ofMinor(55_000), Money.ofMinor(16_000), Money.ofMinor(56_000)), totals);
+        verify(rateCalendar, times(1)).nightlyRates(RoomType.SUITE);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cotizaciones de habitaciones inexistentes o con fechas inválidas")
+    void shouldRejectInvalidQuotes() {
+        when(roomRepository.findAllById(anyList())).thenReturn(List.of());
+
+        assertThrows(RoomNotFoundException.class, () -> pricingService.quote(new PriceQuoteRequest(List.of(
+                new PriceQuoteRequest.Stay(9L, checkIn, checkIn.plusDays(1))))));
+        assertThrows(InvalidDateRangeException.class, () -> pricingService.quote(new PriceQuoteRequest(List.of(
+                new PriceQuoteRequest.Stay(1L, checkIn, checkIn)))));
+        assertThrows(IllegalArgumentException.class, () -> pricingService.quote(new PriceQuoteRequest(List.of(
+                new PriceQuoteRequest.Stay(1L, checkIn, checkIn.plusDays(ReservationService.MAX_NIGHTS + 1))))));
+    }
+}
@@ -0,0 +1,279 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.HotelBookingApiApplication;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de estrés de concurrencia sobre las reservas.
+ *
+ * <p>Levanta dos contextos de la aplicación que comparten la misma base de datos H2, como dos
+ * instancias detrás de un balanceador, y lanza desde muchos hilos operaciones sobre las mismas
+ * habitaciones y fechas. Al terminar verifica las invariantes directamente en la base de datos:</p>
+ * <ul>
+ *   <li>Ninguna habitación tiene dos reservas vigentes que se solapen</li>
+ *   <li>Una habitación está marcada como no disponible si y solo si tiene una reserva ACTIVE</li>
+ * </ul>
+ *
+ * <p>No forma parte de {@code test}: se ejecuta con {@code ./gradlew stressTest}.</p>
+ */
+@Tag("stress")
+@DisplayName("ReservationService - Tests de estrés de concurrencia")
+class ReservationConcurrencyStressTest {
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:stressdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+            + "DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=20000";
+    private static final int THREADS = 32;
+    private static final String NON_TERMINAL = "('PENDING', 'CONFIRMED', 'ACTIVE')";
+
+    private static ConfigurableApplicationContext primary;
+    private static ConfigurableApplicationContext secondary;
+    private static final AtomicLong guestSequence = new AtomicLong();
+
+    @BeforeAll
+    static void startContexts() {
+        // La primera instancia crea el esquema; la segunda lo reutiliza
+        primary = startContext("create-drop");
+        secondary = startContext("none");
+    }
+
+    @AfterAll
+    static void stopContexts() {
+        if (secondary != null) {
+            secondary.close();
+        }
+        if (primary != null) {
+            primary.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Solo una de muchas reservas simultáneas de la misma habitación y fechas debe confirmarse")
+    void shouldAcceptSingleReservationForSameRoomAndDates() throws Exception {
+        // Given
+        Long roomId = registerRoom("ST-001", RoomType.SUITE);
+        LocalDate checkIn = LocalDate.now().plusDays(20);
+
+        // When - 32 hilos repartidos entre las dos instancias piden la misma estadía
+        Outcome outcome = runConcurrently(THREADS, THREADS, i ->
+                () -> reservationService(i).createReservation(request(roomId, checkIn, checkIn.plusDays(3))));
+
+        // Then
+        outcome.report("misma habitación y fechas");
+        assertEquals(1, outcome.successes(), "Debe confirmarse exactamente una reserva");
+        assertEquals(THREADS - 1, outcome.conflicts());
+        assertEquals(List.of(), outcome.unexpected());
+        assertInvariants();
+    }
+
+    @Test
+    @DisplayName("Reservas aleatorias solapadas sobre pocas habitaciones no deben producir doble reserva")
+    void shouldNeverDoubleBookUnderRandomOverlappingLoad() throws Exception {
+        // Given - 6 habitaciones y estadías de 1 a 4 noches en una ventana de 20 días
+        List<Long> roomIds = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            roomIds.add(registerRoom(String.format("ST-1%02d", i), RoomType.DELUXE));
+        }
+        LocalDate base = LocalDate.now().plusDays(40);
+
+        // When
+        Outcome outcome = runConcurrently(THREADS, 1_600, i -> () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            LocalDate checkIn = base.plusDays(random.nextInt(20));
+            return reservationService(i).createReservation(request(
+                    roomIds.get(random.nextInt(roomIds.size())), checkIn, checkIn.plusDays(1 + random.nextInt(4))));
+        });
+
+        // Then
+        outcome.report("reservas aleatorias solapadas");
+        assertTrue(outcome.successes() > 0);
+        assertEquals(List.of(), outcome.unexpected());
+        assertInvariants();
+    }
+
+    @Test
+    @DisplayName("Check-ins, check-outs y cancelaciones simultáneos deben mantener la disponibilidad coherente")
+    void shouldKeepRoomAvailabilityConsistentUnderConcurrentTransitions() throws Exception {
+        // Given - Por cada habitación, una reserva confirmada que llega hoy y otra futura
+        List<Long> arrivals = new ArrayList<>();
+        List<Long> futureStays = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= 8; i++) {
+            Long roomId = registerRoom(String.format("ST-2%02d", i), RoomType.STANDARD);
+            arrivals.add(confirmedReservation(roomId, today, today.plusDays(2)));
+            futureStays.add(confirmedReservation(roomId, today.plusDays(5), today.plusDays(7)));
+        }
+
+        // When - Cada llegada recibe 4 check-ins simultáneos
+        Outcome checkIns = runConcurrently(THREADS, arrivals.size() * 4, i ->
+                () -> {
+                    reservationService(i).checkIn(arrivals.get(i % arrivals.size()));
+                    return null;
+                });
+
+        // Then - Exactamente un check-in por reserva
+        checkIns.report("check-ins repetidos");
+        assertEquals(arrivals.size(), checkIns.successes());
+        assertEquals(List.of(), checkIns.unexpected());
+        assertInvariants();
+
+        // When - Check-outs, cancelaciones de las estancias futuras y nuevos check-ins mezclados
+        Outcome transitions = runConcurrently(THREADS, arrivals.size() * 6, i -> () -> {
+            ReservationService service = reservationService(i);
+            int index = (i / 3) % arrivals.size();
+            switch (i % 3) {
+                case 0 -> service.checkOut(arrivals.get(index));
+                case 1 -> service.cancelReservation(futureStays.get(index), "Prueba de estrés");
+                default -> service.checkIn(arrivals.get(index));
+            }
+            return null;
+        });
+
+        // Then
+        transitions.report("transiciones mezcladas");
+        assertEquals(List.of(), transitions.unexpected());
+        assertInvariants();
+    }
+
+    // ========== Infraestructura ==========
+
+    private static ConfigurableApplicationContext startContext(String ddlAuto) {
+        return new SpringApplicationBuilder(HotelBookingApiApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + DATABASE_URL,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.datasource.hikari.maximum-pool-size=" + THREADS);
+    }
+
+    private static ReservationService reservationService(int caller) {
+        return (caller % 2 == 0 ? primary : secondary).getBean(ReservationService.class);
+    }
+
+    private static Long registerRoom(String roomNumber, RoomType roomType) {
+        return primary.getBean(RoomService.class)
+                .registerRoom(new CreateRoomRequest(roomNumber, roomType, 2, new BigDecimal("100.00")))
+                .getId();
+    }
+
+    private static Long confirmedReservation(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        ReservationResponse reservation = reservationService(0).createReservation(request(roomId, checkIn, checkOut));
+        primary.getBean(PaymentService.class)
+                .confirmPayment(reservation.id(), "CASH", reservation.totalAmount(), null);
+        return reservation.id();
+    }
+
+    private static CreateReservationRequest request(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        long guest = guestSequence.incrementAndGet();
+        return new CreateReservationRequest(
+                new CreateGuestRequest("Carga", "Concurrente", String.format("STRESS-%06d", guest),
+                        "stress" + guest + "@email.com", "+57 300 0000000"),
+                roomId, checkIn, checkOut, 1);
+    }
+
+    /**
+     * Ejecuta {@code tasks} tareas desde {@code threads} hilos que arrancan a la vez.
+     * Los rechazos por regla de negocio (IllegalStateException) cuentan como conflictos;
+     * cualquier otra excepción es un fallo inesperado.
+     */
+    private static Outcome runConcurrently(int threads, int tasks, IntFunction<Callable<?>> task)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        Map<String, Integer> conflicts = new ConcurrentHashMap<>();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong successes = new AtomicLong();
+        try {
+            for (int i = 0; i < tasks; i++) {
+                Callable<?> work = task.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        work.call();
+                        successes.incrementAndGet();
+                    } catch (IllegalStateException ex) {
+                        conflicts.merge(ex.getClass().getSimpleName(), 1, Integer::sum);
+                    } catch (Exception ex) {
+                        unexpected.add(ex);
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "Las tareas no terminaron a tiempo");
+            long elapsedNanos = System.nanoTime() - begin;
+            int conflictCount = conflicts.values().stream().mapToInt(Integer::intValue).sum();
+            return new Outcome(tasks, successes.get(), conflictCount, conflicts, List.copyOf(unexpected),
+                    elapsedNanos);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertInvariants() {
+        JdbcTemplate jdbc = primary.getBean(JdbcTemplate.class);
+
+        Integer overlaps = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM reservations a JOIN reservations b "
+                        + "ON a.room_id = b.room_id AND a.id < b.id "
+                        + "WHERE a.status IN " + NON_TERMINAL + " AND b.status IN " + NON_TERMINAL + " "
+                        + "AND a.check_in_date < b.check_out_date AND b.check_in_date < a.check_out_date",
+                Integer.class);
+        assertEquals(0, overlaps, "Hay reservas vigentes solapadas en la misma habitación");
+
+        List<String> inconsistentRooms = jdbc.queryForList(
+                "SELECT rm.room_number FROM rooms rm WHERE rm.is_available = "
+                        + "(EXISTS (SELECT 1 FROM reservations r WHERE r.room_id = rm.id AND r.status = 'ACTIVE'))",
+                String.class);
+        assertEquals(List.of(), inconsistentRooms,
+                "La disponibilidad de estas habitaciones no coincide con sus reservas ACTIVE");
+    }
+
+    private record Outcome(int tasks, long successes, int conflicts, Map<String, Integer> conflictTypes,
+                           List<Throwable> unexpected, long elapsedNanos) {
+
+        void report(String scenario) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("[stress] %s: %d operaciones en %.2f s (%.0f ops/s), %d éxitos, "
+                            + "%d conflictos %s, %d inesperados%n",
+                    scenario, tasks, seconds, tasks / seconds, successes, conflicts, conflictTypes,
+                    unexpected.size());
+            unexpected.forEach(Throwable::printStackTrace);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sofka.hotel_booking_api.application.service;
 
+import com.sofka.hotel_booking_api.application.lock.RoomLock;
 import com.sofka.hotel_booking_api.domain.exception.InvalidDateRangeException;
 import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
 import com.sofka.hotel_booking_api.domain.model.*;
@@ -9,18 +10,24 @@ import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
 import com.sofka.hotel_booking_api.infrastructure.dto.CancelReservationResponse;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomTypeReservationRequest;
 import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
 import com.sofka.hotel_booking_api.infrastructure.dto.TodayReservationsResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -50,6 +57,21 @@ class ReservationServiceTest {
     @Mock
     private GuestService guestService;
 
+    @Mock
+    private RoomTypeInventoryService roomTypeInventoryService;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private RestrictionCalendar restrictionCalendar;
+
+    @Mock
+    private RoomLock roomLock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -75,6 +97,11 @@ class ReservationServiceTest {
                 "+57 300 1234567"
         );
 
+        // Sin tarifas en el calendario: cada noche al precio de la habitación (RN-008)
+        lenient().when(pricingService.priceStay(any(Room.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> Money.of(invocation.<Room>getArgument(0).getPricePerNight()).times(
+                        ChronoUnit.DAYS.between(invocation.<LocalDate>getArgument(1), invocation.getArgument(2))));
+
         validReservationRequest = new CreateReservationRequest(
                 guestRequest,
                 1L,
@@ -104,7 +131,7 @@ class ReservationServiceTest {
                 validReservationRequest.checkInDate(),
                 validReservationRequest.checkOutDate(),
                 validReservationRequest.numberOfGuests(),
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         savedReservation.setId(1L);
         
@@ -123,6 +150,10 @@ class ReservationServiceTest {
         assertEquals(new BigDecimal("1250.00"), response.totalAmount());
         
         verify(reservationRepository, times(1)).save(any(Reservation.class));
+        InOrder inOrder = inOrder(roomLock, reservationRepository);
+        inOrder.verify(roomLock).lockStay(1L,
+                validReservationRequest.checkInDate(), validReservationRequest.checkOutDate());
+        inOrder.verify(reservationRepository).findOverlappingReservations(any(), any(), any());
     }
 
     // ============================================
@@ -142,7 +173,7 @@ class ReservationServiceTest {
                 validReservationRequest.checkInDate(),
                 validReservationRequest.checkOutDate(),
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         
         when(reservationRepository.findOverlappingReservations(any(), any(), any()))
@@ -207,6 +238,23 @@ class ReservationServiceTest {
         verify(reservationRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Debe rechazar la reserva cuando las restricciones de venta del tipo la impiden")
+    void shouldRejectReservationViolatingRestrictions() {
+        // Given - Dado que el tipo SUITE exige una estadía mínima mayor
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(availableRoom));
+        doThrow(new IllegalArgumentException("La estadía mínima para el 2026-12-31 es de 7 noches"))
+                .when(restrictionCalendar).check(RoomType.SUITE,
+                        validReservationRequest.checkInDate(), validReservationRequest.checkOutDate());
+
+        // When/Then - Se rechaza antes de buscar reservas solapadas
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reservationService.createReservation(validReservationRequest));
+        assertEquals("La estadía mínima para el 2026-12-31 es de 7 noches", exception.getMessage());
+        verify(reservationRepository, never()).findOverlappingReservations(any(), any(), any());
+        verify(reservationRepository, never()).save(any());
+    }
+
     // ============================================
     // RED PHASE - Escenario: Intento de reserva con fecha de entrada en el pasado
     // ============================================
@@ -293,7 +341,7 @@ class ReservationServiceTest {
                 validReservationRequest.checkInDate(),
                 validReservationRequest.checkOutDate(),
                 validReservationRequest.numberOfGuests(),
-                new BigDecimal("1250.00") // 5 noches * 250 USD/noche
+                Money.of(new BigDecimal("1250.00")) // 5 noches * 250 USD/noche
         );
         savedReservation.setId(1L);
         
@@ -308,6 +356,26 @@ class ReservationServiceTest {
         assertEquals(expectedTotal, response.totalAmount());
     }
 
+    @Test
+    @DisplayName("Debe cobrar la estadía con el precio del calendario de tarifas")
+    void shouldPriceReservationWithRateCalendar() {
+        // Given - Dado que el calendario tiene tarifas de temporada para la estadía
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(availableRoom));
+        when(guestService.registerOrUpdateGuest(any(CreateGuestRequest.class))).thenReturn(guest);
+        when(reservationRepository.findOverlappingReservations(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(pricingService.priceStay(availableRoom,
+                validReservationRequest.checkInDate(), validReservationRequest.checkOutDate()))
+                .thenReturn(Money.ofMinor(148_050));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When - Cuando creo la reserva
+        ReservationResponse response = reservationService.createReservation(validReservationRequest);
+
+        // Then - El total es el del motor de precios y no precio por noche x noches
+        assertEquals(new BigDecimal("1480.50"), response.totalAmount());
+    }
+
     // ============================================
     // RED PHASE - Historia 5.1: Buscar reservas
     // ============================================
@@ -323,7 +391,7 @@ class ReservationServiceTest {
                 LocalDate.now().plusDays(5),
                 LocalDate.now().plusDays(10),
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         reservation.setId(1L);
 
@@ -351,7 +419,7 @@ class ReservationServiceTest {
                 LocalDate.now().plusDays(5),
                 LocalDate.now().plusDays(10),
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         reservation1.setId(1L);
 
@@ -362,7 +430,7 @@ class ReservationServiceTest {
                 LocalDate.now().plusDays(15),
                 LocalDate.now().plusDays(20),
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         reservation2.setId(2L);
 
@@ -391,7 +459,7 @@ class ReservationServiceTest {
                 LocalDate.now().plusDays(5),
                 LocalDate.now().plusDays(10),
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         reservation.setId(1L);
 
@@ -464,7 +532,7 @@ class ReservationServiceTest {
                 LocalDate.now().plusDays(5),
                 LocalDate.now().plusDays(10),
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         reservation.setId(1L);
 
@@ -492,7 +560,7 @@ class ReservationServiceTest {
                 LocalDate.now().plusDays(15), // Más adelante
                 LocalDate.now().plusDays(20),
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         futureReservation.setId(2L);
 
@@ -503,7 +571,7 @@ class ReservationServiceTest {
                 LocalDate.now().plusDays(5), // Más pronto
                 LocalDate.now().plusDays(10),
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         soonReservation.setId(1L);
 
@@ -537,7 +605,7 @@ class ReservationServiceTest {
                 today,  // Check-in hoy
                 today.plusDays(3),
                 2,
-                new BigDecimal("750.00")
+                Money.of(new BigDecimal("750.00"))
         );
         reservation1.setId(1L);
         // Reservation starts in PENDING, needs to be confirmed
@@ -551,7 +619,7 @@ class ReservationServiceTest {
                 today,  // Check-in hoy
                 today.plusDays(5),
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         reservation2.setId(2L);
         reservation2.setStatus(ReservationStatus.CONFIRMED);
@@ -597,7 +665,7 @@ class ReservationServiceTest {
                 today.minusDays(3),
                 today,  // Check-out hoy
                 2,
-                new BigDecimal("750.00")
+                Money.of(new BigDecimal("750.00"))
         );
         activeReservation1.setId(3L);
         activeReservation1.setStatus(ReservationStatus.ACTIVE);  // Ya hizo check-in
@@ -609,7 +677,7 @@ class ReservationServiceTest {
                 today.minusDays(5),
                 today,  // Check-out hoy
                 2,
-                new BigDecimal("1250.00")
+                Money.of(new BigDecimal("1250.00"))
         );
         activeReservation2.setId(4L);
         activeReservation2.setStatus(ReservationStatus.ACTIVE);
@@ -656,7 +724,7 @@ class ReservationServiceTest {
                 today,
                 today.plusDays(2),
                 2,
-                new BigDecimal("500.00")
+                Money.of(new BigDecimal("500.00"))
         );
         checkInReservation.setId(5L);
         checkInReservation.setStatus(ReservationStatus.CONFIRMED);
@@ -669,7 +737,7 @@ class ReservationServiceTest {
                 today.minusDays(2),
                 today,
                 2,
-                new BigDecimal("500.00")
+                Money.of(new BigDecimal("500.00"))
         );
         checkOutReservation.setId(6L);
         checkOutReservation.setStatus(ReservationStatus.ACTIVE);
@@ -785,13 +853,13 @@ class ReservationServiceTest {
                 today,
                 today.plusDays(2),
                 2,
-                BigDecimal.valueOf(200)
+                Money.of(BigDecimal.valueOf(200))
         );
         reservation.setId(1L);
         reservation.confirmPayment();
 
         // When - Cuando realizo el check-in
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.findOverlappingReservations(
                 room,
                 today,
@@ -828,13 +896,13 @@ class ReservationServiceTest {
                 today,
                 today.plusDays(2),
                 2,
-                BigDecimal.valueOf(200)
+                Money.of(BigDecimal.valueOf(200))
         );
         reservation.setId(1L);
         // No se confirma el pago - permanece en PENDING
 
         // When - Cuando intento realizar el check-in
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
 
         // Then - Entonces debe lanzar excepción
         IllegalStateException exception = assertThrows(
@@ -853,7 +921,7 @@ class ReservationServiceTest {
         Long nonExistentId = 999L;
 
         // When - Cuando intento realizar el check-in
-        when(reservationRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(reservationRepository.findByIdForUpdate(nonExistentId)).thenReturn(Optional.empty());
 
         // Then - Entonces debe lanzar excepción
         assertThrows(
@@ -886,7 +954,7 @@ class ReservationServiceTest {
                 today,
                 today.plusDays(2),
                 2,
-                BigDecimal.valueOf(200)
+                Money.of(BigDecimal.valueOf(200))
         );
         reservation.setId(1L);
         reservation.confirmPayment();
@@ -899,14 +967,14 @@ class ReservationServiceTest {
                 today.minusDays(1),
                 today.plusDays(1),
                 2,
-                BigDecimal.valueOf(200)
+                Money.of(BigDecimal.valueOf(200))
         );
         overlappingReservation.setId(2L);
         overlappingReservation.confirmPayment();
         overlappingReservation.checkIn(); // Ya hizo check-in - estado ACTIVE
 
         // When - Cuando intento realizar el check-in
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.findOverlappingReservations(
                 room,
                 today,
@@ -942,13 +1010,13 @@ class ReservationServiceTest {
                 today,
                 today.plusDays(2),
                 2,
-                BigDecimal.valueOf(200)
+                Money.of(BigDecimal.valueOf(200))
         );
         reservation.setId(1L);
         reservation.confirmPayment();
 
         // When - Cuando realizo el check-in
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.findOverlappingReservations(
                 room,
                 today,
@@ -982,13 +1050,13 @@ class ReservationServiceTest {
                 tomorrow,
                 tomorrow.plusDays(2),
                 2,
-                BigDecimal.valueOf(200)
+                Money.of(BigDecimal.valueOf(200))
         );
         reservation.setId(1L);
         reservation.confirmPayment();
 
         // When - Cuando intento realizar el check-in
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
 
         // Then - Entonces debe lanzar excepción de validación estricta
         IllegalStateException exception = assertThrows(
@@ -1021,14 +1089,14 @@ class ReservationServiceTest {
                 today.minusDays(3),
                 today,
                 2,
-                BigDecimal.valueOf(300)
+                Money.of(BigDecimal.valueOf(300))
         );
         reservation.setId(1L);
         reservation.confirmPayment();
         reservation.checkIn(); // Estado ACTIVE
 
         // When - Cuando realizo el check-out
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1060,13 +1128,13 @@ class ReservationServiceTest {
                 today,
                 today.plusDays(2),
                 2,
-                BigDecimal.valueOf(200)
+                Money.of(BigDecimal.valueOf(200))
         );
         reservation.setId(1L);
         reservation.confirmPayment(); // Estado CONFIRMED, NO se hace check-in
 
         // When - Cuando intento realizar el check-out
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
 
         // Then - Entonces debe lanzar excepción
         IllegalStateException exception = assertThrows(
@@ -1085,7 +1153,7 @@ class ReservationServiceTest {
         Long nonExistentId = 999L;
 
         // When - Cuando intento realizar el check-out
-        when(reservationRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(reservationRepository.findByIdForUpdate(nonExistentId)).thenReturn(Optional.empty());
 
         // Then - Entonces debe lanzar excepción
         assertThrows(
@@ -1115,14 +1183,14 @@ class ReservationServiceTest {
                 today.minusDays(3),
                 today,
                 2,
-                BigDecimal.valueOf(300)
+                Money.of(BigDecimal.valueOf(300))
         );
         reservation.setId(1L);
         reservation.confirmPayment();
         reservation.checkIn();
 
         // When - Cuando realizo el check-out
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1153,14 +1221,14 @@ class ReservationServiceTest {
                 today.minusDays(2),
                 tomorrow, // Checkout programado para mañana
                 2,
-                BigDecimal.valueOf(300)
+                Money.of(BigDecimal.valueOf(300))
         );
         reservation.setId(1L);
         reservation.confirmPayment();
         reservation.checkIn();
 
         // When - Cuando realizo el check-out anticipado hoy
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1194,14 +1262,14 @@ class ReservationServiceTest {
                 today.minusDays(5),
                 yesterday, // Checkout programado para ayer (tarde)
                 2,
-                BigDecimal.valueOf(500)
+                Money.of(BigDecimal.valueOf(500))
         );
         reservation.setId(1L);
         reservation.confirmPayment();
         reservation.checkIn();
 
         // When - Cuando realizo el check-out tardío hoy
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1236,12 +1304,12 @@ class ReservationServiceTest {
                 checkInDate,
                 checkOutDate,
                 2,
-                BigDecimal.valueOf(500.00)
+                Money.of(BigDecimal.valueOf(500.00))
         );
         reservation.confirmPayment();
 
         // When - Cancelo la reserva
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1261,6 +1329,7 @@ class ReservationServiceTest {
         
         verify(reservationRepository).save(reservation);
         verify(roomRepository).save(room);
+        verify(roomLock).lockStay(room.getId(), checkInDate, checkOutDate);
     }
 
     @Test
@@ -1279,12 +1348,12 @@ class ReservationServiceTest {
                 checkInDate,
                 checkOutDate,
                 2,
-                BigDecimal.valueOf(600.00)
+                Money.of(BigDecimal.valueOf(600.00))
         );
         reservation.confirmPayment();
 
         // When - Cancelo la reserva
-        when(reservationRepository.findById(2L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1298,11 +1367,35 @@ class ReservationServiceTest {
         assertEquals(0, response.refundAmount().compareTo(BigDecimal.valueOf(300.00)));
         assertEquals(0, response.penaltyAmount().compareTo(BigDecimal.valueOf(300.00)));
         assertEquals(50, response.refundPercentage());
-        
+
         verify(reservationRepository).save(reservation);
         verify(roomRepository).save(room);
     }
 
+    @Test
+    @DisplayName("Should round partial refund to the cent and keep refund plus penalty equal to total")
+    void shouldRoundPartialRefundToCent() {
+        // Given - Reserva de monto impar confirmada para dentro de 5 días (50% de reembolso)
+        LocalDate checkInDate = LocalDate.now().plusDays(5);
+        Guest guest = new Guest("María", "García", "87654321", "maria@email.com", "+57 300 9876543");
+        Room room = new Room("302", RoomType.SUITE, 4, new BigDecimal("111.11"));
+        Reservation reservation = new Reservation("RES-2026-002346", guest, room,
+                checkInDate, checkInDate.plusDays(3), 2, Money.of(new BigDecimal("333.33")));
+        reservation.confirmPayment();
+
+        when(reservationRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
+        when(roomRepository.save(any(Room.class))).thenReturn(room);
+
+        // When - Cancelo la reserva
+        CancelReservationResponse response = reservationService.cancelReservation(2L, "Cambio de planes");
+
+        // Then - 166.665 se redondea a 166.67 y la penalidad es el resto, con dos decimales
+        assertEquals(new BigDecimal("166.67"), response.refundAmount());
+        assertEquals(new BigDecimal("166.66"), response.penaltyAmount());
+        assertEquals(response.totalAmount(), response.refundAmount().add(response.penaltyAmount()));
+    }
+
     @Test
     @DisplayName("Should cancel reservation 1 day before with 0% refund")
     void shouldCancelReservationWithNoRefund() {
@@ -1319,12 +1412,12 @@ class ReservationServiceTest {
                 checkInDate,
                 checkOutDate,
                 2,
-                BigDecimal.valueOf(300.00)
+                Money.of(BigDecimal.valueOf(300.00))
         );
         reservation.confirmPayment();
 
         // When - Cancelo la reserva
-        when(reservationRepository.findById(3L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1361,13 +1454,13 @@ class ReservationServiceTest {
                 checkInDate,
                 checkOutDate,
                 2,
-                BigDecimal.valueOf(750.00)
+                Money.of(BigDecimal.valueOf(750.00))
         );
         reservation.confirmPayment();
         reservation.checkIn();
 
         // When - Cancelo la reserva activa
-        when(reservationRepository.findById(4L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(4L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1403,11 +1496,11 @@ class ReservationServiceTest {
                 checkInDate,
                 checkOutDate,
                 1,
-                BigDecimal.valueOf(240.00)
+                Money.of(BigDecimal.valueOf(240.00))
         );
 
         // When - Cancelo la reserva pendiente
-        when(reservationRepository.findById(5L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1438,14 +1531,14 @@ class ReservationServiceTest {
                 checkInDate,
                 checkOutDate,
                 2,
-                BigDecimal.valueOf(300.00)
+                Money.of(BigDecimal.valueOf(300.00))
         );
         reservation.confirmPayment();
         reservation.checkIn();
         reservation.checkOut();
 
         // When/Then - Intento cancelar reserva completada
-        when(reservationRepository.findById(6L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(6L)).thenReturn(Optional.of(reservation));
 
         assertThrows(IllegalStateException.class, () -> {
             reservationService.cancelReservation(6L, "Intento inválido");
@@ -1468,13 +1561,13 @@ class ReservationServiceTest {
                 checkInDate,
                 checkOutDate,
                 3,
-                BigDecimal.valueOf(400.00)
+                Money.of(BigDecimal.valueOf(400.00))
         );
         reservation.confirmPayment();
         reservation.cancel("Primera cancelación");
 
         // When/Then - Intento cancelar nuevamente
-        when(reservationRepository.findById(7L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(reservation));
 
         assertThrows(IllegalStateException.class, () -> {
             reservationService.cancelReservation(7L, "Segundo intento");
@@ -1488,7 +1581,7 @@ class ReservationServiceTest {
         Long nonExistentId = 999L;
 
         // When/Then - Intento cancelar reserva inexistente
-        when(reservationRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(reservationRepository.findByIdForUpdate(nonExistentId)).thenReturn(Optional.empty());
 
         assertThrows(com.sofka.hotel_booking_api.domain.exception.ReservationNotFoundException.class, () -> {
             reservationService.cancelReservation(nonExistentId, "No debería llegar aquí");
@@ -1511,12 +1604,12 @@ class ReservationServiceTest {
                 checkInDate,
                 checkOutDate,
                 2,
-                BigDecimal.valueOf(520.00)
+                Money.of(BigDecimal.valueOf(520.00))
         );
         reservation.confirmPayment();
 
         // When - Cancelo la reserva
-        when(reservationRepository.findById(8L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(8L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1527,6 +1620,29 @@ class ReservationServiceTest {
         verify(roomRepository).save(room);
     }
 
+    @Test
+    @DisplayName("Cancelar una reserva futura no debe liberar una habitación con un huésped alojado")
+    void shouldKeepRoomOccupiedWhenCancellingFutureReservationOfOccupiedRoom() {
+        // Given - Otro huésped está alojado ahora en la habitación de la reserva futura
+        LocalDate checkInDate = LocalDate.now().plusDays(15);
+        Guest guest = new Guest("Diego", "Torres", "22113344", "diego@email.com", "+57 300 2211334");
+        Room room = new Room("308", RoomType.STANDARD, 2, BigDecimal.valueOf(130.00));
+        room.setIsAvailable(false);
+        Reservation reservation = new Reservation("RES-2026-008902", guest, room,
+                checkInDate, checkInDate.plusDays(2), 2, Money.of(BigDecimal.valueOf(260.00)));
+        reservation.confirmPayment();
+
+        when(reservationRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.existsByRoomAndStatus(room, ReservationStatus.ACTIVE)).thenReturn(true);
+
+        // When
+        reservationService.cancelReservation(10L, "Cambio de planes");
+
+        // Then - La habitación sigue ocupada
+        assertEquals(ReservationStatus.CANCELLED, reservation.getStatus());
+        assertFalse(room.getIsAvailable());
+    }
+
     @Test
     @DisplayName("Should calculate exact refund at 7 days boundary (100% refund)")
     void shouldCalculateFullRefundAtSevenDaysBoundary() {
@@ -1543,12 +1659,12 @@ class ReservationServiceTest {
                 checkInDate,
                 checkOutDate,
                 2,
-                BigDecimal.valueOf(540.00)
+                Money.of(BigDecimal.valueOf(540.00))
         );
         reservation.confirmPayment();
 
         // When - Cancelo la reserva
-        when(reservationRepository.findById(9L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findByIdForUpdate(9L)).thenReturn(Optional.of(reservation));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
         when(roomRepository.save(any(Room.class))).thenReturn(room);
 
@@ -1559,4 +1675,161 @@ class ReservationServiceTest {
         assertEquals(0, response.refundAmount().compareTo(BigDecimal.valueOf(540.00)));
         assertEquals(0, response.penaltyAmount().compareTo(BigDecimal.ZERO));
     }
+
+    // ============================================
+    // Inventario por tipo de habitación y asignación diferida
+    // ============================================
+
+    @Test
+    @DisplayName("Debe crear reserva por tipo sin habitación asignada y consumir inventario")
+    void shouldCreateRoomTypeReservationWithoutRoom() {
+        // Given - Dado que hay una SUITE con capacidad suficiente
+        CreateRoomTypeReservationRequest request = new CreateRoomTypeReservationRequest(
+                guestRequest, RoomType.SUITE, LocalDate.now().plusDays(5), LocalDate.now().plusDays(8), 2);
+        when(roomRepository.findFirstByRoomTypeAndCapacityGreaterThanEqualOrderByPricePerNightAsc(RoomType.SUITE, 2))
+                .thenReturn(Optional.of(availableRoom));
+        when(guestService.registerOrUpdateGuest(any(CreateGuestRequest.class))).thenReturn(guest);
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When - Cuando creo la reserva por tipo
+        ReservationResponse response = reservationService.createRoomTypeReservation(request);
+
+        // Then - La reserva queda sin habitación, con la tarifa del tipo
+        assertNull(response.room());
+        assertEquals(RoomType.SUITE, response.roomType());
+        assertEquals(new BigDecimal("750.00"), response.totalAmount());
+        verify(roomTypeInventoryService).reserve(RoomType.SUITE, request.checkInDate(), request.checkOutDate());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar reserva por tipo cuando ninguna habitación admite los huéspedes")
+    void shouldRejectRoomTypeReservationWhenNoRoomFitsGuests() {
+        // Given
+        CreateRoomTypeReservationRequest request = new CreateRoomTypeReservationRequest(
+                guestRequest, RoomType.SUITE, LocalDate.now().plusDays(5), LocalDate.now().plusDays(8), 6);
+        when(roomRepository.findFirstByRoomTypeAndCapacityGreaterThanEqualOrderByPricePerNightAsc(RoomType.SUITE, 6))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> reservationService.createRoomTypeReservation(request));
+        verifyNoInteractions(roomTypeInventoryService);
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    @DisplayName("Debe asignar una habitación libre del tipo reservado")
+    void shouldAssignFreeRoomOfReservedType() {
+        // Given - Una reserva por tipo sin habitación
+        Reservation reservation = new Reservation("RES-2026-TYPE01", guest, RoomType.SUITE,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), 2, Money.of(new BigDecimal("500.00")));
+        reservation.setId(20L);
+        when(reservationRepository.findById(20L)).thenReturn(Optional.of(reservation));
+        when(roomRepository.findFreeRoomsForStay(RoomType.SUITE, 2,
+                reservation.getCheckInDate(), reservation.getCheckOutDate())).thenReturn(List.of(availableRoom));
+        when(reservationRepository.findOverlappingReservations(availableRoom,
+                reservation.getCheckInDate(), reservation.getCheckOutDate())).thenReturn(Collections.emptyList());
+        when(reservationRepository.save(reservation)).thenReturn(reservation);
+
+        // When
+        ReservationResponse response = reservationService.assignRoom(20L);
+
+        // Then
+        assertEquals("301", response.room().getRoomNumber());
+        assertSame(availableRoom, reservation.getRoom());
+        verify(roomLock).lockStay(1L, reservation.getCheckInDate(), reservation.getCheckOutDate());
+    }
+
+    @Test
+    @DisplayName("Debe fallar la asignación cuando no hay habitación libre para toda la estadía")
+    void shouldFailAssignmentWhenNoRoomIsFreeForWholeStay() {
+        // Given
+        Reservation reservation = new Reservation("RES-2026-TYPE02", guest, RoomType.SUITE,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), 2, Money.of(new BigDecimal("500.00")));
+        when(reservationRepository.findById(21L)).thenReturn(Optional.of(reservation));
+        when(roomRepository.findFreeRoomsForStay(any(), any(), any(), any())).thenReturn(Collections.emptyList());
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> reservationService.assignRoom(21L));
+        assertTrue(exception.getMessage().contains("No hay una habitación de tipo SUITE libre"));
+        assertFalse(reservation.hasAssignedRoom());
+    }
+
+    @Test
+    @DisplayName("Debe asignar cada llegada de mañana en su transacción y seguir tras un fallo")
+    void shouldAssignTomorrowArrivalsInSeparateTransactions() {
+        // Given - Dos llegadas por tipo; la habitación de la primera no se puede bloquear
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Reservation failing = new Reservation("RES-2026-TYPE04", guest, RoomType.SUITE,
+                tomorrow, tomorrow.plusDays(3), 2, Money.of(new BigDecimal("750.00")));
+        failing.setId(30L);
+        Reservation assignable = new Reservation("RES-2026-TYPE05", guest, RoomType.SUITE,
+                tomorrow, tomorrow.plusDays(2), 2, Money.of(new BigDecimal("500.00")));
+        assignable.setId(31L);
+        Room otherRoom = new Room("302", RoomType.SUITE, 4, new BigDecimal("250.00"));
+        otherRoom.setId(2L);
+        when(reservationRepository.findUnassignedArrivals(tomorrow)).thenReturn(List.of(failing, assignable));
+        when(reservationRepository.findById(30L)).thenReturn(Optional.of(failing));
+        when(reservationRepository.findById(31L)).thenReturn(Optional.of(assignable));
+        when(roomRepository.findFreeRoomsForStay(RoomType.SUITE, 2, tomorrow, tomorrow.plusDays(3)))
+                .thenReturn(List.of(availableRoom));
+        when(roomRepository.findFreeRoomsForStay(RoomType.SUITE, 2, tomorrow, tomorrow.plusDays(2)))
+                .thenReturn(List.of(otherRoom));
+        doThrow(new QueryTimeoutException("lock timeout"))
+                .when(roomLock).lockStay(1L, tomorrow, tomorrow.plusDays(3));
+        when(reservationRepository.findOverlappingReservations(otherRoom, tomorrow, tomorrow.plusDays(2)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        int assigned = reservationService.assignRoomsForTomorrowArrivals();
+
+        // Then - Solo se revierte la transacción de la reserva que falló
+        assertEquals(1, assigned);
+        assertFalse(failing.hasAssignedRoom());
+        assertSame(otherRoom, assignable.getRoom());
+        verify(reservationRepository).save(assignable);
+        verify(reservationRepository, never()).save(failing);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Debe devolver al inventario las noches de una reserva cancelada")
+    void shouldReleaseInventoryWhenCancelling() {
+        // Given
+        LocalDate checkInDate = LocalDate.now().plusDays(10);
+        Reservation reservation = new Reservation("RES-2026-TYPE03", guest, RoomType.SUITE,
+                checkInDate, checkInDate.plusDays(2), 2, Money.of(new BigDecimal("500.00")));
+        when(reservationRepository.findByIdForUpdate(22L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.save(reservation)).thenReturn(reservation);
+
+        // When
+        reservationService.cancelReservation(22L, "Cambio de planes");
+
+        // Then - Sin habitación asignada no hay habitación que liberar
+        verify(roomTypeInventoryService).release(RoomType.SUITE, checkInDate, checkInDate.plusDays(2));
+        verify(roomRepository, never()).save(any(Room.class));
+    }
+
+    @Test
+    @DisplayName("Debe expirar reservas PENDING sin pago tras 24 horas y liberar su inventario")
+    void shouldExpireUnpaidPendingReservations() {
+        // Given - Reserva PENDING creada hace 25 horas
+        LocalDate checkInDate = LocalDate.now().plusDays(7);
+        Reservation reservation = new Reservation("RES-2026-EXP001", guest, availableRoom,
+                checkInDate, checkInDate.plusDays(3), 2, Money.of(new BigDecimal("750.00")));
+        reservation.setCreatedAt(LocalDateTime.now().minusHours(25));
+        when(reservationRepository.findByStatusAndCreatedAtBefore(eq(ReservationStatus.PENDING),
+                any(LocalDateTime.class))).thenReturn(List.of(reservation));
+
+        // When
+        int expired = reservationService.expirePendingReservations();
+
+        // Then
+        assertEquals(1, expired);
+        assertEquals(ReservationStatus.EXPIRED, reservation.getStatus());
+        verify(roomTypeInventoryService).release(RoomType.SUITE, checkInDate, checkInDate.plusDays(3));
+        verify(reservationRepository).save(reservation);
+    }
 }
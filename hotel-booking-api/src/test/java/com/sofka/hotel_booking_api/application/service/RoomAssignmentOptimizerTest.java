@@ -0,0 +1,136 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.service.RoomAssignmentOptimizer.Result;
+import com.sofka.hotel_booking_api.application.service.RoomAssignmentOptimizer.RoomSlot;
+import com.sofka.hotel_booking_api.application.service.RoomAssignmentOptimizer.Stay;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios del optimizador de asignación de habitaciones.
+ */
+@DisplayName("RoomAssignmentOptimizer - Tests unitarios")
+class RoomAssignmentOptimizerTest {
+
+    private static final LocalDate BASE = LocalDate.now().plusDays(1);
+
+    @Test
+    @DisplayName("Debe mover una estadía para rellenar un hueco huérfano")
+    void shouldFillOrphanGap() {
+        // Given - La habitación 1 tiene un hueco de 2 noches entre dos estadías fijas
+        List<RoomSlot> rooms = List.of(new RoomSlot(1L, 2), new RoomSlot(2L, 2));
+        List<Stay> fixed = List.of(stay(100L, 0, 2, 1L), stay(101L, 4, 7, 1L));
+        List<Stay> movable = List.of(stay(1L, 2, 4, 2L));
+
+        // When
+        Result result = RoomAssignmentOptimizer.optimize(rooms, fixed, movable);
+
+        // Then
+        assertEquals(2, result.currentOrphanNights());
+        assertEquals(0, result.proposedOrphanNights());
+        assertEquals(1L, result.assignments().get(1L));
+    }
+
+    @Test
+    @DisplayName("Debe mantener la asignación actual cuando no hay mejora")
+    void shouldKeepCurrentAssignmentWithoutImprovement() {
+        // Given
+        List<RoomSlot> rooms = List.of(new RoomSlot(1L, 2), new RoomSlot(2L, 2));
+        List<Stay> movable = List.of(stay(1L, 0, 3, 2L), stay(2L, 5, 9, 1L));
+
+        // When
+        Result result = RoomAssignmentOptimizer.optimize(rooms, List.of(), movable);
+
+        // Then
+        assertEquals(Map.of(1L, 2L, 2L, 1L), result.assignments());
+        assertEquals(result.currentOrphanNights(), result.proposedOrphanNights());
+    }
+
+    @Test
+    @DisplayName("Debe asignar estadías sin habitación respetando la capacidad")
+    void shouldPlaceUnassignedStaysRespectingCapacity() {
+        // Given
+        List<RoomSlot> rooms = List.of(new RoomSlot(1L, 2), new RoomSlot(2L, 4));
+        List<Stay> movable = List.of(
+                new Stay(1L, BASE, BASE.plusDays(2), 3, null),
+                new Stay(2L, BASE, BASE.plusDays(2), 2, null));
+
+        // When
+        Result result = RoomAssignmentOptimizer.optimize(rooms, List.of(), movable);
+
+        // Then
+        assertTrue(result.unplaced().isEmpty());
+        assertEquals(2L, result.assignments().get(1L));
+        assertEquals(1L, result.assignments().get(2L));
+    }
+
+    @Test
+    @DisplayName("No debe quitar la habitación a una estadía que ya la tenía")
+    void shouldNeverUnassignStayWithRoom() {
+        // Given - La estadía sin habitación llega antes y ocuparía la única habitación
+        List<RoomSlot> rooms = List.of(new RoomSlot(1L, 2));
+        List<Stay> movable = List.of(stay(1L, 2, 5, 1L), new Stay(2L, BASE, BASE.plusDays(3), 1, null));
+
+        // When
+        Result result = RoomAssignmentOptimizer.optimize(rooms, List.of(), movable);
+
+        // Then
+        assertEquals(1L, result.assignments().get(1L));
+        assertEquals(List.of(2L), result.unplaced());
+    }
+
+    @Test
+    @DisplayName("Debe resolver 10k estadías en un horizonte de 90 días sin solapamientos")
+    void shouldHandleLargeHorizonQuickly() {
+        // Given - 10.000 estadías aleatorias de 1 a 7 noches sobre 400 habitaciones
+        Random random = new Random(42);
+        List<RoomSlot> rooms = new ArrayList<>();
+        for (long id = 1; id <= 400; id++) {
+            rooms.add(new RoomSlot(id, 2 + random.nextInt(3)));
+        }
+        List<Stay> movable = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            int start = random.nextInt(90);
+            movable.add(new Stay(id, BASE.plusDays(start), BASE.plusDays(start + 1 + random.nextInt(7)),
+                    1 + random.nextInt(2), null));
+        }
+
+        // When
+        Result result = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> RoomAssignmentOptimizer.optimize(rooms, List.of(), movable));
+
+        // Then - Ninguna habitación tiene dos estadías solapadas
+        Map<Long, List<Stay>> byRoom = new HashMap<>();
+        for (Stay stay : movable) {
+            Long roomId = result.assignments().get(stay.reservationId());
+            if (roomId != null) {
+                byRoom.computeIfAbsent(roomId, id -> new ArrayList<>()).add(stay);
+            }
+        }
+        for (List<Stay> stays : byRoom.values()) {
+            for (int i = 0; i < stays.size(); i++) {
+                for (int j = i + 1; j < stays.size(); j++) {
+                    Stay a = stays.get(i);
+                    Stay b = stays.get(j);
+                    assertFalse(a.checkInDate().isBefore(b.checkOutDate()) && b.checkInDate().isBefore(a.checkOutDate()),
+                            "Estadías solapadas: " + a + " y " + b);
+                }
+            }
+        }
+        assertEquals(10_000, result.assignments().size() + result.unplaced().size());
+    }
+
+    private Stay stay(Long reservationId, int fromDay, int toDay, Long roomId) {
+        return new Stay(reservationId, BASE.plusDays(fromDay), BASE.plusDays(toDay), 1, roomId);
+    }
+}
@@ -21,12 +21,15 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -41,6 +44,12 @@ class RoomServiceTest {
     @Mock
     private RoomRepository roomRepository;
 
+    @Mock
+    private RoomTypeInventoryService roomTypeInventoryService;
+
+    @Mock
+    private RestrictionCalendar restrictionCalendar;
+
     @InjectMocks
     private RoomService roomService;
 
@@ -59,6 +68,12 @@ class RoomServiceTest {
 
         savedRoom = new Room("301", RoomType.SUITE, 4, new BigDecimal("250.00"));
         savedRoom.setId(1L); // Simular que JPA asignó un ID
+
+        // Sin restricciones de venta: todos los tipos consultados admiten la estadía
+        lenient().when(restrictionCalendar.openTypes(any(), any(), any())).thenAnswer(invocation ->
+                invocation.getArgument(0) == null
+                        ? EnumSet.allOf(RoomType.class)
+                        : EnumSet.of(invocation.<RoomType>getArgument(0)));
     }
 
     @Test
@@ -326,16 +341,17 @@ class RoomServiceTest {
         Room room3 = new Room("303", RoomType.STANDARD, 1, new BigDecimal("100.00"));
         room3.setId(3L);
 
-        when(roomRepository.findAll()).thenReturn(Arrays.asList(room1, room2, room3));
+        when(roomTypeInventoryService.remainingRooms(any(), eq(checkIn), eq(checkOut))).thenReturn(5);
+        Map<RoomType, List<Room>> freeRooms = Map.of(
+                RoomType.STANDARD, List.of(room3), RoomType.SUPERIOR, List.of(room2), RoomType.SUITE, List.of(room1));
+        when(roomRepository.findFreeRoomsForStay(any(), eq(1), eq(checkIn), eq(checkOut))).thenAnswer(invocation ->
+                freeRooms.getOrDefault(invocation.<RoomType>getArgument(0), List.of()));
 
         // When
         List<RoomResponse> availableRooms = roomService.getAvailableRooms(checkIn, checkOut, null);
 
-        // Then
-        assertThat(availableRooms).hasSize(2);
-        assertThat(availableRooms.get(0).getRoomNumber()).isEqualTo("301");
-        assertThat(availableRooms.get(1).getRoomNumber()).isEqualTo("303");
-        verify(roomRepository, times(1)).findAll();
+        // Then - Los tipos salen en su orden y la habitación fuera de servicio no aparece
+        assertThat(availableRooms).extracting(RoomResponse::getRoomNumber).containsExactly("303", "301");
     }
 
     @Test
@@ -347,12 +363,12 @@ class RoomServiceTest {
 
         Room room1 = new Room("301", RoomType.SUITE, 4, new BigDecimal("250.00"));
         room1.setId(1L);
-        Room room2 = new Room("302", RoomType.SUPERIOR, 2, new BigDecimal("150.00"));
-        room2.setId(2L);
         Room room3 = new Room("303", RoomType.SUITE, 4, new BigDecimal("280.00"));
         room3.setId(3L);
 
-        when(roomRepository.findAll()).thenReturn(Arrays.asList(room1, room2, room3));
+        when(roomTypeInventoryService.remainingRooms(RoomType.SUITE, checkIn, checkOut)).thenReturn(2);
+        when(roomRepository.findFreeRoomsForStay(RoomType.SUITE, 1, checkIn, checkOut))
+                .thenReturn(Arrays.asList(room1, room3));
 
         // When
         List<RoomResponse> availableRooms = roomService.getAvailableRooms(checkIn, checkOut, RoomType.SUITE);
@@ -361,7 +377,61 @@ class RoomServiceTest {
         assertThat(availableRooms).hasSize(2);
         assertThat(availableRooms.get(0).getRoomType()).isEqualTo(RoomType.SUITE);
         assertThat(availableRooms.get(1).getRoomType()).isEqualTo(RoomType.SUITE);
-        verify(roomRepository, times(1)).findAll();
+        verify(roomRepository, times(1)).findFreeRoomsForStay(RoomType.SUITE, 1, checkIn, checkOut);
+    }
+
+    @Test
+    @DisplayName("Debe limitar las habitaciones libres al inventario que queda del tipo")
+    void shouldLimitFreeRoomsToRemainingInventory() {
+        // Given - Dos suites sin reserva asignada, pero una reserva por tipo ya consume una noche
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        Room room1 = new Room("301", RoomType.SUITE, 4, new BigDecimal("250.00"));
+        Room room3 = new Room("303", RoomType.SUITE, 4, new BigDecimal("280.00"));
+        when(roomTypeInventoryService.remainingRooms(RoomType.SUITE, checkIn, checkOut)).thenReturn(1);
+        when(roomRepository.findFreeRoomsForStay(RoomType.SUITE, 1, checkIn, checkOut))
+                .thenReturn(Arrays.asList(room1, room3));
+
+        // When
+        List<RoomResponse> availableRooms = roomService.getAvailableRooms(checkIn, checkOut, RoomType.SUITE);
+
+        // Then
+        assertThat(availableRooms).extracting(RoomResponse::getRoomNumber).containsExactly("301");
+    }
+
+    @Test
+    @DisplayName("No debe buscar habitaciones de un tipo agotado")
+    void shouldSkipSoldOutRoomType() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        when(roomTypeInventoryService.remainingRooms(RoomType.SUITE, checkIn, checkOut)).thenReturn(0);
+
+        // When / Then
+        assertThat(roomService.getAvailableRooms(checkIn, checkOut, RoomType.SUITE)).isEmpty();
+        verify(roomRepository, never()).findFreeRoomsForStay(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe descartar los tipos con restricciones de venta antes de buscar habitaciones")
+    void shouldFilterRestrictedRoomTypes() {
+        // Given - SUITE está cerrada a llegadas el día de entrada
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = LocalDate.now().plusDays(3);
+        Room standard = new Room("303", RoomType.STANDARD, 1, new BigDecimal("100.00"));
+        when(restrictionCalendar.openTypes(null, checkIn, checkOut))
+                .thenReturn(EnumSet.of(RoomType.STANDARD));
+        when(restrictionCalendar.openTypes(RoomType.SUITE, checkIn, checkOut))
+                .thenReturn(EnumSet.noneOf(RoomType.class));
+        when(roomTypeInventoryService.remainingRooms(RoomType.STANDARD, checkIn, checkOut)).thenReturn(3);
+        when(roomRepository.findFreeRoomsForStay(RoomType.STANDARD, 1, checkIn, checkOut))
+                .thenReturn(List.of(standard));
+
+        // When / Then - Sin filtro solo queda STANDARD y el tipo cerrado no consulta habitaciones
+        assertThat(roomService.getAvailableRooms(checkIn, checkOut, null))
+                .extracting(RoomResponse::getRoomNumber).containsExactly("303");
+        assertThat(roomService.getAvailableRooms(checkIn, checkOut, RoomType.SUITE)).isEmpty();
+        verify(roomRepository, never()).findFreeRoomsForStay(eq(RoomType.SUITE), any(), any(), any());
     }
 
     @Test
@@ -376,7 +446,7 @@ class RoomServiceTest {
                 .isInstanceOf(InvalidDateRangeException.class)
                 .hasMessageContaining("La fecha de entrada no puede ser en el pasado");
 
-        verify(roomRepository, never()).findAll();
+        verify(roomRepository, never()).findFreeRoomsForStay(any(), any(), any(), any());
     }
 
     @Test
@@ -391,7 +461,7 @@ class RoomServiceTest {
                 .isInstanceOf(InvalidDateRangeException.class)
                 .hasMessageContaining("La fecha de entrada debe ser anterior a la fecha de salida");
 
-        verify(roomRepository, never()).findAll();
+        verify(roomRepository, never()).findFreeRoomsForStay(any(), any(), any(), any());
     }
 
     @Test
@@ -406,6 +476,6 @@ class RoomServiceTest {
                 .isInstanceOf(InvalidDateRangeException.class)
                 .hasMessageContaining("La fecha de entrada debe ser anterior a la fecha de salida");
 
-        verify(roomRepository, never()).findAll();
+        verify(roomRepository, never()).findFreeRoomsForStay(any(), any(), any(), any());
     }
 }
@@ -0,0 +1,215 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.event.NightsReleasedEvent;
+import com.sofka.hotel_booking_api.domain.exception.RoomNotAvailableException;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.RoomTypeInventory;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomTypeInventoryRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.RoomTypeAvailabilityResponse;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del inventario por tipo de habitación.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomTypeInventoryService - Tests unitarios")
+class RoomTypeInventoryServiceTest {
+
+    @Mock
+    private RoomTypeInventoryRepository inventoryRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private RoomTypeInventoryService inventoryService;
+
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @BeforeEach
+    void setUp() {
+        checkIn = LocalDate.now().plusDays(5);
+        checkOut = checkIn.plusDays(3);
+    }
+
+    @Test
+    @DisplayName("Debe consumir inventario en todas las noches cuando hay cupo")
+    void shouldReserveAllNights() {
+        // Given - Las tres noches ya tienen fila de inventario
+        when(inventoryRepository.findStayDates(RoomType.SUITE, checkIn, checkOut))
+                .thenReturn(List.of(checkIn, checkIn.plusDays(1), checkIn.plusDays(2)));
+        when(inventoryRepository.reserveNights(RoomType.SUITE, checkIn, checkOut)).thenReturn(3);
+
+        // When
+        inventoryService.reserve(RoomType.SUITE, checkIn, checkOut);
+
+        // Then - No se crean filas nuevas
+        verify(inventoryRepository, never()).insertIfAbsent(anyLong(), anyString(), any(), anyInt(), anyInt());
+        verifyNoInteractions(roomRepository, reservationRepository);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la reserva cuando alguna noche está agotada")
+    void shouldRejectWhenAnyNightIsSoldOut() {
+        // Given - Solo dos de las tres noches tienen cupo
+        when(inventoryRepository.findStayDates(RoomType.SUITE, checkIn, checkOut))
+                .thenReturn(List.of(checkIn, checkIn.plusDays(1), checkIn.plusDays(2)));
+        when(inventoryRepository.reserveNights(RoomType.SUITE, checkIn, checkOut)).thenReturn(2);
+
+        // When & Then
+        RoomNotAvailableException exception = assertThrows(RoomNotAvailableException.class,
+                () -> inventoryService.reserve(RoomType.SUITE, checkIn, checkOut));
+        assertEquals("No quedan habitaciones de tipo SUITE para las fechas solicitadas", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debe crear las noches que faltan a partir de habitaciones y reservas vigentes")
+    void shouldCreateMissingNightsFromRoomsAndActiveReservations() {
+        // Given - Solo existe la primera noche
+        when(inventoryRepository.findStayDates(RoomType.DELUXE, checkIn, checkOut)).thenReturn(List.of(checkIn));
+        when(roomRepository.countByRoomType(RoomType.DELUXE)).thenReturn(5L);
+        when(reservationRepository.countActiveReservationsForNight(RoomType.DELUXE, checkIn.plusDays(1)))
+                .thenReturn(2L);
+        when(reservationRepository.countActiveReservationsForNight(RoomType.DELUXE, checkIn.plusDays(2)))
+                .thenReturn(0L);
+        when(inventoryRepository.reserveNights(RoomType.DELUXE, checkIn, checkOut)).thenReturn(3);
+
+        // When
+        inventoryService.reserve(RoomType.DELUXE, checkIn, checkOut);
+
+        // Then
+        verify(inventoryRepository).insertIfAbsent(TenantContext.DEFAULT_HOTEL_ID, "DELUXE", checkIn.plusDays(1), 5, 2);
+        verify(inventoryRepository).insertIfAbsent(TenantContext.DEFAULT_HOTEL_ID, "DELUXE", checkIn.plusDays(2), 5, 0);
+        verify(inventoryRepository, never()).insertIfAbsent(anyLong(), anyString(), eq(checkIn), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Un grupo debe sumar la demanda por tipo y noche y consumirla con un lote por tipo")
+    void shouldReserveGroupDemandWithOneBatchPerType() {
+        // Given - Dos suites solapadas con filas ya creadas y una deluxe cuya noche aún no existe
+        when(inventoryRepository.findStayDates(RoomType.SUITE, checkIn, checkOut))
+                .thenReturn(List.of(checkIn, checkIn.plusDays(1), checkIn.plusDays(2)));
+        when(inventoryRepository.findStayDates(RoomType.DELUXE, checkIn, checkIn.plusDays(1))).thenReturn(List.of());
+        when(roomRepository.countByRoomType(RoomType.DELUXE)).thenReturn(4L);
+        when(reservationRepository.findActiveStaysForRoomType(RoomType.DELUXE, checkIn, checkIn.plusDays(1)))
+                .thenReturn(List.of(new StaySnapshot(1L, RoomType.DELUXE, checkIn.minusDays(1), checkIn.plusDays(1),
+                        Money.of(new BigDecimal("200.00")), ReservationStatus.CONFIRMED, null)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            int[] updated = new int[invocation.<List<?>>getArgument(1).size()];
+            Arrays.fill(updated, 1);
+            return updated;
+        });
+
+        // When
+        inventoryService.reserveAll(List.of(
+                new RoomTypeInventoryService.Stay(RoomType.SUITE, checkIn, checkIn.plusDays(2)),
+                new RoomTypeInventoryService.Stay(RoomType.DELUXE, checkIn, checkIn.plusDays(1)),
+                new RoomTypeInventoryService.Stay(RoomType.SUITE, checkIn.plusDays(1), checkOut)));
+
+        // Then - DELUXE va antes que SUITE (orden del enum): alta de su noche y un lote de actualización por tipo
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(sql.capture(), batches.capture());
+        assertTrue(sql.getAllValues().get(0).startsWith("INSERT INTO room_type_inventory"));
+        assertArrayEquals(new Object[]{1L, "DELUXE", checkIn, 4, 1}, batches.getAllValues().get(0).get(0));
+        assertTrue(sql.getAllValues().get(1).startsWith("UPDATE room_type_inventory"));
+        assertEquals(1, batches.getAllValues().get(1).size());
+        assertEquals(List.of(1, 2, 1), batches.getAllValues().get(2).stream().map(row -> row[0]).toList());
+        assertEquals(List.of(checkIn, checkIn.plusDays(1), checkIn.plusDays(2)),
+                batches.getAllValues().get(2).stream().map(row -> row[3]).toList());
+        verify(inventoryRepository, never()).reserveNights(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Un grupo debe rechazarse si a alguna noche no le queda cupo para su demanda")
+    void shouldRejectGroupWhenAnyNightLacksCapacity() {
+        // Given - La segunda noche solo admite una de las dos suites
+        when(inventoryRepository.findStayDates(RoomType.SUITE, checkIn, checkIn.plusDays(2)))
+                .thenReturn(List.of(checkIn, checkIn.plusDays(1)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+
+        // When & Then
+        RoomNotAvailableException exception = assertThrows(RoomNotAvailableException.class,
+                () -> inventoryService.reserveAll(List.of(
+                        new RoomTypeInventoryService.Stay(RoomType.SUITE, checkIn, checkIn.plusDays(2)),
+                        new RoomTypeInventoryService.Stay(RoomType.SUITE, checkIn.plusDays(1), checkIn.plusDays(2)))));
+        assertEquals("No quedan habitaciones de tipo SUITE para las fechas solicitadas", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("La consulta debe calcular las noches sin fila en memoria, sin crearlas")
+    void shouldComputeMissingNightsWithoutPersistingThem() {
+        // Given - Solo existe la segunda noche
+        when(inventoryRepository.findNights(RoomType.DELUXE, checkIn, checkOut))
+                .thenReturn(List.of(new RoomTypeInventory(RoomType.DELUXE, checkIn.plusDays(1), 5, 4)));
+        when(roomRepository.countByRoomType(RoomType.DELUXE)).thenReturn(5L);
+        when(reservationRepository.countActiveReservationsForNight(RoomType.DELUXE, checkIn)).thenReturn(2L);
+        when(reservationRepository.countActiveReservationsForNight(RoomType.DELUXE, checkIn.plusDays(2)))
+                .thenReturn(0L);
+
+        // When
+        RoomTypeAvailabilityResponse availability = inventoryService.getAvailability(RoomType.DELUXE, checkIn, checkOut);
+
+        // Then - Las noches salen en orden y la estadía tiene el mínimo
+        assertEquals(List.of(3, 1, 5), availability.nights().stream()
+                .map(RoomTypeAvailabilityResponse.NightAvailability::availableRooms).toList());
+        assertEquals(checkIn, availability.nights().get(0).date());
+        assertEquals(1, availability.availableRooms());
+        verify(inventoryRepository, never()).insertIfAbsent(anyLong(), anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("No debe liberar nada cuando el rango de noches está vacío")
+    void shouldIgnoreEmptyReleaseRange() {
+        // When - Check-out el mismo día de salida
+        inventoryService.release(RoomType.SUITE, checkOut, checkOut);
+
+        // Then
+        verifyNoInteractions(inventoryRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Debe publicar las noches liberadas para promover la lista de espera")
+    void shouldPublishReleasedNights() {
+        // When
+        inventoryService.release(RoomType.SUITE, checkIn, checkOut);
+
+        // Then
+        verify(inventoryRepository).releaseNights(RoomType.SUITE, checkIn, checkOut);
+        verify(eventPublisher).publishEvent(new NightsReleasedEvent(1L, RoomType.SUITE, checkIn, checkOut));
+    }
+}
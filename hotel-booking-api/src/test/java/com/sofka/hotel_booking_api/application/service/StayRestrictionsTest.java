@@ -0,0 +1,87 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.RoomRestriction;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios de la evaluación en memoria de las restricciones de venta.
+ * RN-004: Validaciones de Reserva
+ */
+@DisplayName("StayRestrictions - Tests unitarios")
+class StayRestrictionsTest {
+
+    private LocalDate day;
+    private StayRestrictions restrictions;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.now().plusDays(10);
+        // Noche 0 cerrada a llegadas, noches 2 y 3 con mínimo de 3, noche 5 con máximo de 2
+        // y noche 8 cerrada a salidas; las noches 1, 4, 6 y 7 quedan sin fila
+        restrictions = StayRestrictions.of(List.of(
+                new RoomRestriction(RoomType.SUITE, day, null, null, true, false),
+                new RoomRestriction(RoomType.SUITE, day.plusDays(2), 3, null, false, false),
+                new RoomRestriction(RoomType.SUITE, day.plusDays(3), 3, null, false, false),
+                new RoomRestriction(RoomType.SUITE, day.plusDays(5), null, 2, false, false),
+                new RoomRestriction(RoomType.SUITE, day.plusDays(8), null, null, false, true)));
+    }
+
+    @Test
+    @DisplayName("Sin restricciones debe admitir cualquier estadía")
+    void shouldAllowEverythingWithoutRestrictions() {
+        assertTrue(StayRestrictions.NONE.allows(day, day.plusDays(30)));
+        assertDoesNotThrow(() -> StayRestrictions.NONE.check(day, day.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar llegadas y salidas en los días cerrados")
+    void shouldRejectClosedArrivalAndDeparture() {
+        IllegalArgumentException arrival = assertThrows(IllegalArgumentException.class,
+                () -> restrictions.check(day, day.plusDays(1)));
+        assertEquals("No se admiten llegadas el " + day, arrival.getMessage());
+
+        IllegalArgumentException departure = assertThrows(IllegalArgumentException.class,
+                () -> restrictions.check(day.plusDays(6), day.plusDays(8)));
+        assertEquals("No se admiten salidas el " + day.plusDays(8), departure.getMessage());
+
+        // Salir el día cerrado a llegadas o quedarse la noche cerrada a salidas sí está permitido
+        assertTrue(restrictions.allows(day.plusDays(-1), day));
+        assertTrue(restrictions.allows(day.plusDays(7), day.plusDays(9)));
+    }
+
+    @Test
+    @DisplayName("La estadía mínima y máxima deben aplicarse a toda estadía que ocupe la noche")
+    void shouldApplyMinAndMaxStayToEveryOccupiedNight() {
+        // Llega antes de la noche con mínimo pero la ocupa
+        assertFalse(restrictions.allows(day.plusDays(1), day.plusDays(3)));
+        assertTrue(restrictions.allows(day.plusDays(1), day.plusDays(4)));
+        assertEquals("La estadía mínima para el " + day.plusDays(2) + " es de 3 noches",
+                restrictions.violation(day.plusDays(2), day.plusDays(4)));
+
+        // La noche 5 limita a 2 noches a quien la ocupe; quien llega después no queda limitado
+        assertTrue(restrictions.allows(day.plusDays(4), day.plusDays(6)));
+        assertEquals("La estadía máxima para el " + day.plusDays(5) + " es de 2 noches",
+                restrictions.violation(day.plusDays(4), day.plusDays(7)));
+        assertTrue(restrictions.allows(day.plusDays(6), day.plusDays(7)));
+    }
+
+    @Test
+    @DisplayName("Debe exponer las restricciones de cada noche y ninguna fuera del arreglo")
+    void shouldExposeNightlyValues() {
+        assertTrue(restrictions.closedToArrivalOn(day));
+        assertFalse(restrictions.closedToDepartureOn(day));
+        assertEquals(3, restrictions.minStayOn(day.plusDays(2)));
+        assertEquals(2, restrictions.maxStayOn(day.plusDays(5)));
+        assertEquals(0, restrictions.minStayOn(day.plusDays(4)));
+        assertEquals(0, restrictions.maxStayOn(day.minusDays(1)));
+        assertFalse(restrictions.closedToDepartureOn(day.plusDays(40)));
+    }
+}
@@ -0,0 +1,146 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios del índice en memoria de la lista de espera.
+ */
+@DisplayName("WaitlistIndex - Tests unitarios")
+class WaitlistIndexTest {
+
+    private static final LocalDate BASE = LocalDate.now().plusDays(40);
+    private static final long HOTEL_ID = 1L;
+    private static final long OTHER_HOTEL_ID = 2L;
+
+    private WaitlistIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new WaitlistIndex();
+    }
+
+    @Test
+    @DisplayName("Debe devolver solo las solicitudes del tipo que se solapan con el rango")
+    void shouldReturnOnlyOverlappingEntriesOfType() {
+        // Given
+        index.replaceAll(HOTEL_ID, List.of(
+                entry(1L, RoomType.SUITE, -3, 1),     // Termina dentro del rango
+                entry(2L, RoomType.SUITE, 2, 5),      // Empieza dentro del rango
+                entry(3L, RoomType.SUITE, -5, 0),     // Sale el día en que empieza el rango
+                entry(4L, RoomType.SUITE, 4, 6),      // Entra el día en que termina el rango
+                entry(5L, RoomType.STANDARD, 0, 2)),  // Otro tipo
+                index.generation());
+
+        // When
+        List<Long> candidates = index.findOverlapping(HOTEL_ID, RoomType.SUITE, BASE, BASE.plusDays(4));
+
+        // Then
+        assertEquals(List.of(1L, 2L), candidates);
+    }
+
+    @Test
+    @DisplayName("Debe encontrar estadías largas que empezaron antes del rango")
+    void shouldFindLongStaysStartingBeforeRange() {
+        // Given - Estadía de 30 noches que cubre el rango liberado
+        index.add(entry(1L, RoomType.DELUXE, -29, 1));
+
+        // When & Then
+        assertEquals(List.of(1L), index.findOverlapping(HOTEL_ID, RoomType.DELUXE, BASE, BASE.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Debe ordenar las candidatas por prioridad y después por antigüedad")
+    void shouldOrderCandidatesByPriorityThenAge() {
+        // Given
+        WaitlistEntry first = entry(1L, RoomType.SUITE, 0, 2);
+        WaitlistEntry second = entry(2L, RoomType.SUITE, 1, 3);
+        WaitlistEntry urgent = entry(3L, RoomType.SUITE, 1, 2);
+        urgent.setPriority(10);
+        index.replaceAll(HOTEL_ID, List.of(first, second, urgent), index.generation());
+
+        // When & Then
+        assertEquals(List.of(3L, 1L, 2L), index.findOverlapping(HOTEL_ID, RoomType.SUITE, BASE, BASE.plusDays(3)));
+
+        // When - Subir la prioridad de la segunda la adelanta a la primera
+        second.setPriority(5);
+        index.add(second);
+
+        // Then
+        assertEquals(List.of(3L, 2L, 1L), index.findOverlapping(HOTEL_ID, RoomType.SUITE, BASE, BASE.plusDays(3)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Debe dejar de devolver solicitudes retiradas")
+    void shouldNotReturnRemovedEntries() {
+        // Given
+        WaitlistEntry entry = entry(1L, RoomType.SUITE, 0, 2);
+        index.add(entry);
+
+        // When
+        index.remove(entry);
+
+        // Then
+        assertTrue(index.findOverlapping(HOTEL_ID, RoomType.SUITE, BASE, BASE.plusDays(2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe separar las solicitudes por hotel y reconstruir un hotel sin tocar los demás")
+    void shouldKeepEachHotelSeparate() {
+        // Given - Dos hoteles con solicitudes del mismo tipo y fechas
+        index.add(entry(1L, RoomType.SUITE, 0, 2));
+        index.add(entry(OTHER_HOTEL_ID, 2L, RoomType.SUITE, 0, 2));
+
+        // When - Se reconstruye solo el primer hotel, ya sin solicitudes
+        List<Long> otherBefore = index.findOverlapping(OTHER_HOTEL_ID, RoomType.SUITE, BASE, BASE.plusDays(2));
+        index.replaceAll(HOTEL_ID, List.of(), index.generation());
+
+        // Then
+        assertEquals(List.of(2L), otherBefore);
+        assertTrue(index.findOverlapping(HOTEL_ID, RoomType.SUITE, BASE, BASE.plusDays(2)).isEmpty());
+        assertEquals(List.of(2L), index.findOverlapping(OTHER_HOTEL_ID, RoomType.SUITE, BASE, BASE.plusDays(2)));
+        assertTrue(index.findOverlapping(3L, RoomType.SUITE, BASE, BASE.plusDays(2)).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Un hotel reconstruido antes de invalidar el índice debe quedar desactualizado hasta reconstruirse")
+    void shouldMarkRebuiltHotelsStaleUntilRebuiltAgain() {
+        // Given - El hotel se empieza a reconstruir y durante la lectura el bus pierde mensajes
+        long generation = index.generation();
+        index.invalidateAll();
+        index.replaceAll(HOTEL_ID, List.of(), generation);
+
+        // Then - Sigue desactualizado; un hotel que nunca se construyó no se marca
+        assertTrue(index.isStale(HOTEL_ID));
+        assertFalse(index.isStale(OTHER_HOTEL_ID));
+
+        // When
+        index.replaceAll(HOTEL_ID, List.of(), index.generation());
+
+        // Then
+        assertFalse(index.isStale(HOTEL_ID));
+    }
+
+    private WaitlistEntry entry(Long id, RoomType roomType, int fromDay, int toDay) {
+        return entry(HOTEL_ID, id, roomType, fromDay, toDay);
+    }
+
+    private WaitlistEntry entry(long hotelId, Long id, RoomType roomType, int fromDay, int toDay) {
+        WaitlistEntry entry = new WaitlistEntry(roomType, null, BASE.plusDays(fromDay), BASE.plusDays(toDay),
+                1, "Ana", "Ruiz", "DOC-" + id, "ana@email.com", "+34 600111222");
+        entry.setId(id);
+        ReflectionTestUtils.setField(entry, "hotelId", hotelId);
+        return entry;
+    }
+}
@@ -0,0 +1,78 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.application.event.NightsReleasedEvent;
+import com.sofka.hotel_booking_api.domain.exception.RoomLockTimeoutException;
+import com.sofka.hotel_booking_api.domain.exception.RoomNotAvailableException;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de la promoción de la lista de espera.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WaitlistPromoter - Tests unitarios")
+class WaitlistPromoterTest {
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @InjectMocks
+    private WaitlistPromoter waitlistPromoter;
+
+    @Test
+    @DisplayName("Debe seguir con las siguientes candidatas cuando una no se puede promover")
+    void shouldContinueWithNextCandidateWhenPromotionFails() {
+        // Given - La primera candidata por prioridad sigue sin disponibilidad
+        LocalDate from = LocalDate.now().plusDays(3);
+        LocalDate to = from.plusDays(2);
+        when(waitlistService.findPromotionCandidates(2L, RoomType.SUITE, from, to)).thenReturn(List.of(5L, 2L));
+        when(waitlistService.promote(5L)).thenThrow(
+                new RoomNotAvailableException("No quedan habitaciones de tipo SUITE para las fechas solicitadas"));
+        AtomicLong promotedAs = new AtomicLong();
+        when(waitlistService.promote(2L)).thenAnswer(invocation -> {
+            promotedAs.set(TenantContext.currentHotelId());
+            return null;
+        });
+
+        // When
+        waitlistPromoter.onNightsReleased(new NightsReleasedEvent(2L, RoomType.SUITE, from, to));
+
+        // Then - Se intentan todas, en orden y con el hotel que liberó las noches
+        var inOrder = inOrder(waitlistService);
+        inOrder.verify(waitlistService).promote(5L);
+        inOrder.verify(waitlistService).promote(2L);
+        assertEquals(2L, promotedAs.get());
+    }
+
+    @Test
+    @DisplayName("Un error inesperado en una candidata no debe impedir promover las siguientes")
+    void shouldContinueWhenPromotionFailsUnexpectedly() {
+        // Given - La primera candidata agota la espera del bloqueo y la segunda falla en la base de datos
+        LocalDate from = LocalDate.now().plusDays(3);
+        LocalDate to = from.plusDays(2);
+        when(waitlistService.findPromotionCandidates(1L, RoomType.DELUXE, from, to)).thenReturn(List.of(4L, 6L, 8L));
+        when(waitlistService.promote(4L)).thenThrow(new RoomLockTimeoutException(List.of(12L), Duration.ofSeconds(2)));
+        when(waitlistService.promote(6L)).thenThrow(new QueryTimeoutException("canceling statement due to timeout"));
+
+        // When
+        waitlistPromoter.onNightsReleased(new NightsReleasedEvent(1L, RoomType.DELUXE, from, to));
+
+        // Then
+        verify(waitlistService).promote(8L);
+    }
+}
@@ -0,0 +1,219 @@
+package com.sofka.hotel_booking_api.application.service;
+
+import com.sofka.hotel_booking_api.domain.exception.RoomNotAvailableException;
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import com.sofka.hotel_booking_api.domain.model.WaitlistStatus;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.domain.repository.WaitlistEntryRepository;
+import com.sofka.hotel_booking_api.infrastructure.cache.CacheInvalidationBus;
+import com.sofka.hotel_booking_api.infrastructure.cache.CacheInvalidator;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.ReservationResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.WaitlistEntryResponse;
+import com.sofka.hotel_booking_api.infrastructure.tenant.HotelDirectory;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de la lista de espera.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WaitlistService - Tests unitarios")
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private WaitlistIndex waitlistIndex;
+
+    @Mock
+    private HotelDirectory hotelDirectory;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    private CreateReservationRequest request;
+
+    @BeforeEach
+    void setUp() {
+        CreateGuestRequest guest = new CreateGuestRequest(
+                "Lucía", "Méndez", "WL-12345", "lucia@email.com", "+57 300 7654321");
+        request = new CreateReservationRequest(guest, 1L,
+                LocalDate.now().plusDays(5), LocalDate.now().plusDays(8), 2);
+    }
+
+    @Test
+    @DisplayName("Debe registrar en espera una solicitud rechazada e indexarla")
+    void shouldEnqueueRejectedRequest() {
+        // Given
+        when(roomRepository.findRoomTypeById(1L)).thenReturn(Optional.of(RoomType.SUITE));
+        AtomicReference<WaitlistEntry> saved = new AtomicReference<>();
+        when(waitlistEntryRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> {
+            WaitlistEntry entry = invocation.getArgument(0);
+            entry.setId(7L);
+            saved.set(entry);
+            return entry;
+        });
+
+        // When
+        WaitlistEntryResponse response = waitlistService.enqueue(request);
+
+        // Then
+        assertEquals(7L, response.id());
+        assertEquals(RoomType.SUITE, response.roomType());
+        assertEquals(WaitlistStatus.WAITING, response.status());
+        verify(waitlistIndex).add(any(WaitlistEntry.class));
+        // Las demás instancias la indexan al recibirla por el bus
+        verify(cacheInvalidationBus).broadcast(List.of(CacheInvalidator.waitlist(saved.get())));
+    }
+
+    @Test
+    @DisplayName("No debe duplicar la solicitud cuando el huésped reintenta la reserva")
+    void shouldNotDuplicateWaitingRequest() {
+        // Given
+        WaitlistEntry existing = entry();
+        when(roomRepository.findRoomTypeById(1L)).thenReturn(Optional.of(RoomType.SUITE));
+        when(waitlistEntryRepository.findWaitingDuplicate("WL-12345", RoomType.SUITE, 1L,
+                request.checkInDate(), request.checkOutDate())).thenReturn(Optional.of(existing));
+
+        // When
+        WaitlistEntryResponse response = waitlistService.enqueue(request);
+
+        // Then
+        assertEquals(3L, response.id());
+        verify(waitlistEntryRepository, never()).save(any(WaitlistEntry.class));
+        verifyNoInteractions(waitlistIndex);
+    }
+
+    @Test
+    @DisplayName("Debe crear la reserva original al promover una solicitud en espera")
+    void shouldCreateReservationWhenPromoting() {
+        // Given
+        WaitlistEntry existing = entry();
+        Guest guest = new Guest("Lucía", "Méndez", "WL-12345", "lucia@email.com", "+57 300 7654321");
+        Room room = new Room("301", RoomType.SUITE, 4, new BigDecimal("250.00"));
+        ReservationResponse reservation = ReservationResponse.fromEntity(new Reservation("RES-2026-WAIT01",
+                guest, room, request.checkInDate(), request.checkOutDate(), 2, Money.of(new BigDecimal("750.00"))));
+        when(waitlistEntryRepository.findById(3L)).thenReturn(Optional.of(existing));
+        when(reservationService.createReservation(request)).thenReturn(reservation);
+
+        // When
+        waitlistService.promote(3L);
+
+        // Then
+        assertEquals(WaitlistStatus.PROMOTED, existing.getStatus());
+        assertEquals("RES-2026-WAIT01", existing.getReservationNumber());
+        verify(waitlistIndex).remove(existing);
+    }
+
+    @Test
+    @DisplayName("Debe dejar la solicitud en espera cuando sigue sin haber disponibilidad")
+    void shouldKeepWaitingWhenStillUnavailable() {
+        // Given
+        WaitlistEntry existing = entry();
+        when(waitlistEntryRepository.findById(3L)).thenReturn(Optional.of(existing));
+        when(reservationService.createReservation(request)).thenThrow(
+                new RoomNotAvailableException("La habitación 301 no está disponible para las fechas solicitadas"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> waitlistService.promote(3L));
+        assertTrue(existing.isWaiting());
+        verify(waitlistEntryRepository, never()).save(any(WaitlistEntry.class));
+        verifyNoInteractions(waitlistIndex);
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el índice del hotel antes de buscar candidatas si pudo perder cambios")
+    void shouldRebuildStaleIndexBeforeFindingCandidates() {
+        // Given - El bus se reconectó y el índice del hotel 2 quedó desactualizado
+        WaitlistEntry waiting = entry();
+        LocalDate from = request.checkInDate();
+        LocalDate to = request.checkOutDate();
+        when(waitlistIndex.isStale(2L)).thenReturn(true);
+        when(waitlistIndex.generation()).thenReturn(4L);
+        when(waitlistEntryRepository.findByStatusOrderByPriorityDescCreatedAtAsc(WaitlistStatus.WAITING))
+                .thenReturn(List.of(waiting));
+        when(waitlistIndex.findOverlapping(2L, RoomType.SUITE, from, to)).thenReturn(List.of(3L));
+
+        // When
+        List<Long> candidates = waitlistService.findPromotionCandidates(2L, RoomType.SUITE, from, to);
+
+        // Then - Se lee la base de datos con la generación previa a la lectura
+        assertEquals(List.of(3L), candidates);
+        var inOrder = inOrder(waitlistIndex);
+        inOrder.verify(waitlistIndex).replaceAll(2L, List.of(waiting), 4L);
+        inOrder.verify(waitlistIndex).findOverlapping(2L, RoomType.SUITE, from, to);
+    }
+
+    private WaitlistEntry entry() {
+        WaitlistEntry entry = new WaitlistEntry(RoomType.SUITE, 1L, request.checkInDate(), request.checkOutDate(),
+                2, "Lucía", "Méndez", "WL-12345", "lucia@email.com", "+57 300 7654321");
+        entry.setId(3L);
+        return entry;
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el índice de cada hotel con sus propias solicitudes")
+    void shouldRefreshIndexPerHotel() {
+        // Given - Cada hotel devuelve sus solicitudes; el segundo falla
+        WaitlistEntry first = new WaitlistEntry(RoomType.SUITE, null, LocalDate.now().plusDays(3),
+                LocalDate.now().plusDays(5), 2, "Ana", "Ruiz", "DOC-1", "ana@email.com", "+34 600111222");
+        WaitlistEntry third = new WaitlistEntry(RoomType.STANDARD, null, LocalDate.now().plusDays(3),
+                LocalDate.now().plusDays(5), 2, "Luis", "Gil", "DOC-3", "luis@email.com", "+34 600333444");
+        when(hotelDirectory.hotelIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(waitlistEntryRepository.findByStatusOrderByPriorityDescCreatedAtAsc(WaitlistStatus.WAITING))
+                .thenAnswer(invocation -> switch ((int) TenantContext.currentHotelId()) {
+                    case 1 -> List.of(first);
+                    case 2 -> throw new IllegalStateException("Base de datos del hotel no disponible");
+                    default -> List.of(third);
+                });
+
+        // When
+        waitlistService.refreshIndex();
+
+        // Then - El hotel que falla conserva su índice y no impide reconstruir los demás
+        verify(waitlistIndex).replaceAll(1L, List.of(first), 0L);
+        verify(waitlistIndex).replaceAll(3L, List.of(third), 0L);
+        verify(waitlistIndex, never()).replaceAll(eq(2L), any(), anyLong());
+        verify(waitlistEntryRepository, times(3)).expireStale(any(LocalDate.class));
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+}
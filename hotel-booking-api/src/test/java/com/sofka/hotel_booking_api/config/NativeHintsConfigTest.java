@@ -0,0 +1,60 @@
+package com.sofka.hotel_booking_api.config;
+
+import com.sofka.hotel_booking_api.domain.model.MoneyConverter;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.StaySnapshot;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.SpanResponse;
+import com.sofka.hotel_booking_api.infrastructure.tenant.HotelTenantResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests unitarios de los metadatos de la imagen nativa.
+ */
+@DisplayName("NativeHintsConfig - Tests unitarios")
+class NativeHintsConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.HotelRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Debe registrar las clases que Hibernate instancia por nombre")
+    void shouldRegisterHibernateExtensions() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(HotelTenantResolver.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(MoneyConverter.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(StaySnapshot.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    @DisplayName("Debe registrar las entidades y los DTO validados con acceso a sus campos")
+    void shouldRegisterEntitiesAndValidatedRequests() {
+        NativeHintsConfig.ENTITIES.forEach(entity -> assertTrue(RuntimeHintsPredicates.reflection().onType(entity)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .test(hints), entity.getSimpleName()));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Reservation.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CreateReservationRequest.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+    }
+
+    @Test
+    @DisplayName("Debe registrar los records que Jackson serializa fuera de los controladores")
+    void shouldRegisterJacksonBindings() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(SpanResponse.class, "traceId").test(hints));
+    }
+}
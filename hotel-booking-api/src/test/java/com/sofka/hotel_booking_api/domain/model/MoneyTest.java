@@ -0,0 +1,95 @@
+package com.sofka.hotel_booking_api.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios del importe en centavos y su mapeo a columnas numéricas.
+ */
+@DisplayName("Money - Tests de aritmética en centavos")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Debe convertir decimales con cualquier escala de hasta dos decimales")
+    void shouldConvertFromBigDecimal() {
+        assertThat(Money.of(new BigDecimal("250.5")).minorUnits()).isEqualTo(25_050);
+        assertThat(Money.of(new BigDecimal("1E+2")).minorUnits()).isEqualTo(10_000);
+        assertThat(Money.of(new BigDecimal("19.900")).minorUnits()).isEqualTo(1_990);
+        assertThat(Money.ofMinor(1_990).toBigDecimal()).isEqualTo(new BigDecimal("19.90"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar fracciones de centavo salvo con un redondeo explícito")
+    void shouldRejectFractionsOfCentWithoutRounding() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("10.005")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("10.005");
+
+        assertThat(Money.of(new BigDecimal("10.005"), RoundingMode.HALF_UP)).isEqualTo(Money.ofMinor(1_001));
+        assertThat(Money.of(new BigDecimal("10.005"), RoundingMode.HALF_EVEN)).isEqualTo(Money.ofMinor(1_000));
+    }
+
+    @Test
+    @DisplayName("Debe sumar, restar y multiplicar sin perder centavos")
+    void shouldAddSubtractAndMultiply() {
+        Money night = Money.ofMinor(31_025);
+
+        assertThat(night.times(3).plus(Money.ofMinor(25_000)).minus(Money.ofMinor(75))).isEqualTo(Money.ofMinor(118_000));
+        assertThat(Money.ZERO.minus(night).isNegative()).isTrue();
+        assertThat(night.minus(night).isZero()).isTrue();
+        assertThat(night.compareTo(Money.ofMinor(31_024))).isPositive();
+    }
+
+    @Test
+    @DisplayName("Debe calcular porcentajes con el redondeo indicado")
+    void shouldRoundPercentages() {
+        Money total = Money.ofMinor(33_333);
+
+        assertThat(total.percent(50, RoundingMode.HALF_UP)).isEqualTo(Money.ofMinor(16_667));
+        assertThat(total.percent(50, RoundingMode.HALF_EVEN)).isEqualTo(Money.ofMinor(16_666));
+        assertThat(total.percent(50, RoundingMode.DOWN)).isEqualTo(Money.ofMinor(16_666));
+        assertThat(total.percent(100, RoundingMode.UNNECESSARY)).isEqualTo(total);
+        assertThat(Money.ofMinor(-33_333).percent(50, RoundingMode.HALF_UP)).isEqualTo(Money.ofMinor(-16_667));
+        assertThat(Money.ofMinor(-33_333).percent(50, RoundingMode.FLOOR)).isEqualTo(Money.ofMinor(-16_667));
+        assertThatThrownBy(() -> total.percent(50, RoundingMode.UNNECESSARY))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Debe repartir el importe en partes iguales con el redondeo indicado")
+    void shouldDivideWithRounding() {
+        Money revenue = Money.ofMinor(100_000);
+
+        assertThat(revenue.dividedBy(3, RoundingMode.HALF_UP)).isEqualTo(Money.ofMinor(33_333));
+        assertThat(Money.ofMinor(200).dividedBy(3, RoundingMode.HALF_UP)).isEqualTo(Money.ofMinor(67));
+        assertThat(revenue.dividedBy(4, RoundingMode.UNNECESSARY)).isEqualTo(Money.ofMinor(25_000));
+        assertThatThrownBy(() -> revenue.dividedBy(0, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción en lugar de desbordar")
+    void shouldFailOnOverflow() {
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE / 2).times(3))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("El conversor JPA debe guardar dos decimales y leer la columna sin perder precisión")
+    void shouldConvertToAndFromColumn() {
+        MoneyConverter converter = new MoneyConverter();
+
+        assertThat(converter.convertToDatabaseColumn(Money.ofMinor(75_000))).isEqualTo(new BigDecimal("750.00"));
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("750.00"))).isEqualTo(Money.ofMinor(75_000));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
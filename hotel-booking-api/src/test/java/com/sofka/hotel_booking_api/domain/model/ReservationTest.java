@@ -41,7 +41,7 @@ class ReservationTest {
                 checkIn,
                 checkOut,
                 2,
-                new BigDecimal("500.00")
+                Money.of(new BigDecimal("500.00"))
         );
     }
 
@@ -409,7 +409,7 @@ class ReservationTest {
                 LocalDate.now().plusDays(1),
                 LocalDate.now().plusDays(2),
                 1,
-                new BigDecimal("250.00")
+                Money.of(new BigDecimal("250.00"))
         );
 
         // Then
@@ -0,0 +1,89 @@
+package com.sofka.hotel_booking_api.domain.repository;
+
+import com.sofka.hotel_booking_api.domain.model.LeaderLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del repositorio de arrendamientos de liderazgo: toma, renovación y fencing token.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("LeaderLeaseRepository - Tests de persistencia con H2")
+class LeaderLeaseRepositoryTest {
+
+    private static final String LEASE = "scheduler";
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    @Autowired
+    private LeaderLeaseRepository leaseRepository;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository.saveAndFlush(new LeaderLease(LEASE, NOW.minusMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("Solo una instancia debe tomar un arrendamiento caducado y su token debe aumentar")
+    void shouldGrantExpiredLeaseToSingleOwner() {
+        // When
+        int first = leaseRepository.acquire(LEASE, "api-a", NOW, NOW.plusSeconds(15));
+        int second = leaseRepository.acquire(LEASE, "api-b", NOW, NOW.plusSeconds(15));
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(leaseRepository.findToken(LEASE, "api-a")).contains(1L);
+        assertThat(leaseRepository.findToken(LEASE, "api-b")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Al caducar, otra instancia debe tomarlo y el token anterior deja de ser válido")
+    void shouldFenceFormerLeaderAfterTakeover() {
+        // Given
+        leaseRepository.acquire(LEASE, "api-a", NOW, NOW.plusSeconds(15));
+
+        // When - api-a deja de renovar y api-b lo toma tras la caducidad
+        LocalDateTime later = NOW.plusSeconds(20);
+        int takeover = leaseRepository.acquire(LEASE, "api-b", later, later.plusSeconds(15));
+
+        // Then
+        assertThat(takeover).isEqualTo(1);
+        assertThat(leaseRepository.findToken(LEASE, "api-b")).contains(2L);
+        assertThat(leaseRepository.renew(LEASE, "api-a", 1L, later, later.plusSeconds(15))).isZero();
+        assertThat(leaseRepository.findFenced(LEASE, "api-a", 1L, later)).isEmpty();
+        LeaderLease fenced = leaseRepository.findFenced(LEASE, "api-b", 2L, later).orElseThrow();
+        assertThat(fenced.getName()).isEqualTo(LEASE);
+        assertThat(fenced.getOwner()).isEqualTo("api-b");
+        assertThat(fenced.getToken()).isEqualTo(2L);
+        assertThat(fenced.getExpiresAt()).isEqualTo(later.plusSeconds(15));
+        assertThat(fenced.getHeartbeatAt()).isEqualTo(later);
+    }
+
+    @Test
+    @DisplayName("Renovar debe mantener el token y una vez liberado otra instancia puede tomarlo de inmediato")
+    void shouldRenewWithSameTokenAndReleaseForImmediateTakeover() {
+        // Given
+        leaseRepository.acquire(LEASE, "api-a", NOW, NOW.plusSeconds(15));
+
+        // When
+        int renewed = leaseRepository.renew(LEASE, "api-a", 1L, NOW.plusSeconds(5), NOW.plusSeconds(20));
+        int stillHeld = leaseRepository.acquire(LEASE, "api-b", NOW.plusSeconds(16), NOW.plusSeconds(31));
+        leaseRepository.release(LEASE, "api-a", 1L, NOW.plusSeconds(17));
+        int afterRelease = leaseRepository.acquire(LEASE, "api-b", NOW.plusSeconds(18), NOW.plusSeconds(33));
+
+        // Then
+        assertThat(renewed).isEqualTo(1);
+        assertThat(stillHeld).isZero();
+        assertThat(afterRelease).isEqualTo(1);
+        assertThat(leaseRepository.findToken(LEASE, "api-b")).contains(2L);
+    }
+}
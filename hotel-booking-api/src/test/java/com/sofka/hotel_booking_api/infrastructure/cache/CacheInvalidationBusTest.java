@@ -0,0 +1,166 @@
+package com.sofka.hotel_booking_api.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del envío agrupado de invalidaciones. El hilo LISTEN no se arranca:
+ * el bus se marca en ejecución y los mensajes recibidos se entregan directamente.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheInvalidationBus - Tests unitarios")
+class CacheInvalidationBusTest {
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final String CHANNEL = "hotel_cache_invalidation";
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 2);
+    private static final long HOTEL = 1L;
+
+    @Mock
+    private CacheInvalidator invalidator;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    private SimpleMeterRegistry registry;
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        bus = bus(true);
+    }
+
+    @Test
+    @DisplayName("Debe invalidar en local de inmediato y publicar los cambios agrupados en un único NOTIFY")
+    void shouldApplyLocallyAndCoalesceIntoSingleNotify() {
+        // When
+        bus.dispatch(List.of(CacheInvalidator.room(HOTEL, 1L)));
+        bus.dispatch(List.of(CacheInvalidator.stay(HOTEL, DAY, DAY.plusDays(2)), CacheInvalidator.room(HOTEL, 1L)));
+        bus.flush();
+        bus.flush();
+
+        // Then
+        verify(invalidator).apply(List.of(CacheInvalidator.room(HOTEL, 1L)));
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).queryForObject(eq(NOTIFY_SQL), eq(String.class), eq(CHANNEL), payload.capture());
+        assertTrue(payload.getValue().endsWith("|R1,S2026-11-02_2026-11-04"));
+        assertEquals(1.0, registry.get("hotel.cache.invalidation.notifications").tag("direction", "sent")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Un cambio ya aplicado en local debe publicarse solo para las demás instancias")
+    void shouldBroadcastWithoutApplyingLocally() {
+        bus.broadcast(List.of("W1:7_SUITE_2026-11-02"));
+
+        assertEquals(List.of("W1:7_SUITE_2026-11-02"), bus.pendingTokens());
+        verifyNoInteractions(invalidator);
+    }
+
+    @Test
+    @DisplayName("El vaciado completo debe reemplazar a los demás tokens pendientes")
+    void shouldSupersedePendingTokensWithFullFlush() {
+        bus.dispatch(List.of(CacheInvalidator.room(HOTEL, 1L)));
+        bus.dispatch(List.of(CacheInvalidator.ALL));
+        bus.dispatch(List.of(CacheInvalidator.boards(HOTEL)));
+
+        assertEquals(List.of(CacheInvalidator.ALL), bus.pendingTokens());
+    }
+
+    @Test
+    @DisplayName("Un lote que no cabe en NOTIFY debe enviarse como vaciado completo")
+    void shouldFallBackToFullFlushWhenPayloadIsTooLarge() {
+        List<String> tokens = IntStream.range(0, 2000).mapToObj(id -> CacheInvalidator.room(HOTEL, (long) id)).toList();
+
+        String payload = bus.payload(tokens);
+
+        assertTrue(payload.endsWith("|*"));
+        assertTrue(bus.payload(List.of(CacheInvalidator.room(HOTEL, 1L))).endsWith("|R1:1"));
+    }
+
+    @Test
+    @DisplayName("Si el NOTIFY falla los tokens deben reintentarse en el siguiente envío")
+    void shouldRequeueTokensWhenNotifyFails() {
+        // Given
+        when(jdbcTemplate.queryForObject(eq(NOTIFY_SQL), eq(String.class), eq(CHANNEL), anyString()))
+                .thenThrow(new DataAccessResourceFailureException("conexión cerrada"));
+        bus.dispatch(List.of(CacheInvalidator.room(HOTEL, 1L)));
+
+        // When
+        bus.flush();
+
+        // Then
+        assertEquals(List.of(CacheInvalidator.room(HOTEL, 1L)), bus.pendingTokens());
+    }
+
+    @Test
+    @DisplayName("Debe aplicar los mensajes de otras instancias e ignorar los propios")
+    void shouldApplyRemoteMessagesAndIgnoreOwn() {
+        // Given
+        String own = bus.payload(List.of(CacheInvalidator.room(HOTEL, 1L)));
+
+        // When
+        bus.receive(own);
+        bus.receive("otra-instancia|R1:2,B1");
+
+        // Then
+        verify(invalidator).apply(List.of(CacheInvalidator.room(HOTEL, 2L), CacheInvalidator.boards(HOTEL)));
+        verifyNoMoreInteractions(invalidator);
+        assertEquals(1.0, registry.get("hotel.cache.invalidation.notifications").tag("direction", "received")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("Sin NOTIFY solo debe invalidar las cachés locales")
+    void shouldOnlyInvalidateLocallyWhenNotifyIsDisabled() {
+        bus = bus(false);
+
+        bus.dispatch(List.of(CacheInvalidator.room(HOTEL, 1L)));
+        bus.flush();
+
+        verify(invalidator).apply(List.of(CacheInvalidator.room(HOTEL, 1L)));
+        assertEquals(Collections.emptyList(), bus.pendingTokens());
+        verifyNoInteractions(jdbcTemplate, dataSource);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar canales que no sean identificadores simples")
+    void shouldRejectUnsafeChannelNames() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheInvalidationBus(invalidator, jdbcTemplate,
+                dataSource, registry, true, "canal; DROP TABLE rooms", Duration.ofSeconds(5)));
+    }
+
+    /**
+     * Crea el bus en ejecución sin arrancar el hilo de escucha.
+     */
+    private CacheInvalidationBus bus(boolean notifyEnabled) {
+        CacheInvalidationBus created = new CacheInvalidationBus(invalidator, jdbcTemplate, dataSource, registry,
+                notifyEnabled, CHANNEL, Duration.ofSeconds(5));
+        created.markRunning();
+        return created;
+    }
+}
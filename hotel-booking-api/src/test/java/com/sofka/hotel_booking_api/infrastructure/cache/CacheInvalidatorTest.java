@@ -0,0 +1,209 @@
+package com.sofka.hotel_booking_api.infrastructure.cache;
+
+import com.sofka.hotel_booking_api.application.service.WaitlistIndex;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios de la aplicación de tokens de invalidación sobre las cachés locales.
+ */
+@DisplayName("CacheInvalidator - Tests unitarios")
+class CacheInvalidatorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 2);
+    private static final long HOTEL = 1L;
+    private static final long OTHER_HOTEL = 2L;
+
+    private Cache rooms;
+    private Cache availableRooms;
+    private Cache todayReservations;
+    private Cache rates;
+    private Cache restrictions;
+    private WaitlistIndex waitlistIndex;
+    private CacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+                CacheNames.ROOMS, CacheNames.AVAILABLE_ROOMS, CacheNames.TODAY_RESERVATIONS, CacheNames.RATES,
+                CacheNames.RESTRICTIONS);
+        rooms = cacheManager.getCache(CacheNames.ROOMS);
+        availableRooms = cacheManager.getCache(CacheNames.AVAILABLE_ROOMS);
+        todayReservations = cacheManager.getCache(CacheNames.TODAY_RESERVATIONS);
+        rates = cacheManager.getCache(CacheNames.RATES);
+        restrictions = cacheManager.getCache(CacheNames.RESTRICTIONS);
+        waitlistIndex = new WaitlistIndex();
+        invalidator = new CacheInvalidator(cacheManager, waitlistIndex);
+
+        rooms.put(room(1L), "habitación 1");
+        rooms.put(room(2L), "habitación 2");
+        rooms.put(room(SimpleKey.EMPTY), "todas");
+        rooms.put(new TenantKey(OTHER_HOTEL, SimpleKey.EMPTY), "todas las del otro hotel");
+        availableRooms.put(overlapping(), "solapada");
+        availableRooms.put(later(), "posterior");
+        availableRooms.put(new AvailabilityKey(OTHER_HOTEL, DAY, DAY.plusDays(3), null), "otro hotel");
+        todayReservations.put(board(DAY), "tablero del día");
+        todayReservations.put(board(DAY.plusDays(10)), "tablero posterior");
+        todayReservations.put(new TenantKey(OTHER_HOTEL, DAY), "tablero del otro hotel");
+        rates.put(new TenantKey(HOTEL, RoomType.SUITE), "tarifas suite");
+        rates.put(new TenantKey(HOTEL, RoomType.STANDARD), "tarifas estándar");
+        rates.put(new TenantKey(OTHER_HOTEL, RoomType.SUITE), "tarifas suite del otro hotel");
+        restrictions.put(new TenantKey(HOTEL, RoomType.SUITE), "restricciones suite");
+        restrictions.put(new TenantKey(HOTEL, RoomType.STANDARD), "restricciones estándar");
+    }
+
+    @Test
+    @DisplayName("Un cambio de habitación debe invalidar su entrada, el listado y las consultas derivadas")
+    void shouldEvictRoomAndDerivedCaches() {
+        invalidator.apply(List.of(CacheInvalidator.room(HOTEL, 1L)));
+
+        assertNull(rooms.get(room(1L)));
+        assertNull(rooms.get(room(SimpleKey.EMPTY)));
+        assertNotNull(rooms.get(room(2L)));
+        assertNull(availableRooms.get(later()));
+        assertNull(todayReservations.get(board(DAY.plusDays(10))));
+    }
+
+    @Test
+    @DisplayName("Un cambio en un hotel no debe invalidar las entradas de otro")
+    void shouldKeepOtherHotelEntries() {
+        invalidator.apply(List.of(CacheInvalidator.room(HOTEL, 1L),
+                CacheInvalidator.stay(HOTEL, DAY, DAY.plusDays(1)), CacheInvalidator.boards(HOTEL)));
+
+        assertNotNull(rooms.get(new TenantKey(OTHER_HOTEL, SimpleKey.EMPTY)));
+        assertNotNull(availableRooms.get(new AvailabilityKey(OTHER_HOTEL, DAY, DAY.plusDays(3), null)));
+        assertNotNull(todayReservations.get(new TenantKey(OTHER_HOTEL, DAY)));
+    }
+
+    @Test
+    @DisplayName("Un cambio de reservas solo debe invalidar las consultas y tableros de sus fechas")
+    void shouldEvictOnlyOverlappingStayEntries() {
+        invalidator.apply(List.of(CacheInvalidator.stay(HOTEL, DAY.plusDays(2), DAY.plusDays(4))));
+
+        assertNull(availableRooms.get(overlapping()));
+        assertNotNull(availableRooms.get(later()));
+        assertNotNull(todayReservations.get(board(DAY)));
+        assertNotNull(todayReservations.get(board(DAY.plusDays(10))));
+        assertNotNull(rooms.get(room(1L)));
+    }
+
+    @Test
+    @DisplayName("El tablero de la fecha de salida debe invalidarse")
+    void shouldEvictBoardOnCheckOutDate() {
+        invalidator.apply(List.of(CacheInvalidator.stay(HOTEL, DAY.minusDays(2), DAY)));
+
+        assertNull(todayReservations.get(board(DAY)));
+        assertNotNull(availableRooms.get(overlapping()));
+    }
+
+    @Test
+    @DisplayName("Un token desconocido o sin hotel debe vaciar todas las cachés")
+    void shouldClearEverythingOnUnknownToken() {
+        invalidator.apply(List.of("R42"));
+
+        assertNull(rooms.get(room(2L)));
+        assertNull(availableRooms.get(later()));
+        assertNull(todayReservations.get(new TenantKey(OTHER_HOTEL, DAY)));
+    }
+
+    @Test
+    @DisplayName("El token de huéspedes debe vaciar solo los tableros")
+    void shouldClearBoardsOnGuestChange() {
+        invalidator.apply(List.of(CacheInvalidator.boards(HOTEL)));
+
+        assertNull(todayReservations.get(board(DAY)));
+        assertNotNull(rooms.get(room(1L)));
+        assertNotNull(availableRooms.get(overlapping()));
+    }
+
+    @Test
+    @DisplayName("Un cambio de tarifas solo debe invalidar las tarifas de ese tipo y hotel")
+    void shouldEvictOnlyChangedRates() {
+        invalidator.apply(List.of(CacheInvalidator.rates(HOTEL, RoomType.SUITE)));
+
+        assertNull(rates.get(new TenantKey(HOTEL, RoomType.SUITE)));
+        assertNotNull(rates.get(new TenantKey(HOTEL, RoomType.STANDARD)));
+        assertNotNull(rates.get(new TenantKey(OTHER_HOTEL, RoomType.SUITE)));
+        assertNotNull(availableRooms.get(overlapping()));
+    }
+
+    @Test
+    @DisplayName("Un cambio de restricciones debe invalidar las del tipo y la disponibilidad que lo incluye")
+    void shouldEvictChangedRestrictionsAndAvailability() {
+        availableRooms.put(new AvailabilityKey(HOTEL, DAY, DAY.plusDays(3), RoomType.STANDARD), "solo estándar");
+
+        invalidator.apply(List.of(CacheInvalidator.restrictions(HOTEL, RoomType.SUITE)));
+
+        assertNull(restrictions.get(new TenantKey(HOTEL, RoomType.SUITE)));
+        assertNotNull(restrictions.get(new TenantKey(HOTEL, RoomType.STANDARD)));
+        // Todos los tipos y la suite, en cualquier fecha; no la consulta de otro tipo ni la de otro hotel
+        assertNull(availableRooms.get(overlapping()));
+        assertNull(availableRooms.get(later()));
+        assertNotNull(availableRooms.get(new AvailabilityKey(HOTEL, DAY, DAY.plusDays(3), RoomType.STANDARD)));
+        assertNotNull(availableRooms.get(new AvailabilityKey(OTHER_HOTEL, DAY, DAY.plusDays(3), null)));
+        assertNotNull(rates.get(new TenantKey(HOTEL, RoomType.SUITE)));
+    }
+
+    @Test
+    @DisplayName("Los cambios de la lista de espera de otra instancia deben aplicarse al índice local")
+    void shouldApplyWaitlistChangesToIndex() {
+        // Given - Una solicitud en espera creada en otra instancia
+        WaitlistEntry entry = new WaitlistEntry(RoomType.SUITE, null, DAY, DAY.plusDays(2), 1,
+                "Ana", "Ruiz", "DOC-1", "ana@email.com", "+34 600111222");
+        entry.setId(7L);
+        entry.setPriority(-2);
+        ReflectionTestUtils.setField(entry, "hotelId", HOTEL);
+
+        // When
+        invalidator.apply(List.of(CacheInvalidator.waitlist(entry)));
+
+        // Then - Es candidata y ninguna caché se vacía
+        assertEquals(List.of(7L), waitlistIndex.findOverlapping(HOTEL, RoomType.SUITE, DAY, DAY.plusDays(1)));
+        assertNotNull(rooms.get(room(2L)));
+
+        // When - La otra instancia la cancela
+        entry.cancel();
+        invalidator.apply(List.of(CacheInvalidator.waitlist(entry)));
+
+        // Then
+        assertTrue(waitlistIndex.findOverlapping(HOTEL, RoomType.SUITE, DAY, DAY.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Vaciar todas las cachés debe marcar el índice de la lista de espera para reconstruirlo")
+    void shouldMarkWaitlistIndexStaleOnClearAll() {
+        waitlistIndex.replaceAll(HOTEL, List.of(), waitlistIndex.generation());
+
+        invalidator.apply(List.of(CacheInvalidator.ALL));
+
+        assertTrue(waitlistIndex.isStale(HOTEL));
+    }
+
+    private static TenantKey room(Object key) {
+        return new TenantKey(HOTEL, key);
+    }
+
+    private static TenantKey board(LocalDate date) {
+        return new TenantKey(HOTEL, date);
+    }
+
+    private static AvailabilityKey overlapping() {
+        return new AvailabilityKey(HOTEL, DAY, DAY.plusDays(3), null);
+    }
+
+    private static AvailabilityKey later() {
+        return new AvailabilityKey(HOTEL, DAY.plusDays(10), DAY.plusDays(12), RoomType.SUITE);
+    }
+}
@@ -0,0 +1,204 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.GuestRepository;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGroupReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.sofka.hotel_booking_api.infrastructure.sql.SqlStatementMatchers.statementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E para reservas de grupo.
+ * Usa H2 en memoria para probar el batch completo desde el controlador hasta la base de datos.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ReservationController - Tests de Reservas de Grupo E2E")
+class GroupReservationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Room room101;
+    private Room room102;
+    private CreateGuestRequest tourLeader;
+    private CreateGuestRequest tourMember;
+
+    @BeforeEach
+    void setUp() {
+        room101 = roomRepository.save(new Room("101", RoomType.STANDARD, 2, new BigDecimal("100.00")));
+        room102 = roomRepository.save(new Room("102", RoomType.SUPERIOR, 3, new BigDecimal("150.00")));
+
+        tourLeader = new CreateGuestRequest("Ana", "López", "GRP-0001", "ana@tour.com", "+34 600000001");
+        tourMember = new CreateGuestRequest("Luis", "Martín", "GRP-0002", "luis@tour.com", "+34 600000002");
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations/group - Debe crear todas las reservas del grupo")
+    void shouldCreateAllGroupReservations() throws Exception {
+        // Given - Tres líneas en dos habitaciones, con un huésped repetido
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        CreateGroupReservationRequest request = new CreateGroupReservationRequest(List.of(
+                line(tourLeader, room101, checkIn, checkIn.plusDays(2)),
+                line(tourMember, room102, checkIn, checkIn.plusDays(2)),
+                line(tourLeader, room101, checkIn.plusDays(2), checkIn.plusDays(4))
+        ));
+
+        // When/Then
+        mockMvc.perform(post("/api/reservations/group")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalReservations").value(3))
+                .andExpect(jsonPath("$.totalAmount").value(700.00))
+                .andExpect(jsonPath("$.reservations[0].room.roomNumber").value("101"))
+                .andExpect(jsonPath("$.reservations[1].room.roomNumber").value("102"))
+                .andExpect(jsonPath("$.reservations[1].guest.documentNumber").value("GRP-0002"))
+                .andExpect(jsonPath("$.reservations[2].checkInDate").value(checkIn.plusDays(2).toString()))
+                .andExpect(jsonPath("$.reservations[2].status").value("PENDING"));
+
+        assertThat(reservationRepository.count()).isEqualTo(3);
+        assertThat(guestRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations/group - Debe contar las sentencias de Hibernate y los lotes JDBC")
+    void shouldPinStatementCountIncludingJdbcBatches() throws Exception {
+        // Given - Dos habitaciones de distinto tipo y dos huéspedes nuevos
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        CreateGroupReservationRequest request = new CreateGroupReservationRequest(List.of(
+                line(tourLeader, room101, checkIn, checkIn.plusDays(2)),
+                line(tourMember, room102, checkIn, checkIn.plusDays(2))
+        ));
+
+        // When/Then - Bloqueo y carga de habitaciones (2), restricciones y tarifas por línea (4),
+        // solapes (1), inventario por tipo: noches, habitaciones, estadías, lote de alta y lote de
+        // consumo (2 x 5), huéspedes: búsqueda, lote y relectura (3), lote de reservas y relectura (2)
+        mockMvc.perform(post("/api/reservations/group")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalReservations").value(2))
+                .andExpect(statementCount(22));
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations/group - No debe crear ninguna reserva si una habitación está ocupada")
+    void shouldRejectWholeGroupWhenOneRoomIsNotAvailable() throws Exception {
+        // Given - La habitación 102 ya está reservada en esas fechas
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        Guest existingGuest = guestRepository.save(
+                new Guest("Eva", "Ruiz", "GRP-0003", "eva@email.com", "+34 600000003"));
+        reservationRepository.save(new Reservation(
+                "RES-GROUP-001", existingGuest, room102, checkIn.plusDays(1), checkIn.plusDays(3),
+                2, Money.of(new BigDecimal("300.00"))));
+
+        CreateGroupReservationRequest request = new CreateGroupReservationRequest(List.of(
+                line(tourLeader, room101, checkIn, checkIn.plusDays(2)),
+                line(tourMember, room102, checkIn, checkIn.plusDays(2))
+        ));
+
+        // When/Then
+        mockMvc.perform(post("/api/reservations/group")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("102 no está disponible")));
+
+        assertThat(reservationRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations/group - Debe rechazar líneas del grupo que se solapan entre sí")
+    void shouldRejectOverlappingLinesWithinGroup() throws Exception {
+        // Given - Dos líneas para la misma habitación con fechas solapadas
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        CreateGroupReservationRequest request = new CreateGroupReservationRequest(List.of(
+                line(tourLeader, room101, checkIn, checkIn.plusDays(3)),
+                line(tourMember, room101, checkIn.plusDays(2), checkIn.plusDays(4))
+        ));
+
+        // When/Then
+        mockMvc.perform(post("/api/reservations/group")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(reservationRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations/group - Debe retornar 404 si alguna habitación no existe")
+    void shouldReturn404WhenAnyRoomDoesNotExist() throws Exception {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        CreateReservationRequest missingRoom = new CreateReservationRequest(
+                tourMember, 99999L, checkIn, checkIn.plusDays(2), 1);
+        CreateGroupReservationRequest request = new CreateGroupReservationRequest(List.of(
+                line(tourLeader, room101, checkIn, checkIn.plusDays(2)),
+                missingRoom
+        ));
+
+        // When/Then
+        mockMvc.perform(post("/api/reservations/group")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+
+        assertThat(reservationRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations/group - Debe retornar 400 cuando no hay líneas")
+    void shouldReturn400WhenGroupIsEmpty() throws Exception {
+        mockMvc.perform(post("/api/reservations/group")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateGroupReservationRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private CreateReservationRequest line(CreateGuestRequest guest, Room room,
+                                          LocalDate checkIn, LocalDate checkOut) {
+        return new CreateReservationRequest(guest, room.getId(), checkIn, checkOut, 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E del endpoint de grabación JFR bajo demanda.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("ProfilingController - Tests de Grabación JFR E2E")
+class ProfilingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Debe iniciar, rechazar una segunda grabación y detener volcando el fichero")
+    void shouldStartRejectSecondAndStopRecording() throws Exception {
+        mockMvc.perform(post("/api/admin/profiling/recording").param("duration", "PT1M"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.file", endsWith(".jfr")));
+
+        mockMvc.perform(post("/api/admin/profiling/recording").param("duration", "PT1M"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/admin/profiling/recording"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+
+        mockMvc.perform(post("/api/admin/profiling/recording/stop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fileSizeBytes", greaterThan(0)));
+
+        mockMvc.perform(get("/api/admin/profiling/recording"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Debe retornar 400 al detener sin grabación o con una duración inválida")
+    void shouldRejectStopWithoutRecordingAndInvalidDuration() throws Exception {
+        mockMvc.perform(post("/api/admin/profiling/recording/stop"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/admin/profiling/recording").param("duration", "PT2H"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,156 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.PriceQuoteRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.SetRoomRateRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E del calendario de tarifas y las cotizaciones.
+ * RN-008: Cálculo de Tarifas
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("RateController - Tests de Tarifas E2E")
+class RateControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private Room suite;
+    private Room standard;
+    private LocalDate checkIn;
+
+    @BeforeEach
+    void setUp() {
+        suite = roomRepository.save(new Room("601", RoomType.SUITE, 4, new BigDecimal("200.00")));
+        standard = roomRepository.save(new Room("602", RoomType.STANDARD, 2, new BigDecimal("80.00")));
+        checkIn = LocalDate.now().plusDays(20);
+    }
+
+    @Test
+    @DisplayName("PUT /api/rates/{roomType} - Debe fijar la tarifa de cada noche del rango")
+    void shouldSetRates() throws Exception {
+        setSuiteRate(checkIn.plusDays(1), checkIn.plusDays(3), "350.00")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nights.length()").value(2))
+                .andExpect(jsonPath("$.nights[0].amount").value(350.00));
+
+        mockMvc.perform(get("/api/rates/SUITE")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.plusDays(4).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nights.length()").value(4))
+                .andExpect(jsonPath("$.nights[0].amount").value(nullValue()))
+                .andExpect(jsonPath("$.nights[1].amount").value(350.00))
+                .andExpect(jsonPath("$.nights[2].amount").value(350.00))
+                .andExpect(jsonPath("$.nights[3].amount").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("POST /api/rates/quote - Debe cotizar varias estadías con las tarifas y el precio base")
+    void shouldQuoteSeveralStays() throws Exception {
+        setSuiteRate(checkIn.plusDays(1), checkIn.plusDays(3), "350.00").andExpect(status().isOk());
+
+        PriceQuoteRequest request = new PriceQuoteRequest(List.of(
+                new PriceQuoteRequest.Stay(suite.getId(), checkIn, checkIn.plusDays(4)),
+                new PriceQuoteRequest.Stay(standard.getId(), checkIn, checkIn.plusDays(2))));
+
+        mockMvc.perform(post("/api/rates/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                // 200 + 350 + 350 + 200 y 2 x 80
+                .andExpect(jsonPath("$.stays[0].totalAmount").value(1100.00))
+                .andExpect(jsonPath("$.stays[0].numberOfNights").value(4))
+                .andExpect(jsonPath("$.stays[1].totalAmount").value(160.00))
+                .andExpect(jsonPath("$.totalAmount").value(1260.00));
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations - La reserva debe cobrar las noches con el calendario de tarifas")
+    void shouldPriceReservationWithRates() throws Exception {
+        setSuiteRate(checkIn, checkIn.plusDays(1), "275.50").andExpect(status().isOk());
+
+        CreateReservationRequest request = new CreateReservationRequest(
+                new CreateGuestRequest("Ana", "Gómez", "RATE-0001", "ana@email.com", "+57 300 1112233"),
+                suite.getId(), checkIn, checkIn.plusDays(3), 2);
+
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalAmount").value(675.50));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/rates/{roomType} - Las noches deben volver al precio de la habitación")
+    void shouldClearRates() throws Exception {
+        setSuiteRate(checkIn, checkIn.plusDays(2), "350.00").andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/rates/SUITE")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.plusDays(2).toString()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/rates/SUITE")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.plusDays(2).toString()))
+                .andExpect(jsonPath("$.nights[0].amount").value(nullValue()))
+                .andExpect(jsonPath("$.nights[1].amount").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar rangos en el pasado y cotizaciones de habitaciones inexistentes")
+    void shouldRejectInvalidRequests() throws Exception {
+        setSuiteRate(LocalDate.now().minusDays(1), checkIn, "350.00")
+                .andExpect(status().isBadRequest());
+
+        PriceQuoteRequest request = new PriceQuoteRequest(List.of(
+                new PriceQuoteRequest.Stay(999_999L, checkIn, checkIn.plusDays(1))));
+        mockMvc.perform(post("/api/rates/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions setSuiteRate(LocalDate from, LocalDate to, String amount) throws Exception {
+        return mockMvc.perform(put("/api/rates/SUITE")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new SetRoomRateRequest(from, to, new BigDecimal(amount)))));
+    }
+}
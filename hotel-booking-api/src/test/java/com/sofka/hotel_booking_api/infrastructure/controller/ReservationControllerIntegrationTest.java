@@ -3,6 +3,7 @@ package com.sofka.hotel_booking_api.infrastructure.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sofka.hotel_booking_api.domain.model.Room;
 import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
 import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
@@ -15,11 +16,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,6 +49,9 @@ class ReservationControllerIntegrationTest {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private ReservationRepository reservationRepository;
+
     private Room testRoom;
     private CreateGuestRequest validGuestRequest;
     private CreateReservationRequest validReservationRequest;
@@ -207,4 +213,54 @@ class ReservationControllerIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", containsString("no está disponible")));
     }
+
+    @Test
+    @DisplayName("POST /api/reservations - Debe devolver la reserva original al reintentar con la misma Idempotency-Key")
+    void shouldReplayReservationWhenIdempotencyKeyIsRepeated() throws Exception {
+        // Given - Una reserva creada con clave de idempotencia
+        MvcResult first = mockMvc.perform(post("/api/reservations")
+                        .header("Idempotency-Key", "retry-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validReservationRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String reservationNumber = objectMapper.readTree(first.getResponse().getContentAsString())
+                .get("reservationNumber").asText();
+
+        // When/Then - El reintento devuelve la misma reserva sin crear otra
+        mockMvc.perform(post("/api/reservations")
+                        .header("Idempotency-Key", "retry-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validReservationRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.reservationNumber").value(reservationNumber));
+
+        assertThat(reservationRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations - Debe retornar 422 cuando la Idempotency-Key se reutiliza con otra petición")
+    void shouldReturn422WhenIdempotencyKeyIsReusedWithDifferentRequest() throws Exception {
+        // Given - Una reserva creada con clave de idempotencia
+        mockMvc.perform(post("/api/reservations")
+                        .header("Idempotency-Key", "retry-456")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validReservationRequest)))
+                .andExpect(status().isCreated());
+
+        CreateReservationRequest otherRequest = new CreateReservationRequest(
+                validGuestRequest,
+                testRoom.getId(),
+                LocalDate.now().plusDays(5),
+                LocalDate.now().plusDays(7),
+                2
+        );
+
+        // When/Then - La misma clave con otro cuerpo es rechazada
+        mockMvc.perform(post("/api/reservations")
+                        .header("Idempotency-Key", "retry-456")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(otherRequest)))
+                .andExpect(status().isUnprocessableEntity());
+    }
 }
@@ -2,6 +2,7 @@ package com.sofka.hotel_booking_api.infrastructure.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
 import com.sofka.hotel_booking_api.domain.model.Reservation;
 import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
 import com.sofka.hotel_booking_api.domain.model.Room;
@@ -84,7 +85,7 @@ class ReservationPaymentIntegrationTest {
                 LocalDate.now().plusDays(1),
                 LocalDate.now().plusDays(3),
                 2,
-                new BigDecimal("400.00")
+                Money.of(new BigDecimal("400.00"))
         );
         pendingReservation = reservationRepository.save(pendingReservation);
     }
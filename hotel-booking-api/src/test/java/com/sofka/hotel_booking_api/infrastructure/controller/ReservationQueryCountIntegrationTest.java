@@ -0,0 +1,98 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.GuestRepository;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.sofka.hotel_booking_api.infrastructure.sql.SqlStatementMatchers.statementCount;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración que fijan el número de sentencias SQL de los listados de reservas,
+ * para detectar regresiones N+1 (una consulta por reserva para cargar huésped o habitación).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ReservationController - Presupuesto de sentencias SQL")
+class ReservationQueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= 3; i++) {
+            Room room = roomRepository.save(new Room("SQL-" + i, RoomType.STANDARD, 2, new BigDecimal("100.00")));
+            Guest guest = guestRepository.save(new Guest("Marta", "Quintero" + i, "SQL-000" + i,
+                    "marta" + i + "@email.com", "+57 300 000000" + i));
+
+            Reservation arrival = new Reservation("RES-SQL-A" + i, guest, room,
+                    today, today.plusDays(2), 1, Money.of(new BigDecimal("200.00")));
+            arrival.confirmPayment();
+            reservationRepository.save(arrival);
+
+            Reservation departure = new Reservation("RES-SQL-D" + i, guest, room,
+                    today.minusDays(2), today, 1, Money.of(new BigDecimal("200.00")));
+            departure.confirmPayment();
+            departure.checkIn();
+            reservationRepository.save(departure);
+        }
+        // Vaciar el contexto de persistencia para que huéspedes y habitaciones se lean de la BD
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("GET /api/reservations/search - Debe cargar reservas, huéspedes y habitaciones en una consulta")
+    void shouldSearchByGuestNameWithSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/reservations/search").param("guestName", "quintero"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(6)))
+                .andExpect(header().string("Server-Timing", startsWith("db;dur=")))
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/reservations/today - Debe usar una consulta para llegadas y otra para salidas")
+    void shouldListTodayReservationsWithTwoStatements() throws Exception {
+        mockMvc.perform(get("/api/reservations/today"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+    }
+}
@@ -0,0 +1,160 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.SetRoomRestrictionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E de las restricciones de venta y su efecto en reservas y disponibilidad.
+ * RN-004: Validaciones de Reserva
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("RestrictionController - Tests de Restricciones E2E")
+class RestrictionControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private Room suite;
+    private LocalDate checkIn;
+
+    @BeforeEach
+    void setUp() {
+        suite = roomRepository.save(new Room("701", RoomType.SUITE, 4, new BigDecimal("200.00")));
+        roomRepository.save(new Room("702", RoomType.STANDARD, 2, new BigDecimal("80.00")));
+        checkIn = LocalDate.now().plusDays(20);
+    }
+
+    @Test
+    @DisplayName("PUT /api/restrictions/{roomType} - Debe fijar las restricciones de cada noche del rango")
+    void shouldSetRestrictions() throws Exception {
+        setSuiteRestrictions(checkIn.plusDays(1), checkIn.plusDays(3), 2, null, true, false)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nights.length()").value(2))
+                .andExpect(jsonPath("$.nights[0].minStay").value(2));
+
+        mockMvc.perform(get("/api/restrictions/SUITE")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.plusDays(4).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nights.length()").value(4))
+                .andExpect(jsonPath("$.nights[0].minStay").value(nullValue()))
+                .andExpect(jsonPath("$.nights[0].closedToArrival").value(false))
+                .andExpect(jsonPath("$.nights[1].minStay").value(2))
+                .andExpect(jsonPath("$.nights[1].maxStay").value(nullValue()))
+                .andExpect(jsonPath("$.nights[2].closedToArrival").value(true))
+                .andExpect(jsonPath("$.nights[3].closedToArrival").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations - Debe rechazar estadías que incumplen las restricciones del tipo")
+    void shouldRejectReservationViolatingRestrictions() throws Exception {
+        setSuiteRestrictions(checkIn, checkIn.plusDays(1), null, null, true, false).andExpect(status().isOk());
+        setSuiteRestrictions(checkIn.plusDays(5), checkIn.plusDays(6), 3, null, false, false).andExpect(status().isOk());
+
+        createSuiteReservation("REST-0001", checkIn, checkIn.plusDays(2))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("No se admiten llegadas el " + checkIn));
+        createSuiteReservation("REST-0002", checkIn.plusDays(4), checkIn.plusDays(6))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "La estadía mínima para el " + checkIn.plusDays(5) + " es de 3 noches"));
+        createSuiteReservation("REST-0003", checkIn.plusDays(4), checkIn.plusDays(7))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("GET /api/rooms/available - Debe descartar los tipos cerrados para la estadía")
+    void shouldFilterRestrictedTypesFromAvailability() throws Exception {
+        setSuiteRestrictions(checkIn.plusDays(2), checkIn.plusDays(3), null, null, false, true)
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/rooms/available")
+                        .param("checkIn", checkIn.toString())
+                        .param("checkOut", checkIn.plusDays(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].roomNumber", not(hasItem("701"))))
+                .andExpect(jsonPath("$[*].roomNumber", hasItem("702")));
+
+        mockMvc.perform(get("/api/rooms/available")
+                        .param("checkIn", checkIn.toString())
+                        .param("checkOut", checkIn.plusDays(3).toString())
+                        .param("roomType", "SUITE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].roomNumber", hasItem("701")));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/restrictions/{roomType} - Debe quitar las restricciones y rechazar rangos inválidos")
+    void shouldClearRestrictionsAndRejectInvalidRequests() throws Exception {
+        setSuiteRestrictions(checkIn, checkIn.plusDays(2), null, null, true, false).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/restrictions/SUITE")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.plusDays(2).toString()))
+                .andExpect(status().isNoContent());
+        createSuiteReservation("REST-0004", checkIn, checkIn.plusDays(1))
+                .andExpect(status().isCreated());
+
+        setSuiteRestrictions(checkIn, checkIn.plusDays(2), 5, 3, false, false)
+                .andExpect(status().isBadRequest());
+        setSuiteRestrictions(checkIn, checkIn.plusDays(2), 31, null, false, false)
+                .andExpect(status().isBadRequest());
+        setSuiteRestrictions(LocalDate.now().minusDays(1), checkIn, 2, null, false, false)
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions setSuiteRestrictions(LocalDate from, LocalDate to, Integer minStay, Integer maxStay,
+                                               boolean closedToArrival, boolean closedToDeparture) throws Exception {
+        return mockMvc.perform(put("/api/restrictions/SUITE")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new SetRoomRestrictionRequest(
+                        from, to, minStay, maxStay, closedToArrival, closedToDeparture))));
+    }
+
+    private ResultActions createSuiteReservation(String document, LocalDate from, LocalDate to) throws Exception {
+        CreateReservationRequest request = new CreateReservationRequest(
+                new CreateGuestRequest("Ana", "Gómez", document, document.toLowerCase() + "@email.com",
+                        "+57 300 1112233"),
+                suite.getId(), from, to, 2);
+        return mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.GuestRepository;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E del optimizador de asignación de habitaciones.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("RoomAssignmentController - Tests de Asignación E2E")
+class RoomAssignmentIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Reservation gapFiller;
+
+    @BeforeEach
+    void setUp() {
+        // La habitación 601 tiene un hueco de 2 noches que encaja con la reserva de la 602
+        Room room601 = roomRepository.save(new Room("601", RoomType.STANDARD, 2, new BigDecimal("100.00")));
+        Room room602 = roomRepository.save(new Room("602", RoomType.STANDARD, 2, new BigDecimal("100.00")));
+        Guest guest = guestRepository.save(
+                new Guest("Rosa", "Vidal", "ASG-0001", "rosa@email.com", "+34 600222333"));
+        LocalDate base = LocalDate.now().plusDays(10);
+
+        reservationRepository.save(new Reservation("RES-ASG-001", guest, room601,
+                base, base.plusDays(2), 1, Money.of(new BigDecimal("200.00"))));
+        reservationRepository.save(new Reservation("RES-ASG-003", guest, room601,
+                base.plusDays(4), base.plusDays(7), 1, Money.of(new BigDecimal("300.00"))));
+        gapFiller = reservationRepository.save(new Reservation("RES-ASG-002", guest, room602,
+                base.plusDays(2), base.plusDays(4), 1, Money.of(new BigDecimal("200.00"))));
+    }
+
+    @Test
+    @DisplayName("GET /api/room-assignments/plan - Debe proponer cambios sin aplicarlos")
+    void shouldProposeChangesWithoutApplying() throws Exception {
+        mockMvc.perform(get("/api/room-assignments/plan").param("horizonDays", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(false))
+                .andExpect(jsonPath("$.totalChanges").value(1))
+                .andExpect(jsonPath("$.roomTypes[0].roomType").value("STANDARD"))
+                .andExpect(jsonPath("$.roomTypes[0].currentOrphanNights").value(2))
+                .andExpect(jsonPath("$.roomTypes[0].proposedOrphanNights").value(0))
+                .andExpect(jsonPath("$.roomTypes[0].changes[0].reservationNumber").value("RES-ASG-002"))
+                .andExpect(jsonPath("$.roomTypes[0].changes[0].fromRoomNumber").value("602"))
+                .andExpect(jsonPath("$.roomTypes[0].changes[0].toRoomNumber").value("601"));
+
+        assertThat(gapFiller.getRoom().getRoomNumber()).isEqualTo("602");
+    }
+
+    @Test
+    @DisplayName("POST /api/room-assignments/apply - Debe aplicar los cambios propuestos")
+    void shouldApplyProposedChanges() throws Exception {
+        mockMvc.perform(post("/api/room-assignments/apply").param("horizonDays", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(jsonPath("$.totalChanges").value(1));
+
+        Reservation updated = reservationRepository.findById(gapFiller.getId()).orElseThrow();
+        assertThat(updated.getRoom().getRoomNumber()).isEqualTo("601");
+    }
+
+    @Test
+    @DisplayName("GET /api/room-assignments/plan - Debe rechazar un horizonte fuera de rango")
+    void shouldRejectInvalidHorizon() throws Exception {
+        mockMvc.perform(get("/api/room-assignments/plan").param("horizonDays", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
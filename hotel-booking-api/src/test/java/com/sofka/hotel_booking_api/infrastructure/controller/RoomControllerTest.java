@@ -1,11 +1,13 @@
 package com.sofka.hotel_booking_api.infrastructure.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.application.service.MultiHotelAvailabilityService;
 import com.sofka.hotel_booking_api.application.service.RoomService;
 import com.sofka.hotel_booking_api.domain.exception.DuplicateRoomNumberException;
 import com.sofka.hotel_booking_api.domain.exception.RoomNotFoundException;
 import com.sofka.hotel_booking_api.domain.model.RoomType;
 import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.MultiHotelAvailabilityResponse;
 import com.sofka.hotel_booking_api.infrastructure.dto.RoomResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -56,6 +58,9 @@ class RoomControllerTest {
     @MockitoBean
     private RoomService roomService;
 
+    @MockitoBean
+    private MultiHotelAvailabilityService multiHotelAvailabilityService;
+
     private CreateRoomRequest validRequest;
     private RoomResponse expectedResponse;
 
@@ -491,4 +496,34 @@ class RoomControllerTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.message").value("La fecha de entrada no puede ser en el pasado"));
     }
+
+    @Test
+    @DisplayName("GET /api/rooms/available/hotels debe retornar las habitaciones de varios hoteles y su estado")
+    void shouldReturnAvailableRoomsInHotels() throws Exception {
+        // Given - Dado que el hotel 2 responde y el hotel 3 no responde a tiempo
+        LocalDate checkIn = LocalDate.of(2026, 2, 15);
+        LocalDate checkOut = LocalDate.of(2026, 2, 20);
+        RoomResponse room = new RoomResponse(7L, "201", RoomType.SUITE, 4, new BigDecimal("180.00"), true);
+        MultiHotelAvailabilityResponse response = new MultiHotelAvailabilityResponse(
+                checkIn, checkOut, RoomType.SUITE, false,
+                List.of(new MultiHotelAvailabilityResponse.HotelRoom(2L, room, new BigDecimal("900.00"))),
+                List.of(new MultiHotelAvailabilityResponse.HotelResult(2L, MultiHotelAvailabilityResponse.Status.OK, 1, 40),
+                        new MultiHotelAvailabilityResponse.HotelResult(3L, MultiHotelAvailabilityResponse.Status.TIMEOUT, 0, 2000)));
+
+        when(multiHotelAvailabilityService.search(checkIn, checkOut, RoomType.SUITE, List.of(2L, 3L)))
+                .thenReturn(response);
+
+        // When/Then - Cuando consulto varios hoteles debe retornar el resultado parcial
+        mockMvc.perform(get("/api/rooms/available/hotels")
+                        .param("checkIn", "2026-02-15")
+                        .param("checkOut", "2026-02-20")
+                        .param("roomType", "SUITE")
+                        .param("hotelIds", "2", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete").value(false))
+                .andExpect(jsonPath("$.rooms[0].hotelId").value(2))
+                .andExpect(jsonPath("$.rooms[0].room.roomNumber").value("201"))
+                .andExpect(jsonPath("$.rooms[0].totalAmount").value(900.00))
+                .andExpect(jsonPath("$.hotels[1].status").value("TIMEOUT"));
+    }
 }
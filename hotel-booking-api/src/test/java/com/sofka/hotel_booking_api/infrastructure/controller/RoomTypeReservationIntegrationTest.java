@@ -0,0 +1,124 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomTypeReservationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E para reservas por tipo de habitación.
+ * Usa H2 en memoria para probar los contadores de inventario y la asignación diferida.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ReservationController - Tests de Reservas por Tipo E2E")
+class RoomTypeReservationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @BeforeEach
+    void setUp() {
+        roomRepository.save(new Room("501", RoomType.SUITE, 4, new BigDecimal("300.00")));
+        roomRepository.save(new Room("502", RoomType.SUITE, 2, new BigDecimal("250.00")));
+
+        checkIn = LocalDate.now().plusDays(15);
+        checkOut = checkIn.plusDays(2);
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations/by-type - Debe crear la reserva sin habitación asignada")
+    void shouldCreateReservationWithoutRoom() throws Exception {
+        bookSuite("TYPE-0001", 2)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.room").value(nullValue()))
+                .andExpect(jsonPath("$.roomType").value("SUITE"))
+                .andExpect(jsonPath("$.totalAmount").value(500.00))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations/by-type - Debe rechazar la reserva cuando el tipo está agotado")
+    void shouldRejectWhenRoomTypeIsSoldOut() throws Exception {
+        // Given - Las dos SUITEs ya están vendidas
+        bookSuite("TYPE-0002", 2).andExpect(status().isCreated());
+        bookSuite("TYPE-0003", 2).andExpect(status().isCreated());
+
+        // When/Then
+        bookSuite("TYPE-0004", 2)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("No quedan habitaciones de tipo SUITE")));
+
+        mockMvc.perform(get("/api/rooms/inventory")
+                        .param("roomType", "SUITE")
+                        .param("checkIn", checkIn.toString())
+                        .param("checkOut", checkOut.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableRooms").value(0))
+                .andExpect(jsonPath("$.nights.length()").value(2))
+                .andExpect(jsonPath("$.nights[0].totalRooms").value(2))
+                .andExpect(jsonPath("$.nights[0].soldRooms").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations/{id}/assign-room - Debe asignar una habitación del tipo reservado")
+    void shouldAssignRoomOfReservedType() throws Exception {
+        // Given - Una reserva para 3 personas solo cabe en la 501
+        String body = bookSuite("TYPE-0005", 3)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long reservationId = objectMapper.readTree(body).get("id").asLong();
+
+        // When/Then
+        mockMvc.perform(post("/api/reservations/{id}/assign-room", reservationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.room.roomNumber").value("501"));
+
+        // Una segunda asignación se rechaza
+        mockMvc.perform(post("/api/reservations/{id}/assign-room", reservationId))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions bookSuite(String documentNumber, int numberOfGuests) throws Exception {
+        CreateGuestRequest guest = new CreateGuestRequest(
+                "Marta", "Gil", documentNumber, documentNumber.toLowerCase() + "@email.com", "+34 600111222");
+        CreateRoomTypeReservationRequest request = new CreateRoomTypeReservationRequest(
+                guest, RoomType.SUITE, checkIn, checkOut, numberOfGuests);
+        return mockMvc.perform(post("/api/reservations/by-type")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+}
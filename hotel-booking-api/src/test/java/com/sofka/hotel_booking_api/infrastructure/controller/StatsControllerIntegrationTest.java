@@ -0,0 +1,133 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CancelReservationRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E de las estadísticas de ocupación e ingresos.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ *
+ * <p>La transacción del test no se confirma, así que los incrementos post-commit no llegan a
+ * escribirse: los agregados se obtienen con la reconstrucción desde las reservas.</p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("StatsController - Tests de Estadísticas E2E")
+class StatsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private Room suite;
+    private Room otherSuite;
+    private LocalDate checkIn;
+
+    @BeforeEach
+    void setUp() {
+        suite = roomRepository.save(new Room("801", RoomType.SUITE, 4, new BigDecimal("200.00")));
+        otherSuite = roomRepository.save(new Room("802", RoomType.SUITE, 4, new BigDecimal("200.00")));
+        checkIn = LocalDate.now().plusDays(200);
+    }
+
+    @Test
+    @DisplayName("GET /api/stats/occupancy - Debe responder ocupación, ADR y RevPAR desde los agregados reconstruidos")
+    void shouldReportOccupancyFromRebuiltAggregates() throws Exception {
+        // Given - Una estadía de 3 noches y otra de 1 noche cancelada
+        createReservation("STA-0001", suite, checkIn, checkIn.plusDays(3));
+        long cancelled = createReservation("STA-0002", otherSuite, checkIn.plusDays(1), checkIn.plusDays(2));
+        mockMvc.perform(post("/api/reservations/{id}/cancel", cancelled)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CancelReservationRequest("Cambio de planes"))))
+                .andExpect(status().isOk());
+
+        // When - Se reconstruyen los agregados del rango
+        mockMvc.perform(post("/api/stats/rebuild")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.plusDays(4).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservations").value(2))
+                .andExpect(jsonPath("$.rows").value(4));
+
+        // Then
+        long rooms = roomRepository.countByRoomType(RoomType.SUITE);
+        BigDecimal occupancy = BigDecimal.valueOf(100).divide(BigDecimal.valueOf(rooms), 2, RoundingMode.HALF_UP);
+        BigDecimal revpar = new BigDecimal("600.00").divide(BigDecimal.valueOf(rooms * 3), 2, RoundingMode.HALF_UP);
+        mockMvc.perform(get("/api/stats/occupancy")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.plusDays(3).toString())
+                        .param("roomType", "SUITE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(3))
+                .andExpect(jsonPath("$.days[0].date").value(checkIn.toString()))
+                .andExpect(jsonPath("$.days[0].roomNightsSold").value(1))
+                .andExpect(jsonPath("$.days[0].revenue").value(200.00))
+                .andExpect(jsonPath("$.days[0].arrivals").value(1))
+                .andExpect(jsonPath("$.days[1].cancellations").value(1))
+                .andExpect(jsonPath("$.days[1].roomNightsSold").value(1))
+                .andExpect(jsonPath("$.totals.availableRoomNights").value(rooms * 3))
+                .andExpect(jsonPath("$.totals.roomNightsSold").value(3))
+                .andExpect(jsonPath("$.totals.revenue").value(600.00))
+                .andExpect(jsonPath("$.totals.adr").value(200.00))
+                .andExpect(jsonPath("$.totals.occupancyRate").value(occupancy.doubleValue()))
+                .andExpect(jsonPath("$.totals.revpar").value(revpar.doubleValue()))
+                .andExpect(jsonPath("$.totals.departures").value(0))
+                .andExpect(jsonPath("$.totals.cancellations").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/stats/occupancy - Debe rechazar rangos inválidos o demasiado largos")
+    void shouldRejectInvalidRanges() throws Exception {
+        mockMvc.perform(get("/api/stats/occupancy")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/stats/rebuild")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.plusYears(21).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createReservation(String document, Room room, LocalDate from, LocalDate to) throws Exception {
+        CreateReservationRequest request = new CreateReservationRequest(
+                new CreateGuestRequest("Ana", "Gómez", document, document.toLowerCase() + "@email.com",
+                        "+57 300 1112233"),
+                room.getId(), from, to, 2);
+        String body = mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
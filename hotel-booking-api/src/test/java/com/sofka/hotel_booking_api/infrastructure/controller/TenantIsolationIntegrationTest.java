@@ -0,0 +1,100 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateRoomRequest;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E del aislamiento entre hoteles.
+ *
+ * <p>No es {@code @Transactional}: la transacción del test abriría el {@code EntityManager} antes
+ * de que la cabecera {@code X-Hotel-Id} fije el hotel, así que cada petición usa la suya y los
+ * datos se borran al terminar.</p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Multi-hotel - Tests de aislamiento E2E")
+class TenantIsolationIntegrationTest {
+
+    private static final long OTHER_HOTEL = 2L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.runAs(TenantContext.ALL_HOTELS, roomRepository::deleteAll);
+    }
+
+    @Test
+    @DisplayName("Cada hotel debe ver solo sus habitaciones y poder repetir números de habitación")
+    void shouldIsolateRoomsByHotel() throws Exception {
+        // Given - La habitación 101 existe en ambos hoteles
+        long ownRoomId = createRoom(post("/api/rooms"));
+        long otherRoomId = createRoom(post("/api/rooms").header(TenantFilter.HOTEL_HEADER, OTHER_HOTEL));
+
+        // When / Then
+        mockMvc.perform(get("/api/rooms").header(TenantFilter.HOTEL_HEADER, OTHER_HOTEL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(otherRoomId));
+        mockMvc.perform(get("/api/rooms/{id}", otherRoomId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/rooms/{id}", ownRoomId).header(TenantFilter.HOTEL_HEADER, OTHER_HOTEL))
+                .andExpect(status().isNotFound());
+
+        List<Room> all = TenantContext.callAs(TenantContext.ALL_HOTELS, roomRepository::findAll);
+        assertThat(all).extracting(Room::getHotelId)
+                .containsExactlyInAnyOrder(TenantContext.DEFAULT_HOTEL_ID, OTHER_HOTEL);
+    }
+
+    @Test
+    @DisplayName("Una cabecera X-Hotel-Id inválida debe responder 400")
+    void shouldRejectInvalidHotelHeader() throws Exception {
+        mockMvc.perform(get("/api/rooms").header(TenantFilter.HOTEL_HEADER, "hotel-norte"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Hotel inválido"));
+    }
+
+    private long createRoom(MockHttpServletRequestBuilder request) throws Exception {
+        CreateRoomRequest room = new CreateRoomRequest("101", RoomType.STANDARD, 2, new BigDecimal("100.00"));
+        String body = mockMvc.perform(request
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(room)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode created = objectMapper.readTree(body);
+        return created.get("id").asLong();
+    }
+}
@@ -0,0 +1,65 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E de las trazas en memoria.
+ * Spring Boot desactiva las trazas en los tests salvo con {@code @AutoConfigureObservability}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("TraceController - Tests de Trazas E2E")
+class TraceIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    @DisplayName("Debe exponer la traza de una petición con sus spans de servicio y repositorio")
+    void shouldExposeTraceWithServiceAndRepositorySpans() throws Exception {
+        // Given
+        Room room = roomRepository.save(new Room("951", RoomType.SUITE, 4, new BigDecimal("250.00")));
+
+        // When
+        mockMvc.perform(get("/api/rooms/" + room.getId()))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/admin/traces").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].spans[*].name", hasItems(
+                        "RoomService.getRoomById", "RoomRepository.findById")))
+                .andExpect(jsonPath("$[*].spans[?(@.name == 'RoomRepository.findById')].attributes['db.response.returned_rows']",
+                        hasItem("1")));
+    }
+
+    @Test
+    @DisplayName("Debe retornar 404 para una traza desconocida")
+    void shouldReturnNotFoundForUnknownTrace() throws Exception {
+        mockMvc.perform(get("/api/admin/traces/00000000000000000000000000000000"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,136 @@
+package com.sofka.hotel_booking_api.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.model.WaitlistEntry;
+import com.sofka.hotel_booking_api.domain.model.WaitlistStatus;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import com.sofka.hotel_booking_api.domain.repository.WaitlistEntryRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateReservationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración E2E de la lista de espera.
+ * La promoción se ejecuta tras confirmarse la transacción, por lo que aquí solo se
+ * verifica el registro y la gestión de las solicitudes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("WaitlistController - Tests de Lista de Espera E2E")
+class WaitlistIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        room = roomRepository.save(new Room("701", RoomType.DELUXE, 2, new BigDecimal("180.00")));
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations - Debe registrar en lista de espera una reserva sin disponibilidad")
+    void shouldWaitlistRequestWhenRoomNotAvailable() throws Exception {
+        // Given - La habitación ya está reservada para las fechas
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("WL-00001"))))
+                .andExpect(status().isCreated());
+
+        // When - Otro huésped pide la misma habitación y fechas
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("WL-00002"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("no está disponible")))
+                .andExpect(jsonPath("$.message", containsString("lista de espera")));
+
+        // Then
+        mockMvc.perform(get("/api/waitlist").param("roomType", "DELUXE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].roomId").value(room.getId()))
+                .andExpect(jsonPath("$[0].documentNumber").value("WL-00002"))
+                .andExpect(jsonPath("$[0].status").value("WAITING"));
+    }
+
+    @Test
+    @DisplayName("POST /api/reservations - No debe duplicar la solicitud en espera al reintentar")
+    void shouldNotDuplicateWaitlistEntryOnRetry() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("WL-00001"))))
+                .andExpect(status().isCreated());
+
+        // When - El segundo huésped reintenta dos veces
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/reservations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request("WL-00002"))))
+                    .andExpect(status().isBadRequest());
+        }
+
+        // Then
+        List<WaitlistEntry> waiting = waitlistEntryRepository
+                .findByStatusOrderByPriorityDescCreatedAtAsc(WaitlistStatus.WAITING);
+        assertThat(waiting).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/waitlist/{id} - Debe retirar la solicitud y retornar 404 si no existe")
+    void shouldCancelWaitlistEntry() throws Exception {
+        // Given
+        WaitlistEntry entry = waitlistEntryRepository.save(new WaitlistEntry(RoomType.DELUXE, null,
+                LocalDate.now().plusDays(3), LocalDate.now().plusDays(5), 2,
+                "Pablo", "Soto", "WL-00003", "pablo@email.com", "+34 600333444"));
+
+        // When & Then
+        mockMvc.perform(delete("/api/waitlist/{id}", entry.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/waitlist"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(delete("/api/waitlist/{id}", 999999L))
+                .andExpect(status().isNotFound());
+    }
+
+    private CreateReservationRequest request(String documentNumber) {
+        CreateGuestRequest guest = new CreateGuestRequest("Elena", "Navarro", documentNumber,
+                "elena." + documentNumber.toLowerCase() + "@email.com", "+34 600444555");
+        return new CreateReservationRequest(guest, room.getId(),
+                LocalDate.now().plusDays(2), LocalDate.now().plusDays(4), 2);
+    }
+}
@@ -0,0 +1,106 @@
+package com.sofka.hotel_booking_api.infrastructure.jfr;
+
+import com.sofka.hotel_booking_api.application.service.GuestService;
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.repository.GuestRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.ProfilingRecordingResponse;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios de la grabación JFR bajo demanda y de los eventos personalizados.
+ */
+@DisplayName("JfrRecordingManager - Tests unitarios")
+class JfrRecordingManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordingManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new JfrRecordingManager(directory, Duration.ofMinutes(5), DataSize.ofMegabytes(64));
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debe grabar los eventos de la aplicación y volcarlos a disco al detenerse")
+    void shouldRecordApplicationEventsAndDumpOnStop() throws Exception {
+        // Given
+        GuestRepository guestRepository = mock(GuestRepository.class);
+        when(guestRepository.findByDocumentNumber("JFR-0001")).thenReturn(Optional.empty());
+        when(guestRepository.save(any(Guest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        AspectJProxyFactory serviceProxy = new AspectJProxyFactory(
+                new GuestService(guestRepository, mock(JdbcTemplate.class)));
+        serviceProxy.setProxyTargetClass(true);
+        serviceProxy.addAspect(new JfrEventAspect());
+        GuestService guestService = serviceProxy.getProxy();
+
+        ProfilingRecordingResponse started = manager.start(Duration.ofMinutes(1));
+        assertEquals("RUNNING", started.state());
+
+        // When
+        guestService.registerOrUpdateGuest(new CreateGuestRequest(
+                "Ana", "Ruiz", "JFR-0001", "ana@email.com", "+57 300 1112233"));
+        ProfilingRecordingResponse stopped = manager.stop();
+
+        // Then
+        assertEquals("CLOSED", stopped.state());
+        assertNotNull(stopped.fileSizeBytes());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(stopped.file()));
+        RecordedEvent upsert = events.stream()
+                .filter(event -> event.getEventType().getName().equals(GuestUpsertEvent.NAME))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, upsert.getInt("guests"));
+        assertTrue(upsert.getBoolean("success"));
+        assertTrue(manager.status().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una segunda grabación mientras hay una en curso")
+    void shouldRejectSecondRecordingWhileRunning() {
+        manager.start(Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class, () -> manager.start(Duration.ofMinutes(1)));
+        assertEquals("RUNNING", manager.status().orElseThrow().state());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar duraciones no positivas o mayores que la máxima")
+    void shouldRejectInvalidDurations() {
+        assertThrows(IllegalArgumentException.class, () -> manager.start(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> manager.start(Duration.ofMinutes(6)));
+        assertTrue(manager.status().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe fallar al detener si no hay ninguna grabación")
+    void shouldFailToStopWithoutRecording() {
+        assertThrows(IllegalStateException.class, () -> manager.stop());
+    }
+}
@@ -0,0 +1,130 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import com.sofka.hotel_booking_api.application.lock.RoomLock.RoomStay;
+import com.sofka.hotel_booking_api.domain.exception.RoomLockTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del bloqueo de habitaciones con bloqueos consultivos de PostgreSQL.
+ * Verifican las sentencias emitidas; el comportamiento de PostgreSQL no se simula.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdvisoryRoomLock - Tests unitarios")
+class AdvisoryRoomLockTest {
+
+    private static final String SHARED = "SELECT pg_advisory_xact_lock_shared(?, ?)";
+    private static final String EXCLUSIVE = "SELECT pg_advisory_xact_lock(?, ?)";
+    private static final String CURRENT_TIMEOUT = "SELECT current_setting('lock_timeout')";
+    private static final String SET_TIMEOUT = "SELECT set_config('lock_timeout', ?, true)";
+
+    // Días 75 a 79 desde 1970: con tramos de 7 días ocupan los tramos 11 y 12
+    private static final LocalDate CHECK_IN = LocalDate.ofEpochDay(75);
+    private static final LocalDate CHECK_OUT = LocalDate.ofEpochDay(80);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AdvisoryRoomLock roomLock;
+
+    @BeforeEach
+    void setUp() {
+        roomLock = new AdvisoryRoomLock(jdbcTemplate, 7, Duration.ofSeconds(2));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Debe bloquear en orden las habitaciones en modo compartido y después sus tramos")
+    void shouldLockRoomKeysSharedThenBucketsInOrder() {
+        // Given
+        when(jdbcTemplate.queryForObject(CURRENT_TIMEOUT, String.class)).thenReturn("0");
+
+        // When - la habitación 2 se pide antes que la 1
+        roomLock.lockStays(List.of(
+                new RoomStay(2L, CHECK_IN, CHECK_IN.plusDays(1)),
+                new RoomStay(1L, CHECK_IN, CHECK_OUT)));
+
+        // Then
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForObject(SET_TIMEOUT, String.class, "2000ms");
+        inOrder.verify(jdbcTemplate).query(eq(SHARED), any(RowCallbackHandler.class), eq(1), eq(0));
+        inOrder.verify(jdbcTemplate).query(eq(SHARED), any(RowCallbackHandler.class), eq(2), eq(0));
+        inOrder.verify(jdbcTemplate).query(eq(EXCLUSIVE), any(RowCallbackHandler.class), eq(1), eq(11));
+        inOrder.verify(jdbcTemplate).query(eq(EXCLUSIVE), any(RowCallbackHandler.class), eq(1), eq(12));
+        inOrder.verify(jdbcTemplate).query(eq(EXCLUSIVE), any(RowCallbackHandler.class), eq(2), eq(11));
+        inOrder.verify(jdbcTemplate).queryForObject(SET_TIMEOUT, String.class, "0");
+    }
+
+    @Test
+    @DisplayName("Con tramos de 0 días debe bloquear la habitación completa en exclusiva")
+    void shouldLockWholeRoomWhenBucketsAreDisabled() {
+        // Given
+        roomLock = new AdvisoryRoomLock(jdbcTemplate, 0, Duration.ofSeconds(2));
+        when(jdbcTemplate.queryForObject(CURRENT_TIMEOUT, String.class)).thenReturn("0");
+
+        // When
+        roomLock.lockStay(1L, CHECK_IN, CHECK_OUT);
+
+        // Then
+        verify(jdbcTemplate).query(eq(EXCLUSIVE), any(RowCallbackHandler.class), eq(1), eq(0));
+        verify(jdbcTemplate, never()).query(eq(SHARED), any(RowCallbackHandler.class), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe traducir el lock_timeout de PostgreSQL a RoomLockTimeoutException")
+    void shouldTranslateLockTimeout() {
+        // Given
+        when(jdbcTemplate.queryForObject(CURRENT_TIMEOUT, String.class)).thenReturn("0");
+        doThrow(new CannotAcquireLockException("canceling statement due to lock timeout"))
+                .when(jdbcTemplate).query(eq(SHARED), any(RowCallbackHandler.class), eq(1), eq(0));
+
+        // When / Then
+        RoomLockTimeoutException exception = assertThrows(RoomLockTimeoutException.class,
+                () -> roomLock.lockStay(1L, CHECK_IN, CHECK_OUT));
+        assertTrue(exception.getMessage().contains("2000 ms"));
+        verify(jdbcTemplate, never()).queryForObject(SET_TIMEOUT, String.class, "0");
+    }
+
+    @Test
+    @DisplayName("Debe exigir una transacción activa")
+    void shouldRequireActiveTransaction() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> roomLock.lockStay(1L, CHECK_IN, CHECK_OUT));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("No debe emitir sentencias si no hay nada que bloquear")
+    void shouldDoNothingWithoutRooms() {
+        roomLock.lockRooms(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,148 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import com.sofka.hotel_booking_api.domain.exception.RoomLockTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios del bloqueo de habitaciones en memoria.
+ *
+ * <p>Cada "transacción" se ejecuta en su propio hilo con la sincronización de transacciones
+ * activa; {@link #complete()} simula el final de la transacción y libera los bloqueos.</p>
+ */
+@DisplayName("LocalRoomLock - Tests unitarios")
+class LocalRoomLockTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(100);
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 11, 2);
+
+    private final LocalRoomLock roomLock = new LocalRoomLock(7, TIMEOUT);
+    private final ExecutorService holder = Executors.newSingleThreadExecutor();
+    private final ExecutorService contender = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        holder.submit(LocalRoomLockTest::complete).get();
+        holder.shutdownNow();
+        contender.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Debe esperar hasta el final de la transacción por una estadía solapada")
+    void shouldWaitForOverlappingStayUntilTransactionCompletes() throws Exception {
+        // Given
+        inTransaction(holder, () -> roomLock.lockStay(1L, CHECK_IN, CHECK_IN.plusDays(3)));
+
+        // When - otra transacción pide una noche de la misma estadía
+        Future<?> blocked = contender.submit(() -> inCurrentThreadTransaction(
+                () -> roomLock.lockStay(1L, CHECK_IN.plusDays(1), CHECK_IN.plusDays(2))));
+
+        // Then
+        ExecutionException timeout = assertThrows(ExecutionException.class, blocked::get);
+        assertInstanceOf(RoomLockTimeoutException.class, timeout.getCause());
+        assertTrue(timeout.getCause().getMessage().contains("[1]"));
+
+        holder.submit(LocalRoomLockTest::complete).get();
+        inTransaction(contender, () -> roomLock.lockStay(1L, CHECK_IN.plusDays(1), CHECK_IN.plusDays(2)));
+    }
+
+    @Test
+    @DisplayName("No debe bloquear estadías de la misma habitación en tramos de fechas distintos")
+    void shouldNotBlockStaysInDifferentDateBuckets() throws Exception {
+        // Given
+        inTransaction(holder, () -> roomLock.lockStay(1L, CHECK_IN, CHECK_IN.plusDays(3)));
+
+        // When / Then - dos meses después no comparte tramo
+        inTransaction(contender, () -> roomLock.lockStay(1L, CHECK_IN.plusDays(60), CHECK_IN.plusDays(63)));
+        inTransaction(contender, () -> roomLock.lockStay(2L, CHECK_IN, CHECK_IN.plusDays(3)));
+    }
+
+    @Test
+    @DisplayName("Bloquear la habitación completa debe excluir cualquier estadía de esa habitación")
+    void shouldExcludeStaysWhileWholeRoomIsLocked() throws Exception {
+        // Given
+        inTransaction(holder, () -> roomLock.lockRooms(List.of(1L)));
+
+        // When
+        Future<?> blocked = contender.submit(() -> inCurrentThreadTransaction(
+                () -> roomLock.lockStay(1L, CHECK_IN.plusDays(60), CHECK_IN.plusDays(61))));
+
+        // Then
+        ExecutionException timeout = assertThrows(ExecutionException.class, blocked::get);
+        assertInstanceOf(RoomLockTimeoutException.class, timeout.getCause());
+    }
+
+    @Test
+    @DisplayName("Debe exigir una transacción activa")
+    void shouldRequireActiveTransaction() {
+        assertThrows(IllegalStateException.class,
+                () -> roomLock.lockStay(1L, CHECK_IN, CHECK_IN.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Debe registrar la espera con su resultado")
+    void shouldRecordWaitTimeByOutcome() throws Exception {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeteredRoomLock metered = new MeteredRoomLock(roomLock, "local", registry);
+        inTransaction(holder, () -> metered.lockStay(1L, CHECK_IN, CHECK_IN.plusDays(3)));
+
+        // When
+        Future<?> blocked = contender.submit(() -> inCurrentThreadTransaction(
+                () -> metered.lockStay(1L, CHECK_IN, CHECK_IN.plusDays(1))));
+        assertThrows(ExecutionException.class, blocked::get);
+
+        // Then
+        assertEquals(1, registry.get("hotel.room.lock.wait").tags("mode", "local", "outcome", "acquired")
+                .timer().count());
+        assertEquals(1, registry.get("hotel.room.lock.wait").tags("mode", "local", "outcome", "timeout")
+                .timer().count());
+        assertTrue(registry.get("hotel.room.lock.wait").tag("outcome", "timeout").timer()
+                .totalTime(TimeUnit.MILLISECONDS) >= TIMEOUT.toMillis());
+    }
+
+    /**
+     * Abre una transacción en el hilo del ejecutor, ejecuta la acción y la deja abierta.
+     */
+    private static void inTransaction(ExecutorService executor, Runnable action) throws Exception {
+        executor.submit(() -> {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.initSynchronization();
+            }
+            action.run();
+        }).get();
+    }
+
+    private static void inCurrentThreadTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+        } finally {
+            complete();
+        }
+    }
+
+    private static void complete() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
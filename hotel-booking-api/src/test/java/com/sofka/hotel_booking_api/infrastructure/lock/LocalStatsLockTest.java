@@ -0,0 +1,106 @@
+package com.sofka.hotel_booking_api.infrastructure.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios del bloqueo en memoria de las estadísticas de ocupación.
+ *
+ * <p>Como en {@link LocalRoomLockTest}, cada "transacción" se ejecuta en su propio hilo y
+ * {@link #complete()} simula su final.</p>
+ */
+@DisplayName("LocalStatsLock - Tests unitarios")
+class LocalStatsLockTest {
+
+    private final LocalStatsLock statsLock = new LocalStatsLock();
+    private final ExecutorService holder = Executors.newSingleThreadExecutor();
+    private final ExecutorService contender = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        holder.submit(LocalStatsLockTest::complete).get();
+        contender.submit(LocalStatsLockTest::complete).get();
+        holder.shutdownNow();
+        contender.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Mientras un hotel se reconstruye sus incrementos no deben escribirse, los de otro sí")
+    void shouldRejectApplyWhileHotelIsRebuilding() throws Exception {
+        // Given
+        runInTransaction(holder, () -> statsLock.lockForRebuild(1L));
+
+        // When / Then
+        assertFalse(inTransaction(contender, () -> statsLock.tryLockForApply(1L)));
+        assertTrue(inTransaction(contender, () -> statsLock.tryLockForApply(2L)));
+
+        holder.submit(LocalStatsLockTest::complete).get();
+        assertTrue(inTransaction(contender, () -> statsLock.tryLockForApply(1L)));
+    }
+
+    @Test
+    @DisplayName("La reconstrucción debe esperar al final de las escrituras en curso")
+    void shouldWaitForRunningApplyBeforeRebuilding() throws Exception {
+        // Given
+        assertTrue(inTransaction(holder, () -> statsLock.tryLockForApply(1L)));
+
+        // When
+        Future<?> rebuild = contender.submit(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            statsLock.lockForRebuild(1L);
+        });
+
+        // Then
+        assertThrows(TimeoutException.class, () -> rebuild.get(100, TimeUnit.MILLISECONDS));
+        holder.submit(LocalStatsLockTest::complete).get();
+        rebuild.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Debe exigir una transacción activa")
+    void shouldRequireActiveTransaction() {
+        assertThrows(IllegalStateException.class, () -> statsLock.lockForRebuild(1L));
+        assertThrows(IllegalStateException.class, () -> statsLock.tryLockForApply(1L));
+    }
+
+    /**
+     * Abre (o reutiliza) una transacción en el hilo del ejecutor, ejecuta la acción y la deja abierta.
+     */
+    private static <T> T inTransaction(ExecutorService executor, Callable<T> action) throws Exception {
+        return executor.submit(() -> {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.initSynchronization();
+            }
+            return action.call();
+        }).get();
+    }
+
+    private static void runInTransaction(ExecutorService executor, Runnable action) throws Exception {
+        inTransaction(executor, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static void complete() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
@@ -0,0 +1,175 @@
+package com.sofka.hotel_booking_api.infrastructure.metrics;
+
+import com.sofka.hotel_booking_api.application.event.OccupancyStatsRebuildingEvent;
+import com.sofka.hotel_booking_api.application.service.OccupancyStatsService;
+import com.sofka.hotel_booking_api.domain.model.DailyRoomTypeStats;
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del registro incremental de las estadísticas de ocupación.
+ * Historia 2.2: Consultar estado de ocupación de habitaciones
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OccupancyStatsRecorder - Tests unitarios")
+class OccupancyStatsRecorderTest {
+
+    @Mock
+    private OccupancyStatsService statsService;
+
+    private OccupancyStatsRecorder recorder;
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new OccupancyStatsRecorder(statsService, mock(EntityManagerFactory.class));
+        Guest guest = new Guest("Ana", "Ruiz", "STA-0001", "ana@email.com", "+57 300 1112233");
+        reservation = new Reservation("RES-STA-001", guest, RoomType.SUITE,
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(12), 2, Money.of(new BigDecimal("500.00")));
+        // Hibernate asigna el hotel al insertar
+        ReflectionTestUtils.setField(reservation, "hotelId", 3L);
+    }
+
+    @Test
+    @DisplayName("Debe escribir solo la diferencia neta de los cambios de estado, con el hotel de la reserva")
+    void shouldFlushNetDeltasPerHotel() {
+        // Given: la reserva se crea y luego se cancela
+        PostInsertEvent insert = mock(PostInsertEvent.class);
+        when(insert.getEntity()).thenReturn(reservation);
+        recorder.onPostInsert(insert);
+        reservation.cancel("Cambio de planes");
+        recorder.onPostUpdate(update(ReservationStatus.PENDING));
+
+        AtomicLong hotelDuringApply = new AtomicLong();
+        doAnswer(invocation -> {
+            hotelDuringApply.set(TenantContext.currentHotelId());
+            return true;
+        }).when(statsService).apply(anyList());
+
+        // When
+        recorder.flush();
+        recorder.flush();
+
+        // Then: las noches se anulan y queda una cancelación el día de llegada
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DailyRoomTypeStats>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(statsService, times(1)).apply(deltas.capture());
+        assertEquals(1, deltas.getValue().size());
+        DailyRoomTypeStats delta = deltas.getValue().get(0);
+        assertEquals(reservation.getCheckInDate(), delta.getStayDate());
+        assertEquals(0, delta.getRoomNights());
+        assertEquals(Money.ZERO, delta.getRevenue());
+        assertEquals(1, delta.getCancellations());
+        assertEquals(3L, hotelDuringApply.get());
+    }
+
+    @Test
+    @DisplayName("Debe conservar los incrementos si la escritura falla y reintentarlos")
+    void shouldRetryFailedFlush() {
+        PostInsertEvent insert = mock(PostInsertEvent.class);
+        when(insert.getEntity()).thenReturn(reservation);
+        recorder.onPostInsert(insert);
+        when(statsService.apply(anyList())).thenThrow(new IllegalStateException("sin conexión")).thenReturn(true);
+
+        recorder.flush();
+        recorder.flush();
+        recorder.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DailyRoomTypeStats>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(statsService, times(2)).apply(deltas.capture());
+        assertEquals(deltas.getAllValues().get(0), deltas.getAllValues().get(1));
+        // Dos noches, la llegada y la salida
+        assertEquals(3, deltas.getValue().size());
+        assertEquals(Money.ofMinor(25_000), deltas.getValue().get(0).getRevenue());
+    }
+
+    @Test
+    @DisplayName("Mientras el hotel se reconstruye debe conservar los incrementos sin escribirlos")
+    void shouldKeepDeltasWhileHotelIsRebuilding() {
+        PostInsertEvent insert = mock(PostInsertEvent.class);
+        when(insert.getEntity()).thenReturn(reservation);
+        recorder.onPostInsert(insert);
+        when(statsService.apply(anyList())).thenReturn(false).thenReturn(true);
+
+        recorder.flush();
+        recorder.flush();
+        recorder.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DailyRoomTypeStats>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(statsService, times(2)).apply(deltas.capture());
+        assertEquals(deltas.getAllValues().get(0), deltas.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("Al empezar la reconstrucción debe descartar solo los incrementos de ese hotel y rango")
+    void shouldDiscardDeltasCoveredByRebuild() {
+        PostInsertEvent insert = mock(PostInsertEvent.class);
+        when(insert.getEntity()).thenReturn(reservation);
+        recorder.onPostInsert(insert);
+        when(statsService.apply(anyList())).thenReturn(true);
+
+        // Otro hotel y un rango que solo cubre la primera noche
+        recorder.onRebuilding(new OccupancyStatsRebuildingEvent(4L, LocalDate.now(), LocalDate.now().plusDays(30)));
+        recorder.onRebuilding(new OccupancyStatsRebuildingEvent(3L, LocalDate.now(), reservation.getCheckInDate().plusDays(1)));
+        recorder.flush();
+
+        // Quedan la segunda noche y la salida
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DailyRoomTypeStats>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(statsService).apply(deltas.capture());
+        assertEquals(List.of(reservation.getCheckInDate().plusDays(1), reservation.getCheckOutDate()),
+                deltas.getValue().stream().map(DailyRoomTypeStats::getStayDate).toList());
+
+        recorder.onRebuilding(new OccupancyStatsRebuildingEvent(3L, LocalDate.now(), LocalDate.now().plusDays(30)));
+        recorder.flush();
+        verifyNoMoreInteractions(statsService);
+    }
+
+    @Test
+    @DisplayName("Un cambio de estado que no altera la ocupación no debe escribir nada")
+    void shouldIgnoreNeutralTransitions() {
+        reservation.confirmPayment();
+        recorder.onPostUpdate(update(ReservationStatus.PENDING));
+
+        recorder.flush();
+
+        verifyNoInteractions(statsService);
+    }
+
+    private PostUpdateEvent update(ReservationStatus previousStatus) {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getPropertyNames()).thenReturn(new String[]{"checkInDate", "status"});
+        PostUpdateEvent update = mock(PostUpdateEvent.class);
+        when(update.getEntity()).thenReturn(reservation);
+        when(update.getPersister()).thenReturn(persister);
+        when(update.getOldState()).thenReturn(new Object[]{reservation.getCheckInDate(), previousStatus});
+        return update;
+    }
+}
@@ -0,0 +1,96 @@
+package com.sofka.hotel_booking_api.infrastructure.metrics;
+
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.model.Money;
+import com.sofka.hotel_booking_api.domain.model.Reservation;
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.domain.model.Room;
+import com.sofka.hotel_booking_api.domain.model.RoomType;
+import com.sofka.hotel_booking_api.domain.repository.ReservationRepository;
+import com.sofka.hotel_booking_api.domain.repository.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios de los indicadores de reservas y del contador de transiciones de estado.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationMetrics - Tests unitarios")
+class ReservationMetricsTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Debe publicar backlog de pendientes y ocupación tras recalcular")
+    void shouldPublishGaugesAfterRefresh() {
+        // Given
+        ReservationMetrics metrics = new ReservationMetrics(registry, reservationRepository, roomRepository);
+        when(reservationRepository.countByStatus(ReservationStatus.PENDING)).thenReturn(7L);
+        when(reservationRepository.countByStatus(ReservationStatus.ACTIVE)).thenReturn(3L);
+        when(roomRepository.countByIsAvailableFalse()).thenReturn(3L);
+        when(roomRepository.count()).thenReturn(12L);
+
+        // When
+        metrics.refresh();
+
+        // Then
+        assertEquals(7.0, registry.get("hotel.reservations.pending").gauge().value());
+        assertEquals(3.0, registry.get("hotel.reservations.active").gauge().value());
+        assertEquals(3.0, registry.get("hotel.rooms.occupied").gauge().value());
+        assertEquals(0.25, registry.get("hotel.rooms.occupancy").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Debe contar la creación y los cambios de estado de las reservas")
+    void shouldCountStatusTransitions() {
+        // Given
+        ReservationTransitionMetrics transitions =
+                new ReservationTransitionMetrics(registry, mock(EntityManagerFactory.class));
+        Room room = new Room("101", RoomType.STANDARD, 2, new BigDecimal("100.00"));
+        Guest guest = new Guest("Ana", "Ruiz", "MET-0002", "ana@email.com", "+57 300 1112233");
+        Reservation reservation = new Reservation("RES-MET-001", guest, room,
+                LocalDate.now().plusDays(3), LocalDate.now().plusDays(5), 1, Money.of(new BigDecimal("200.00")));
+
+        PostInsertEvent insert = mock(PostInsertEvent.class);
+        when(insert.getEntity()).thenReturn(reservation);
+
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getPropertyNames()).thenReturn(new String[]{"checkInDate", "status"});
+        PostUpdateEvent update = mock(PostUpdateEvent.class);
+        when(update.getEntity()).thenReturn(reservation);
+        when(update.getPersister()).thenReturn(persister);
+        when(update.getOldState()).thenReturn(new Object[]{LocalDate.now(), ReservationStatus.PENDING});
+
+        // When
+        transitions.onPostInsert(insert);
+        reservation.confirmPayment();
+        transitions.onPostUpdate(update);
+
+        // Then
+        assertEquals(1.0, registry.get(ReservationTransitionMetrics.TRANSITIONS)
+                .tags("from", "NEW", "to", "PENDING").counter().count());
+        assertEquals(1.0, registry.get(ReservationTransitionMetrics.TRANSITIONS)
+                .tags("from", "PENDING", "to", "CONFIRMED").counter().count());
+    }
+}
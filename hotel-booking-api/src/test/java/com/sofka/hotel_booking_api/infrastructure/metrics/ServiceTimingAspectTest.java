@@ -0,0 +1,99 @@
+package com.sofka.hotel_booking_api.infrastructure.metrics;
+
+import com.sofka.hotel_booking_api.application.service.GuestService;
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.repository.GuestRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios del aspecto de tiempos de servicios y repositorios.
+ */
+@DisplayName("ServiceTimingAspect - Tests unitarios")
+class ServiceTimingAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private GuestRepository guestRepository;
+    private GuestService guestService;
+
+    private final CreateGuestRequest request = new CreateGuestRequest(
+            "Ana", "Ruiz", "MET-0001", "ana@email.com", "+57 300 1112233");
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ServiceTimingAspect aspect = new ServiceTimingAspect(registry);
+
+        guestRepository = mock(GuestRepository.class);
+        AspectJProxyFactory repositoryProxy = new AspectJProxyFactory(guestRepository);
+        repositoryProxy.addInterface(GuestRepository.class);
+        repositoryProxy.addAspect(aspect);
+
+        AspectJProxyFactory serviceProxy = new AspectJProxyFactory(
+                new GuestService(repositoryProxy.getProxy(), mock(JdbcTemplate.class)));
+        serviceProxy.setProxyTargetClass(true);
+        serviceProxy.addAspect(aspect);
+        guestService = serviceProxy.getProxy();
+    }
+
+    @Test
+    @DisplayName("Debe medir el método de servicio y separar el tiempo de repositorio")
+    void shouldTimeServiceAndSplitDatabaseTime() {
+        // Given
+        when(guestRepository.findByDocumentNumber("MET-0001")).thenReturn(Optional.empty());
+        when(guestRepository.save(any(Guest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        guestService.registerOrUpdateGuest(request);
+
+        // Then
+        Timer total = registry.find(ServiceTimingAspect.SERVICE_TIMER)
+                .tags("class", "GuestService", "method", "registerOrUpdateGuest", "outcome", "success")
+                .timer();
+        Timer database = registry.find(ServiceTimingAspect.SERVICE_DB_TIMER)
+                .tags("class", "GuestService", "method", "registerOrUpdateGuest")
+                .timer();
+        Timer application = registry.find(ServiceTimingAspect.SERVICE_APP_TIMER)
+                .tags("class", "GuestService", "method", "registerOrUpdateGuest")
+                .timer();
+        assertNotNull(total);
+        assertEquals(1, total.count());
+        assertEquals(total.totalTime(TimeUnit.NANOSECONDS),
+                database.totalTime(TimeUnit.NANOSECONDS)
+                        + application.totalTime(TimeUnit.NANOSECONDS), 1.0);
+
+        assertEquals(1, registry.find(ServiceTimingAspect.REPOSITORY_TIMER)
+                .tags("repository", "GuestRepository", "method", "findByDocumentNumber").timer().count());
+        assertEquals(1, registry.find(ServiceTimingAspect.REPOSITORY_TIMER)
+                .tags("repository", "GuestRepository", "method", "save").timer().count());
+    }
+
+    @Test
+    @DisplayName("Debe registrar las llamadas fallidas con outcome=error")
+    void shouldTagFailedCallsAsError() {
+        // Given
+        when(guestRepository.findByDocumentNumber("MET-0001")).thenThrow(new IllegalStateException("BD caída"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> guestService.registerOrUpdateGuest(request));
+
+        // Then
+        assertEquals(1, registry.find(ServiceTimingAspect.SERVICE_TIMER)
+                .tags("method", "registerOrUpdateGuest", "outcome", "error").timer().count());
+        assertNull(registry.find(ServiceTimingAspect.SERVICE_TIMER).tags("outcome", "success").timer());
+    }
+}
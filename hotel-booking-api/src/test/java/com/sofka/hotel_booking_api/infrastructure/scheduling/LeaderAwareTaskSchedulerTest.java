@@ -0,0 +1,219 @@
+package com.sofka.hotel_booking_api.infrastructure.scheduling;
+
+import com.sofka.hotel_booking_api.infrastructure.tenant.HotelDirectory;
+import com.sofka.hotel_booking_api.infrastructure.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios de la fachada de planificación que limita las tareas al líder.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaderAwareTaskScheduler - Tests unitarios")
+class LeaderAwareTaskSchedulerTest {
+
+    private static final Duration DELAY = Duration.ofMinutes(5);
+
+    @Mock
+    private TaskScheduler delegate;
+
+    @Mock
+    private LeaderElector leaderElector;
+
+    @Mock
+    private HotelDirectory hotelDirectory;
+
+    private final Jobs jobs = new Jobs();
+    private final List<String> events = new ArrayList<>();
+    private RecordingTransactionManager transactionManager;
+    private SimpleMeterRegistry registry;
+    private LeaderAwareTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        transactionManager = new RecordingTransactionManager();
+        scheduler = new LeaderAwareTaskScheduler(delegate, leaderElector,
+                new TransactionTemplate(transactionManager), hotelDirectory, registry);
+    }
+
+    @Test
+    @DisplayName("El líder debe comprobar su token antes de la tarea de cada hotel y antes de confirmarla")
+    void shouldFenceAndRunOnLeader() throws Exception {
+        // Given
+        when(leaderElector.currentToken()).thenReturn(7L);
+        when(hotelDirectory.hotelIds()).thenReturn(List.of(1L, 2L));
+        doAnswer(invocation -> events.add("fence")).when(leaderElector).fence(7L);
+
+        // When
+        scheduled("expire").run();
+
+        // Then
+        assertEquals(List.of("fence", "begin", "run", "fence", "commit",
+                "fence", "begin", "run", "fence", "commit"), events);
+        assertEquals(List.of(1L, 2L), jobs.hotels);
+        assertEquals(TenantContext.DEFAULT_HOTEL_ID, TenantContext.currentHotelId());
+    }
+
+    @Test
+    @DisplayName("Una instancia que no es líder debe omitir la tarea")
+    void shouldSkipWhenNotLeader() throws Exception {
+        // Given
+        when(leaderElector.currentToken()).thenReturn(0L);
+        when(leaderElector.isLeader()).thenReturn(false);
+
+        // When
+        scheduled("expire").run();
+
+        // Then
+        assertTrue(jobs.hotels.isEmpty());
+        assertTrue(events.isEmpty());
+        verifyNoInteractions(hotelDirectory);
+        assertEquals(1.0, registry.get("hotel.scheduling.skipped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Si otra instancia tomó el arrendamiento la tarea no debe ejecutarse")
+    void shouldSkipWhenFencingTokenIsStale() throws Exception {
+        // Given
+        when(leaderElector.currentToken()).thenReturn(7L);
+        when(hotelDirectory.hotelIds()).thenReturn(List.of(1L, 2L));
+        doThrow(new LeadershipLostException("scheduler", 7L)).when(leaderElector).fence(7L);
+
+        // When
+        scheduled("expire").run();
+
+        // Then - Ningún hotel llega a abrir su transacción
+        assertTrue(jobs.hotels.isEmpty());
+        assertTrue(events.isEmpty());
+        assertEquals(2.0, registry.get("hotel.scheduling.skipped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Si el liderazgo se pierde durante la tarea su transacción debe revertirse")
+    void shouldRollbackWhenLeadershipIsLostDuringTask() throws Exception {
+        // Given - El token vale al empezar y ya no al confirmar
+        when(leaderElector.currentToken()).thenReturn(7L);
+        when(hotelDirectory.hotelIds()).thenReturn(List.of(1L));
+        doNothing().doThrow(new LeadershipLostException("scheduler", 7L)).when(leaderElector).fence(7L);
+
+        // When
+        scheduled("expire").run();
+
+        // Then
+        assertEquals(List.of("begin", "run", "rollback"), events);
+        assertEquals(1.0, registry.get("hotel.scheduling.skipped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Un fallo en un hotel no debe impedir ejecutar la tarea en los demás")
+    void shouldContinueWithOtherHotelsAfterFailure() throws Exception {
+        // Given
+        when(leaderElector.currentToken()).thenReturn(7L);
+        when(hotelDirectory.hotelIds()).thenReturn(List.of(1L, 2L, 3L));
+        jobs.failingHotel = 2L;
+
+        // When
+        scheduled("expire").run();
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), jobs.hotels);
+        assertEquals(List.of("begin", "run", "commit", "begin", "run", "rollback", "begin", "run", "commit"),
+                events);
+        assertEquals(0.0, registry.get("hotel.scheduling.skipped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Las tareas de cada instancia y las que no vienen de @Scheduled no deben envolverse")
+    void shouldNotWrapNodeLocalTasks() throws Exception {
+        Runnable nodeLocal = new ScheduledMethodRunnable(jobs, Jobs.class.getMethod("refreshLocalIndex"));
+        Runnable plain = () -> { };
+
+        assertSame(nodeLocal, scheduler.wrap(nodeLocal));
+        assertSame(plain, scheduler.wrap(plain));
+        verifyNoInteractions(leaderElector);
+    }
+
+    @Test
+    @DisplayName("Las tareas de cada instancia deben ejecutarse una vez sobre todos los hoteles")
+    void shouldRunNodeLocalTasksAsRootTenant() throws Exception {
+        scheduled("refreshLocalIndex").run();
+
+        assertEquals(List.of(TenantContext.ALL_HOTELS), jobs.hotels);
+        assertTrue(events.isEmpty());
+        verifyNoInteractions(leaderElector, hotelDirectory);
+    }
+
+    private Runnable scheduled(String method) throws Exception {
+        scheduler.scheduleWithFixedDelay(new ScheduledMethodRunnable(jobs, Jobs.class.getMethod(method)), DELAY);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(delegate).scheduleWithFixedDelay(task.capture(), eq(DELAY));
+        return task.getValue();
+    }
+
+    class Jobs {
+
+        final List<Long> hotels = new ArrayList<>();
+        Long failingHotel;
+
+        public void expire() {
+            hotels.add(TenantContext.currentHotelId());
+            events.add("run");
+            if (Long.valueOf(TenantContext.currentHotelId()).equals(failingHotel)) {
+                throw new IllegalStateException("fallo del hotel " + failingHotel);
+            }
+        }
+
+        @RunOnEveryNode
+        public void refreshLocalIndex() {
+            hotels.add(TenantContext.currentHotelId());
+        }
+    }
+
+    /**
+     * Gestor de transacciones sin recursos que registra cada transición y activa la sincronización,
+     * como el de JPA.
+     */
+    class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            events.add("begin");
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            events.add("commit");
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            events.add("rollback");
+        }
+    }
+}
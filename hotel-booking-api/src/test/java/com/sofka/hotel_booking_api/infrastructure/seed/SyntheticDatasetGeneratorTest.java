@@ -0,0 +1,107 @@
+package com.sofka.hotel_booking_api.infrastructure.seed;
+
+import com.sofka.hotel_booking_api.domain.model.ReservationStatus;
+import com.sofka.hotel_booking_api.infrastructure.seed.SyntheticDatasetGenerator.GuestRow;
+import com.sofka.hotel_booking_api.infrastructure.seed.SyntheticDatasetGenerator.ReservationRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios del generador de datos sintéticos.
+ */
+@DisplayName("SyntheticDatasetGenerator - Tests unitarios")
+class SyntheticDatasetGeneratorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2026, 6, 1);
+
+    @Test
+    @DisplayName("Debe generar exactamente las mismas filas con la misma semilla")
+    void shouldBeDeterministicForSameSeed() {
+        // Given
+        SyntheticDatasetSpec spec = new SyntheticDatasetSpec(7L, 40, 500, 2_000, 20, REFERENCE_DATE);
+
+        // When & Then
+        assertEquals(new SyntheticDatasetGenerator(spec).rooms(), new SyntheticDatasetGenerator(spec).rooms());
+        assertEquals(guests(spec), guests(spec));
+        assertEquals(reservations(spec), reservations(spec));
+    }
+
+    @Test
+    @DisplayName("Debe generar datos distintos con otra semilla")
+    void shouldDifferForDifferentSeed() {
+        // Given
+        SyntheticDatasetSpec spec = new SyntheticDatasetSpec(7L, 40, 500, 2_000, 20, REFERENCE_DATE);
+        SyntheticDatasetSpec otherSeed = new SyntheticDatasetSpec(8L, 40, 500, 2_000, 20, REFERENCE_DATE);
+
+        // When & Then
+        assertNotEquals(reservations(spec), reservations(otherSeed));
+    }
+
+    @Test
+    @DisplayName("Debe respetar las reglas de negocio y no solapar estadías vigentes de una habitación")
+    void shouldRespectBusinessRulesWithoutOverlaps() {
+        // Given
+        SyntheticDatasetSpec spec = new SyntheticDatasetSpec(42L, 100, 1_000, 20_000, 50, REFERENCE_DATE);
+        Map<Long, Integer> capacities = new HashMap<>();
+        new SyntheticDatasetGenerator(spec).rooms().forEach(room -> capacities.put(room.id(), room.capacity()));
+
+        // When
+        List<ReservationRow> reservations = reservations(spec);
+
+        // Then
+        assertEquals(20_000, reservations.size());
+        Map<Long, ReservationRow> lastStayByRoom = new HashMap<>();
+        Map<ReservationStatus, Integer> statusCounts = new EnumMap<>(ReservationStatus.class);
+        for (ReservationRow reservation : reservations) {
+            long nights = ChronoUnit.DAYS.between(reservation.checkInDate(), reservation.checkOutDate());
+            assertTrue(nights >= 1 && nights <= 30, "Duración fuera de RN-004: " + reservation);
+            assertTrue(reservation.numberOfGuests() <= capacities.get(reservation.roomId()));
+            assertTrue(reservation.guestId() >= 1 && reservation.guestId() <= 1_000);
+            statusCounts.merge(reservation.status(), 1, Integer::sum);
+
+            // Las estadías de cada habitación se emiten en orden cronológico
+            ReservationRow previous = lastStayByRoom.put(reservation.roomId(), reservation);
+            if (previous != null) {
+                assertFalse(reservation.checkInDate().isBefore(previous.checkOutDate()),
+                        "Estadías solapadas: " + previous + " y " + reservation);
+            }
+
+            switch (reservation.status()) {
+                case COMPLETED, EXPIRED -> assertFalse(reservation.checkOutDate().isAfter(REFERENCE_DATE));
+                case ACTIVE -> assertNotNull(reservation.checkInTime());
+                case PENDING -> assertTrue(reservation.createdAt()
+                        .isAfter(REFERENCE_DATE.atStartOfDay().minusHours(24)));
+                case CANCELLED -> assertNotNull(reservation.cancelledAt());
+                default -> assertTrue(reservation.checkInDate().isAfter(REFERENCE_DATE));
+            }
+        }
+
+        // Hay historia, estadías en curso y reservas futuras
+        assertTrue(statusCounts.get(ReservationStatus.COMPLETED) > statusCounts.get(ReservationStatus.CANCELLED));
+        assertTrue(statusCounts.containsKey(ReservationStatus.ACTIVE));
+        assertTrue(statusCounts.containsKey(ReservationStatus.CONFIRMED));
+        assertTrue(statusCounts.containsKey(ReservationStatus.PENDING));
+    }
+
+    private static List<GuestRow> guests(SyntheticDatasetSpec spec) {
+        List<GuestRow> guests = new ArrayList<>();
+        new SyntheticDatasetGenerator(spec).forEachGuest(guests::add);
+        return guests;
+    }
+
+    private static List<ReservationRow> reservations(SyntheticDatasetSpec spec) {
+        List<ReservationRow> reservations = new ArrayList<>();
+        new SyntheticDatasetGenerator(spec).forEachReservation(reservations::add);
+        return reservations;
+    }
+}
@@ -0,0 +1,143 @@
+package com.sofka.hotel_booking_api.infrastructure.sql;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios del conteo de sentencias SQL por petición.
+ */
+@DisplayName("SqlStatementBudgetFilter - Tests unitarios")
+class SqlStatementBudgetFilterTest {
+
+    private static final String SELECT_ROOM = "select r.id from rooms r where r.id=?";
+
+    private final SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(3, 3, false);
+
+    @Test
+    @DisplayName("Debe devolver las sentencias y el tiempo de BD en Server-Timing")
+    void shouldExposeStatementsInServerTimingHeader() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When - El controlador ejecuta 4 consultas y escribe el cuerpo
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                for (int i = 0; i < 4; i++) {
+                    SqlStatementStats.recordSql(SELECT_ROOM);
+                    SqlStatementStats.recordExecution(1_500_000);
+                }
+                resp.getWriter().write("[]");
+            }
+        }));
+
+        // Then
+        assertEquals("[]", response.getContentAsString());
+        String serverTiming = response.getHeader(SqlStatementBudgetFilter.SERVER_TIMING_HEADER);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.startsWith("db;dur=6.00;desc=\"4 SQL\", total;dur="), serverTiming);
+
+        SqlStatementStats.Scope scope =
+                (SqlStatementStats.Scope) request.getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+        assertEquals(4, scope.getStatements());
+        assertEquals(Map.of(SELECT_ROOM, 4), scope.getRepeatedStatements(3));
+    }
+
+    @Test
+    @DisplayName("Sin almacenar la respuesta, la cabecera debe llevar las sentencias previas al cuerpo")
+    void shouldWriteServerTimingBeforeBodyIsCommitted() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When - Una consulta, el cuerpo se envía y luego otra consulta
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                SqlStatementStats.recordSql(SELECT_ROOM);
+                SqlStatementStats.recordExecution(1_000_000);
+                resp.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+                resp.flushBuffer();
+                assertTrue(resp.isCommitted());
+                SqlStatementStats.recordSql(SELECT_ROOM);
+                SqlStatementStats.recordExecution(1_000_000);
+            }
+        }));
+
+        // Then - La cabecera se fijó al escribir; el atributo cuenta la petición completa
+        assertEquals("[]", response.getContentAsString());
+        assertTrue(response.getHeader(SqlStatementBudgetFilter.SERVER_TIMING_HEADER)
+                .startsWith("db;dur=1.00;desc=\"1 SQL\""));
+        assertEquals(2, ((SqlStatementStats.Scope) request.getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE))
+                .getStatements());
+    }
+
+    @Test
+    @DisplayName("Sin cuerpo debe añadir la cabecera al terminar; almacenando, con la petición completa")
+    void shouldWriteServerTimingWithoutBodyAndWhenBuffering() throws Exception {
+        // Given
+        SqlStatementBudgetFilter buffering = new SqlStatementBudgetFilter(3, 3, true);
+        MockHttpServletResponse empty = new MockHttpServletResponse();
+        MockHttpServletResponse buffered = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                if (req.getMethod().equals("GET")) {
+                    resp.getWriter().write("[]");
+                    resp.flushBuffer();
+                }
+                SqlStatementStats.recordSql(SELECT_ROOM);
+                SqlStatementStats.recordExecution(1_000_000);
+            }
+        };
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/rooms/1"), empty, new MockFilterChain(servlet));
+        buffering.doFilter(new MockHttpServletRequest("GET", "/api/rooms"), buffered, new MockFilterChain(servlet));
+
+        // Then
+        assertTrue(empty.getHeader(SqlStatementBudgetFilter.SERVER_TIMING_HEADER).startsWith("db;dur=1.00;desc=\"1 SQL\""));
+        assertEquals("[]", buffered.getContentAsString());
+        assertTrue(buffered.getHeader(SqlStatementBudgetFilter.SERVER_TIMING_HEADER).startsWith("db;dur=1.00;desc=\"1 SQL\""));
+    }
+
+    @Test
+    @DisplayName("Los ámbitos anidados deben acumular las mismas sentencias y no contar fuera de ellos")
+    void shouldAccumulateInNestedScopesOnly() {
+        // Given
+        SqlStatementStats.recordExecution(1_000);
+
+        try (SqlStatementStats.Scope outer = SqlStatementStats.open()) {
+            SqlStatementStats.recordExecution(1_000);
+            try (SqlStatementStats.Scope inner = SqlStatementStats.open()) {
+                SqlStatementStats.recordExecution(2_000);
+                assertEquals(1, inner.getStatements());
+            }
+            SqlStatementStats.recordExecution(1_000);
+
+            // Then
+            assertEquals(3, outer.getStatements());
+            assertEquals(4_000, outer.getDatabaseTime().toNanos());
+        }
+    }
+
+    @Test
+    @DisplayName("No debe medir los endpoints de Actuator")
+    void shouldSkipActuatorEndpoints() {
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/prometheus")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/reservations/today")));
+    }
+}
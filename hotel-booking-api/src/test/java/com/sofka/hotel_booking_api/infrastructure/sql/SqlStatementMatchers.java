@@ -0,0 +1,48 @@
+package com.sofka.hotel_booking_api.infrastructure.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Aserciones de MockMvc sobre las sentencias SQL de una petición, para fijar en cada
+ * test de controlador cuántas consultas ejecuta un endpoint:
+ *
+ * <pre>
+ * mockMvc.perform(get("/api/reservations/search").param("guestName", "Gómez"))
+ *         .andExpect(status().isOk())
+ *         .andExpect(statementCount(1));
+ * </pre>
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    /**
+     * La petición ejecutó exactamente {@code expected} sentencias.
+     */
+    public static ResultMatcher statementCount(int expected) {
+        return result -> assertEquals(expected, scope(result.getRequest().getAttribute(
+                SqlStatementStats.REQUEST_ATTRIBUTE)).getStatements(), "Sentencias SQL ejecutadas por la petición");
+    }
+
+    /**
+     * La petición ejecutó como máximo {@code max} sentencias.
+     */
+    public static ResultMatcher statementCountAtMost(int max) {
+        return result -> {
+            int statements = scope(result.getRequest().getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE))
+                    .getStatements();
+            assertTrue(statements <= max,
+                    "La petición ejecutó " + statements + " sentencias SQL, máximo esperado " + max);
+        };
+    }
+
+    private static SqlStatementStats.Scope scope(Object attribute) {
+        assertNotNull(attribute, "La petición no pasó por SqlStatementBudgetFilter");
+        return (SqlStatementStats.Scope) attribute;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sofka.hotel_booking_api.infrastructure.tenant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del directorio de hoteles.
+ */
+@DisplayName("HotelDirectory - Tests unitarios")
+class HotelDirectoryTest {
+
+    @Test
+    @DisplayName("Debe listar los hoteles de la base principal, los de los shards y el hotel por defecto")
+    void shouldIncludeShardHotels() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        AtomicLong hotelDuringQuery = new AtomicLong(-1);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenAnswer(invocation -> {
+            hotelDuringQuery.set(TenantContext.currentHotelId());
+            return List.of(4L, 2L);
+        });
+        HotelDirectory directory = new HotelDirectory(jdbcTemplate, List.of(
+                new TenantShard("eu", List.of(7L, 5L), null, null, null, null),
+                new TenantShard("us", List.of(9L), null, null, null, null)));
+
+        // La consulta va siempre a la base principal, aunque la petición sea de un hotel con shard
+        List<Long> hotelIds = TenantContext.callAs(7L, directory::hotelIds);
+
+        assertEquals(List.of(1L, 2L, 4L, 5L, 7L, 9L), hotelIds);
+        assertEquals(TenantContext.ALL_HOTELS, hotelDuringQuery.get());
+    }
+}
@@ -0,0 +1,94 @@
+package com.sofka.hotel_booking_api.infrastructure.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios de la selección del hotel por cabecera.
+ */
+@DisplayName("TenantFilter - Tests unitarios")
+class TenantFilterTest {
+
+    private final TenantFilter filter = new TenantFilter(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    @DisplayName("Debe fijar el hotel de la cabecera durante la petición y restaurarlo al terminar")
+    void shouldScopeHotelToRequest() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms");
+        request.addHeader(TenantFilter.HOTEL_HEADER, "7");
+        List<Long> seen = new ArrayList<>();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), recording(seen));
+
+        // Then
+        assertEquals(List.of(7L), seen);
+        assertEquals(TenantContext.DEFAULT_HOTEL_ID, TenantContext.currentHotelId());
+    }
+
+    @Test
+    @DisplayName("Sin cabecera debe usarse el hotel por defecto")
+    void shouldUseDefaultHotelWithoutHeader() throws Exception {
+        List<Long> seen = new ArrayList<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/rooms"), new MockHttpServletResponse(), recording(seen));
+
+        assertEquals(List.of(TenantContext.DEFAULT_HOTEL_ID), seen);
+    }
+
+    @Test
+    @DisplayName("Una cabecera no numérica o el tenant raíz deben responder 400 sin ejecutar la petición")
+    void shouldRejectInvalidHotel() throws Exception {
+        for (String header : List.of("abc", "0", "-3")) {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms");
+            request.addHeader(TenantFilter.HOTEL_HEADER, header);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            List<Long> seen = new ArrayList<>();
+
+            // When
+            filter.doFilter(request, response, recording(seen));
+
+            // Then
+            assertEquals(400, response.getStatus());
+            assertTrue(response.getContentAsString().contains("Hotel inválido"), response.getContentAsString());
+            assertTrue(seen.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Las tareas propagadas deben ejecutarse con el hotel de quien las creó")
+    void shouldPropagateHotelToOtherThreads() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        Runnable task = TenantContext.callAs(5L, () -> TenantContext.propagate(() -> seen.add(TenantContext.currentHotelId())));
+
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+
+        assertEquals(List.of(5L), seen);
+    }
+
+    private static MockFilterChain recording(List<Long> seen) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                seen.add(TenantContext.currentHotelId());
+            }
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.sofka.hotel_booking_api.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios del exportador de spans a fichero con rotación.
+ */
+@DisplayName("RollingFileSpanExporter - Tests unitarios")
+class RollingFileSpanExporterTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    @DisplayName("Debe escribir un span por línea en formato JSON")
+    void shouldWriteOneJsonLinePerSpan() throws Exception {
+        // Given
+        RollingFileSpanExporter exporter = new RollingFileSpanExporter(
+                true, directory, DataSize.ofMegabytes(1), 2, objectMapper);
+
+        // When
+        exportSpans(exporter, 3);
+
+        // Then
+        List<String> lines = Files.readAllLines(directory.resolve(RollingFileSpanExporter.ACTIVE_FILE));
+        assertEquals(3, lines.size());
+        assertEquals("span-0", objectMapper.readTree(lines.get(0)).get("name").asText());
+    }
+
+    @Test
+    @DisplayName("Debe rotar el fichero al superar el tamaño y conservar solo el historial configurado")
+    void shouldRotateAndKeepConfiguredHistory() throws Exception {
+        // Given: cada span ocupa más que el tamaño máximo, así que cada uno rota el anterior
+        RollingFileSpanExporter exporter = new RollingFileSpanExporter(
+                true, directory, DataSize.ofBytes(100), 2, objectMapper);
+
+        // When
+        exportSpans(exporter, 5);
+
+        // Then
+        assertTrue(Files.exists(directory.resolve(RollingFileSpanExporter.ACTIVE_FILE)));
+        assertTrue(Files.exists(directory.resolve("spans.1.jsonl")));
+        assertTrue(Files.exists(directory.resolve("spans.2.jsonl")));
+        assertFalse(Files.exists(directory.resolve("spans.3.jsonl")));
+        String newest = Files.readString(directory.resolve(RollingFileSpanExporter.ACTIVE_FILE));
+        assertEquals("span-4", objectMapper.readTree(newest).get("name").asText());
+    }
+
+    private static void exportSpans(RollingFileSpanExporter exporter, int count) {
+        try (SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build()) {
+            for (int i = 0; i < count; i++) {
+                provider.get("test").spanBuilder("span-" + i).startSpan().end();
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.sofka.hotel_booking_api.infrastructure.tracing;
+
+import com.sofka.hotel_booking_api.application.service.GuestService;
+import com.sofka.hotel_booking_api.domain.model.Guest;
+import com.sofka.hotel_booking_api.domain.repository.GuestRepository;
+import com.sofka.hotel_booking_api.infrastructure.dto.CreateGuestRequest;
+import com.sofka.hotel_booking_api.infrastructure.dto.SpanResponse;
+import com.sofka.hotel_booking_api.infrastructure.dto.TraceResponse;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios del aspecto de trazas y del buffer de spans en memoria.
+ */
+@DisplayName("TracingAspect - Tests unitarios")
+class TracingAspectTest {
+
+    private SdkTracerProvider tracerProvider;
+    private SpanRingBuffer spanRingBuffer;
+    private GuestRepository guestRepository;
+    private GuestService guestService;
+
+    private final CreateGuestRequest request = new CreateGuestRequest(
+            "Ana", "Ruiz", "TRC-0001", "ana@email.com", "+57 300 1112233");
+
+    @BeforeEach
+    void setUp() {
+        spanRingBuffer = new SpanRingBuffer(100);
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(spanRingBuffer).build();
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> { });
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+        TracingAspect aspect = new TracingAspect(registry);
+
+        guestRepository = mock(GuestRepository.class);
+        AspectJProxyFactory repositoryProxy = new AspectJProxyFactory(guestRepository);
+        repositoryProxy.addInterface(GuestRepository.class);
+        repositoryProxy.addAspect(aspect);
+
+        AspectJProxyFactory serviceProxy = new AspectJProxyFactory(
+                new GuestService(repositoryProxy.getProxy(), mock(JdbcTemplate.class)));
+        serviceProxy.setProxyTargetClass(true);
+        serviceProxy.addAspect(aspect);
+        guestService = serviceProxy.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    @DisplayName("Debe anidar los spans de repositorio bajo el span del servicio con sus filas")
+    void shouldNestRepositorySpansUnderServiceSpan() {
+        // Given
+        when(guestRepository.findByDocumentNumber("TRC-0001")).thenReturn(Optional.empty());
+        when(guestRepository.save(any(Guest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        guestService.registerOrUpdateGuest(request);
+
+        // Then
+        List<TraceResponse> traces = spanRingBuffer.recentTraces(10);
+        assertEquals(1, traces.size());
+        TraceResponse trace = traces.get(0);
+        assertEquals("GuestService.registerOrUpdateGuest", trace.rootName());
+        assertEquals(3, trace.spanCount());
+
+        Map<String, SpanResponse> spans = trace.spans().stream()
+                .collect(Collectors.toMap(SpanResponse::name, Function.identity()));
+        SpanResponse service = spans.get("GuestService.registerOrUpdateGuest");
+        SpanResponse lookup = spans.get("GuestRepository.findByDocumentNumber");
+        SpanResponse save = spans.get("GuestRepository.save");
+        assertNull(service.parentSpanId());
+        assertEquals(service.spanId(), lookup.parentSpanId());
+        assertEquals(service.spanId(), save.parentSpanId());
+        assertEquals("0", lookup.attributes().get("db.response.returned_rows"));
+        assertEquals("GuestRepository", lookup.attributes().get("code.namespace"));
+        assertEquals(trace, spanRingBuffer.findTrace(trace.traceId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Debe marcar con error el span del servicio cuando falla el repositorio")
+    void shouldMarkServiceSpanAsErrorWhenRepositoryFails() {
+        // Given
+        when(guestRepository.findByDocumentNumber("TRC-0001")).thenThrow(new IllegalStateException("db down"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> guestService.registerOrUpdateGuest(request));
+
+        // Then
+        TraceResponse trace = spanRingBuffer.recentTraces(1).get(0);
+        assertTrue(trace.spans().stream().allMatch(span -> span.status().equals("ERROR")));
+    }
+
+    @Test
+    @DisplayName("Debe descartar los spans más antiguos cuando el buffer se llena")
+    void shouldEvictOldestSpansWhenBufferIsFull() {
+        // Given
+        spanRingBuffer = new SpanRingBuffer(2);
+        try (SdkTracerProvider provider = SdkTracerProvider.builder().addSpanProcessor(spanRingBuffer).build()) {
+            // When
+            for (int i = 0; i < 3; i++) {
+                provider.get("test").spanBuilder("span-" + i).startSpan().end();
+            }
+        }
+
+        // Then
+        List<TraceResponse> traces = spanRingBuffer.recentTraces(10);
+        assertEquals(List.of("span-2", "span-1"), traces.stream().map(TraceResponse::rootName).toList());
+        assertEquals(1, spanRingBuffer.recentTraces(1).size());
+    }
+}